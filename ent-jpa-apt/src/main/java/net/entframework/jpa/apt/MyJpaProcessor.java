@@ -37,7 +37,10 @@ public class MyJpaProcessor extends AbstractProcessor {
     private Types typeUtils;
     private FieldUtils fieldUtils;
 
-    private final static Map<TypeElement, List<AnnotationMeta>> entityMap = new LinkedHashMap<>();
+    /**
+     * 父类字段缓存, 以类的全限定名为 key, 同一次编译中多个实体共用同一个父类时只解析一次
+     */
+    private final Map<String, List<AnnotationMeta>> superclassFields = new HashMap<>();
 
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
@@ -60,26 +63,11 @@ public class MyJpaProcessor extends AbstractProcessor {
         }
 
         if (!roundEnv.processingOver()) {
-            Types types = processingEnv.getTypeUtils();
-            // get and process any mappers from this round
-            Set<TypeElement> mappers = getMappers(annotations, roundEnv);
-            mappers.forEach(typeElement -> {
-                List<AnnotationMeta> fields = getFields(typeElement);
-                TypeMirror superclass = typeElement.getSuperclass();
-                while (superclass != null) {
-                    Element typesElement = types.asElement(superclass);
-                    if (typesElement instanceof TypeElement supper) {
-                        if (supper.getAnnotation(MappedSuperclass.class) == null) {
-                            fields.addAll(getFields(supper));
-                        }
-                        superclass = supper.getSuperclass();
-                    } else {
-                        superclass = null;
-                    }
-                }
-                entityMap.put(typeElement, fields);
-            });
-            // process entityMap
+            // 只处理本轮新增或修改的实体, 每个生成文件只依赖对应的实体及其父类, 满足 Gradle isolating 增量编译的要求
+            Map<TypeElement, List<AnnotationMeta>> entityMap = new LinkedHashMap<>();
+            for (TypeElement typeElement : getMappers(annotations, roundEnv)) {
+                entityMap.put(typeElement, getEntityFields(typeElement));
+            }
             Filer filer = processingEnv.getFiler();
             //entityMap.forEach((key, value) -> writeSupportFile(filer, key, value));
             entityMap.forEach((key, value) -> writeCriteriaFile(filer, key, value));
@@ -397,6 +385,24 @@ public class MyJpaProcessor extends AbstractProcessor {
         return result;
     }
 
+    private List<AnnotationMeta> getEntityFields(TypeElement typeElement) {
+        List<AnnotationMeta> fields = getFields(typeElement);
+        TypeMirror superclass = typeElement.getSuperclass();
+        while (superclass != null) {
+            Element typesElement = typeUtils.asElement(superclass);
+            if (typesElement instanceof TypeElement supper) {
+                if (supper.getAnnotation(MappedSuperclass.class) == null) {
+                    fields.addAll(superclassFields.computeIfAbsent(supper.getQualifiedName().toString(),
+                            k -> getFields(supper)));
+                }
+                superclass = supper.getSuperclass();
+            } else {
+                superclass = null;
+            }
+        }
+        return fields;
+    }
+
     private List<AnnotationMeta> getFields(TypeElement typeElement) {
         List<AnnotationMeta> results = new ArrayList<>();
         List<? extends Element> enclosedElements = typeElement.getEnclosedElements();
@@ -416,7 +422,7 @@ public class MyJpaProcessor extends AbstractProcessor {
 
     private Set<TypeElement> getMappers(final Set<? extends TypeElement> annotations,
                                         final RoundEnvironment roundEnvironment) {
-        Set<TypeElement> mapperTypes = new HashSet<>();
+        Set<TypeElement> mapperTypes = new LinkedHashSet<>();
 
         for (Element annotation : roundEnvironment.getElementsAnnotatedWith(Entity.class)) {
             TypeElement mapperTypeElement = asTypeElement(annotation);
@@ -13,6 +13,7 @@ import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.ElementKindVisitor6;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
@@ -33,9 +34,32 @@ public class MybatisProcessor extends AbstractProcessor {
 
 	public static final String SQL_COLUMN_NAME = "org.mybatis.dynamic.sql.annotation.SqlColumn";
 
+	public static final String CONDITION_CRITERION_NAME = "net.entframework.kernel.db.mybatis.criteria."
+			+ "ConditionCriterion";
+
+	/**
+	 * 查询条件与 SqlBuilder 条件方法的对应关系
+	 */
+	private static final Map<String, String> CONDITION_METHODS = Map.ofEntries(Map.entry("EqualsTo", "isEqualTo"),
+			Map.entry("NotEqualTo", "isNotEqualTo"), Map.entry("NotNull", "isNotNull"), Map.entry("IsNull", "isNull"),
+			Map.entry("Like", "isLike"), Map.entry("LikeCaseInsensitive", "isLikeCaseInsensitive"),
+			Map.entry("NotLike", "isNotLike"), Map.entry("NotLikeCaseInsensitive", "isNotLikeCaseInsensitive"),
+			Map.entry("Between", "isBetween"), Map.entry("NotBetween", "isNotBetween"),
+			Map.entry("GreaterThan", "isGreaterThan"), Map.entry("GreaterThanOrEqualTo", "isGreaterThanOrEqualTo"),
+			Map.entry("LessThan", "isLessThan"), Map.entry("LessThanOrEqualTo", "isLessThanOrEqualTo"),
+			Map.entry("IsIn", "isIn"), Map.entry("IsNotIn", "isNotIn"));
+
 	private Elements elementUtils;
 
-	private final static Map<TypeElement, List<AnnotationMeta>> entityMap = new LinkedHashMap<>();
+	/**
+	 * criteria 运行时是否支持展开后的 buildQuery, 同一次编译中只检查一次
+	 */
+	private Boolean unrolledQuerySupported;
+
+	/**
+	 * 父类字段缓存, 以类的全限定名为 key, 同一次编译中多个实体共用同一个父类时只解析一次
+	 */
+	private final Map<String, List<AnnotationMeta>> superclassFields = new HashMap<>();
 
 	@Override
 	public synchronized void init(ProcessingEnvironment processingEnv) {
@@ -56,27 +80,11 @@ public class MybatisProcessor extends AbstractProcessor {
 		}
 
 		if (!roundEnv.processingOver()) {
-			Types types = processingEnv.getTypeUtils();
-			// get and process any mappers from this round
-			Set<TypeElement> mappers = getMappers(annotations, roundEnv);
-			mappers.forEach(typeElement -> {
-				List<AnnotationMeta> fields = getFields(typeElement);
-				TypeMirror superclass = typeElement.getSuperclass();
-				while (superclass != null) {
-					Element typesElement = types.asElement(superclass);
-					if (typesElement instanceof TypeElement supper) {
-						if (supper.getAnnotation(MappedSuperclass.class) == null) {
-							fields.addAll(getFields(supper));
-						}
-						superclass = supper.getSuperclass();
-					}
-					else {
-						superclass = null;
-					}
-				}
-				entityMap.put(typeElement, fields);
-			});
-			// process entityMap
+			// 只处理本轮新增或修改的实体, 每个生成文件只依赖对应的实体及其父类, 满足 Gradle isolating 增量编译的要求
+			Map<TypeElement, List<AnnotationMeta>> entityMap = new LinkedHashMap<>();
+			for (TypeElement typeElement : getMappers(annotations, roundEnv)) {
+				entityMap.put(typeElement, getEntityFields(typeElement));
+			}
 			Filer filer = processingEnv.getFiler();
 			entityMap.forEach((key, value) -> writeSupportFile(filer, key, value));
 			entityMap.forEach((key, value) -> writeCriteriaFile(filer, key, value));
@@ -223,12 +231,22 @@ public class MybatisProcessor extends AbstractProcessor {
 		ParameterizedTypeName parameterizedQueryExpressionDSL = ParameterizedTypeName.get(queryExpressionDSL,
 				ClassName.get("org.mybatis.dynamic.sql", "AndOrCriteriaGroup"));
 
-		ClassName criteriaBuilder = ClassName.get("net.entframework.kernel.db.mybatis.criteria", "CriteriaBuilder");
 		MethodSpec.Builder buildBuilder = MethodSpec.methodBuilder("buildQuery")
 			.addModifiers(Modifier.PUBLIC)
-			.returns(parameterizedQueryExpressionDSL)
-			.addStatement("return $T.buildQuery($N)", criteriaBuilder,
+			.returns(parameterizedQueryExpressionDSL);
+		if (isUnrolledQuerySupported()) {
+			buildBuilder.addStatement("$T andOrCriteriaGroups = new $T<>()", parameterizedQueryExpressionDSL,
+					ClassName.get("java.util", "ArrayList"));
+			ClassName supportClassName = ClassName.get(packageName, typeName + "_");
+			fields.forEach(element -> addBuildQueryStatements(buildBuilder, supportClassName, element));
+			buildBuilder.addStatement("return andOrCriteriaGroups");
+		}
+		else {
+			ClassName criteriaBuilder = ClassName.get("net.entframework.kernel.db.mybatis.criteria",
+					"CriteriaBuilder");
+			buildBuilder.addStatement("return $T.buildQuery($N)", criteriaBuilder,
 					packageName + "." + typeName + ".class," + Utils.join(fieldsList, ","));
+		}
 		clazzBuilder.addMethod(buildBuilder.build());
 
 		fields.forEach(element -> {
@@ -315,6 +333,111 @@ public class MybatisProcessor extends AbstractProcessor {
 		}
 	}
 
+	/**
+	 * 生成单个字段的查询条件, 每个条件直接映射到 SqlBuilder 的对应方法, 不经过运行时反射
+	 * @param buildBuilder buildQuery 方法
+	 * @param supportClassName 实体对应的 DynamicSqlSupport 类
+	 * @param element 字段
+	 */
+	private void addBuildQueryStatements(MethodSpec.Builder buildBuilder, ClassName supportClassName,
+			AnnotationMeta element) {
+		String fieldName = element.fieldName();
+		boolean stringType = String.class.getName().equals(TypeName.get(element.asType()).toString());
+		ClassName sqlBuilder = ClassName.get("org.mybatis.dynamic.sql", "SqlBuilder");
+
+		buildBuilder.beginControlFlow("if ($N != null)", fieldName);
+		for (String condition : getConditions(element, getColumnMeta(element))) {
+			String criterion = fieldName + "." + Utils.uncapitalize(condition);
+			String method = CONDITION_METHODS.get(condition);
+			CodeBlock sqlCondition;
+			if ("NotNull".equals(condition) || "IsNull".equals(condition)) {
+				buildBuilder.beginControlFlow("if ($L != null && $T.TRUE.equals($L.getValue()))", criterion,
+						Boolean.class, criterion);
+				sqlCondition = CodeBlock.of("$T.$N()", sqlBuilder, method);
+			}
+			else if ("Between".equals(condition) || "NotBetween".equals(condition)) {
+				buildBuilder.beginControlFlow("if ($L != null && $L.getValues() != null && $L.getValues().size() == 2)",
+						criterion, criterion, criterion);
+				sqlCondition = CodeBlock.of("$T.$N($L.getValues().get(0)).and($L.getValues().get(1))", sqlBuilder,
+						method, criterion, criterion);
+			}
+			else if (isListCondition(condition)) {
+				buildBuilder.beginControlFlow("if ($L != null && $L.getValues() != null)", criterion, criterion);
+				sqlCondition = CodeBlock.of("$T.$N($L.getValues())", sqlBuilder, method, criterion);
+			}
+			else if (condition.endsWith("CaseInsensitive") && !stringType) {
+				// SqlBuilder 的大小写不敏感条件只支持 String 类型的列
+				continue;
+			}
+			else {
+				buildBuilder.beginControlFlow("if ($L != null && $L.getValue() != null)", criterion, criterion);
+				sqlCondition = CodeBlock.of("$T.$N($L.getValue())", sqlBuilder, method, criterion);
+			}
+			buildBuilder.addStatement("andOrCriteriaGroups.add($T.and($T.$N, $L))", sqlBuilder, supportClassName,
+					fieldName, sqlCondition);
+			buildBuilder.endControlFlow();
+		}
+		buildBuilder.endControlFlow();
+	}
+
+	/**
+	 * 展开后的 buildQuery 直接读取 criteria 运行时中 ConditionCriterion 各条件的值: 单值条件通过 getValue(),
+	 * In/NotIn 通过返回 Collection 的 getValues(), Between/NotBetween 通过返回 List 的 getValues()。
+	 * 编译时 classpath 中的运行时不提供这些方法时, buildQuery 仍然委托给 CriteriaBuilder
+	 */
+	private boolean isUnrolledQuerySupported() {
+		if (unrolledQuerySupported == null) {
+			unrolledQuerySupported = hasConditionValueAccessors();
+			if (!unrolledQuerySupported) {
+				processingEnv.getMessager()
+					.printMessage(Diagnostic.Kind.NOTE, "ConditionCriterion doesn't provide the value accessors, "
+							+ "buildQuery delegates to CriteriaBuilder");
+			}
+		}
+		return unrolledQuerySupported;
+	}
+
+	private boolean hasConditionValueAccessors() {
+		if (elementUtils.getTypeElement(CONDITION_CRITERION_NAME) == null) {
+			return false;
+		}
+		Types typeUtils = processingEnv.getTypeUtils();
+		TypeMirror collectionType = typeUtils.erasure(elementUtils.getTypeElement("java.util.Collection").asType());
+		TypeMirror listType = typeUtils.erasure(elementUtils.getTypeElement("java.util.List").asType());
+		for (String condition : CONDITION_METHODS.keySet()) {
+			TypeElement conditionType = elementUtils.getTypeElement(CONDITION_CRITERION_NAME + "." + condition);
+			if (conditionType == null) {
+				return false;
+			}
+			boolean supported;
+			if ("Between".equals(condition) || "NotBetween".equals(condition)) {
+				supported = hasAccessor(conditionType, "getValues", listType);
+			}
+			else if (isListCondition(condition)) {
+				supported = hasAccessor(conditionType, "getValues", collectionType);
+			}
+			else {
+				supported = hasAccessor(conditionType, "getValue", null);
+			}
+			if (!supported) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean hasAccessor(TypeElement type, String name, TypeMirror returnType) {
+		Types typeUtils = processingEnv.getTypeUtils();
+		for (ExecutableElement method : ElementFilter.methodsIn(elementUtils.getAllMembers(type))) {
+			if (method.getSimpleName().contentEquals(name) && method.getParameters().isEmpty()
+					&& method.getModifiers().contains(Modifier.PUBLIC) && (returnType == null
+							|| typeUtils.isAssignable(typeUtils.erasure(method.getReturnType()), returnType))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private boolean isListCondition(String condition) {
 		return "Between".equals(condition) || "NotBetween".equals(condition) || "IsIn".equals(condition)
 				|| "IsNotIn".equals(condition);
@@ -391,6 +514,25 @@ public class MybatisProcessor extends AbstractProcessor {
 		return result;
 	}
 
+	private List<AnnotationMeta> getEntityFields(TypeElement typeElement) {
+		List<AnnotationMeta> fields = getFields(typeElement);
+		TypeMirror superclass = typeElement.getSuperclass();
+		while (superclass != null) {
+			Element typesElement = processingEnv.getTypeUtils().asElement(superclass);
+			if (typesElement instanceof TypeElement supper) {
+				if (supper.getAnnotation(MappedSuperclass.class) == null) {
+					fields.addAll(superclassFields.computeIfAbsent(supper.getQualifiedName().toString(),
+							k -> getFields(supper)));
+				}
+				superclass = supper.getSuperclass();
+			}
+			else {
+				superclass = null;
+			}
+		}
+		return fields;
+	}
+
 	private List<AnnotationMeta> getFields(TypeElement typeElement) {
 		List<AnnotationMeta> results = new ArrayList<>();
 		List<? extends Element> enclosedElements = typeElement.getEnclosedElements();
@@ -410,7 +552,7 @@ public class MybatisProcessor extends AbstractProcessor {
 
 	private Set<TypeElement> getMappers(final Set<? extends TypeElement> annotations,
 			final RoundEnvironment roundEnvironment) {
-		Set<TypeElement> mapperTypes = new HashSet<>();
+		Set<TypeElement> mapperTypes = new LinkedHashSet<>();
 
 		for (Element annotation : roundEnvironment.getElementsAnnotatedWith(Entity.class)) {
 			TypeElement mapperTypeElement = asTypeElement(annotation);
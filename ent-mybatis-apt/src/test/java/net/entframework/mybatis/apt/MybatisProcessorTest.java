@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2024. Licensed under the Apache License, Version 2.0.
+ */
+
+package net.entframework.mybatis.apt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mybatis.dynamic.sql.SqlBuilder.select;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import jakarta.persistence.Entity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mybatis.dynamic.sql.AliasableSqlTable;
+import org.mybatis.dynamic.sql.AndOrCriteriaGroup;
+import org.mybatis.dynamic.sql.SqlBuilder;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+
+/**
+ * 在测试中调用编译器运行处理器。criteria 运行时不在本仓库中, test resources 的 runtime 目录按其 API 提供最小实现,
+ * 生成的 criteria 类与之一起编译
+ */
+class MybatisProcessorTest {
+
+	private static final String CONDITION_CRITERION = "net.entframework.kernel.db.mybatis.criteria.ConditionCriterion$";
+
+	@Test
+	void testBuildQueryIsUnrolled(@TempDir Path outputDir) throws Exception {
+		assertCompiled(outputDir, "entity", "runtime");
+
+		String criteria = Files.readString(outputDir.resolve("generated/com/example/criteria/StudentCriteria.java"));
+		assertFalse(criteria.contains("CriteriaBuilder"));
+		assertTrue(criteria.contains(
+				"andOrCriteriaGroups.add(SqlBuilder.and(Student_.age, SqlBuilder.isIn(age.isIn.getValues())));"));
+		assertTrue(criteria.contains("andOrCriteriaGroups.add(SqlBuilder.and(Student_.name, "
+				+ "SqlBuilder.isLikeCaseInsensitive(name.likeCaseInsensitive.getValue())));"));
+	}
+
+	@Test
+	void testBuildQueryAddsTheSetConditions(@TempDir Path outputDir) throws Exception {
+		assertCompiled(outputDir, "entity", "runtime");
+		Path classes = outputDir.resolve("classes");
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { classes.toUri().toURL() },
+				getClass().getClassLoader())) {
+			Object name = newInstance(classLoader, "com.example.criteria.StudentCriteria$NameCriterion");
+			set(name, "like", condition(classLoader, "Like", "setValue", "%smith%"));
+			// 没有值的条件不参与查询
+			set(name, "equalsTo", condition(classLoader, "EqualsTo", "setValue", null));
+			Object age = newInstance(classLoader, "com.example.criteria.StudentCriteria$AgeCriterion");
+			set(age, "between", condition(classLoader, "Between", "setValues", List.of(18, 21)));
+			Object createdAt = newInstance(classLoader, "com.example.criteria.StudentCriteria$CreatedAtCriterion");
+			set(createdAt, "notNull", condition(classLoader, "NotNull", "setValue", Boolean.TRUE));
+			set(createdAt, "isNull", condition(classLoader, "IsNull", "setValue", Boolean.FALSE));
+
+			Object criteria = newInstance(classLoader, "com.example.criteria.StudentCriteria");
+			set(criteria, "name", name);
+			set(criteria, "age", age);
+			set(criteria, "createdAt", createdAt);
+			@SuppressWarnings("unchecked")
+			List<AndOrCriteriaGroup> groups = (List<AndOrCriteriaGroup>) criteria.getClass()
+				.getMethod("buildQuery")
+				.invoke(criteria);
+
+			AliasableSqlTable<?> student = (AliasableSqlTable<?>) classLoader.loadClass("com.example.entity.Student_")
+				.getField("student")
+				.get(null);
+			String statement = select(student.allColumns()).from(student)
+				.where(groups)
+				.build()
+				.render(RenderingStrategies.MYBATIS3)
+				.getSelectStatement();
+			assertEquals("select * from student where name like #{parameters.p1,jdbcType=VARCHAR} "
+					+ "and age between #{parameters.p2,jdbcType=INTEGER} and #{parameters.p3,jdbcType=INTEGER} "
+					+ "and created_at is not null", statement);
+		}
+	}
+
+	@Test
+	void testBuildQueryDelegatesWithoutConditionAccessors(@TempDir Path outputDir) throws Exception {
+		// 没有 criteria 运行时, 生成的 criteria 类无法编译, 只检查生成的代码
+		compile(outputDir, "entity");
+
+		String criteria = Files.readString(outputDir.resolve("generated/com/example/criteria/StudentCriteria.java"));
+		assertTrue(criteria
+			.contains("return CriteriaBuilder.buildQuery(com.example.entity.Student.class,id,name,age,createdAt);"));
+	}
+
+	private static void assertCompiled(Path outputDir, String... sourceRoots) throws Exception {
+		DiagnosticCollector<JavaFileObject> diagnostics = compile(outputDir, sourceRoots);
+		assertTrue(diagnostics.getDiagnostics().stream().noneMatch(d -> d.getKind() == Diagnostic.Kind.ERROR),
+				() -> diagnostics.getDiagnostics().toString());
+	}
+
+	private static DiagnosticCollector<JavaFileObject> compile(Path outputDir, String... sourceRoots)
+			throws Exception {
+		List<File> sources = new ArrayList<>();
+		for (String sourceRoot : sourceRoots) {
+			Path root = Path.of(MybatisProcessorTest.class.getResource("/" + sourceRoot).toURI());
+			try (Stream<Path> paths = Files.walk(root)) {
+				paths.filter(path -> path.toString().endsWith(".java")).map(Path::toFile).forEach(sources::add);
+			}
+		}
+		Path classes = Files.createDirectories(outputDir.resolve("classes"));
+		Path generated = Files.createDirectories(outputDir.resolve("generated"));
+		List<String> options = List.of("-d", classes.toString(), "-s", generated.toString(), "-classpath",
+				location(Entity.class) + File.pathSeparator + location(SqlBuilder.class));
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null,
+				StandardCharsets.UTF_8)) {
+			JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+					fileManager.getJavaFileObjectsFromFiles(sources));
+			task.setProcessors(List.of(new MybatisProcessor()));
+			task.call();
+		}
+		return diagnostics;
+	}
+
+	private static String location(Class<?> type) throws URISyntaxException {
+		return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+	}
+
+	private static Object condition(ClassLoader classLoader, String condition, String setter, Object value)
+			throws ReflectiveOperationException {
+		Object criterion = newInstance(classLoader, CONDITION_CRITERION + condition);
+		for (var method : criterion.getClass().getMethods()) {
+			if (method.getName().equals(setter)) {
+				method.invoke(criterion, value);
+			}
+		}
+		return criterion;
+	}
+
+	private static Object newInstance(ClassLoader classLoader, String className) throws ReflectiveOperationException {
+		var constructor = classLoader.loadClass(className).getDeclaredConstructor();
+		constructor.setAccessible(true);
+		return constructor.newInstance();
+	}
+
+	private static void set(Object target, String fieldName, Object value) throws ReflectiveOperationException {
+		var field = target.getClass().getDeclaredField(fieldName);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+
+}
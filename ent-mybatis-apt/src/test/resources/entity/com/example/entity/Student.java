@@ -0,0 +1,31 @@
+package com.example.entity;
+
+import java.sql.JDBCType;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import org.mybatis.dynamic.sql.annotation.SqlColumn;
+
+@Entity
+@Table(name = "student")
+public class Student {
+
+	@Column(name = "id")
+	@SqlColumn(jdbcType = JDBCType.BIGINT)
+	private Long id;
+
+	@Column(name = "name")
+	@SqlColumn(jdbcType = JDBCType.VARCHAR)
+	private String name;
+
+	@Column(name = "age")
+	@SqlColumn(jdbcType = JDBCType.INTEGER)
+	private Integer age;
+
+	@Column(name = "created_at")
+	@SqlColumn(jdbcType = JDBCType.TIMESTAMP)
+	private LocalDateTime createdAt;
+
+}
@@ -0,0 +1,17 @@
+package com.fasterxml.jackson.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+public @interface JsonInclude {
+
+	Include value() default Include.ALWAYS;
+
+	enum Include {
+
+		ALWAYS, NON_NULL
+
+	}
+
+}
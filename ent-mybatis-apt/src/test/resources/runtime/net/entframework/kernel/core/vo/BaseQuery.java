@@ -0,0 +1,5 @@
+package net.entframework.kernel.core.vo;
+
+public class BaseQuery {
+
+}
@@ -0,0 +1,72 @@
+package net.entframework.kernel.db.mybatis.criteria;
+
+public final class ConditionCriterion {
+
+	private ConditionCriterion() {
+	}
+
+	public static class EqualsTo<T> extends SingleValueCriterion<T> {
+
+	}
+
+	public static class NotEqualTo<T> extends SingleValueCriterion<T> {
+
+	}
+
+	public static class NotNull<T> extends SingleValueCriterion<T> {
+
+	}
+
+	public static class IsNull<T> extends SingleValueCriterion<T> {
+
+	}
+
+	public static class Like<T> extends SingleValueCriterion<T> {
+
+	}
+
+	public static class LikeCaseInsensitive<T> extends SingleValueCriterion<T> {
+
+	}
+
+	public static class NotLike<T> extends SingleValueCriterion<T> {
+
+	}
+
+	public static class NotLikeCaseInsensitive<T> extends SingleValueCriterion<T> {
+
+	}
+
+	public static class GreaterThan<T> extends SingleValueCriterion<T> {
+
+	}
+
+	public static class GreaterThanOrEqualTo<T> extends SingleValueCriterion<T> {
+
+	}
+
+	public static class LessThan<T> extends SingleValueCriterion<T> {
+
+	}
+
+	public static class LessThanOrEqualTo<T> extends SingleValueCriterion<T> {
+
+	}
+
+	public static class Between<T> extends ListValueCriterion<T> {
+
+	}
+
+	public static class NotBetween<T> extends ListValueCriterion<T> {
+
+	}
+
+	public static class IsIn<T> extends ListValueCriterion<T> {
+
+	}
+
+	public static class IsNotIn<T> extends ListValueCriterion<T> {
+
+	}
+
+}
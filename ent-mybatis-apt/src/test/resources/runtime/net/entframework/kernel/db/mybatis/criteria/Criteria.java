@@ -0,0 +1,11 @@
+package net.entframework.kernel.db.mybatis.criteria;
+
+import java.util.List;
+
+import org.mybatis.dynamic.sql.AndOrCriteriaGroup;
+
+public interface Criteria {
+
+	List<AndOrCriteriaGroup> buildQuery();
+
+}
@@ -0,0 +1,16 @@
+package net.entframework.kernel.db.mybatis.criteria;
+
+import java.util.List;
+
+import org.mybatis.dynamic.sql.AndOrCriteriaGroup;
+
+public final class CriteriaBuilder {
+
+	private CriteriaBuilder() {
+	}
+
+	public static List<AndOrCriteriaGroup> buildQuery(Class<?> entityClass, FieldCriterion<?>... criteria) {
+		throw new UnsupportedOperationException("the generated criteria classes don't build queries reflectively");
+	}
+
+}
@@ -0,0 +1,5 @@
+package net.entframework.kernel.db.mybatis.criteria;
+
+public interface Criterion {
+
+}
@@ -0,0 +1,9 @@
+package net.entframework.kernel.db.mybatis.criteria;
+
+import java.util.List;
+
+public abstract class FieldCriterion<T> {
+
+	public abstract List<Criterion> getCriterions();
+
+}
@@ -0,0 +1,17 @@
+package net.entframework.kernel.db.mybatis.criteria;
+
+import java.util.List;
+
+public class ListValueCriterion<T> implements Criterion {
+
+	private List<T> values;
+
+	public List<T> getValues() {
+		return values;
+	}
+
+	public void setValues(List<T> values) {
+		this.values = values;
+	}
+
+}
@@ -0,0 +1,15 @@
+package net.entframework.kernel.db.mybatis.criteria;
+
+public class SingleValueCriterion<T> implements Criterion {
+
+	private T value;
+
+	public T getValue() {
+		return value;
+	}
+
+	public void setValue(T value) {
+		this.value = value;
+	}
+
+}
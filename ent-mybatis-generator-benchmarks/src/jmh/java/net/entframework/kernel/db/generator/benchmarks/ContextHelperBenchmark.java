@@ -0,0 +1,61 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mybatis.generator.config.ContextHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Matches wildcard table patterns against a large list of table names, as done when a
+ * context configures tables with SQL wildcards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContextHelperBenchmark {
+
+	@Param({ "100", "2000" })
+	public int tableCount;
+
+	@Param({ "sys_%", "%_log", "%order%item%" })
+	public String pattern;
+
+	private List<String> tableNames;
+
+	@Setup
+	public void setup() {
+		String[] prefixes = { "sys_", "biz_", "tmp_", "" };
+		String[] names = { "user", "order_item", "order", "customer_address", "audit_log", "product_sku" };
+		tableNames = new ArrayList<>(tableCount);
+		for (int i = 0; i < tableCount; i++) {
+			tableNames.add(prefixes[i % prefixes.length] + names[i % names.length] + "_" + i);
+		}
+	}
+
+	@Benchmark
+	public int matchAll() {
+		int matches = 0;
+		for (String tableName : tableNames) {
+			if (ContextHelper.isMatch(tableName, pattern)) {
+				matches++;
+			}
+		}
+		return matches;
+	}
+
+}
@@ -0,0 +1,307 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.benchmarks;
+
+import static org.mybatis.dynamic.sql.SqlBuilder.*;
+
+import java.lang.reflect.Field;
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mybatis.dynamic.sql.AliasableSqlTable;
+import org.mybatis.dynamic.sql.AndOrCriteriaGroup;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.VisitableCondition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Builds the where clause of a list request from a criteria object, once through the
+ * reflective CriteriaBuilder path that the generated criteria classes delegate to when
+ * the criteria runtime lacks the condition value accessors, and once through the unrolled
+ * buildQuery code that the mybatis processor generates otherwise.
+ *
+ * <p>
+ * The criteria runtime is not part of this repository, so the classes below mirror the
+ * shape of the runtime and of the generated classes: one criterion per field, holding
+ * one condition per condition type, whose value is read with {@code getValue()} or
+ * {@code getValues()}. The reflective path reads the criterion fields reflectively and
+ * dispatches on the condition type, as CriteriaBuilder.buildQuery(Entity.class,
+ * fields...) has to. The unrolled path is the code the processor generates for these
+ * fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CriteriaQueryBenchmark {
+
+	private static final Student STUDENT = new Student();
+
+	private StudentCriteria criteria;
+
+	@Setup
+	public void setup() {
+		criteria = new StudentCriteria();
+		criteria.name = new NameCriterion();
+		criteria.name.like = new Like<>("%smith%");
+		criteria.age = new AgeCriterion();
+		criteria.age.greaterThanOrEqualTo = new GreaterThanOrEqualTo<>(18);
+		criteria.age.isIn = new IsIn<>(Arrays.asList(18, 19, 20, 21));
+		criteria.id = new IdCriterion();
+		criteria.id.notNull = new NotNull<>(Boolean.TRUE);
+	}
+
+	@Benchmark
+	public List<AndOrCriteriaGroup> criteriaBuilder() throws ReflectiveOperationException {
+		return buildQuery(criteria.id, criteria.name, criteria.age);
+	}
+
+	/**
+	 * Stands in for CriteriaBuilder.buildQuery: every condition field of every criterion
+	 * is read reflectively, and the condition type decides the SqlBuilder condition.
+	 */
+	private static List<AndOrCriteriaGroup> buildQuery(FieldCriterion<?>... fieldCriteria)
+			throws ReflectiveOperationException {
+		List<AndOrCriteriaGroup> groups = new ArrayList<>();
+		for (FieldCriterion<?> fieldCriterion : fieldCriteria) {
+			if (fieldCriterion == null) {
+				continue;
+			}
+			@SuppressWarnings("unchecked")
+			SqlColumn<Object> column = (SqlColumn<Object>) fieldCriterion.column;
+			for (Field conditionField : fieldCriterion.getClass().getDeclaredFields()) {
+				conditionField.setAccessible(true);
+				Object criterion = conditionField.get(fieldCriterion);
+				if (criterion == null) {
+					continue;
+				}
+				VisitableCondition<Object> condition = toCondition(criterion);
+				if (condition != null) {
+					groups.add(and(column, condition));
+				}
+			}
+		}
+		return groups;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static VisitableCondition<Object> toCondition(Object criterion) {
+		if (criterion instanceof ListValueCriterion) {
+			List<Object> values = ((ListValueCriterion<Object>) criterion).getValues();
+			if (values == null) {
+				return null;
+			}
+			return criterion instanceof IsIn ? isIn(values) : null;
+		}
+		Object value = ((SingleValueCriterion<Object>) criterion).getValue();
+		if (value == null) {
+			return null;
+		}
+		switch (criterion.getClass().getSimpleName()) {
+			case "EqualsTo":
+				return isEqualTo(value);
+			case "Like":
+				return isLike(value);
+			case "GreaterThanOrEqualTo":
+				return isGreaterThanOrEqualTo(value);
+			case "NotNull":
+				return Boolean.TRUE.equals(value) ? isNotNull() : null;
+			default:
+				return null;
+		}
+	}
+
+	@Benchmark
+	public List<AndOrCriteriaGroup> unrolled() {
+		return criteria.buildQuery();
+	}
+
+	public static final class Student extends AliasableSqlTable<Student> {
+
+		public final SqlColumn<Long> id = column("id", JDBCType.BIGINT);
+
+		public final SqlColumn<String> name = column("name", JDBCType.VARCHAR);
+
+		public final SqlColumn<Integer> age = column("age", JDBCType.INTEGER);
+
+		public Student() {
+			super("student", Student::new);
+		}
+
+	}
+
+	/**
+	 * The buildQuery method is the code the mybatis processor generates for these fields.
+	 */
+	public static class StudentCriteria {
+
+		private IdCriterion id;
+
+		private NameCriterion name;
+
+		private AgeCriterion age;
+
+		public List<AndOrCriteriaGroup> buildQuery() {
+			List<AndOrCriteriaGroup> andOrCriteriaGroups = new ArrayList<>();
+			if (id != null) {
+				if (id.equalsTo != null && id.equalsTo.getValue() != null) {
+					andOrCriteriaGroups.add(and(STUDENT.id, isEqualTo(id.equalsTo.getValue())));
+				}
+				if (id.notNull != null && Boolean.TRUE.equals(id.notNull.getValue())) {
+					andOrCriteriaGroups.add(and(STUDENT.id, isNotNull()));
+				}
+			}
+			if (name != null) {
+				if (name.equalsTo != null && name.equalsTo.getValue() != null) {
+					andOrCriteriaGroups.add(and(STUDENT.name, isEqualTo(name.equalsTo.getValue())));
+				}
+				if (name.like != null && name.like.getValue() != null) {
+					andOrCriteriaGroups.add(and(STUDENT.name, isLike(name.like.getValue())));
+				}
+			}
+			if (age != null) {
+				if (age.equalsTo != null && age.equalsTo.getValue() != null) {
+					andOrCriteriaGroups.add(and(STUDENT.age, isEqualTo(age.equalsTo.getValue())));
+				}
+				if (age.greaterThanOrEqualTo != null && age.greaterThanOrEqualTo.getValue() != null) {
+					andOrCriteriaGroups
+						.add(and(STUDENT.age, isGreaterThanOrEqualTo(age.greaterThanOrEqualTo.getValue())));
+				}
+				if (age.isIn != null && age.isIn.getValues() != null) {
+					andOrCriteriaGroups.add(and(STUDENT.age, isIn(age.isIn.getValues())));
+				}
+			}
+			return andOrCriteriaGroups;
+		}
+
+	}
+
+	public abstract static class FieldCriterion<T> {
+
+		private final SqlColumn<T> column;
+
+		FieldCriterion(SqlColumn<T> column) {
+			this.column = column;
+		}
+
+	}
+
+	public static class IdCriterion extends FieldCriterion<Long> {
+
+		private EqualsTo<Long> equalsTo;
+
+		private NotNull<Boolean> notNull;
+
+		IdCriterion() {
+			super(STUDENT.id);
+		}
+
+	}
+
+	public static class NameCriterion extends FieldCriterion<String> {
+
+		private EqualsTo<String> equalsTo;
+
+		private Like<String> like;
+
+		NameCriterion() {
+			super(STUDENT.name);
+		}
+
+	}
+
+	public static class AgeCriterion extends FieldCriterion<Integer> {
+
+		private EqualsTo<Integer> equalsTo;
+
+		private GreaterThanOrEqualTo<Integer> greaterThanOrEqualTo;
+
+		private IsIn<Integer> isIn;
+
+		AgeCriterion() {
+			super(STUDENT.age);
+		}
+
+	}
+
+	public static class SingleValueCriterion<T> {
+
+		private final T value;
+
+		SingleValueCriterion(T value) {
+			this.value = value;
+		}
+
+		public T getValue() {
+			return value;
+		}
+
+	}
+
+	public static class ListValueCriterion<T> {
+
+		private final List<T> values;
+
+		ListValueCriterion(List<T> values) {
+			this.values = values;
+		}
+
+		public List<T> getValues() {
+			return values;
+		}
+
+	}
+
+	public static class EqualsTo<T> extends SingleValueCriterion<T> {
+
+		EqualsTo(T value) {
+			super(value);
+		}
+
+	}
+
+	public static class Like<T> extends SingleValueCriterion<T> {
+
+		Like(T value) {
+			super(value);
+		}
+
+	}
+
+	public static class GreaterThanOrEqualTo<T> extends SingleValueCriterion<T> {
+
+		GreaterThanOrEqualTo(T value) {
+			super(value);
+		}
+
+	}
+
+	public static class NotNull<T> extends SingleValueCriterion<T> {
+
+		NotNull(T value) {
+			super(value);
+		}
+
+	}
+
+	public static class IsIn<T> extends ListValueCriterion<T> {
+
+		IsIn(List<T> values) {
+			super(values);
+		}
+
+	}
+
+}
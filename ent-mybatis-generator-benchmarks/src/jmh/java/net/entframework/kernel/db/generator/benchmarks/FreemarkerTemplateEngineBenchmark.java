@@ -0,0 +1,66 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import net.entframework.kernel.db.generator.plugin.web.freemarker.FreemarkerTemplateEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Processes a template with a data model shaped like the ones the web plugins pass to
+ * the template engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FreemarkerTemplateEngineBenchmark {
+
+	private static final String TEMPLATE = "benchmarks/entity.ftl";
+
+	@Param({ "20", "200" })
+	public int fieldCount;
+
+	private Map<String, Object> dataModel;
+
+	@Setup
+	public void setup() throws IOException {
+		FreemarkerTemplateEngine.init("");
+		List<Map<String, Object>> fields = new ArrayList<>(fieldCount);
+		for (int i = 0; i < fieldCount; i++) {
+			Map<String, Object> field = new LinkedHashMap<>();
+			field.put("name", "column" + i);
+			field.put("type", i % 3 == 0 ? "number" : "string");
+			field.put("remarks", "Column " + i);
+			field.put("required", i % 2 == 0);
+			fields.add(field);
+		}
+		dataModel = new HashMap<>();
+		dataModel.put("modelName", "Customer");
+		dataModel.put("packageName", "com.example.model");
+		dataModel.put("fields", fields);
+	}
+
+	@Benchmark
+	public String process() throws Exception {
+		return FreemarkerTemplateEngine.process(dataModel, TEMPLATE);
+	}
+
+}
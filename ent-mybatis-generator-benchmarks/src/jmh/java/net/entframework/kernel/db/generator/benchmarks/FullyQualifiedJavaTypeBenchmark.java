@@ -0,0 +1,43 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parses type specifications of increasing complexity, the way the generators create
+ * types for every column, method and import.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FullyQualifiedJavaTypeBenchmark {
+
+	@Param({ "java.lang.String", "java.util.List<com.example.model.Customer>",
+			"java.util.Map<java.lang.String, java.util.List<? extends com.example.model.Customer>>" })
+	public String typeSpecification;
+
+	@Benchmark
+	public FullyQualifiedJavaType parse() {
+		return new FullyQualifiedJavaType(typeSpecification);
+	}
+
+	@Benchmark
+	public String parseAndGetShortName() {
+		return new FullyQualifiedJavaType(typeSpecification).getShortName();
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.config.CommentGeneratorConfiguration;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JDBCConnectionConfiguration;
+import org.mybatis.generator.config.JavaClientGeneratorConfiguration;
+import org.mybatis.generator.config.JavaModelGeneratorConfiguration;
+import org.mybatis.generator.config.ModelType;
+import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.config.SqlMapGeneratorConfiguration;
+import org.mybatis.generator.config.TableConfiguration;
+import org.mybatis.generator.internal.DefaultShellCallback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Runs the whole generator, from introspection to saving, against a synthetic schema in
+ * an embedded HSQLDB database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MyBatisGeneratorBenchmark {
+
+	private static final String CONNECTION_URL = "jdbc:hsqldb:mem:benchmark";
+
+	@Param({ "10", "100" })
+	public int tableCount;
+
+	@Param({ "30" })
+	public int columnCount;
+
+	@Param({ "false", "true" })
+	public boolean writeFiles;
+
+	private Path targetDirectory;
+
+	@Setup(Level.Trial)
+	public void setup() throws SQLException, IOException {
+		SyntheticSchema.create(CONNECTION_URL, tableCount, columnCount);
+		targetDirectory = Files.createTempDirectory("mbg-benchmark");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		try (Stream<Path> paths = Files.walk(targetDirectory)) {
+			for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(path);
+			}
+		}
+	}
+
+	@Benchmark
+	public List<String> generate() throws Exception {
+		List<String> warnings = new ArrayList<>();
+		MyBatisGenerator myBatisGenerator = new MyBatisGenerator(createConfiguration(), new DefaultShellCallback(true),
+				warnings);
+		myBatisGenerator.generate(null, null, null, writeFiles);
+		return warnings;
+	}
+
+	private Configuration createConfiguration() {
+		Context context = new Context(ModelType.FLAT);
+		context.setId("benchmark");
+		context.setTargetRuntime("MyBatis3");
+
+		JDBCConnectionConfiguration connectionConfiguration = new JDBCConnectionConfiguration();
+		connectionConfiguration.setDriverClass(SyntheticSchema.DRIVER_CLASS);
+		connectionConfiguration.setConnectionURL(CONNECTION_URL);
+		connectionConfiguration.setUserId(SyntheticSchema.USER_ID);
+		connectionConfiguration.setPassword("");
+		context.setJdbcConnectionConfiguration(connectionConfiguration);
+
+		CommentGeneratorConfiguration commentGeneratorConfiguration = new CommentGeneratorConfiguration();
+		commentGeneratorConfiguration.addProperty(PropertyRegistry.COMMENT_GENERATOR_SUPPRESS_DATE, "true");
+		context.setCommentGeneratorConfiguration(commentGeneratorConfiguration);
+
+		String targetProject = targetDirectory.toString();
+		JavaModelGeneratorConfiguration modelConfiguration = new JavaModelGeneratorConfiguration();
+		modelConfiguration.setTargetPackage("com.example.model");
+		modelConfiguration.setTargetProject(targetProject);
+		context.setJavaModelGeneratorConfiguration(modelConfiguration);
+
+		SqlMapGeneratorConfiguration sqlMapConfiguration = new SqlMapGeneratorConfiguration();
+		sqlMapConfiguration.setTargetPackage("com.example.mapper");
+		sqlMapConfiguration.setTargetProject(targetProject);
+		context.setSqlMapGeneratorConfiguration(sqlMapConfiguration);
+
+		JavaClientGeneratorConfiguration clientConfiguration = new JavaClientGeneratorConfiguration();
+		clientConfiguration.setConfigurationType("XMLMAPPER");
+		clientConfiguration.setTargetPackage("com.example.mapper");
+		clientConfiguration.setTargetProject(targetProject);
+		context.setJavaClientGeneratorConfiguration(clientConfiguration);
+
+		for (int i = 0; i < tableCount; i++) {
+			TableConfiguration tableConfiguration = new TableConfiguration(context);
+			tableConfiguration.setTableName(SyntheticSchema.tableName(i));
+			context.addTableConfiguration(tableConfiguration);
+		}
+
+		Configuration configuration = new Configuration();
+		configuration.addContext(context);
+		return configuration;
+	}
+
+}
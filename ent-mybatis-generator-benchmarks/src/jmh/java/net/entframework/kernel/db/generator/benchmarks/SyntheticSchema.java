@@ -0,0 +1,59 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Creates a schema of wide tables in an in-memory HSQLDB database. Every table has an
+ * identity primary key and a mix of column types, including BLOB and CLOB columns.
+ */
+final class SyntheticSchema {
+
+	static final String DRIVER_CLASS = "org.hsqldb.jdbcDriver";
+
+	static final String USER_ID = "sa";
+
+	private static final String[] COLUMN_TYPES = { "VARCHAR(64)", "INTEGER", "BIGINT", "DECIMAL(18,4)", "TIMESTAMP",
+			"DATE", "BOOLEAN", "VARCHAR(255)", "BLOB", "CLOB" };
+
+	private SyntheticSchema() {
+	}
+
+	/**
+	 * Creates the tables, dropping any tables left behind by an earlier run.
+	 * @param connectionUrl the in-memory database URL
+	 * @param tableCount the number of tables to create
+	 * @param columnCount the number of columns of every table, besides the primary key
+	 * @throws SQLException if the schema cannot be created
+	 */
+	static void create(String connectionUrl, int tableCount, int columnCount) throws SQLException {
+		try (Connection connection = DriverManager.getConnection(connectionUrl, USER_ID, "");
+				Statement statement = connection.createStatement()) {
+			for (int t = 0; t < tableCount; t++) {
+				String tableName = tableName(t);
+				statement.execute("DROP TABLE " + tableName + " IF EXISTS");
+				StringBuilder sb = new StringBuilder();
+				sb.append("CREATE TABLE ").append(tableName);
+				sb.append(" (ID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY");
+				for (int c = 0; c < columnCount; c++) {
+					sb.append(", COLUMN_").append(c).append(' ').append(COLUMN_TYPES[(t + c) % COLUMN_TYPES.length]);
+				}
+				sb.append(')');
+				statement.execute(sb.toString());
+			}
+		}
+	}
+
+	static String tableName(int index) {
+		return "BENCH_TABLE_" + index;
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mybatis.generator.api.dom.java.Field;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.JavaVisibility;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.api.dom.java.render.TopLevelClassRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Renders entity classes with many columns, each with a field, a getter and a setter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TopLevelClassRendererBenchmark {
+
+	private static final String[] TYPES = { "java.lang.Long", "java.lang.String", "java.math.BigDecimal",
+			"java.time.LocalDateTime", "java.lang.Integer", "java.lang.Boolean" };
+
+	@Param({ "20", "200" })
+	public int columnCount;
+
+	private TopLevelClass topLevelClass;
+
+	@Setup
+	public void setup() {
+		topLevelClass = createEntity(columnCount);
+	}
+
+	@Benchmark
+	public String render() {
+		return new TopLevelClassRenderer().render(topLevelClass);
+	}
+
+	@Benchmark
+	public int renderToAppendable() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		new TopLevelClassRenderer().render(topLevelClass, sb);
+		return sb.length();
+	}
+
+	static TopLevelClass createEntity(int columnCount) {
+		TopLevelClass entity = new TopLevelClass("com.example.model.WideEntity");
+		entity.setVisibility(JavaVisibility.PUBLIC);
+		entity.addJavaDocLine("/**");
+		entity.addJavaDocLine(" * An entity with " + columnCount + " columns.");
+		entity.addJavaDocLine(" */");
+		entity.addAnnotation("@SuppressWarnings(\"unused\")");
+
+		for (int i = 0; i < columnCount; i++) {
+			FullyQualifiedJavaType type = new FullyQualifiedJavaType(TYPES[i % TYPES.length]);
+			entity.addImportedType(type);
+			String property = "column" + i;
+			String accessorSuffix = "Column" + i;
+
+			Field field = new Field(property, type);
+			field.setVisibility(JavaVisibility.PRIVATE);
+			field.addJavaDocLine("/** Column " + i + ". */");
+			entity.addField(field);
+
+			Method getter = new Method("get" + accessorSuffix);
+			getter.setVisibility(JavaVisibility.PUBLIC);
+			getter.setReturnType(type);
+			getter.addBodyLine("return " + property + ";");
+			entity.addMethod(getter);
+
+			Method setter = new Method("set" + accessorSuffix);
+			setter.setVisibility(JavaVisibility.PUBLIC);
+			setter.addParameter(new Parameter(type, property));
+			setter.addBodyLine("this." + property + " = " + property + ";");
+			entity.addMethod(setter);
+		}
+		return entity;
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.mybatis.generator.api.GeneratedXmlFile;
+import org.mybatis.generator.api.dom.DefaultXmlFormatter;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.codegen.XmlConstants;
+import org.mybatis.generator.config.MergeConstants;
+import org.mybatis.generator.exception.ShellException;
+import org.mybatis.generator.internal.XmlFileMergerJaxp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Merges a freshly generated mapper into an existing mapper file that contains both
+ * previously generated and hand written statements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class XmlFileMergerBenchmark {
+
+	@Param({ "10", "100" })
+	public int statementCount;
+
+	private Path directory;
+
+	private File existingFile;
+
+	private GeneratedXmlFile generatedXmlFile;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("mbg-merge-benchmark");
+		generatedXmlFile = new GeneratedXmlFile(createMapper(statementCount, false), "CustomerMapper.xml",
+				"com.example.mapper", directory.toString(), true, new DefaultXmlFormatter());
+		existingFile = directory.resolve("CustomerMapper.xml").toFile();
+		Files.writeString(existingFile.toPath(),
+				new GeneratedXmlFile(createMapper(statementCount, true), "CustomerMapper.xml", "com.example.mapper",
+						directory.toString(), true, new DefaultXmlFormatter())
+					.getFormattedContent(),
+				StandardCharsets.UTF_8);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(existingFile.toPath());
+		Files.deleteIfExists(directory);
+	}
+
+	@Benchmark
+	public String merge() throws ShellException {
+		return XmlFileMergerJaxp.getMergedSource(generatedXmlFile, existingFile);
+	}
+
+	private static Document createMapper(int statementCount, boolean withCustomStatements) {
+		Document document = new Document(XmlConstants.MYBATIS3_MAPPER_PUBLIC_ID,
+				XmlConstants.MYBATIS3_MAPPER_SYSTEM_ID);
+		XmlElement mapper = new XmlElement("mapper");
+		mapper.addAttribute(new Attribute("namespace", "com.example.mapper.CustomerMapper"));
+		for (int i = 0; i < statementCount; i++) {
+			XmlElement select = new XmlElement("select");
+			select.addAttribute(new Attribute("id", "selectByColumn" + i));
+			select.addAttribute(new Attribute("resultType", "com.example.model.Customer"));
+			select.addElement(new TextElement("<!--"));
+			select.addElement(new TextElement("  " + MergeConstants.NEW_ELEMENT_TAG));
+			select.addElement(new TextElement("-->"));
+			select.addElement(new TextElement("select * from customer where column_" + i + " = #{value}"));
+			mapper.addElement(select);
+
+			if (withCustomStatements) {
+				XmlElement custom = new XmlElement("select");
+				custom.addAttribute(new Attribute("id", "customQuery" + i));
+				custom.addAttribute(new Attribute("resultType", "java.lang.Long"));
+				custom.addElement(new TextElement("select count(*) from customer where column_" + i + " > 0"));
+				mapper.addElement(custom);
+			}
+		}
+		document.setRootElement(mapper);
+		return document;
+	}
+
+}
@@ -0,0 +1,13 @@
+// ${packageName}.${modelName}
+export interface ${modelName} {
+<#list fields as field>
+  /** ${field.remarks} */
+  ${field.name}<#if !field.required>?</#if>: ${field.type};
+</#list>
+}
+
+export const ${modelName?uncap_first}Columns = [
+<#list fields as field>
+  { key: '${field.name}', title: '${field.remarks}', sortable: ${field.required?c} }<#sep>,</#sep>
+</#list>
+];
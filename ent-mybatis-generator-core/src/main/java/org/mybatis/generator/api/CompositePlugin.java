@@ -220,6 +220,54 @@ public abstract class CompositePlugin implements Plugin {
 		return true;
 	}
 
+	@Override
+	public boolean clientBasicSelectCursorMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		for (Plugin plugin : plugins) {
+			if (!plugin.clientBasicSelectCursorMethodGenerated(method, interfaze, introspectedTable)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public boolean clientBasicSelectCursorMethodGenerated(KotlinFunction kotlinFunction, KotlinFile kotlinFile,
+			IntrospectedTable introspectedTable) {
+		for (Plugin plugin : plugins) {
+			if (!plugin.clientBasicSelectCursorMethodGenerated(kotlinFunction, kotlinFile, introspectedTable)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public boolean clientBasicSelectWithHandlerMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		for (Plugin plugin : plugins) {
+			if (!plugin.clientBasicSelectWithHandlerMethodGenerated(method, interfaze, introspectedTable)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public boolean clientBasicSelectWithHandlerMethodGenerated(KotlinFunction kotlinFunction, KotlinFile kotlinFile,
+			IntrospectedTable introspectedTable) {
+		for (Plugin plugin : plugins) {
+			if (!plugin.clientBasicSelectWithHandlerMethodGenerated(kotlinFunction, kotlinFile, introspectedTable)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public boolean clientBasicSelectOneMethodGenerated(Method method, Interface interfaze,
 			IntrospectedTable introspectedTable) {
@@ -388,6 +436,54 @@ public abstract class CompositePlugin implements Plugin {
 		return true;
 	}
 
+	@Override
+	public boolean clientGeneralSelectCursorMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		for (Plugin plugin : plugins) {
+			if (!plugin.clientGeneralSelectCursorMethodGenerated(method, interfaze, introspectedTable)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public boolean clientGeneralSelectCursorMethodGenerated(KotlinFunction kotlinFunction, KotlinFile kotlinFile,
+			IntrospectedTable introspectedTable) {
+		for (Plugin plugin : plugins) {
+			if (!plugin.clientGeneralSelectCursorMethodGenerated(kotlinFunction, kotlinFile, introspectedTable)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public boolean clientGeneralSelectWithHandlerMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		for (Plugin plugin : plugins) {
+			if (!plugin.clientGeneralSelectWithHandlerMethodGenerated(method, interfaze, introspectedTable)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public boolean clientGeneralSelectWithHandlerMethodGenerated(KotlinFunction kotlinFunction, KotlinFile kotlinFile,
+			IntrospectedTable introspectedTable) {
+		for (Plugin plugin : plugins) {
+			if (!plugin.clientGeneralSelectWithHandlerMethodGenerated(kotlinFunction, kotlinFile, introspectedTable)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public boolean clientGeneralUpdateMethodGenerated(Method method, Interface interfaze,
 			IntrospectedTable introspectedTable) {
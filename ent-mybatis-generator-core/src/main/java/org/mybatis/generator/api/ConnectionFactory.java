@@ -23,8 +23,10 @@ public interface ConnectionFactory {
 
 	/**
 	 * Should return a connection to the database in use for this context. The generator
-	 * will call this method only one time for each context. The generator will close the
-	 * connection.
+	 * will call this method only one time for each context, unless the context property
+	 * <code>introspectionThreads</code> is greater than 1. In that case it is called once
+	 * for each introspection thread and must be safe to call concurrently. The generator
+	 * will close the connection.
 	 * @return the connection
 	 * @throws SQLException if there is some error obtaining the connection
 	 */
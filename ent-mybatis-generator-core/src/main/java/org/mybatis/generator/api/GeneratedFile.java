@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api;
 
+import java.io.IOException;
+
 /**
  * Abstract class that holds information common to all generated files.
  *
@@ -40,6 +42,18 @@ public abstract class GeneratedFile {
 	 */
 	public abstract String getFormattedContent();
 
+	/**
+	 * Writes the entire contents of the generated file to the specified output. The
+	 * characters written are the same as the value returned from
+	 * {@link #getFormattedContent()}, but subclasses may render them directly into the
+	 * output instead of building the whole content as a string first.
+	 * @param out the output
+	 * @throws IOException if the output cannot be written
+	 */
+	public void writeFormattedContent(Appendable out) throws IOException {
+		out.append(getFormattedContent());
+	}
+
 	/**
 	 * Get the file name (without any path). Clients should use this method to determine
 	 * how to save the results.
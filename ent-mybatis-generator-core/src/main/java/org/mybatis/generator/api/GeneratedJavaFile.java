@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.dom.java.CompilationUnit;
 
 public class GeneratedJavaFile extends GeneratedFile {
@@ -42,6 +44,11 @@ public class GeneratedJavaFile extends GeneratedFile {
 		return javaFormatter.getFormattedContent(compilationUnit);
 	}
 
+	@Override
+	public void writeFormattedContent(Appendable out) throws IOException {
+		javaFormatter.writeFormattedContent(compilationUnit, out);
+	}
+
 	@Override
 	public String getFileName() {
 		return compilationUnit.getType().getShortNameWithoutTypeArguments() + ".java"; //$NON-NLS-1$
@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.dom.kotlin.KotlinFile;
 
 public class GeneratedKotlinFile extends GeneratedFile {
@@ -40,6 +42,11 @@ public class GeneratedKotlinFile extends GeneratedFile {
 		return kotlinFormatter.getFormattedContent(kotlinFile);
 	}
 
+	@Override
+	public void writeFormattedContent(Appendable out) throws IOException {
+		kotlinFormatter.writeFormattedContent(kotlinFile, out);
+	}
+
 	@Override
 	public String getFileName() {
 		return kotlinFile.getFileName();
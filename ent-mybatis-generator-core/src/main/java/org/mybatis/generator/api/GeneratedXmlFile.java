@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.dom.xml.Document;
 
 public class GeneratedXmlFile extends GeneratedFile {
@@ -42,11 +44,24 @@ public class GeneratedXmlFile extends GeneratedFile {
 		this.writeMode = WriteMode.OVER_WRITE;
 	}
 
+	public Document getDocument() {
+		return document;
+	}
+
+	public XmlFormatter getXmlFormatter() {
+		return xmlFormatter;
+	}
+
 	@Override
 	public String getFormattedContent() {
 		return xmlFormatter.getFormattedContent(document);
 	}
 
+	@Override
+	public void writeFormattedContent(Appendable out) throws IOException {
+		xmlFormatter.writeFormattedContent(document, out);
+	}
+
 	@Override
 	public String getFileName() {
 		return fileName;
@@ -0,0 +1,337 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.api;
+
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the wall time, call count and allocated bytes of the phases of a generator
+ * run, per table and per plugin hook. An instance is filled by
+ * {@link MyBatisGenerator} when metrics are enabled, and handed to
+ * {@link ProgressCallback#metricsCollected(GenerationMetrics)} at the end of the run.
+ *
+ * <p>
+ * Phases nest: the time spent in plugin hooks is also part of the phase that called the
+ * hook. Times are summed over all calls, so phases that run on worker threads can
+ * report more time than has elapsed. Allocated bytes are only measured if the JVM
+ * supports thread allocation accounting, and are zero otherwise.
+ *
+ * <p>
+ * This class is thread safe.
+ */
+public class GenerationMetrics {
+
+	/**
+	 * The phases of a generator run.
+	 */
+	public enum Phase {
+
+		/** Opening database connections, per context. */
+		CONNECT,
+		/** Reading table metadata, per table. */
+		INTROSPECT,
+		/** Calculating the generators of a table, per table. */
+		CALCULATE_GENERATORS,
+		/** Building the generated files of a table, per table. */
+		GENERATE,
+		/** Running plugin hooks, per plugin and hook method. */
+		PLUGIN,
+		/** Merging generated files with existing files, per table or file. */
+		MERGE,
+		/** Rendering generated files, per table or file. */
+		FORMAT,
+		/** Rendering templates of template based files, per template. */
+		TEMPLATE,
+		/** Comparing and writing files, per table or file. */
+		WRITE
+
+	}
+
+	/**
+	 * A metrics instance that does not collect anything.
+	 */
+	public static final GenerationMetrics DISABLED = new GenerationMetrics(false);
+
+	private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = allocationTrackingBean();
+
+	private final boolean enabled;
+
+	private final Map<Phase, Map<String, Counter>> counters = new EnumMap<>(Phase.class);
+
+	public GenerationMetrics() {
+		this(true);
+	}
+
+	private GenerationMetrics(boolean enabled) {
+		this.enabled = enabled;
+		for (Phase phase : Phase.values()) {
+			counters.put(phase, new ConcurrentHashMap<>());
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts measuring a piece of work on the current thread.
+	 * @return the sample to pass to {@link #stop(Sample, Phase, String)}, or null if
+	 * this instance is disabled
+	 */
+	public Sample start() {
+		return enabled ? new Sample(System.nanoTime(), allocatedBytes()) : null;
+	}
+
+	/**
+	 * Records the work measured since the sample was started. Must be called on the
+	 * thread that started the sample.
+	 * @param sample the sample returned by {@link #start()}, may be null
+	 * @param phase the phase of the work
+	 * @param name the table, file or plugin hook the work was done for
+	 */
+	public void stop(Sample sample, Phase phase, String name) {
+		if (sample == null) {
+			return;
+		}
+		long wallTime = System.nanoTime() - sample.startNanos;
+		long allocated = sample.startBytes < 0 ? 0 : Math.max(0, allocatedBytes() - sample.startBytes);
+		counters.get(phase).computeIfAbsent(Objects.toString(name), k -> new Counter()).add(wallTime, allocated);
+	}
+
+	/**
+	 * Returns the totals of every phase that was recorded, in phase order.
+	 * @return one entry per phase, with the phase name as entry name
+	 */
+	public List<Entry> getPhaseTotals() {
+		List<Entry> answer = new ArrayList<>();
+		for (Map.Entry<Phase, Map<String, Counter>> phaseCounters : counters.entrySet()) {
+			if (phaseCounters.getValue().isEmpty()) {
+				continue;
+			}
+			long calls = 0;
+			long wallTime = 0;
+			long allocated = 0;
+			for (Counter counter : phaseCounters.getValue().values()) {
+				calls += counter.calls.sum();
+				wallTime += counter.wallTimeNanos.sum();
+				allocated += counter.allocatedBytes.sum();
+			}
+			answer.add(new Entry(phaseCounters.getKey(), phaseCounters.getKey().name(), calls, wallTime, allocated));
+		}
+		return answer;
+	}
+
+	/**
+	 * Returns the entries of a phase, slowest first.
+	 * @param phase the phase
+	 * @return the entries
+	 */
+	public List<Entry> getEntries(Phase phase) {
+		List<Entry> answer = new ArrayList<>();
+		counters.get(phase)
+			.forEach((name, counter) -> answer.add(new Entry(phase, name, counter.calls.sum(),
+					counter.wallTimeNanos.sum(), counter.allocatedBytes.sum())));
+		answer.sort(Comparator.comparingLong(Entry::getWallTimeNanos).reversed().thenComparing(Entry::getName));
+		return answer;
+	}
+
+	/**
+	 * Returns human readable summary lines: the total of every phase followed by its
+	 * slowest entries.
+	 * @param entriesPerPhase the maximum number of entries listed per phase
+	 * @return the summary lines
+	 */
+	public List<String> getSummary(int entriesPerPhase) {
+		List<String> lines = new ArrayList<>();
+		for (Entry total : getPhaseTotals()) {
+			lines.add(format("Progress.20", total)); //$NON-NLS-1$
+			List<Entry> entries = getEntries(total.getPhase());
+			for (int i = 0; i < entries.size() && i < entriesPerPhase; i++) {
+				lines.add(format("Progress.21", entries.get(i))); //$NON-NLS-1$
+			}
+		}
+		return lines;
+	}
+
+	/**
+	 * Writes all phase totals and entries to a JSON file.
+	 * @param file the report file, missing parent directories are created
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeJson(File file) throws IOException {
+		File directory = file.getAbsoluteFile().getParentFile();
+		if (directory != null) {
+			Files.createDirectories(directory.toPath());
+		}
+
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			writer.write("{\n  \"phases\": ["); //$NON-NLS-1$
+			writeEntries(writer, getPhaseTotals(), false);
+			writer.write("],\n  \"entries\": ["); //$NON-NLS-1$
+			List<Entry> entries = new ArrayList<>();
+			for (Phase phase : Phase.values()) {
+				entries.addAll(getEntries(phase));
+			}
+			writeEntries(writer, entries, true);
+			writer.write("]\n}\n"); //$NON-NLS-1$
+		}
+	}
+
+	private static void writeEntries(Writer writer, List<Entry> entries, boolean withName) throws IOException {
+		for (int i = 0; i < entries.size(); i++) {
+			Entry entry = entries.get(i);
+			writer.write(i == 0 ? "\n    {" : ",\n    {"); //$NON-NLS-1$ //$NON-NLS-2$
+			writer.write("\"phase\": " + jsonString(entry.getPhase().name())); //$NON-NLS-1$
+			if (withName) {
+				writer.write(", \"name\": " + jsonString(entry.getName())); //$NON-NLS-1$
+			}
+			writer.write(", \"calls\": " + entry.getCalls()); //$NON-NLS-1$
+			writer.write(", \"wallTimeNanos\": " + entry.getWallTimeNanos()); //$NON-NLS-1$
+			writer.write(", \"allocatedBytes\": " + entry.getAllocatedBytes()); //$NON-NLS-1$
+			writer.write('}');
+		}
+		if (!entries.isEmpty()) {
+			writer.write("\n  "); //$NON-NLS-1$
+		}
+	}
+
+	private static String jsonString(String s) {
+		StringBuilder sb = new StringBuilder(s.length() + 2);
+		sb.append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			}
+			else if (c < 0x20) {
+				sb.append(String.format("\\u%04x", (int) c)); //$NON-NLS-1$
+			}
+			else {
+				sb.append(c);
+			}
+		}
+		return sb.append('"').toString();
+	}
+
+	private static String format(String key, Entry entry) {
+		return getString(key, entry.getName(), Long.toString(entry.getWallTimeNanos() / 1_000_000L),
+				Long.toString(entry.getCalls()), Long.toString(entry.getAllocatedBytes() / 1024L));
+	}
+
+	private static long allocatedBytes() {
+		return THREAD_MX_BEAN == null ? -1 : THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+	}
+
+	private static com.sun.management.ThreadMXBean allocationTrackingBean() {
+		try {
+			java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+				if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+					return sunBean;
+				}
+			}
+		}
+		catch (LinkageError | UnsupportedOperationException e) {
+			// allocation accounting is not available on this JVM
+		}
+		return null;
+	}
+
+	/**
+	 * The start of a measurement.
+	 */
+	public static final class Sample {
+
+		private final long startNanos;
+
+		private final long startBytes;
+
+		private Sample(long startNanos, long startBytes) {
+			this.startNanos = startNanos;
+			this.startBytes = startBytes;
+		}
+
+	}
+
+	/**
+	 * The accumulated measurements of one table, file or plugin hook in one phase.
+	 */
+	public static class Entry {
+
+		private final Phase phase;
+
+		private final String name;
+
+		private final long calls;
+
+		private final long wallTimeNanos;
+
+		private final long allocatedBytes;
+
+		public Entry(Phase phase, String name, long calls, long wallTimeNanos, long allocatedBytes) {
+			this.phase = phase;
+			this.name = name;
+			this.calls = calls;
+			this.wallTimeNanos = wallTimeNanos;
+			this.allocatedBytes = allocatedBytes;
+		}
+
+		public Phase getPhase() {
+			return phase;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getCalls() {
+			return calls;
+		}
+
+		public long getWallTimeNanos() {
+			return wallTimeNanos;
+		}
+
+		public long getAllocatedBytes() {
+			return allocatedBytes;
+		}
+
+	}
+
+	private static class Counter {
+
+		private final LongAdder calls = new LongAdder();
+
+		private final LongAdder wallTimeNanos = new LongAdder();
+
+		private final LongAdder allocatedBytes = new LongAdder();
+
+		void add(long wallTime, long allocated) {
+			calls.increment();
+			wallTimeNanos.add(wallTime);
+			allocatedBytes.add(allocated);
+		}
+
+	}
+
+}
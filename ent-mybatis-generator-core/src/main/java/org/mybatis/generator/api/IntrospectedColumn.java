@@ -146,6 +146,7 @@ public class IntrospectedColumn {
 	public void setActualColumnName(String actualColumnName) {
 		this.actualColumnName = actualColumnName;
 		isColumnNameDelimited = StringUtility.stringContainsSpace(actualColumnName);
+		columnNameChanged();
 	}
 
 	public boolean isIdentity() {
@@ -218,6 +219,7 @@ public class IntrospectedColumn {
 
 	public void setJavaProperty(String javaProperty) {
 		this.javaProperty = javaProperty;
+		columnNameChanged();
 	}
 
 	public boolean isJDBCDateColumn() {
@@ -244,6 +246,7 @@ public class IntrospectedColumn {
 
 	public void setColumnNameDelimited(boolean isColumnNameDelimited) {
 		this.isColumnNameDelimited = isColumnNameDelimited;
+		columnNameChanged();
 	}
 
 	public boolean isColumnNameDelimited() {
@@ -294,6 +297,12 @@ public class IntrospectedColumn {
 		this.introspectedTable = introspectedTable;
 	}
 
+	private void columnNameChanged() {
+		if (introspectedTable != null) {
+			introspectedTable.invalidateColumnIndex();
+		}
+	}
+
 	public Properties getProperties() {
 		return properties;
 	}
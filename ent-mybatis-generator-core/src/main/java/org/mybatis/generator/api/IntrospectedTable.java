@@ -24,9 +24,6 @@ import org.mybatis.generator.internal.rules.Rules;
 import org.mybatis.generator.internal.util.StringUtility;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static org.mybatis.generator.internal.util.StringUtility.isTrue;
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
@@ -80,11 +77,17 @@ public abstract class IntrospectedTable {
 
 	protected TopLevelClass baseModelClass;
 
-	protected final List<IntrospectedColumn> primaryKeyColumns = new ArrayList<>();
+	protected final List<IntrospectedColumn> primaryKeyColumns = new ColumnList();
 
-	protected final List<IntrospectedColumn> baseColumns = new ArrayList<>();
+	protected final List<IntrospectedColumn> baseColumns = new ColumnList();
 
-	protected final List<IntrospectedColumn> blobColumns = new ArrayList<>();
+	protected final List<IntrospectedColumn> blobColumns = new ColumnList();
+
+	/**
+	 * Column views and lookup maps, built on first use and rebuilt after the column lists
+	 * or the names of the columns change.
+	 */
+	private volatile ColumnIndex columnIndex;
 
 	protected TargetRuntime targetRuntime;
 
@@ -131,20 +134,39 @@ public abstract class IntrospectedTable {
 		return tableConfiguration.getGeneratedKey();
 	}
 
+	/**
+	 * Finds a column by its actual name. Delimited column names must match exactly,
+	 * other column names are matched ignoring case.
+	 * @param columnName the column name
+	 * @return the first matching column in primary key, base and BLOB column order
+	 */
 	public Optional<IntrospectedColumn> getColumn(String columnName) {
-		return Stream.of(primaryKeyColumns.stream(), baseColumns.stream(), blobColumns.stream())
-			.flatMap(Function.identity())
-			.filter(ic -> columnMatches(ic, columnName))
-			.findFirst();
+		return Optional.ofNullable(columnName).map(getColumnIndex()::getColumn);
 	}
 
-	private boolean columnMatches(IntrospectedColumn introspectedColumn, String columnName) {
-		if (introspectedColumn.isColumnNameDelimited()) {
-			return introspectedColumn.getActualColumnName().equals(columnName);
-		}
-		else {
-			return introspectedColumn.getActualColumnName().equalsIgnoreCase(columnName);
+	/**
+	 * Finds a column by its Java property name.
+	 * @param javaProperty the Java property name
+	 * @return the first matching column in primary key, base and BLOB column order
+	 */
+	public Optional<IntrospectedColumn> getColumnByJavaProperty(String javaProperty) {
+		return Optional.ofNullable(javaProperty).map(getColumnIndex().columnsByJavaProperty::get);
+	}
+
+	private ColumnIndex getColumnIndex() {
+		ColumnIndex index = columnIndex;
+		if (index == null || !index.isCurrent(this)) {
+			index = new ColumnIndex(this);
+			columnIndex = index;
 		}
+		return index;
+	}
+
+	/**
+	 * Called by columns of this table when their name changes.
+	 */
+	void invalidateColumnIndex() {
+		columnIndex = null;
 	}
 
 	/**
@@ -153,9 +175,7 @@ public abstract class IntrospectedTable {
 	 * @return true if the table contains DATE columns
 	 */
 	public boolean hasJDBCDateColumns() {
-		return Stream.of(primaryKeyColumns.stream(), baseColumns.stream())
-			.flatMap(Function.identity())
-			.anyMatch(IntrospectedColumn::isJDBCDateColumn);
+		return getNonBLOBColumns().stream().anyMatch(IntrospectedColumn::isJDBCDateColumn);
 	}
 
 	/**
@@ -164,9 +184,7 @@ public abstract class IntrospectedTable {
 	 * @return true if the table contains TIME columns
 	 */
 	public boolean hasJDBCTimeColumns() {
-		return Stream.of(primaryKeyColumns.stream(), baseColumns.stream())
-			.flatMap(Function.identity())
-			.anyMatch(IntrospectedColumn::isJDBCTimeColumn);
+		return getNonBLOBColumns().stream().anyMatch(IntrospectedColumn::isJDBCTimeColumn);
 	}
 
 	/**
@@ -190,24 +208,21 @@ public abstract class IntrospectedTable {
 	/**
 	 * Returns all columns in the table (for use by the select by primary key and select
 	 * by example with BLOBs methods).
-	 * @return a List of ColumnDefinition objects for all columns in the table
+	 * @return an unmodifiable List of ColumnDefinition objects for all columns in the
+	 * table
 	 */
 	public List<IntrospectedColumn> getAllColumns() {
-		return Stream.of(primaryKeyColumns.stream(), baseColumns.stream(), blobColumns.stream())
-			.flatMap(Function.identity())
-			.collect(Collectors.toList());
+		return getColumnIndex().allColumns;
 	}
 
 	/**
 	 * Returns all columns except BLOBs (for use by the select by example without BLOBs
 	 * method).
-	 * @return a List of ColumnDefinition objects for columns in the table that are non
-	 * BLOBs
+	 * @return an unmodifiable List of ColumnDefinition objects for columns in the table
+	 * that are non BLOBs
 	 */
 	public List<IntrospectedColumn> getNonBLOBColumns() {
-		return Stream.of(primaryKeyColumns.stream(), baseColumns.stream())
-			.flatMap(Function.identity())
-			.collect(Collectors.toList());
+		return getColumnIndex().nonBLOBColumns;
 	}
 
 	public int getNonBLOBColumnCount() {
@@ -215,9 +230,7 @@ public abstract class IntrospectedTable {
 	}
 
 	public List<IntrospectedColumn> getNonPrimaryKeyColumns() {
-		return Stream.of(baseColumns.stream(), blobColumns.stream())
-			.flatMap(Function.identity())
-			.collect(Collectors.toList());
+		return getColumnIndex().nonPrimaryKeyColumns;
 	}
 
 	public List<IntrospectedColumn> getBLOBColumns() {
@@ -396,12 +409,8 @@ public abstract class IntrospectedTable {
 		}
 
 		if (StringUtility.stringHasValue(this.tableConfiguration.getParentTable())) {
-			IntrospectedTable parentTable = this.context.getIntrospectedTables()
-				.stream()
-				.filter(introspectedTable1 -> introspectedTable1.getFullyQualifiedTable()
-					.getIntrospectedTableName()
-					.equals(this.tableConfiguration.getParentTable()))
-				.findFirst()
+			IntrospectedTable parentTable = this.context.getIntrospectedTableIndex()
+				.getTable(this.tableConfiguration.getParentTable())
 				.orElse(null);
 			if (parentTable != null) {
 				parentTable.setMappedSuperclass(true);
@@ -1046,4 +1055,114 @@ public abstract class IntrospectedTable {
 		this.baseModelClass = baseModelClass;
 	}
 
+	/**
+	 * A column list that exposes its modification count, so that the column index can
+	 * tell when the list was changed, also through the list returned by
+	 * {@link #getBaseColumns()} and the other getters.
+	 */
+	private static class ColumnList extends ArrayList<IntrospectedColumn> {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public IntrospectedColumn set(int index, IntrospectedColumn element) {
+			modCount++;
+			return super.set(index, element);
+		}
+
+		int getModCount() {
+			return modCount;
+		}
+
+	}
+
+	private static class ColumnIndex {
+
+		private final int primaryKeyModCount;
+
+		private final int baseModCount;
+
+		private final int blobModCount;
+
+		private final List<IntrospectedColumn> allColumns;
+
+		private final List<IntrospectedColumn> nonBLOBColumns;
+
+		private final List<IntrospectedColumn> nonPrimaryKeyColumns;
+
+		/** Positions of delimited columns, by exact name. */
+		private final Map<String, Integer> delimitedColumns = new HashMap<>();
+
+		/** Positions of other columns, by case folded name. */
+		private final Map<String, Integer> undelimitedColumns = new HashMap<>();
+
+		private final Map<String, IntrospectedColumn> columnsByJavaProperty = new HashMap<>();
+
+		ColumnIndex(IntrospectedTable introspectedTable) {
+			primaryKeyModCount = modCount(introspectedTable.primaryKeyColumns);
+			baseModCount = modCount(introspectedTable.baseColumns);
+			blobModCount = modCount(introspectedTable.blobColumns);
+
+			List<IntrospectedColumn> columns = new ArrayList<>(introspectedTable.primaryKeyColumns);
+			columns.addAll(introspectedTable.baseColumns);
+			columns.addAll(introspectedTable.blobColumns);
+			allColumns = Collections.unmodifiableList(columns);
+			int primaryKeyCount = introspectedTable.primaryKeyColumns.size();
+			nonBLOBColumns = Collections
+				.unmodifiableList(columns.subList(0, primaryKeyCount + introspectedTable.baseColumns.size()));
+			nonPrimaryKeyColumns = Collections.unmodifiableList(columns.subList(primaryKeyCount, columns.size()));
+
+			for (int i = 0; i < columns.size(); i++) {
+				IntrospectedColumn column = columns.get(i);
+				String name = column.getActualColumnName();
+				if (name != null) {
+					if (column.isColumnNameDelimited()) {
+						delimitedColumns.putIfAbsent(name, i);
+					}
+					else {
+						undelimitedColumns.putIfAbsent(foldCase(name), i);
+					}
+				}
+				if (column.getJavaProperty() != null) {
+					columnsByJavaProperty.putIfAbsent(column.getJavaProperty(), column);
+				}
+			}
+		}
+
+		boolean isCurrent(IntrospectedTable introspectedTable) {
+			return primaryKeyModCount == modCount(introspectedTable.primaryKeyColumns)
+					&& baseModCount == modCount(introspectedTable.baseColumns)
+					&& blobModCount == modCount(introspectedTable.blobColumns);
+		}
+
+		IntrospectedColumn getColumn(String columnName) {
+			Integer delimited = delimitedColumns.get(columnName);
+			Integer undelimited = undelimitedColumns.get(foldCase(columnName));
+			if (delimited == null && undelimited == null) {
+				return null;
+			}
+			else if (delimited == null || undelimited != null && undelimited < delimited) {
+				return allColumns.get(undelimited);
+			}
+			else {
+				return allColumns.get(delimited);
+			}
+		}
+
+		/**
+		 * Folds a name so that two names are equal after folding if, and only if, they
+		 * are equal ignoring case according to {@link String#equalsIgnoreCase(String)}.
+		 */
+		private static String foldCase(String s) {
+			StringBuilder sb = new StringBuilder(s.length());
+			s.codePoints().forEach(cp -> sb.appendCodePoint(Character.toLowerCase(Character.toUpperCase(cp))));
+			return sb.toString();
+		}
+
+		private static int modCount(List<IntrospectedColumn> columns) {
+			return ((ColumnList) columns).getModCount();
+		}
+
+	}
+
 }
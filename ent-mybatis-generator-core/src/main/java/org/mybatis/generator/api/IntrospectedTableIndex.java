@@ -0,0 +1,210 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JoinEntry;
+import org.mybatis.generator.config.JoinTable;
+import org.mybatis.generator.config.JoinTarget;
+
+/**
+ * Looks up the introspected tables of a context by table name and by domain object name,
+ * and holds the relations configured in the join configuration of the context. The index
+ * is built by the context after table introspection, see
+ * {@link Context#getIntrospectedTableIndex()}.
+ *
+ * <p>
+ * Tables are looked up by their introspected table name, which is the name the join
+ * configuration uses. If several tables have the same name, the first one wins. The
+ * relations of a table are resolved the first time they are requested, so a join
+ * configuration that refers to a missing table only fails when it is used.
+ */
+public class IntrospectedTableIndex {
+
+	private final Context context;
+
+	private final Map<String, IntrospectedTable> tablesByName = new HashMap<>();
+
+	private final Map<String, IntrospectedTable> tablesByDomainObjectName = new HashMap<>();
+
+	private final Map<IntrospectedTable, List<JoinRelation>> relations = Collections
+		.synchronizedMap(new IdentityHashMap<>());
+
+	public IntrospectedTableIndex(Context context) {
+		this.context = context;
+		for (IntrospectedTable introspectedTable : context.getIntrospectedTables()) {
+			FullyQualifiedTable fullyQualifiedTable = introspectedTable.getFullyQualifiedTable();
+			tablesByName.putIfAbsent(fullyQualifiedTable.getIntrospectedTableName(), introspectedTable);
+			tablesByDomainObjectName.putIfAbsent(fullyQualifiedTable.getDomainObjectName(), introspectedTable);
+		}
+	}
+
+	public Optional<IntrospectedTable> getTable(String tableName) {
+		return Optional.ofNullable(tablesByName.get(tableName));
+	}
+
+	public Optional<IntrospectedTable> getTableByDomainObjectName(String domainObjectName) {
+		return Optional.ofNullable(tablesByDomainObjectName.get(domainObjectName));
+	}
+
+	/**
+	 * Returns the join configuration of a table.
+	 * @param introspectedTable the left table of the joins
+	 * @return the join entry, or null if no joins are configured for the table
+	 */
+	public JoinEntry getJoinEntry(IntrospectedTable introspectedTable) {
+		return context.getJoinConfig()
+			.getJoinEntry(introspectedTable.getFullyQualifiedTable().getIntrospectedTableName());
+	}
+
+	/**
+	 * Returns the relations configured for a table, in configuration order: the
+	 * many-to-one and one-to-many joins first, then the many-to-many joins.
+	 * @param introspectedTable the left table of the relations
+	 * @return the relations, empty if no joins are configured for the table
+	 * @throws RuntimeException if a joined table is not part of the context
+	 */
+	public List<JoinRelation> getRelations(IntrospectedTable introspectedTable) {
+		List<JoinRelation> answer = relations.get(introspectedTable);
+		if (answer == null) {
+			answer = calculateRelations(introspectedTable);
+			relations.put(introspectedTable, answer);
+		}
+		return answer;
+	}
+
+	private List<JoinRelation> calculateRelations(IntrospectedTable leftTable) {
+		JoinEntry joinEntry = getJoinEntry(leftTable);
+		if (joinEntry == null) {
+			return Collections.emptyList();
+		}
+
+		List<JoinRelation> answer = new ArrayList<>();
+		for (Pair<String, JoinTarget> detail : joinEntry.getDetails()) {
+			JoinTarget joinTarget = detail.getRight();
+			answer.add(new JoinRelation(joinEntry, joinTarget.getType(), leftTable, detail.getLeft(),
+					getRequiredTable(joinTarget.getRightTable()), null, joinTarget, null));
+		}
+		for (JoinTable joinTable : joinEntry.getJoinTables()) {
+			answer.add(new JoinRelation(joinEntry, JoinTarget.JoinType.MANY_TO_MANY, leftTable, null,
+					getRequiredTable(joinTable.getRightTable()), getRequiredTable(joinTable.getMiddleTable()), null,
+					joinTable));
+		}
+		return Collections.unmodifiableList(answer);
+	}
+
+	/**
+	 * Returns a table that must exist, initializing it if the context has not
+	 * initialized it yet.
+	 * @param tableName the introspected table name
+	 * @return the table
+	 * @throws RuntimeException if the table is not part of the context
+	 */
+	public IntrospectedTable getRequiredTable(String tableName) {
+		IntrospectedTable introspectedTable = getTable(tableName)
+			.orElseThrow(() -> new RuntimeException("can not find target table: " + tableName));
+		if (introspectedTable.getRules() == null) {
+			introspectedTable.initialize();
+		}
+		return introspectedTable;
+	}
+
+	/**
+	 * A join from a table to another table, as configured in the join configuration of the
+	 * context.
+	 */
+	public static class JoinRelation {
+
+		private final JoinEntry joinEntry;
+
+		private final JoinTarget.JoinType joinType;
+
+		private final IntrospectedTable leftTable;
+
+		private final String leftColumnName;
+
+		private final IntrospectedTable rightTable;
+
+		private final IntrospectedTable middleTable;
+
+		private final JoinTarget joinTarget;
+
+		private final JoinTable joinTable;
+
+		JoinRelation(JoinEntry joinEntry, JoinTarget.JoinType joinType, IntrospectedTable leftTable,
+				String leftColumnName, IntrospectedTable rightTable, IntrospectedTable middleTable,
+				JoinTarget joinTarget, JoinTable joinTable) {
+			this.joinEntry = joinEntry;
+			this.joinType = joinType;
+			this.leftTable = leftTable;
+			this.leftColumnName = leftColumnName;
+			this.rightTable = rightTable;
+			this.middleTable = middleTable;
+			this.joinTarget = joinTarget;
+			this.joinTable = joinTable;
+		}
+
+		public JoinEntry getJoinEntry() {
+			return joinEntry;
+		}
+
+		public JoinTarget.JoinType getJoinType() {
+			return joinType;
+		}
+
+		public IntrospectedTable getLeftTable() {
+			return leftTable;
+		}
+
+		/**
+		 * Returns the joined column of the left table.
+		 * @return the column name, or null for many-to-many joins
+		 */
+		public String getLeftColumnName() {
+			return leftColumnName;
+		}
+
+		public IntrospectedTable getRightTable() {
+			return rightTable;
+		}
+
+		/**
+		 * Returns the middle table of a many-to-many join.
+		 * @return the middle table, or null for other joins
+		 */
+		public IntrospectedTable getMiddleTable() {
+			return middleTable;
+		}
+
+		/**
+		 * Returns the configuration of a many-to-one or one-to-many join.
+		 * @return the join target, or null for many-to-many joins
+		 */
+		public JoinTarget getJoinTarget() {
+			return joinTarget;
+		}
+
+		/**
+		 * Returns the configuration of a many-to-many join.
+		 * @return the join table, or null for other joins
+		 */
+		public JoinTable getJoinTable() {
+			return joinTable;
+		}
+
+	}
+
+}
@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.dom.java.CompilationUnit;
 import org.mybatis.generator.config.Context;
 
@@ -37,4 +39,17 @@ public interface JavaFormatter {
 
 	String getFormattedContent(CompilationUnit compilationUnit);
 
+	/**
+	 * Writes the formatted content to the specified output, which is expected to produce
+	 * exactly the same characters as {@link #getFormattedContent(CompilationUnit)}. Formatters
+	 * that can render without building the whole content as a string first should
+	 * override this method.
+	 * @param compilationUnit the compilation unit to format
+	 * @param out the output
+	 * @throws IOException if the output cannot be written
+	 */
+	default void writeFormattedContent(CompilationUnit compilationUnit, Appendable out) throws IOException {
+		out.append(getFormattedContent(compilationUnit));
+	}
+
 }
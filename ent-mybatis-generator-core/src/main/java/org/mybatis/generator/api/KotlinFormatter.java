@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.dom.kotlin.KotlinFile;
 import org.mybatis.generator.config.Context;
 
@@ -37,4 +39,17 @@ public interface KotlinFormatter {
 
 	String getFormattedContent(KotlinFile kotlinFile);
 
+	/**
+	 * Writes the formatted content to the specified output, which is expected to produce
+	 * exactly the same characters as {@link #getFormattedContent(KotlinFile)}. Formatters
+	 * that can render without building the whole content as a string first should
+	 * override this method.
+	 * @param kotlinFile the Kotlin file to format
+	 * @param out the output
+	 * @throws IOException if the output cannot be written
+	 */
+	default void writeFormattedContent(KotlinFile kotlinFile, Appendable out) throws IOException {
+		out.append(getFormattedContent(kotlinFile));
+	}
+
 }
@@ -6,26 +6,39 @@
  */
 package org.mybatis.generator.api;
 
-import org.mybatis.generator.codegen.RootClassInfo;
 import org.mybatis.generator.config.Configuration;
 import org.mybatis.generator.config.Context;
 import org.mybatis.generator.config.MergeConstants;
+import org.mybatis.generator.config.PropertyRegistry;
 import org.mybatis.generator.exception.InvalidConfigurationException;
 import org.mybatis.generator.exception.ShellException;
 import org.mybatis.generator.internal.DefaultShellCallback;
+import org.mybatis.generator.internal.GenerationManifest;
 import org.mybatis.generator.internal.ObjectFactory;
 import org.mybatis.generator.internal.PlainTextFileMerger;
 import org.mybatis.generator.internal.XmlFileMergerJaxp;
+import org.mybatis.generator.internal.util.WorkerThreadFactory;
 
 import java.io.*;
 import java.nio.charset.Charset;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.mybatis.generator.internal.util.ClassloaderUtility.getCustomClassloader;
+import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
 /**
@@ -47,6 +60,8 @@ public class MyBatisGenerator {
 	private static final ProgressCallback NULL_PROGRESS_CALLBACK = new ProgressCallback() {
 	};
 
+	private static final long CANCEL_POLL_MILLIS = 100L;
+
 	private final Configuration configuration;
 
 	private final ShellCallback shellCallback;
@@ -67,6 +82,16 @@ public class MyBatisGenerator {
 
 	private final Set<String> projects = new HashSet<>();
 
+	private int writtenFiles;
+
+	private int unchangedFiles;
+
+	private boolean metricsEnabled;
+
+	private File metricsReportFile;
+
+	private GenerationMetrics metrics = GenerationMetrics.DISABLED;
+
 	/**
 	 * Constructs a MyBatisGenerator object.
 	 * @param configuration The configuration for this invocation
@@ -191,8 +216,13 @@ public class MyBatisGenerator {
 
 		generatedJavaFiles.clear();
 		generatedXmlFiles.clear();
-		ObjectFactory.reset();
-		RootClassInfo.reset();
+		generatedKotlinFiles.clear();
+		otherGeneratedFiles.clear();
+		projects.clear();
+		writtenFiles = 0;
+		unchangedFiles = 0;
+		metrics = metricsEnabled || metricsReportFile != null ? new GenerationMetrics()
+				: GenerationMetrics.DISABLED;
 
 		// calculate the contexts to run
 		List<Context> contextsToRun;
@@ -208,10 +238,12 @@ public class MyBatisGenerator {
 			}
 		}
 
-		// setup custom classloader if required
+		// every run gets its own object factory, so that concurrent runs do not share
+		// class loaders or cached root class information
+		ObjectFactory objectFactory = new ObjectFactory();
 		if (!configuration.getClassPathEntries().isEmpty()) {
 			ClassLoader classLoader = getCustomClassloader(configuration.getClassPathEntries());
-			ObjectFactory.addExternalClassLoader(classLoader);
+			objectFactory.addClassLoader(classLoader);
 		}
 
 		// now run the introspections...
@@ -222,6 +254,8 @@ public class MyBatisGenerator {
 		callback.introspectionStarted(totalSteps);
 
 		for (Context context : contextsToRun) {
+			context.setObjectFactory(objectFactory);
+			context.setGenerationMetrics(metrics);
 			context.introspectTables(callback, warnings, fullyQualifiedTableNames);
 		}
 
@@ -241,176 +275,562 @@ public class MyBatisGenerator {
 		if (writeFiles) {
 			callback.saveStarted(generatedXmlFiles.size() + generatedJavaFiles.size());
 
-			for (GeneratedXmlFile gxf : generatedXmlFiles) {
-				projects.add(gxf.getTargetProject());
-				writeGeneratedXmlFile(gxf, callback);
+			List<ManifestState> manifestStates = readManifests(contextsToRun);
+			List<SaveTask> saveTasks = createSaveTasks(contextsToRun, manifestStates);
+			int saveThreads = 1;
+			for (Context context : contextsToRun) {
+				saveThreads = Math.max(saveThreads, context.getSaveThreads());
 			}
 
-			for (GeneratedJavaFile gjf : generatedJavaFiles) {
-				projects.add(gjf.getTargetProject());
-				writeGeneratedJavaFile(gjf, callback);
+			if (saveThreads > 1 && saveTasks.size() > 1) {
+				saveFilesInParallel(saveTasks, saveThreads, callback);
 			}
-
-			for (GeneratedKotlinFile gkf : generatedKotlinFiles) {
-				projects.add(gkf.getTargetProject());
-				writeGeneratedFile(gkf, callback);
+			else {
+				for (SaveTask saveTask : saveTasks) {
+					saveTask.result = save(saveTask, warnings, callback);
+					countSaveResult(saveTask.result);
+				}
 			}
 
-			for (GeneratedFile gf : otherGeneratedFiles) {
-				projects.add(gf.getTargetProject());
-				writeGeneratedFile(gf, callback);
-			}
+			writeManifests(manifestStates, saveTasks);
 
 			for (String project : projects) {
 				shellCallback.refreshProject(project);
 			}
+
+			callback.saveCompleted(writtenFiles, unchangedFiles);
+		}
+
+		if (metrics.isEnabled()) {
+			callback.metricsCollected(metrics);
+			writeMetricsReport();
 		}
 
 		callback.done();
 	}
 
-	private void writeGeneratedJavaFile(GeneratedJavaFile gjf, ProgressCallback callback)
+	private void writeMetricsReport() {
+		if (metricsReportFile == null) {
+			return;
+		}
+
+		try {
+			metrics.writeJson(metricsReportFile);
+		}
+		catch (IOException e) {
+			warnings.add(getString("Warning.36", metricsReportFile.getPath(), e.getMessage())); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Reads the generation manifests of the contexts that configure one, and works out
+	 * which tables are up to date.
+	 * @param contexts the contexts that were run
+	 * @return the manifest state of every context with a generation manifest
+	 */
+	private List<ManifestState> readManifests(List<Context> contexts) {
+		List<ManifestState> manifestStates = new ArrayList<>();
+		for (Context context : contexts) {
+			String manifestFile = context.getProperty(PropertyRegistry.CONTEXT_GENERATION_MANIFEST_FILE);
+			if (!stringHasValue(manifestFile)) {
+				continue;
+			}
+
+			ManifestState manifestState;
+			try {
+				manifestState = new ManifestState(context, new File(manifestFile));
+			}
+			catch (IOException e) {
+				warnings.add(getString("Warning.38", context.getId(), e.getMessage())); //$NON-NLS-1$
+				continue;
+			}
+			if (manifestState.file.exists()) {
+				try {
+					manifestState.previous = GenerationManifest.read(manifestState.file);
+				}
+				catch (IOException e) {
+					warnings.add(getString("Warning.34", manifestFile, e.getMessage())); //$NON-NLS-1$
+				}
+			}
+
+			if (manifestState.previous != null) {
+				for (IntrospectedTable introspectedTable : context.getIntrospectedTables()) {
+					if (manifestState.previous.isUpToDate(manifestState.configurationHash,
+							GenerationManifest.getTableKey(introspectedTable),
+							manifestState.tableHashes.get(introspectedTable))) {
+						manifestState.upToDateTables.add(introspectedTable);
+					}
+				}
+			}
+			manifestStates.add(manifestState);
+		}
+		return manifestStates;
+	}
+
+	/**
+	 * Records the files saved in this run in the generation manifests. A table is only
+	 * recorded if all of its files exist and none of them failed to save, so that a table
+	 * whose files could not be saved is generated again by the next run.
+	 * @param manifestStates the manifest states
+	 * @param saveTasks the save tasks of this run
+	 */
+	private void writeManifests(List<ManifestState> manifestStates, List<SaveTask> saveTasks) {
+		for (ManifestState manifestState : manifestStates) {
+			Map<IntrospectedTable, List<String>> tableFiles = new IdentityHashMap<>();
+			Set<IntrospectedTable> incompleteTables = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (SaveTask saveTask : saveTasks) {
+				IntrospectedTable introspectedTable = manifestState.context
+					.getGeneratedFileTable(saveTask.generatedFile);
+				if (introspectedTable == null || saveTask.generatedFile.getWriteMode() == WriteMode.NEVER) {
+					continue;
+				}
+				File targetFile = saveTask.directory == null ? null
+						: new File(saveTask.directory, saveTask.generatedFile.getFileName());
+				if (targetFile == null || !targetFile.isFile() || saveTask.result == SaveResult.FAILED) {
+					incompleteTables.add(introspectedTable);
+				}
+				else {
+					tableFiles.computeIfAbsent(introspectedTable, k -> new ArrayList<>())
+						.add(targetFile.getAbsolutePath());
+				}
+			}
+
+			GenerationManifest manifest = new GenerationManifest(manifestState.configurationHash);
+			if (manifestState.previous != null
+					&& manifestState.previous.getConfigurationHash().equals(manifestState.configurationHash)) {
+				// keep the tables that were not part of this run
+				manifestState.previous.getEntries().forEach(manifest::addEntry);
+			}
+			for (IntrospectedTable introspectedTable : manifestState.context.getIntrospectedTables()) {
+				String tableKey = GenerationManifest.getTableKey(introspectedTable);
+				if (manifestState.upToDateTables.contains(introspectedTable)) {
+					continue;
+				}
+				if (incompleteTables.contains(introspectedTable)) {
+					manifest.removeEntry(tableKey);
+				}
+				else {
+					manifest.addEntry(tableKey,
+							new GenerationManifest.Entry(manifestState.tableHashes.get(introspectedTable),
+									tableFiles.getOrDefault(introspectedTable, Collections.emptyList())));
+				}
+			}
+
+			try {
+				manifest.write(manifestState.file);
+			}
+			catch (IOException e) {
+				warnings.add(getString("Warning.35", manifestState.file.getPath(), e.getMessage())); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Creates one save task per generated file, in the order in which the files are
+	 * saved. Target directories are resolved here, on the calling thread, because shell
+	 * callbacks create missing directories and are not expected to be thread safe. Files
+	 * of tables that are up to date according to a generation manifest are not saved at
+	 * all.
+	 * @param contexts the contexts that were run
+	 * @param manifestStates the manifest states
+	 * @return the save tasks
+	 */
+	private List<SaveTask> createSaveTasks(List<Context> contexts, List<ManifestState> manifestStates) {
+		List<SaveTask> saveTasks = new ArrayList<>();
+
+		for (GeneratedXmlFile gxf : generatedXmlFiles) {
+			String metricsName = getMetricsName(contexts, gxf);
+			addSaveTask(saveTasks, manifestStates, gxf, true, (directory, taskWarnings,
+					taskCallback) -> writeGeneratedXmlFile(gxf, directory, taskWarnings, taskCallback, metricsName));
+		}
+
+		for (GeneratedJavaFile gjf : generatedJavaFiles) {
+			String metricsName = getMetricsName(contexts, gjf);
+			addSaveTask(saveTasks, manifestStates, gjf, gjf.getWriteMode() != WriteMode.NEVER,
+					(directory, taskWarnings, taskCallback) -> writeGeneratedJavaFile(gjf, directory, taskWarnings,
+							taskCallback, metricsName));
+		}
+
+		for (GeneratedKotlinFile gkf : generatedKotlinFiles) {
+			String metricsName = getMetricsName(contexts, gkf);
+			addSaveTask(saveTasks, manifestStates, gkf, true, (directory, taskWarnings,
+					taskCallback) -> writeGeneratedFile(gkf, directory, taskWarnings, taskCallback, metricsName));
+		}
+
+		for (GeneratedFile gf : otherGeneratedFiles) {
+			String metricsName = getMetricsName(contexts, gf);
+			addSaveTask(saveTasks, manifestStates, gf, true, (directory, taskWarnings,
+					taskCallback) -> writeGeneratedFile(gf, directory, taskWarnings, taskCallback, metricsName));
+		}
+
+		return saveTasks;
+	}
+
+	/**
+	 * Returns the name that the save phases of a file are recorded under: the table the
+	 * file was generated for, or the file name for files that do not belong to a table.
+	 * @param contexts the contexts that were run
+	 * @param generatedFile the generated file
+	 * @return the name, or null if metrics are disabled
+	 */
+	private String getMetricsName(List<Context> contexts, GeneratedFile generatedFile) {
+		if (!metrics.isEnabled()) {
+			return null;
+		}
+		for (Context context : contexts) {
+			IntrospectedTable introspectedTable = context.getGeneratedFileTable(generatedFile);
+			if (introspectedTable != null) {
+				return introspectedTable.getFullyQualifiedTable().toString();
+			}
+		}
+		return generatedFile.getFileName();
+	}
+
+	private void addSaveTask(List<SaveTask> saveTasks, List<ManifestState> manifestStates,
+			GeneratedFile generatedFile, boolean resolveDirectory, FileSaver fileSaver) {
+		for (ManifestState manifestState : manifestStates) {
+			IntrospectedTable introspectedTable = manifestState.context.getGeneratedFileTable(generatedFile);
+			if (introspectedTable != null && manifestState.upToDateTables.contains(introspectedTable)) {
+				unchangedFiles++;
+				return;
+			}
+		}
+
+		projects.add(generatedFile.getTargetProject());
+
+		SaveTask saveTask = new SaveTask(generatedFile, fileSaver);
+		if (resolveDirectory) {
+			try {
+				saveTask.directory = shellCallback.getDirectory(generatedFile);
+			}
+			catch (ShellException e) {
+				saveTask.directoryError = e.getMessage();
+			}
+		}
+		saveTasks.add(saveTask);
+	}
+
+	private SaveResult save(SaveTask saveTask, List<String> warnings, ProgressCallback callback)
+			throws InterruptedException, IOException {
+		if (saveTask.directoryError != null) {
+			warnings.add(saveTask.directoryError);
+			return SaveResult.SKIPPED;
+		}
+		return saveTask.fileSaver.save(saveTask.directory, warnings, callback);
+	}
+
+	/**
+	 * Formats, merges and writes the generated files on a bounded pool of worker threads.
+	 *
+	 * <p>
+	 * Files that resolve to the same target file are saved by the same worker in their
+	 * original order, so that merging, overwriting and unique file names behave exactly
+	 * as in a serial run. Warnings and progress messages are reported on the calling
+	 * thread in the original file order, which also polls the progress callback for
+	 * cancellation.
+	 * @param saveTasks the save tasks
+	 * @param threads the maximum number of worker threads
+	 * @param callback the progress callback
+	 * @throws InterruptedException if the progress callback cancels the save
+	 * @throws IOException if a file cannot be written
+	 */
+	private void saveFilesInParallel(List<SaveTask> saveTasks, int threads, ProgressCallback callback)
 			throws InterruptedException, IOException {
+		Map<String, List<SaveTask>> saveTasksByTarget = new LinkedHashMap<>();
+		for (SaveTask saveTask : saveTasks) {
+			String target = saveTask.directory == null ? "#" + saveTasksByTarget.size() //$NON-NLS-1$
+					: new File(saveTask.directory, saveTask.generatedFile.getFileName()).getAbsolutePath();
+			saveTasksByTarget.computeIfAbsent(target, k -> new ArrayList<>()).add(saveTask);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, saveTasksByTarget.size()),
+				new WorkerThreadFactory("mbg-save")); //$NON-NLS-1$
+		try {
+			for (List<SaveTask> targetTasks : saveTasksByTarget.values()) {
+				Future<?> future = executor.submit(() -> {
+					for (SaveTask saveTask : targetTasks) {
+						saveTask.result = save(saveTask, saveTask.warnings, NULL_PROGRESS_CALLBACK);
+					}
+					return null;
+				});
+				for (SaveTask saveTask : targetTasks) {
+					saveTask.future = future;
+				}
+			}
+
+			for (SaveTask saveTask : saveTasks) {
+				callback.startTask(getString("Progress.15", saveTask.generatedFile.getFileName())); //$NON-NLS-1$
+				await(saveTask.future, callback);
+				warnings.addAll(saveTask.warnings);
+				countSaveResult(saveTask.result);
+				callback.checkCancel();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void await(Future<?> future, ProgressCallback callback) throws InterruptedException, IOException {
+		while (true) {
+			try {
+				future.get(CANCEL_POLL_MILLIS, TimeUnit.MILLISECONDS);
+				return;
+			}
+			catch (TimeoutException e) {
+				callback.checkCancel();
+			}
+			catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+				else if (cause instanceof InterruptedException) {
+					throw (InterruptedException) cause;
+				}
+				else if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new RuntimeException(cause);
+			}
+		}
+	}
+
+	private void countSaveResult(SaveResult saveResult) {
+		if (saveResult == SaveResult.WRITTEN) {
+			writtenFiles++;
+		}
+		else if (saveResult == SaveResult.UNCHANGED) {
+			unchangedFiles++;
+		}
+	}
+
+	private SaveResult writeGeneratedJavaFile(GeneratedJavaFile gjf, File directory, List<String> warnings,
+			ProgressCallback callback, String metricsName) throws InterruptedException, IOException {
 		File targetFile;
-		String source;
+		String mergedSource = null;
+		boolean overwrite = false;
 		try {
 			if (gjf.getWriteMode() == WriteMode.NEVER) {
 				warnings.add(String.format("%s is never write to disk", gjf.getFileName()));
-				return;
+				return SaveResult.SKIPPED;
 			}
-			File directory = shellCallback.getDirectory(gjf);
 			targetFile = new File(directory, gjf.getFileName());
 			if (targetFile.exists()) {
 				if (shellCallback.isMergeSupported()) {
-					source = shellCallback.mergeJavaFile(gjf.getFormattedContent(), targetFile,
-							MergeConstants.getOldElementTags(), gjf.getFileEncoding());
+					String formattedContent = gjf.getFormattedContent();
+					GenerationMetrics.Sample sample = metrics.start();
+					// shell callbacks are not thread safe, merges run one at a time
+					synchronized (shellCallback) {
+						mergedSource = shellCallback.mergeJavaFile(formattedContent, targetFile,
+								MergeConstants.getOldElementTags(), gjf.getFileEncoding());
+					}
+					metrics.stop(sample, GenerationMetrics.Phase.MERGE, metricsName);
 				}
 				else if (shellCallback.isOverwriteEnabled()) {
 					if (gjf.getWriteMode() == WriteMode.SKIP_ON_EXIST) {
 						warnings.add(String.format("%s is skip on exist ", targetFile.getAbsolutePath()));
-						return;
+						return SaveResult.SKIPPED;
 					}
-					source = gjf.getFormattedContent();
-					warnings.add(getString("Warning.11", //$NON-NLS-1$
-							targetFile.getAbsolutePath()));
+					overwrite = true;
 				}
 				else {
-					source = gjf.getFormattedContent();
 					targetFile = getUniqueFileName(directory, gjf.getFileName());
 					warnings.add(getString("Warning.2", targetFile.getAbsolutePath())); //$NON-NLS-1$
 				}
 			}
-			else {
-				source = gjf.getFormattedContent();
-			}
 
 			callback.checkCancel();
 			callback.startTask(getString("Progress.15", targetFile.getName())); //$NON-NLS-1$
-			writeFile(targetFile, source, gjf.getFileEncoding());
+			if (!writeFile(targetFile, gjf, mergedSource, metricsName)) {
+				return SaveResult.UNCHANGED;
+			}
+			if (overwrite) {
+				warnings.add(getString("Warning.11", //$NON-NLS-1$
+						targetFile.getAbsolutePath()));
+			}
+			return SaveResult.WRITTEN;
 		}
 		catch (ShellException e) {
 			warnings.add(e.getMessage());
+			return SaveResult.FAILED;
 		}
 	}
 
-	private void writeGeneratedFile(GeneratedFile gf, ProgressCallback callback)
-			throws InterruptedException, IOException {
+	private SaveResult writeGeneratedFile(GeneratedFile gf, File directory, List<String> warnings,
+			ProgressCallback callback, String metricsName) throws InterruptedException, IOException {
 		File targetFile;
-		String source;
+		String mergedSource = null;
+		boolean overwrite = false;
 		try {
-			File directory = shellCallback.getDirectory(gf);
 			targetFile = new File(directory, gf.getFileName());
 			if (gf.getWriteMode() == WriteMode.NEVER) {
 				warnings.add(String.format("%s is never write to disk", targetFile.getAbsolutePath()));
-				return;
+				return SaveResult.SKIPPED;
 			}
 			if (targetFile.exists()) {
 				if (gf.isMergeable()) {
-					source = PlainTextFileMerger.getMergedSource(gf, targetFile);
+					GenerationMetrics.Sample sample = metrics.start();
+					mergedSource = PlainTextFileMerger.getMergedSource(gf, targetFile);
+					metrics.stop(sample, GenerationMetrics.Phase.MERGE, metricsName);
 				}
 				else if (shellCallback.isOverwriteEnabled()) {
 					if (gf.getWriteMode() == WriteMode.SKIP_ON_EXIST) {
 						warnings.add(String.format("%s is skip on exist ", targetFile.getAbsolutePath()));
-						return;
+						return SaveResult.SKIPPED;
 					}
-					source = gf.getFormattedContent();
-					warnings.add(getString("Warning.11", //$NON-NLS-1$
-							targetFile.getAbsolutePath()));
+					overwrite = true;
 				}
 				else {
-					source = gf.getFormattedContent();
 					targetFile = getUniqueFileName(directory, gf.getFileName());
 					warnings.add(getString("Warning.2", targetFile.getAbsolutePath())); //$NON-NLS-1$
 				}
 			}
-			else {
-				source = gf.getFormattedContent();
-			}
 
 			callback.checkCancel();
 			callback.startTask(getString("Progress.15", targetFile.getName())); //$NON-NLS-1$
-			writeFile(targetFile, source, gf.getFileEncoding());
+			if (!writeFile(targetFile, gf, mergedSource, metricsName)) {
+				return SaveResult.UNCHANGED;
+			}
+			if (overwrite) {
+				warnings.add(getString("Warning.11", //$NON-NLS-1$
+						targetFile.getAbsolutePath()));
+			}
+			return SaveResult.WRITTEN;
 		}
 		catch (ShellException e) {
 			warnings.add(e.getMessage());
+			return SaveResult.FAILED;
 		}
 	}
 
-	private void writeGeneratedXmlFile(GeneratedXmlFile gxf, ProgressCallback callback)
-			throws InterruptedException, IOException {
+	private SaveResult writeGeneratedXmlFile(GeneratedXmlFile gxf, File directory, List<String> warnings,
+			ProgressCallback callback, String metricsName) throws InterruptedException, IOException {
 		File targetFile;
-		String source;
+		String mergedSource = null;
+		boolean overwrite = false;
 		try {
-			File directory = shellCallback.getDirectory(gxf);
 			targetFile = new File(directory, gxf.getFileName());
 			if (targetFile.exists()) {
 				if (gxf.isMergeable()) {
-					source = XmlFileMergerJaxp.getMergedSource(gxf, targetFile);
+					GenerationMetrics.Sample sample = metrics.start();
+					mergedSource = XmlFileMergerJaxp.getMergedSource(gxf, targetFile);
+					metrics.stop(sample, GenerationMetrics.Phase.MERGE, metricsName);
 				}
 				else if (shellCallback.isOverwriteEnabled()) {
-					source = gxf.getFormattedContent();
-					warnings.add(getString("Warning.11", //$NON-NLS-1$
-							targetFile.getAbsolutePath()));
+					overwrite = true;
 				}
 				else {
-					source = gxf.getFormattedContent();
 					targetFile = getUniqueFileName(directory, gxf.getFileName());
 					warnings.add(getString("Warning.2", targetFile.getAbsolutePath())); //$NON-NLS-1$
 				}
 			}
-			else {
-				source = gxf.getFormattedContent();
-			}
 
 			callback.checkCancel();
 			callback.startTask(getString("Progress.15", targetFile.getName())); //$NON-NLS-1$
-			writeFile(targetFile, source, gxf.getFileEncoding());
+			if (!writeFile(targetFile, gxf, mergedSource, metricsName)) {
+				return SaveResult.UNCHANGED;
+			}
+			if (overwrite) {
+				warnings.add(getString("Warning.11", //$NON-NLS-1$
+						targetFile.getAbsolutePath()));
+			}
+			return SaveResult.WRITTEN;
 		}
 		catch (ShellException e) {
 			warnings.add(e.getMessage());
+			return SaveResult.FAILED;
 		}
 	}
 
 	/**
-	 * Writes, or overwrites, the contents of the specified file.
+	 * Writes, or overwrites, the contents of the specified file. The content is rendered
+	 * straight into an encoded buffer, so that it is never held as one large string. An
+	 * existing file with exactly the same content is left untouched, so that its
+	 * modification time does not trigger incremental builds.
 	 * @param file the file
-	 * @param content the content
-	 * @param fileEncoding the file encoding
+	 * @param generatedFile the generated file
+	 * @param mergedSource the content merged with the existing file, or null to write
+	 * the content of the generated file
+	 * @param metricsName the name the work is recorded under in the metrics
+	 * @return true if the file was written, false if it was already up to date
+	 * @throws ShellException if the content of the generated file could not be produced.
+	 * Nothing is written in that case
 	 * @throws IOException Signals that an I/O exception has occurred.
 	 */
-	private void writeFile(File file, String content, String fileEncoding) throws IOException {
-		try (FileOutputStream fos = new FileOutputStream(file, false)) {
-			OutputStreamWriter osw;
-			if (fileEncoding == null) {
-				osw = new OutputStreamWriter(fos);
+	private boolean writeFile(File file, GeneratedFile generatedFile, String mergedSource, String metricsName)
+			throws ShellException, IOException {
+		String fileEncoding = generatedFile.getFileEncoding();
+		Charset charset = fileEncoding == null ? Charset.defaultCharset() : Charset.forName(fileEncoding);
+		ContentBuffer content = new ContentBuffer();
+		GenerationMetrics.Sample sample = metrics.start();
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(content, charset))) {
+			if (mergedSource == null) {
+				try {
+					generatedFile.writeFormattedContent(writer);
+				}
+				catch (IOException e) {
+					// the content is rendered into memory, so this is a failure of the
+					// generated file itself and the partial content is dropped
+					throw new ShellException(getString("Warning.39", //$NON-NLS-1$
+							file.getAbsolutePath(), e.getMessage()), e);
+				}
 			}
 			else {
-				osw = new OutputStreamWriter(fos, Charset.forName(fileEncoding));
+				writer.write(mergedSource);
+			}
+		}
+		metrics.stop(sample, GenerationMetrics.Phase.FORMAT, metricsName);
+
+		sample = metrics.start();
+		try {
+			if (hasContent(file, content)) {
+				return false;
+			}
+
+			try (OutputStream out = new FileOutputStream(file, false)) {
+				content.writeTo(out);
 			}
+			return true;
+		}
+		finally {
+			metrics.stop(sample, GenerationMetrics.Phase.WRITE, metricsName);
+		}
+	}
 
-			try (BufferedWriter bw = new BufferedWriter(osw)) {
-				bw.write(content);
+	/**
+	 * Compares a file with the specified content, checking the length first and then
+	 * streaming the file so that it is never read completely into memory.
+	 * @param file the file
+	 * @param content the content
+	 * @return true if the file exists and contains exactly the specified bytes
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private boolean hasContent(File file, ContentBuffer content) throws IOException {
+		if (!file.isFile() || file.length() != content.size()) {
+			return false;
+		}
+
+		byte[] bytes = content.getBytes();
+		try (InputStream in = new FileInputStream(file)) {
+			byte[] buffer = new byte[8192];
+			int offset = 0;
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				if (offset + read > content.size()) {
+					return false;
+				}
+				for (int i = 0; i < read; i++) {
+					if (buffer[i] != bytes[offset + i]) {
+						return false;
+					}
+				}
+				offset += read;
 			}
+			return offset == content.size();
 		}
 	}
 
@@ -445,6 +865,35 @@ public class MyBatisGenerator {
 		return answer;
 	}
 
+	/**
+	 * Enables the collection of generation metrics. When enabled, every run measures the
+	 * time and memory spent in each phase, table and plugin hook, and reports them to
+	 * {@link ProgressCallback#metricsCollected(GenerationMetrics)}. Plugin hooks are
+	 * measured through a proxy, so metrics are disabled by default.
+	 * @param metricsEnabled true to collect metrics
+	 */
+	public void setMetricsEnabled(boolean metricsEnabled) {
+		this.metricsEnabled = metricsEnabled;
+	}
+
+	/**
+	 * Sets a file that the metrics of every run are written to as JSON. Setting a report
+	 * file enables metrics.
+	 * @param metricsReportFile the report file, or null for no report
+	 */
+	public void setMetricsReportFile(File metricsReportFile) {
+		this.metricsReportFile = metricsReportFile;
+	}
+
+	/**
+	 * Returns the metrics of the last call to one of the generate methods.
+	 * @return the metrics, or {@link GenerationMetrics#DISABLED} if metrics are not
+	 * enabled
+	 */
+	public GenerationMetrics getMetrics() {
+		return metrics;
+	}
+
 	/**
 	 * Returns the list of generated Java files after a call to one of the generate
 	 * methods. This is useful if you prefer to process the generated files yourself and
@@ -475,4 +924,79 @@ public class MyBatisGenerator {
 		return generatedXmlFiles;
 	}
 
+	private enum SaveResult {
+
+		WRITTEN, UNCHANGED, SKIPPED, FAILED
+
+	}
+
+	@FunctionalInterface
+	private interface FileSaver {
+
+		SaveResult save(File directory, List<String> warnings, ProgressCallback callback)
+				throws InterruptedException, IOException;
+
+	}
+
+	/**
+	 * The generation manifest of one context, with the tables it finds up to date.
+	 */
+	private static class ManifestState {
+
+		private final Context context;
+
+		private final File file;
+
+		private final String configurationHash;
+
+		private final Map<IntrospectedTable, String> tableHashes;
+
+		private final Set<IntrospectedTable> upToDateTables = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		private GenerationManifest previous;
+
+		ManifestState(Context context, File file) throws IOException {
+			this.context = context;
+			this.file = file;
+			this.configurationHash = GenerationManifest.hashConfiguration(context);
+			this.tableHashes = GenerationManifest.hashTables(context);
+		}
+
+	}
+
+	/**
+	 * A byte array output stream that gives access to its buffer, so that the content can
+	 * be compared and written without copying it.
+	 */
+	private static class ContentBuffer extends ByteArrayOutputStream {
+
+		byte[] getBytes() {
+			return buf;
+		}
+
+	}
+
+	private static class SaveTask {
+
+		private final GeneratedFile generatedFile;
+
+		private final FileSaver fileSaver;
+
+		private File directory;
+
+		private String directoryError;
+
+		private final List<String> warnings = new ArrayList<>();
+
+		private Future<?> future;
+
+		private SaveResult result;
+
+		SaveTask(GeneratedFile generatedFile, FileSaver fileSaver) {
+			this.generatedFile = generatedFile;
+			this.fileSaver = fileSaver;
+		}
+
+	}
+
 }
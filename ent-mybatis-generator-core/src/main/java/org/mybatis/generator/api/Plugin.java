@@ -129,6 +129,25 @@ public interface Plugin {
 	 */
 	boolean validate(List<String> warnings);
 
+	/**
+	 * Returns whether this plugin may be called for different introspected tables at the
+	 * same time. A context only generates its tables in parallel (see the
+	 * <code>generationThreads</code> context property) if all of its plugins are thread
+	 * safe.
+	 *
+	 * <p>
+	 * In parallel mode the methods that are called while the files of one table are
+	 * generated, including contextGenerateAdditionalXXX(IntrospectedTable), run on worker
+	 * threads. The initialized and contextGenerateAdditionalXXX() methods, and
+	 * modelBaseRecordClassGenerated(IntrospectedTable), are always called from the thread
+	 * that runs the context.
+	 * @return true if the plugin does not share mutable state between tables. The default
+	 * is false
+	 */
+	default boolean isThreadSafe() {
+		return false;
+	}
+
 	/**
 	 * This method can be used to generate any additional Java file needed by your
 	 * implementation. This method is called once, after all other Java files have been
@@ -396,6 +415,50 @@ public interface Plugin {
 		return true;
 	}
 
+	/**
+	 * This method is called when the selectCursor method has been generated for the mapper
+	 * interface. This method is only called in the MyBatis3DynamicSql runtime, and only
+	 * when streaming selects are enabled.
+	 * @param method the generated selectCursor method
+	 * @param interfaze the partially generated mapper interfaces
+	 * @param introspectedTable The class containing information about the table as
+	 * introspected from the database
+	 * @return true if the method should be generated, false if the generated method
+	 * should be ignored. In the case of multiple plugins, the first plugin returning
+	 * false will disable the calling of further plugins.
+	 */
+	default boolean clientBasicSelectCursorMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		return true;
+	}
+
+	default boolean clientBasicSelectCursorMethodGenerated(KotlinFunction kotlinFunction, KotlinFile kotlinFile,
+			IntrospectedTable introspectedTable) {
+		return true;
+	}
+
+	/**
+	 * This method is called when the selectManyWithHandler method has been generated for
+	 * the mapper interface. This method is only called in the MyBatis3DynamicSql runtime,
+	 * and only when streaming selects are enabled.
+	 * @param method the generated selectManyWithHandler method
+	 * @param interfaze the partially generated mapper interfaces
+	 * @param introspectedTable The class containing information about the table as
+	 * introspected from the database
+	 * @return true if the method should be generated, false if the generated method
+	 * should be ignored. In the case of multiple plugins, the first plugin returning
+	 * false will disable the calling of further plugins.
+	 */
+	default boolean clientBasicSelectWithHandlerMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		return true;
+	}
+
+	default boolean clientBasicSelectWithHandlerMethodGenerated(KotlinFunction kotlinFunction,
+			KotlinFile kotlinFile, IntrospectedTable introspectedTable) {
+		return true;
+	}
+
 	/**
 	 * This method is called when the selectOne method has been generated for the mapper
 	 * interface. This method is only called in the MyBatis3DynamicSql runtime.
@@ -583,6 +646,46 @@ public interface Plugin {
 		return true;
 	}
 
+	/**
+	 * Called when the general select cursor method has been generated. This is the
+	 * streaming variant of the general select method in the MyBatis Dynamic SQL V2
+	 * runtime.
+	 * @param method the generated general select cursor method
+	 * @param interfaze the partially generated mapper interfaces
+	 * @param introspectedTable The class containing information about the table as
+	 * introspected from the database
+	 * @return true if the method should be generated
+	 */
+	default boolean clientGeneralSelectCursorMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		return true;
+	}
+
+	default boolean clientGeneralSelectCursorMethodGenerated(KotlinFunction kotlinFunction, KotlinFile kotlinFile,
+			IntrospectedTable introspectedTable) {
+		return true;
+	}
+
+	/**
+	 * Called when the general select method with a result handler has been generated.
+	 * This is the streaming variant of the general select method in the MyBatis Dynamic
+	 * SQL V2 runtime.
+	 * @param method the generated general select method
+	 * @param interfaze the partially generated mapper interfaces
+	 * @param introspectedTable The class containing information about the table as
+	 * introspected from the database
+	 * @return true if the method should be generated
+	 */
+	default boolean clientGeneralSelectWithHandlerMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		return true;
+	}
+
+	default boolean clientGeneralSelectWithHandlerMethodGenerated(KotlinFunction kotlinFunction,
+			KotlinFile kotlinFile, IntrospectedTable introspectedTable) {
+		return true;
+	}
+
 	/**
 	 * Called when the general update method has been generated. This is the replacement
 	 * for updateByExample in the MyBatis Dynamic SQL V2 runtime.
@@ -31,6 +31,8 @@ package org.mybatis.generator.api;
  * <li>(Repeatedly) startTask(String)</li>
  * <li>saveStarted(int)</li>
  * <li>(Repeatedly) startTask(String)</li>
+ * <li>saveCompleted(int, int)</li>
+ * <li>metricsCollected(GenerationMetrics), if metrics are enabled</li>
  * <li>done()</li>
  * </ol>
  *
@@ -80,6 +82,24 @@ public interface ProgressCallback {
 	default void startTask(String taskName) {
 	}
 
+	/**
+	 * Called at the end of the file saving phase. Files whose content did not change are
+	 * not rewritten, so that their modification time is preserved.
+	 * @param writtenFiles the number of files that were created or changed
+	 * @param unchangedFiles the number of files that already had the generated content
+	 */
+	default void saveCompleted(int writtenFiles, int unchangedFiles) {
+	}
+
+	/**
+	 * Called at the end of a run with metrics enabled, with the time and memory spent in
+	 * every phase, table and plugin hook.
+	 * @param metrics the metrics of the run
+	 * @see MyBatisGenerator#setMetricsEnabled(boolean)
+	 */
+	default void metricsCollected(GenerationMetrics metrics) {
+	}
+
 	/**
 	 * This method is called when all generated files have been saved.
 	 */
@@ -47,7 +47,8 @@ public interface ShellCallback {
 	 *
 	 * <p>
 	 * This method is called only if you return <code>true</code> from
-	 * <code>isMergeSupported()</code>.
+	 * <code>isMergeSupported()</code>. If a context sets the <code>saveThreads</code>
+	 * property, it may be called from a worker thread, but never concurrently.
 	 * @param newFileSource the source of the newly generated Java file
 	 * @param existingFile the existing Java file
 	 * @param javadocTags the JavaDoc tags that denotes which methods and fields in the
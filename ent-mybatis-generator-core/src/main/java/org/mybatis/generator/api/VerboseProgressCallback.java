@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api;
 
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
 /**
  * A slightly more verbose progress callback.
  *
@@ -32,4 +34,10 @@ public class VerboseProgressCallback implements ProgressCallback {
 		System.out.println(taskName);
 	}
 
+	@Override
+	public void saveCompleted(int writtenFiles, int unchangedFiles) {
+		System.out.println(getString("Progress.19", Integer.toString(writtenFiles), //$NON-NLS-1$
+				Integer.toString(unchangedFiles)));
+	}
+
 }
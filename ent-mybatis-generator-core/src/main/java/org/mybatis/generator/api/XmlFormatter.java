@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.dom.xml.Document;
 import org.mybatis.generator.config.Context;
 
@@ -37,4 +39,17 @@ public interface XmlFormatter {
 
 	String getFormattedContent(Document document);
 
+	/**
+	 * Writes the formatted content to the specified output, which is expected to produce
+	 * exactly the same characters as {@link #getFormattedContent(Document)}. Formatters
+	 * that can render without building the whole content as a string first should
+	 * override this method.
+	 * @param document the document to format
+	 * @param out the output
+	 * @throws IOException if the output cannot be written
+	 */
+	default void writeFormattedContent(Document document, Appendable out) throws IOException {
+		out.append(getFormattedContent(document));
+	}
+
 }
@@ -30,8 +30,8 @@ import org.mybatis.generator.api.dom.java.render.TopLevelEnumerationRenderer;
 import org.mybatis.generator.api.dom.java.render.TopLevelInterfaceRenderer;
 import org.mybatis.generator.config.Context;
 
+import java.io.IOException;
 import java.io.StringReader;
-import java.io.StringWriter;
 
 /**
  * This class is the default formatter for generated Java. This class will use the built
@@ -44,14 +44,46 @@ public class DefaultJavaFormatter implements JavaFormatter, CompilationUnitVisit
 
 	protected Context context;
 
-	private static final StreamsFormatter formatter = new StreamsFormatter(
-			JavaFormatConfig.of(JavaBaseline.V11, IndentationStyle.TABS));
+	// the formatter keeps parser state between calls, so files saved on several threads
+	// each get their own instance
+	private static final ThreadLocal<StreamsFormatter> formatter = ThreadLocal
+		.withInitial(() -> new StreamsFormatter(JavaFormatConfig.of(JavaBaseline.V11, IndentationStyle.TABS)));
+
+	/**
+	 * Renders the unformatted source of a compilation unit.
+	 */
+	private static final CompilationUnitVisitor<String> SOURCE_RENDERER = new CompilationUnitVisitor<String>() {
+		@Override
+		public String visit(TopLevelClass topLevelClass) {
+			return new TopLevelClassRenderer().render(topLevelClass);
+		}
+
+		@Override
+		public String visit(TopLevelEnumeration topLevelEnumeration) {
+			return new TopLevelEnumerationRenderer().render(topLevelEnumeration);
+		}
+
+		@Override
+		public String visit(Interface topLevelInterface) {
+			return new TopLevelInterfaceRenderer().render(topLevelInterface);
+		}
+	};
 
 	@Override
 	public String getFormattedContent(CompilationUnit compilationUnit) {
 		return compilationUnit.accept(this);
 	}
 
+	/**
+	 * Formats the compilation unit directly into the output. The formatter needs the
+	 * complete source, so the unformatted source is still built as a string, but the
+	 * formatted result is not.
+	 */
+	@Override
+	public void writeFormattedContent(CompilationUnit compilationUnit, Appendable out) throws IOException {
+		format(compilationUnit.accept(SOURCE_RENDERER), out);
+	}
+
 	@Override
 	public void setContext(Context context) {
 		this.context = context;
@@ -59,25 +91,27 @@ public class DefaultJavaFormatter implements JavaFormatter, CompilationUnitVisit
 
 	@Override
 	public String visit(TopLevelClass topLevelClass) {
-		StringWriter stringWriter = new StringWriter();
-		formatter.format(new StringReader(new TopLevelClassRenderer().render(topLevelClass))).writeTo(stringWriter);
-		return stringWriter.toString();
+		return format(SOURCE_RENDERER.visit(topLevelClass));
 	}
 
 	@Override
 	public String visit(TopLevelEnumeration topLevelEnumeration) {
-		StringWriter stringWriter = new StringWriter();
-		formatter.format(new StringReader(new TopLevelEnumerationRenderer().render(topLevelEnumeration)))
-			.writeTo(stringWriter);
-		return stringWriter.toString();
+		return format(SOURCE_RENDERER.visit(topLevelEnumeration));
 	}
 
 	@Override
 	public String visit(Interface topLevelInterface) {
-		StringWriter stringWriter = new StringWriter();
-		formatter.format(new StringReader(new TopLevelInterfaceRenderer().render(topLevelInterface)))
-			.writeTo(stringWriter);
-		return stringWriter.toString();
+		return format(SOURCE_RENDERER.visit(topLevelInterface));
+	}
+
+	private String format(String source) {
+		StringBuilder sb = new StringBuilder(source.length());
+		format(source, sb);
+		return sb.toString();
+	}
+
+	private void format(String source, Appendable out) {
+		formatter.get().format(new StringReader(source)).writeTo(out);
 	}
 
 }
@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api.dom;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.KotlinFormatter;
 import org.mybatis.generator.api.dom.kotlin.KotlinFile;
 import org.mybatis.generator.api.dom.kotlin.render.KotlinFileRenderer;
@@ -36,6 +38,11 @@ public class DefaultKotlinFormatter implements KotlinFormatter {
 		return new KotlinFileRenderer().render(kotlinFile);
 	}
 
+	@Override
+	public void writeFormattedContent(KotlinFile kotlinFile, Appendable out) throws IOException {
+		new KotlinFileRenderer().render(kotlinFile, out);
+	}
+
 	@Override
 	public void setContext(Context context) {
 		this.context = context;
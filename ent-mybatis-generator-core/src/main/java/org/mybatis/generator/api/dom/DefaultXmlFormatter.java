@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api.dom;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.XmlFormatter;
 import org.mybatis.generator.api.dom.xml.Document;
 import org.mybatis.generator.api.dom.xml.render.DocumentRenderer;
@@ -36,6 +38,11 @@ public class DefaultXmlFormatter implements XmlFormatter {
 		return new DocumentRenderer().render(document);
 	}
 
+	@Override
+	public void writeFormattedContent(Document document, Appendable out) throws IOException {
+		new DocumentRenderer().render(document, out);
+	}
+
 	@Override
 	public void setContext(Context context) {
 		this.context = context;
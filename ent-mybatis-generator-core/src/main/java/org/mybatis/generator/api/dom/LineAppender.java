@@ -0,0 +1,91 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.api.dom;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Appends rendered lines to an output as they are produced, so that the streaming
+ * renderers never hold the lines of a whole file. Lines are separated by the line
+ * separator, and no separator follows the last line. Non-empty lines are prefixed with
+ * the indent once per open nesting level, in the same way the list based renderers
+ * prefix nested lines.
+ *
+ * <p>
+ * Blank lines between members are requested with {@link #blankLineBeforeNext()} and only
+ * written when another line follows, which replaces adding an empty line after every
+ * member and removing the last one again.
+ */
+public class LineAppender {
+
+	private final Appendable out;
+
+	private final String lineSeparator;
+
+	private final String indent;
+
+	private int indentLevel;
+
+	private boolean firstLine = true;
+
+	private boolean blankLinePending;
+
+	public LineAppender(Appendable out, String lineSeparator, String indent) {
+		this.out = out;
+		this.lineSeparator = lineSeparator;
+		this.indent = indent;
+	}
+
+	public void line(String line) throws IOException {
+		if (blankLinePending) {
+			blankLinePending = false;
+			line(""); //$NON-NLS-1$
+		}
+		if (!firstLine) {
+			out.append(lineSeparator);
+		}
+		firstLine = false;
+		if (!line.isEmpty()) {
+			for (int i = 0; i < indentLevel; i++) {
+				out.append(indent);
+			}
+		}
+		out.append(line);
+	}
+
+	public void lines(List<String> lines) throws IOException {
+		for (String line : lines) {
+			line(line);
+		}
+	}
+
+	/**
+	 * Writes an empty line before the next line, unless {@link #cancelBlankLine()} is
+	 * called first.
+	 */
+	public void blankLineBeforeNext() {
+		blankLinePending = true;
+	}
+
+	public void cancelBlankLine() {
+		blankLinePending = false;
+	}
+
+	public void indent() {
+		indentLevel++;
+	}
+
+	public void outdent() {
+		indentLevel--;
+	}
+
+	public boolean isEmpty() {
+		return firstLine;
+	}
+
+}
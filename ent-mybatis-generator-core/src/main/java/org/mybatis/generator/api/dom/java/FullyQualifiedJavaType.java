@@ -19,26 +19,24 @@ import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FullyQualifiedJavaType implements Comparable<FullyQualifiedJavaType> {
 
 	private static final String JAVA_LANG = "java.lang"; //$NON-NLS-1$
 
-	private static FullyQualifiedJavaType intInstance = null;
-
-	private static FullyQualifiedJavaType stringInstance = null;
-
-	private static FullyQualifiedJavaType booleanPrimitiveInstance = null;
-
-	private static FullyQualifiedJavaType objectInstance = null;
-
-	private static FullyQualifiedJavaType dateInstance = null;
-
-	private static FullyQualifiedJavaType criteriaInstance = null;
+	/**
+	 * Parsed prototypes of type specifications without generic arguments, keyed by the
+	 * specification. The prototypes are never handed out, new instances copy their state.
+	 */
+	private static final Map<String, FullyQualifiedJavaType> PARSE_CACHE = new ConcurrentHashMap<>();
 
-	private static FullyQualifiedJavaType generatedCriteriaInstance = null;
+	/** Shared immutable instances returned by {@link #getInstance(String)}. */
+	private static final Map<String, FullyQualifiedJavaType> INTERNED = new ConcurrentHashMap<>();
 
 	/** The short name without any generic arguments. */
 	private String baseShortName;
@@ -65,6 +63,15 @@ public class FullyQualifiedJavaType implements Comparable<FullyQualifiedJavaType
 
 	private boolean extendsBoundedWildcard;
 
+	private boolean immutable;
+
+	// computed names, only cached while they cannot change - see canCacheNames()
+	private String fullyQualifiedName;
+
+	private String shortName;
+
+	private List<String> importList;
+
 	/**
 	 * Use this constructor to construct a generic type with the specified type
 	 * parameters.
@@ -73,7 +80,86 @@ public class FullyQualifiedJavaType implements Comparable<FullyQualifiedJavaType
 	public FullyQualifiedJavaType(String fullTypeSpecification) {
 		super();
 		typeArguments = new ArrayList<>();
-		parse(fullTypeSpecification);
+		if (fullTypeSpecification.indexOf('<') == -1) {
+			copyParsedState(getParsedPrototype(fullTypeSpecification));
+		}
+		else {
+			parse(fullTypeSpecification);
+		}
+	}
+
+	private FullyQualifiedJavaType(String typeSpecification, boolean prototype) {
+		super();
+		typeArguments = new ArrayList<>();
+		parse(typeSpecification);
+	}
+
+	private static FullyQualifiedJavaType getParsedPrototype(String typeSpecification) {
+		FullyQualifiedJavaType prototype = PARSE_CACHE.get(typeSpecification);
+		if (prototype == null) {
+			// not computeIfAbsent - parsing a primitive creates its wrapper type, which
+			// would update the map recursively
+			prototype = new FullyQualifiedJavaType(typeSpecification, true);
+			FullyQualifiedJavaType existing = PARSE_CACHE.putIfAbsent(typeSpecification, prototype);
+			if (existing != null) {
+				prototype = existing;
+			}
+		}
+		return prototype;
+	}
+
+	private void copyParsedState(FullyQualifiedJavaType prototype) {
+		baseShortName = prototype.baseShortName;
+		baseQualifiedName = prototype.baseQualifiedName;
+		explicitlyImported = prototype.explicitlyImported;
+		packageName = prototype.packageName;
+		primitive = prototype.primitive;
+		isArray = prototype.isArray;
+		primitiveTypeWrapper = prototype.primitiveTypeWrapper;
+		wildcardType = prototype.wildcardType;
+		boundedWildcard = prototype.boundedWildcard;
+		extendsBoundedWildcard = prototype.extendsBoundedWildcard;
+	}
+
+	/**
+	 * Returns a shared, immutable instance for the type specification. Repeated calls with
+	 * the same specification return the same instance, so generators can use these for
+	 * types they create for every table. Type arguments cannot be added to the returned
+	 * instance - use the constructor for types that will be parameterized later.
+	 * @param fullTypeSpecification the full type specification
+	 * @return the shared instance
+	 */
+	public static FullyQualifiedJavaType getInstance(String fullTypeSpecification) {
+		FullyQualifiedJavaType answer = INTERNED.get(fullTypeSpecification);
+		if (answer == null) {
+			answer = new FullyQualifiedJavaType(fullTypeSpecification);
+			answer.freeze();
+			FullyQualifiedJavaType existing = INTERNED.putIfAbsent(fullTypeSpecification, answer);
+			if (existing != null) {
+				answer = existing;
+			}
+		}
+		return answer;
+	}
+
+	private void freeze() {
+		for (FullyQualifiedJavaType typeArgument : typeArguments) {
+			typeArgument.freeze();
+		}
+		immutable = true;
+	}
+
+	/**
+	 * Returns true if this instance was obtained from {@link #getInstance(String)} and
+	 * cannot be modified.
+	 * @return true if the instance is immutable
+	 */
+	public boolean isImmutable() {
+		return immutable;
+	}
+
+	private boolean canCacheNames() {
+		return immutable || typeArguments.isEmpty();
 	}
 
 	public boolean isExplicitlyImported() {
@@ -85,6 +171,17 @@ public class FullyQualifiedJavaType implements Comparable<FullyQualifiedJavaType
 	 * @return Returns the fullyQualifiedName.
 	 */
 	public String getFullyQualifiedName() {
+		String answer = fullyQualifiedName;
+		if (answer == null) {
+			answer = calculateFullyQualifiedName();
+			if (canCacheNames()) {
+				fullyQualifiedName = answer;
+			}
+		}
+		return answer;
+	}
+
+	private String calculateFullyQualifiedName() {
 		StringBuilder sb = new StringBuilder();
 		if (wildcardType) {
 			sb.append('?');
@@ -132,6 +229,17 @@ public class FullyQualifiedJavaType implements Comparable<FullyQualifiedJavaType
 	 * @return the import list
 	 */
 	public List<String> getImportList() {
+		List<String> answer = importList;
+		if (answer == null) {
+			answer = Collections.unmodifiableList(calculateImportList());
+			if (canCacheNames()) {
+				importList = answer;
+			}
+		}
+		return new ArrayList<>(answer);
+	}
+
+	private List<String> calculateImportList() {
 		List<String> answer = new ArrayList<>();
 		if (isExplicitlyImported()) {
 			int index = baseShortName.indexOf('.');
@@ -169,6 +277,17 @@ public class FullyQualifiedJavaType implements Comparable<FullyQualifiedJavaType
 	}
 
 	public String getShortName() {
+		String answer = shortName;
+		if (answer == null) {
+			answer = calculateShortName();
+			if (canCacheNames()) {
+				shortName = answer;
+			}
+		}
+		return answer;
+	}
+
+	private String calculateShortName() {
 		StringBuilder sb = new StringBuilder();
 		if (wildcardType) {
 			sb.append('?');
@@ -244,11 +363,7 @@ public class FullyQualifiedJavaType implements Comparable<FullyQualifiedJavaType
 	}
 
 	public static FullyQualifiedJavaType getIntInstance() {
-		if (intInstance == null) {
-			intInstance = new FullyQualifiedJavaType("int"); //$NON-NLS-1$
-		}
-
-		return intInstance;
+		return getInstance("int"); //$NON-NLS-1$
 	}
 
 	public static FullyQualifiedJavaType getNewListInstance() {
@@ -272,51 +387,27 @@ public class FullyQualifiedJavaType implements Comparable<FullyQualifiedJavaType
 	}
 
 	public static FullyQualifiedJavaType getStringInstance() {
-		if (stringInstance == null) {
-			stringInstance = new FullyQualifiedJavaType("java.lang.String"); //$NON-NLS-1$
-		}
-
-		return stringInstance;
+		return getInstance("java.lang.String"); //$NON-NLS-1$
 	}
 
 	public static FullyQualifiedJavaType getBooleanPrimitiveInstance() {
-		if (booleanPrimitiveInstance == null) {
-			booleanPrimitiveInstance = new FullyQualifiedJavaType("boolean"); //$NON-NLS-1$
-		}
-
-		return booleanPrimitiveInstance;
+		return getInstance("boolean"); //$NON-NLS-1$
 	}
 
 	public static FullyQualifiedJavaType getObjectInstance() {
-		if (objectInstance == null) {
-			objectInstance = new FullyQualifiedJavaType("java.lang.Object"); //$NON-NLS-1$
-		}
-
-		return objectInstance;
+		return getInstance("java.lang.Object"); //$NON-NLS-1$
 	}
 
 	public static FullyQualifiedJavaType getDateInstance() {
-		if (dateInstance == null) {
-			dateInstance = new FullyQualifiedJavaType("java.util.Date"); //$NON-NLS-1$
-		}
-
-		return dateInstance;
+		return getInstance("java.util.Date"); //$NON-NLS-1$
 	}
 
 	public static FullyQualifiedJavaType getCriteriaInstance() {
-		if (criteriaInstance == null) {
-			criteriaInstance = new FullyQualifiedJavaType("Criteria"); //$NON-NLS-1$
-		}
-
-		return criteriaInstance;
+		return getInstance("Criteria"); //$NON-NLS-1$
 	}
 
 	public static FullyQualifiedJavaType getGeneratedCriteriaInstance() {
-		if (generatedCriteriaInstance == null) {
-			generatedCriteriaInstance = new FullyQualifiedJavaType("GeneratedCriteria"); //$NON-NLS-1$
-		}
-
-		return generatedCriteriaInstance;
+		return getInstance("GeneratedCriteria"); //$NON-NLS-1$
 	}
 
 	@Override
@@ -325,7 +416,13 @@ public class FullyQualifiedJavaType implements Comparable<FullyQualifiedJavaType
 	}
 
 	public void addTypeArgument(FullyQualifiedJavaType type) {
+		if (immutable) {
+			throw new UnsupportedOperationException(getString("RuntimeError.24", getFullyQualifiedName())); //$NON-NLS-1$
+		}
 		typeArguments.add(type);
+		fullyQualifiedName = null;
+		shortName = null;
+		importList = null;
 	}
 
 	private void parse(String fullTypeSpecification) {
@@ -495,7 +592,7 @@ public class FullyQualifiedJavaType implements Comparable<FullyQualifiedJavaType
 	}
 
 	public List<FullyQualifiedJavaType> getTypeArguments() {
-		return typeArguments;
+		return immutable ? Collections.unmodifiableList(typeArguments) : typeArguments;
 	}
 
 	public FullyQualifiedJavaType create(FullyQualifiedJavaType type) {
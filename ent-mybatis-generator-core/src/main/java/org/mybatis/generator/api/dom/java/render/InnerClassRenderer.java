@@ -15,9 +15,11 @@
  */
 package org.mybatis.generator.api.dom.java.render;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.mybatis.generator.api.dom.LineAppender;
 import org.mybatis.generator.api.dom.java.CompilationUnit;
 import org.mybatis.generator.api.dom.java.InnerClass;
 import org.mybatis.generator.api.dom.java.JavaDomUtils;
@@ -45,6 +47,30 @@ public class InnerClassRenderer {
 		return lines;
 	}
 
+	/**
+	 * Renders the class into the appender one member at a time. The lines are the same
+	 * as the lines returned by {@link #render(InnerClass, CompilationUnit)}.
+	 * @param innerClass the class to render
+	 * @param compilationUnit the compilation unit the class belongs to
+	 * @param out the appender
+	 * @throws IOException if the output cannot be written
+	 */
+	public void render(InnerClass innerClass, CompilationUnit compilationUnit, LineAppender out) throws IOException {
+		out.lines(innerClass.getJavaDocLines());
+		out.lines(innerClass.getAnnotations());
+		out.line(renderFirstLine(innerClass, compilationUnit));
+		out.indent();
+		RenderingUtilities.renderFields(innerClass.getFields(), compilationUnit, out);
+		RenderingUtilities.renderInitializationBlocks(innerClass.getInitializationBlocks(), out);
+		RenderingUtilities.renderClassOrEnumMethods(innerClass.getMethods(), compilationUnit, out);
+		RenderingUtilities.renderInnerClasses(innerClass.getInnerClasses(), compilationUnit, out);
+		RenderingUtilities.renderInnerInterfaces(innerClass.getInnerInterfaces(), compilationUnit, out);
+		RenderingUtilities.renderInnerEnums(innerClass.getInnerEnums(), compilationUnit, out);
+		out.outdent();
+		out.cancelBlankLine();
+		out.line("}"); //$NON-NLS-1$
+	}
+
 	private String renderFirstLine(InnerClass innerClass, CompilationUnit compilationUnit) {
 		StringBuilder sb = new StringBuilder();
 
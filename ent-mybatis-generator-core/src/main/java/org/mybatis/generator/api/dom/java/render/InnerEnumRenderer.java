@@ -15,10 +15,12 @@
  */
 package org.mybatis.generator.api.dom.java.render;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import org.mybatis.generator.api.dom.LineAppender;
 import org.mybatis.generator.api.dom.java.CompilationUnit;
 import org.mybatis.generator.api.dom.java.InnerEnum;
 import org.mybatis.generator.api.dom.java.JavaDomUtils;
@@ -47,6 +49,36 @@ public class InnerEnumRenderer {
 		return lines;
 	}
 
+	/**
+	 * Renders the enum into the appender one member at a time. The lines are the same as
+	 * the lines returned by {@link #render(InnerEnum, CompilationUnit)}.
+	 * @param innerEnum the enum to render
+	 * @param compilationUnit the compilation unit the enum belongs to
+	 * @param out the appender
+	 * @throws IOException if the output cannot be written
+	 */
+	public void render(InnerEnum innerEnum, CompilationUnit compilationUnit, LineAppender out) throws IOException {
+		out.lines(innerEnum.getJavaDocLines());
+		out.lines(innerEnum.getAnnotations());
+		out.line(renderFirstLine(innerEnum, compilationUnit));
+		out.indent();
+		Iterator<String> iter = innerEnum.getEnumConstants().iterator();
+		while (iter.hasNext()) {
+			String enumConstant = iter.next();
+			out.line(enumConstant + (iter.hasNext() ? "," : ";")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		out.blankLineBeforeNext();
+		RenderingUtilities.renderFields(innerEnum.getFields(), compilationUnit, out);
+		RenderingUtilities.renderInitializationBlocks(innerEnum.getInitializationBlocks(), out);
+		RenderingUtilities.renderClassOrEnumMethods(innerEnum.getMethods(), compilationUnit, out);
+		RenderingUtilities.renderInnerClasses(innerEnum.getInnerClasses(), compilationUnit, out);
+		RenderingUtilities.renderInnerInterfaces(innerEnum.getInnerInterfaces(), compilationUnit, out);
+		RenderingUtilities.renderInnerEnums(innerEnum.getInnerEnums(), compilationUnit, out);
+		out.outdent();
+		out.cancelBlankLine();
+		out.line("}"); //$NON-NLS-1$
+	}
+
 	private String renderFirstLine(InnerEnum innerEnum, CompilationUnit compilationUnit) {
 		StringBuilder sb = new StringBuilder();
 
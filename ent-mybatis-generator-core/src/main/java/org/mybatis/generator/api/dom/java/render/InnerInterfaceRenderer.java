@@ -15,9 +15,11 @@
  */
 package org.mybatis.generator.api.dom.java.render;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.mybatis.generator.api.dom.LineAppender;
 import org.mybatis.generator.api.dom.java.CompilationUnit;
 import org.mybatis.generator.api.dom.java.InnerInterface;
 import org.mybatis.generator.api.dom.java.JavaDomUtils;
@@ -44,6 +46,30 @@ public class InnerInterfaceRenderer {
 		return lines;
 	}
 
+	/**
+	 * Renders the interface into the appender one member at a time. The lines are the
+	 * same as the lines returned by {@link #render(InnerInterface, CompilationUnit)}.
+	 * @param innerInterface the interface to render
+	 * @param compilationUnit the compilation unit the interface belongs to
+	 * @param out the appender
+	 * @throws IOException if the output cannot be written
+	 */
+	public void render(InnerInterface innerInterface, CompilationUnit compilationUnit, LineAppender out)
+			throws IOException {
+		out.lines(innerInterface.getJavaDocLines());
+		out.lines(innerInterface.getAnnotations());
+		out.line(renderFirstLine(innerInterface, compilationUnit));
+		out.indent();
+		RenderingUtilities.renderFields(innerInterface.getFields(), compilationUnit, out);
+		RenderingUtilities.renderInterfaceMethods(innerInterface.getMethods(), compilationUnit, out);
+		RenderingUtilities.renderInnerClasses(innerInterface.getInnerClasses(), compilationUnit, out);
+		RenderingUtilities.renderInnerInterfaces(innerInterface.getInnerInterfaces(), compilationUnit, out);
+		RenderingUtilities.renderInnerEnums(innerInterface.getInnerEnums(), compilationUnit, out);
+		out.outdent();
+		out.cancelBlankLine();
+		out.line("}"); //$NON-NLS-1$
+	}
+
 	private String renderFirstLine(InnerInterface innerInterface, CompilationUnit compilationUnit) {
 		StringBuilder sb = new StringBuilder();
 
@@ -17,6 +17,7 @@ package org.mybatis.generator.api.dom.java.render;
 
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -26,6 +27,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.mybatis.generator.api.dom.LineAppender;
 import org.mybatis.generator.api.dom.java.CompilationUnit;
 import org.mybatis.generator.api.dom.java.Field;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
@@ -147,6 +149,83 @@ public class RenderingUtilities {
 				innerEnumRenderer.render(innerEnum, compilationUnit).stream().map(RenderingUtilities::javaIndent));
 	}
 
+	// the appender variants write each member followed by a pending blank line. The
+	// appender drops the blank line after the last member when the closing brace is
+	// written, which matches removeLastEmptyLine in the list variants
+
+	public static void renderFields(List<Field> fields, CompilationUnit compilationUnit, LineAppender out)
+			throws IOException {
+		for (Field field : fields) {
+			out.lines(fieldRenderer.render(field, compilationUnit));
+			out.blankLineBeforeNext();
+		}
+	}
+
+	public static void renderInitializationBlocks(List<InitializationBlock> initializationBlocks, LineAppender out)
+			throws IOException {
+		for (InitializationBlock initializationBlock : initializationBlocks) {
+			out.lines(initializationBlockRenderer.render(initializationBlock));
+			out.blankLineBeforeNext();
+		}
+	}
+
+	public static void renderClassOrEnumMethods(List<Method> methods, CompilationUnit compilationUnit,
+			LineAppender out) throws IOException {
+		renderMethods(methods, false, compilationUnit, out);
+	}
+
+	public static void renderInterfaceMethods(List<Method> methods, CompilationUnit compilationUnit,
+			LineAppender out) throws IOException {
+		renderMethods(methods, true, compilationUnit, out);
+	}
+
+	private static void renderMethods(List<Method> methods, boolean inInterface, CompilationUnit compilationUnit,
+			LineAppender out) throws IOException {
+		for (Method method : methods) {
+			out.lines(methodRenderer.render(method, inInterface, compilationUnit));
+			out.blankLineBeforeNext();
+		}
+	}
+
+	public static void renderInnerClasses(List<InnerClass> innerClasses, CompilationUnit compilationUnit,
+			LineAppender out) throws IOException {
+		for (InnerClass innerClass : innerClasses) {
+			innerClassRenderer.render(innerClass, compilationUnit, out);
+			out.blankLineBeforeNext();
+		}
+	}
+
+	public static void renderInnerClassNoIndent(InnerClass innerClass, CompilationUnit compilationUnit,
+			LineAppender out) throws IOException {
+		innerClassRenderer.render(innerClass, compilationUnit, out);
+	}
+
+	public static void renderInnerInterfaces(List<InnerInterface> innerInterfaces, CompilationUnit compilationUnit,
+			LineAppender out) throws IOException {
+		for (InnerInterface innerInterface : innerInterfaces) {
+			innerInterfaceRenderer.render(innerInterface, compilationUnit, out);
+			out.blankLineBeforeNext();
+		}
+	}
+
+	public static void renderInnerInterfaceNoIndent(InnerInterface innerInterface, CompilationUnit compilationUnit,
+			LineAppender out) throws IOException {
+		innerInterfaceRenderer.render(innerInterface, compilationUnit, out);
+	}
+
+	public static void renderInnerEnums(List<InnerEnum> innerEnums, CompilationUnit compilationUnit,
+			LineAppender out) throws IOException {
+		for (InnerEnum innerEnum : innerEnums) {
+			innerEnumRenderer.render(innerEnum, compilationUnit, out);
+			out.blankLineBeforeNext();
+		}
+	}
+
+	public static void renderInnerEnumNoIndent(InnerEnum innerEnum, CompilationUnit compilationUnit,
+			LineAppender out) throws IOException {
+		innerEnumRenderer.render(innerEnum, compilationUnit, out);
+	}
+
 	public static List<String> renderPackage(CompilationUnit compilationUnit) {
 		List<String> answer = new ArrayList<>();
 
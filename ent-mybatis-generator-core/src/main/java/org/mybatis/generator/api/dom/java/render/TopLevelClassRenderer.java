@@ -20,24 +20,43 @@ import static org.mybatis.generator.api.dom.java.render.RenderingUtilities.rende
 import static org.mybatis.generator.api.dom.java.render.RenderingUtilities.renderPackage;
 import static org.mybatis.generator.api.dom.java.render.RenderingUtilities.renderStaticImports;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
+import org.mybatis.generator.api.dom.LineAppender;
 import org.mybatis.generator.api.dom.java.TopLevelClass;
 
 public class TopLevelClassRenderer {
 
 	public String render(TopLevelClass topLevelClass) {
-		List<String> lines = new ArrayList<>();
-
-		lines.addAll(topLevelClass.getFileCommentLines());
-		lines.addAll(renderPackage(topLevelClass));
-		lines.addAll(renderStaticImports(topLevelClass));
-		lines.addAll(renderImports(topLevelClass));
-		lines.addAll(renderInnerClassNoIndent(topLevelClass, topLevelClass));
+		StringBuilder sb = new StringBuilder();
+		try {
+			render(topLevelClass, sb);
+		}
+		catch (IOException e) {
+			// a StringBuilder never throws
+			throw new UncheckedIOException(e);
+		}
+		return sb.toString();
+	}
 
-		return lines.stream().collect(Collectors.joining(System.getProperty("line.separator"))); //$NON-NLS-1$
+	/**
+	 * Renders directly into the output. Members are appended as they are rendered, and
+	 * nested types are indented while they are written, so the lines of the whole
+	 * class are never collected.
+	 * @param topLevelClass the class to render
+	 * @param out the output
+	 * @throws IOException if the output cannot be written
+	 */
+	public void render(TopLevelClass topLevelClass, Appendable out) throws IOException {
+		LineAppender appender = new LineAppender(out, System.getProperty("line.separator"), //$NON-NLS-1$
+				RenderingUtilities.JAVA_INDENT);
+
+		appender.lines(topLevelClass.getFileCommentLines());
+		appender.lines(renderPackage(topLevelClass));
+		appender.lines(renderStaticImports(topLevelClass));
+		appender.lines(renderImports(topLevelClass));
+		renderInnerClassNoIndent(topLevelClass, topLevelClass, appender);
 	}
 
 }
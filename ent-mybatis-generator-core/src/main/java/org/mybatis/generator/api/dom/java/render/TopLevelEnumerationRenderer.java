@@ -20,24 +20,43 @@ import static org.mybatis.generator.api.dom.java.render.RenderingUtilities.rende
 import static org.mybatis.generator.api.dom.java.render.RenderingUtilities.renderPackage;
 import static org.mybatis.generator.api.dom.java.render.RenderingUtilities.renderStaticImports;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
+import org.mybatis.generator.api.dom.LineAppender;
 import org.mybatis.generator.api.dom.java.TopLevelEnumeration;
 
 public class TopLevelEnumerationRenderer {
 
 	public String render(TopLevelEnumeration topLevelEnumeration) {
-		List<String> lines = new ArrayList<>();
-
-		lines.addAll(topLevelEnumeration.getFileCommentLines());
-		lines.addAll(renderPackage(topLevelEnumeration));
-		lines.addAll(renderStaticImports(topLevelEnumeration));
-		lines.addAll(renderImports(topLevelEnumeration));
-		lines.addAll(renderInnerEnumNoIndent(topLevelEnumeration, topLevelEnumeration));
+		StringBuilder sb = new StringBuilder();
+		try {
+			render(topLevelEnumeration, sb);
+		}
+		catch (IOException e) {
+			// a StringBuilder never throws
+			throw new UncheckedIOException(e);
+		}
+		return sb.toString();
+	}
 
-		return lines.stream().collect(Collectors.joining(System.getProperty("line.separator"))); //$NON-NLS-1$
+	/**
+	 * Renders directly into the output. Members are appended as they are rendered, and
+	 * nested types are indented while they are written, so the lines of the whole
+	 * enumeration are never collected.
+	 * @param topLevelEnumeration the enumeration to render
+	 * @param out the output
+	 * @throws IOException if the output cannot be written
+	 */
+	public void render(TopLevelEnumeration topLevelEnumeration, Appendable out) throws IOException {
+		LineAppender appender = new LineAppender(out, System.getProperty("line.separator"), //$NON-NLS-1$
+				RenderingUtilities.JAVA_INDENT);
+
+		appender.lines(topLevelEnumeration.getFileCommentLines());
+		appender.lines(renderPackage(topLevelEnumeration));
+		appender.lines(renderStaticImports(topLevelEnumeration));
+		appender.lines(renderImports(topLevelEnumeration));
+		renderInnerEnumNoIndent(topLevelEnumeration, topLevelEnumeration, appender);
 	}
 
 }
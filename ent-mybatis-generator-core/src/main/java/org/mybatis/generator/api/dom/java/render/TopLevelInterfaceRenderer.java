@@ -20,24 +20,43 @@ import static org.mybatis.generator.api.dom.java.render.RenderingUtilities.rende
 import static org.mybatis.generator.api.dom.java.render.RenderingUtilities.renderPackage;
 import static org.mybatis.generator.api.dom.java.render.RenderingUtilities.renderStaticImports;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
+import org.mybatis.generator.api.dom.LineAppender;
 import org.mybatis.generator.api.dom.java.Interface;
 
 public class TopLevelInterfaceRenderer {
 
 	public String render(Interface topLevelInterface) {
-		List<String> lines = new ArrayList<>();
-
-		lines.addAll(topLevelInterface.getFileCommentLines());
-		lines.addAll(renderPackage(topLevelInterface));
-		lines.addAll(renderStaticImports(topLevelInterface));
-		lines.addAll(renderImports(topLevelInterface));
-		lines.addAll(renderInnerInterfaceNoIndent(topLevelInterface, topLevelInterface));
+		StringBuilder sb = new StringBuilder();
+		try {
+			render(topLevelInterface, sb);
+		}
+		catch (IOException e) {
+			// a StringBuilder never throws
+			throw new UncheckedIOException(e);
+		}
+		return sb.toString();
+	}
 
-		return lines.stream().collect(Collectors.joining(System.getProperty("line.separator"))); //$NON-NLS-1$
+	/**
+	 * Renders directly into the output. Members are appended as they are rendered, and
+	 * nested types are indented while they are written, so the lines of the whole
+	 * interface are never collected.
+	 * @param topLevelInterface the interface to render
+	 * @param out the output
+	 * @throws IOException if the output cannot be written
+	 */
+	public void render(Interface topLevelInterface, Appendable out) throws IOException {
+		LineAppender appender = new LineAppender(out, System.getProperty("line.separator"), //$NON-NLS-1$
+				RenderingUtilities.JAVA_INDENT);
+
+		appender.lines(topLevelInterface.getFileCommentLines());
+		appender.lines(renderPackage(topLevelInterface));
+		appender.lines(renderStaticImports(topLevelInterface));
+		appender.lines(renderImports(topLevelInterface));
+		renderInnerInterfaceNoIndent(topLevelInterface, topLevelInterface, appender);
 	}
 
 }
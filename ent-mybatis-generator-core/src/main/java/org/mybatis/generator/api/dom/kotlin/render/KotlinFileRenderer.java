@@ -15,38 +15,67 @@
  */
 package org.mybatis.generator.api.dom.kotlin.render;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.mybatis.generator.api.dom.LineAppender;
 import org.mybatis.generator.api.dom.kotlin.KotlinFile;
 import org.mybatis.generator.api.dom.kotlin.KotlinNamedItem;
 
 public class KotlinFileRenderer {
 
 	public String render(KotlinFile kotlinFile) {
-		List<String> lines = new ArrayList<>();
-		KotlinNamedItemRenderer renderer = new KotlinNamedItemRenderer();
+		StringBuilder sb = new StringBuilder();
+		try {
+			render(kotlinFile, sb);
+		}
+		catch (IOException e) {
+			// a StringBuilder never throws
+			throw new UncheckedIOException(e);
+		}
+		return sb.toString();
+	}
 
-		kotlinFile.getPackage().ifPresent(p -> lines.add("package " + p)); //$NON-NLS-1$
+	/**
+	 * Renders directly into the output. Named items are appended as they are rendered,
+	 * so the lines of the whole file are never collected.
+	 * @param kotlinFile the Kotlin file to render
+	 * @param out the output
+	 * @throws IOException if the output cannot be written
+	 */
+	public void render(KotlinFile kotlinFile, Appendable out) throws IOException {
+		LineAppender appender = new LineAppender(out, System.getProperty("line.separator"), //$NON-NLS-1$
+				KotlinRenderingUtilities.KOTLIN_INDENT);
+		KotlinNamedItemRenderer renderer = new KotlinNamedItemRenderer();
 
-		lines.addAll(prependBlankLineIfNotEmpty(lines.size(), renderImports(kotlinFile)));
+		appender.lines(kotlinFile.getFileCommentLines());
 
-		for (KotlinNamedItem item : kotlinFile.getNamedItems()) {
-			lines.addAll(prependBlankLineIfNotEmpty(lines.size(), renderer.render(item)));
+		// blank lines separate the package, the imports and the named items, but the file
+		// comment is not separated from what follows
+		boolean separate = false;
+		if (kotlinFile.getPackage().isPresent()) {
+			appender.line("package " + kotlinFile.getPackage().get()); //$NON-NLS-1$
+			separate = true;
 		}
 
-		lines.addAll(0, kotlinFile.getFileCommentLines());
-		return lines.stream().collect(Collectors.joining(System.getProperty("line.separator"))); //$NON-NLS-1$
-	}
-
-	private List<String> prependBlankLineIfNotEmpty(int currentLength, List<String> in) {
-		if (in.isEmpty() || currentLength == 0) {
-			return in;
+		List<String> imports = renderImports(kotlinFile);
+		if (!imports.isEmpty()) {
+			if (separate) {
+				appender.blankLineBeforeNext();
+			}
+			appender.lines(imports);
+			separate = true;
 		}
 
-		in.add(0, ""); //$NON-NLS-1$
-		return in;
+		for (KotlinNamedItem item : kotlinFile.getNamedItems()) {
+			if (separate) {
+				appender.blankLineBeforeNext();
+			}
+			renderer.render(item, appender);
+			separate = true;
+		}
 	}
 
 	private List<String> renderImports(KotlinFile kotlinFile) {
@@ -15,8 +15,11 @@
  */
 package org.mybatis.generator.api.dom.kotlin.render;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+import org.mybatis.generator.api.dom.LineAppender;
 import org.mybatis.generator.api.dom.kotlin.KotlinFunction;
 import org.mybatis.generator.api.dom.kotlin.KotlinNamedItem;
 import org.mybatis.generator.api.dom.kotlin.KotlinNamedItemVisitor;
@@ -29,6 +32,22 @@ public class KotlinNamedItemRenderer implements KotlinNamedItemVisitor<List<Stri
 		return namedItem.accept(this);
 	}
 
+	/**
+	 * Renders the item into the appender. Types are written one named item at a time;
+	 * properties and functions are small and are appended as a whole.
+	 * @param namedItem the item to render
+	 * @param out the appender
+	 * @throws IOException if the output cannot be written
+	 */
+	public void render(KotlinNamedItem namedItem, LineAppender out) throws IOException {
+		try {
+			namedItem.accept(new AppendingVisitor(out));
+		}
+		catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
 	@Override
 	public List<String> visit(KotlinType kotlinType) {
 		return new KotlinTypeRenderer().render(kotlinType);
@@ -44,4 +63,46 @@ public class KotlinNamedItemRenderer implements KotlinNamedItemVisitor<List<Stri
 		return new KotlinFunctionRenderer().render(kotlinFunction);
 	}
 
+	private class AppendingVisitor implements KotlinNamedItemVisitor<Void> {
+
+		private final LineAppender out;
+
+		AppendingVisitor(LineAppender out) {
+			this.out = out;
+		}
+
+		@Override
+		public Void visit(KotlinType kotlinType) {
+			try {
+				new KotlinTypeRenderer().render(kotlinType, out);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return null;
+		}
+
+		@Override
+		public Void visit(KotlinProperty kotlinProperty) {
+			append(KotlinNamedItemRenderer.this.visit(kotlinProperty));
+			return null;
+		}
+
+		@Override
+		public Void visit(KotlinFunction kotlinFunction) {
+			append(KotlinNamedItemRenderer.this.visit(kotlinFunction));
+			return null;
+		}
+
+		private void append(List<String> lines) {
+			try {
+				out.lines(lines);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+	}
+
 }
@@ -15,11 +15,13 @@
  */
 package org.mybatis.generator.api.dom.kotlin.render;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.mybatis.generator.api.dom.LineAppender;
 import org.mybatis.generator.api.dom.java.render.RenderingUtilities;
 import org.mybatis.generator.api.dom.kotlin.KotlinNamedItem;
 import org.mybatis.generator.api.dom.kotlin.KotlinProperty;
@@ -32,6 +34,53 @@ public class KotlinTypeRenderer {
 		KotlinNamedItemRenderer renderer = new KotlinNamedItemRenderer();
 
 		List<String> answer = new ArrayList<>(kotlinType.getAnnotations());
+		answer.addAll(renderHeader(kotlinType));
+
+		for (KotlinNamedItem namedItem : kotlinType.getNamedItems()) {
+			answer.addAll(renderer.render(namedItem)
+				.stream()
+				.map(KotlinRenderingUtilities::kotlinIndent)
+				.collect(Collectors.toList()));
+			answer.add(""); //$NON-NLS-1$
+		}
+
+		answer = RenderingUtilities.removeLastEmptyLine(answer);
+
+		if (!kotlinType.getNamedItems().isEmpty()) {
+			answer.add("}"); //$NON-NLS-1$
+		}
+
+		return answer;
+	}
+
+	/**
+	 * Renders the type into the appender one named item at a time. The lines are the
+	 * same as the lines returned by {@link #render(KotlinType)}.
+	 * @param kotlinType the type to render
+	 * @param out the appender
+	 * @throws IOException if the output cannot be written
+	 */
+	public void render(KotlinType kotlinType, LineAppender out) throws IOException {
+		KotlinNamedItemRenderer renderer = new KotlinNamedItemRenderer();
+
+		out.lines(kotlinType.getAnnotations());
+		out.lines(renderHeader(kotlinType));
+
+		out.indent();
+		for (KotlinNamedItem namedItem : kotlinType.getNamedItems()) {
+			renderer.render(namedItem, out);
+			out.blankLineBeforeNext();
+		}
+		out.outdent();
+		out.cancelBlankLine();
+
+		if (!kotlinType.getNamedItems().isEmpty()) {
+			out.line("}"); //$NON-NLS-1$
+		}
+	}
+
+	private List<String> renderHeader(KotlinType kotlinType) {
+		List<String> answer = new ArrayList<>();
 
 		String renderedModifiersAndName = KotlinRenderingUtilities.renderModifiers(kotlinType.getModifiers())
 				+ kotlinType.getType().getValue() + " " //$NON-NLS-1$
@@ -62,20 +111,6 @@ public class KotlinTypeRenderer {
 			}
 		}
 
-		for (KotlinNamedItem namedItem : kotlinType.getNamedItems()) {
-			answer.addAll(renderer.render(namedItem)
-				.stream()
-				.map(KotlinRenderingUtilities::kotlinIndent)
-				.collect(Collectors.toList()));
-			answer.add(""); //$NON-NLS-1$
-		}
-
-		answer = RenderingUtilities.removeLastEmptyLine(answer);
-
-		if (!kotlinType.getNamedItems().isEmpty()) {
-			answer.add("}"); //$NON-NLS-1$
-		}
-
 		return answer;
 	}
 
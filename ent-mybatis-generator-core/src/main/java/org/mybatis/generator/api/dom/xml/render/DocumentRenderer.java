@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api.dom.xml.render;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -30,6 +32,22 @@ public class DocumentRenderer {
 			.collect(Collectors.joining(System.getProperty("line.separator"))); //$NON-NLS-1$
 	}
 
+	/**
+	 * Renders the document directly into the output. The elements are written as they
+	 * are visited, so the lines of the document are never held in memory at once.
+	 * @param document the document to render
+	 * @param out the output
+	 * @throws IOException if the output cannot be written
+	 */
+	public void render(Document document, Appendable out) throws IOException {
+		String lineSeparator = System.getProperty("line.separator"); //$NON-NLS-1$
+		List<String> prolog = Stream.concat(renderXmlHeader(), renderDocType(document)).collect(Collectors.toList());
+		for (String line : prolog) {
+			out.append(line).append(lineSeparator);
+		}
+		new ElementRenderer().render(document.getRootElement(), out, lineSeparator);
+	}
+
 	private Stream<String> renderXmlHeader() {
 		return Stream.of("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"); //$NON-NLS-1$
 	}
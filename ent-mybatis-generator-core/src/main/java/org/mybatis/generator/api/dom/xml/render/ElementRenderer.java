@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api.dom.xml.render;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Comparator;
 import java.util.stream.Stream;
 
@@ -62,8 +64,17 @@ public class ElementRenderer implements ElementVisitor<Stream<String>> {
 	}
 
 	private Stream<String> renderOpen(XmlElement element) {
-		return Stream.of("<" //$NON-NLS-1$
-				+ element.getName() + renderAttributes(element) + ">"); //$NON-NLS-1$
+		return Stream.of(renderStartTag(element));
+	}
+
+	/**
+	 * Renders the start tag of an element that has children.
+	 * @param element the element
+	 * @return the start tag, with the attributes sorted by name
+	 */
+	public String renderStartTag(XmlElement element) {
+		return "<" //$NON-NLS-1$
+				+ element.getName() + renderAttributes(element) + ">"; //$NON-NLS-1$
 	}
 
 	private Stream<String> renderChildren(XmlElement element) {
@@ -83,4 +94,93 @@ public class ElementRenderer implements ElementVisitor<Stream<String>> {
 				+ element.getName() + ">"); //$NON-NLS-1$
 	}
 
+	/**
+	 * Renders an element directly into the output, producing the same lines as visiting
+	 * the element. The lines are separated by the line separator, and no separator
+	 * follows the last line.
+	 * @param element the element to render
+	 * @param out the output
+	 * @param lineSeparator the line separator
+	 * @throws IOException if the output cannot be written
+	 */
+	public void render(VisitableElement element, Appendable out, String lineSeparator) throws IOException {
+		render(element, out, lineSeparator, 0);
+	}
+
+	/**
+	 * Renders an element directly into the output as a child at the given depth. Every
+	 * line, including the first, is indented by the depth.
+	 * @param element the element to render
+	 * @param out the output
+	 * @param lineSeparator the line separator
+	 * @param indentLevel the depth of the element below the root element
+	 * @throws IOException if the output cannot be written
+	 */
+	public void render(VisitableElement element, Appendable out, String lineSeparator, int indentLevel)
+			throws IOException {
+		try {
+			element.accept(new AppendingVisitor(out, lineSeparator, indentLevel));
+		}
+		catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	private class AppendingVisitor implements ElementVisitor<Void> {
+
+		private final Appendable out;
+
+		private final String lineSeparator;
+
+		private int indentLevel;
+
+		private boolean firstLine = true;
+
+		AppendingVisitor(Appendable out, String lineSeparator, int indentLevel) {
+			this.out = out;
+			this.lineSeparator = lineSeparator;
+			this.indentLevel = indentLevel;
+		}
+
+		@Override
+		public Void visit(TextElement element) {
+			line(element.getContent());
+			return null;
+		}
+
+		@Override
+		public Void visit(XmlElement element) {
+			if (element.hasChildren()) {
+				line(renderStartTag(element));
+				indentLevel++;
+				for (VisitableElement child : element.getElements()) {
+					child.accept(this);
+				}
+				indentLevel--;
+				line("</" + element.getName() + ">"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			else {
+				line("<" + element.getName() + renderAttributes(element) + " />"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			return null;
+		}
+
+		private void line(String content) {
+			try {
+				if (!firstLine) {
+					out.append(lineSeparator);
+				}
+				firstLine = false;
+				for (int i = 0; i < indentLevel; i++) {
+					out.append("  "); //$NON-NLS-1$
+				}
+				out.append(content);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+	}
+
 }
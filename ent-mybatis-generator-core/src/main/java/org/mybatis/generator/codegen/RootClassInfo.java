@@ -10,15 +10,13 @@ import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.dom.java.Field;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
 import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.config.Context;
 import org.mybatis.generator.internal.ObjectFactory;
 
 import java.beans.BeanInfo;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
@@ -30,25 +28,23 @@ import static org.mybatis.generator.internal.util.messages.Messages.getString;
  */
 public class RootClassInfo {
 
-	private static final Map<String, RootClassInfo> rootClassInfoMap;
-
-	static {
-		rootClassInfoMap = Collections.synchronizedMap(new HashMap<>());
-	}
-
-	public static RootClassInfo getInstance(String className, List<String> warnings) {
-		return rootClassInfoMap.computeIfAbsent(className, k -> new RootClassInfo(k, warnings));
-	}
-
 	/**
-	 * Clears the internal map containing root class info. This method should be called at
-	 * the beginning of a generation run to clear the cached root class info in case there
-	 * has been a change. For example, when using the eclipse launcher, the cache would be
-	 * kept until eclipse was restarted.
-	 *
+	 * Returns the root class info of a class. The info is cached in the object factory of
+	 * the current generation run, so that it never outlives the class loaders it was
+	 * read from.
+	 * @param context the context
+	 * @param className the root class name, or <code>null</code> if there is no root class
+	 * @param warnings the warnings of the run
+	 * @return the root class info
 	 */
-	public static void reset() {
-		rootClassInfoMap.clear();
+	public static RootClassInfo getInstance(Context context, String className, List<String> warnings) {
+		ObjectFactory objectFactory = context.getObjectFactory();
+		if (className == null) {
+			// nothing is read without a root class, and the cache does not accept null keys
+			return new RootClassInfo(null, warnings, objectFactory);
+		}
+		return objectFactory.getCachedObject(RootClassInfo.class, className,
+				k -> new RootClassInfo(k, warnings, objectFactory));
 	}
 
 	private PropertyDescriptor[] propertyDescriptors;
@@ -59,7 +55,7 @@ public class RootClassInfo {
 
 	private boolean genericMode = false;
 
-	private RootClassInfo(String className, List<String> warnings) {
+	private RootClassInfo(String className, List<String> warnings, ObjectFactory objectFactory) {
 		super();
 		this.className = className;
 		this.warnings = warnings;
@@ -75,7 +71,7 @@ public class RootClassInfo {
 		}
 
 		try {
-			Class<?> clazz = ObjectFactory.externalClassForName(nameWithoutGenerics);
+			Class<?> clazz = objectFactory.loadExternalClass(nameWithoutGenerics);
 			BeanInfo bi = Introspector.getBeanInfo(clazz);
 			propertyDescriptors = bi.getPropertyDescriptors();
 		}
@@ -20,9 +20,12 @@ import static org.mybatis.generator.internal.util.StringUtility.isTrue;
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
+import java.io.File;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 import org.mybatis.generator.api.CommentGenerator;
@@ -31,7 +34,9 @@ import org.mybatis.generator.api.GeneratedFile;
 import org.mybatis.generator.api.GeneratedJavaFile;
 import org.mybatis.generator.api.GeneratedKotlinFile;
 import org.mybatis.generator.api.GeneratedXmlFile;
+import org.mybatis.generator.api.GenerationMetrics;
 import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTableIndex;
 import org.mybatis.generator.api.JavaFormatter;
 import org.mybatis.generator.api.JavaTypeResolver;
 import org.mybatis.generator.api.KotlinFormatter;
@@ -39,14 +44,34 @@ import org.mybatis.generator.api.Plugin;
 import org.mybatis.generator.api.ProgressCallback;
 import org.mybatis.generator.api.XmlFormatter;
 import org.mybatis.generator.internal.JDBCConnectionFactory;
+import org.mybatis.generator.internal.MeasuredPlugin;
 import org.mybatis.generator.internal.ObjectFactory;
+import org.mybatis.generator.internal.ParallelTableGenerator;
 import org.mybatis.generator.internal.PluginAggregator;
+import org.mybatis.generator.internal.db.ConnectionPool;
 import org.mybatis.generator.internal.db.DatabaseIntrospector;
+import org.mybatis.generator.internal.db.IntrospectionSnapshot;
+import org.mybatis.generator.internal.db.ParallelTableIntrospector;
+import org.mybatis.generator.internal.db.SchemaMetadataIndex;
 
 import javax.sql.DataSource;
 
 public class Context extends PropertyHolder {
 
+	/**
+	 * Reuse the snapshot for tables whose fingerprint has not changed and save the result.
+	 */
+	private static final String SNAPSHOT_MODE_CACHE = "cache"; //$NON-NLS-1$
+
+	/** Ignore the snapshot, introspect every table and save the result. */
+	private static final String SNAPSHOT_MODE_REFRESH = "refresh"; //$NON-NLS-1$
+
+	/** Introspect from the snapshot alone, without connecting to the database. */
+	private static final String SNAPSHOT_MODE_OFFLINE = "offline"; //$NON-NLS-1$
+
+	private static final List<String> SNAPSHOT_MODES = Arrays.asList(SNAPSHOT_MODE_CACHE, SNAPSHOT_MODE_REFRESH,
+			SNAPSHOT_MODE_OFFLINE);
+
 	private String id;
 
 	private String extend;
@@ -97,6 +122,20 @@ public class Context extends PropertyHolder {
 
 	private XmlFormatter xmlFormatter;
 
+	private String introspectionThreads;
+
+	private String saveThreads;
+
+	private String generationThreads;
+
+	private GenerationMetrics generationMetrics = GenerationMetrics.DISABLED;
+
+	private ObjectFactory objectFactory = new ObjectFactory();
+
+	private boolean retainIntrospection;
+
+	private IntrospectionSnapshot retainedIntrospection;
+
 	public Context(ModelType defaultModelType) {
 		super();
 
@@ -153,6 +192,10 @@ public class Context extends PropertyHolder {
 		pluginConfigurations.add(pluginConfiguration);
 	}
 
+	public List<PluginConfiguration> getPluginConfigurations() {
+		return pluginConfigurations;
+	}
+
 	/**
 	 * This method does a simple validate, it makes sure that all required fields have
 	 * been filled in. It does not do any more complex operations such as validating that
@@ -221,6 +264,27 @@ public class Context extends PropertyHolder {
 		for (PluginConfiguration pluginConfiguration : pluginConfigurations) {
 			pluginConfiguration.validate(errors, id);
 		}
+
+		if (stringHasValue(introspectionThreads) && getIntrospectionThreads() < 1) {
+			errors.add(getString("ValidationError.29", //$NON-NLS-1$
+					PropertyRegistry.CONTEXT_INTROSPECTION_THREADS, id));
+		}
+
+		if (stringHasValue(saveThreads) && getSaveThreads() < 1) {
+			errors.add(getString("ValidationError.29", //$NON-NLS-1$
+					PropertyRegistry.CONTEXT_SAVE_THREADS, id));
+		}
+
+		if (stringHasValue(generationThreads) && getGenerationThreads() < 1) {
+			errors.add(getString("ValidationError.29", //$NON-NLS-1$
+					PropertyRegistry.CONTEXT_GENERATION_THREADS, id));
+		}
+
+		String snapshotMode = getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_MODE);
+		if (stringHasValue(snapshotMode) && !SNAPSHOT_MODES.contains(snapshotMode)) {
+			errors.add(getString("ValidationError.30", //$NON-NLS-1$
+					PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_MODE, String.join(", ", SNAPSHOT_MODES), id)); //$NON-NLS-1$
+		}
 	}
 
 	public String getId() {
@@ -292,6 +356,61 @@ public class Context extends PropertyHolder {
 		else if (PropertyRegistry.CONTEXT_AUTO_DELIMIT_KEYWORDS.equals(name) && stringHasValue(value)) {
 			autoDelimitKeywords = isTrue(value);
 		}
+		else if (PropertyRegistry.CONTEXT_INTROSPECTION_THREADS.equals(name)) {
+			introspectionThreads = value;
+		}
+		else if (PropertyRegistry.CONTEXT_SAVE_THREADS.equals(name)) {
+			saveThreads = value;
+		}
+		else if (PropertyRegistry.CONTEXT_GENERATION_THREADS.equals(name)) {
+			generationThreads = value;
+		}
+	}
+
+	/**
+	 * Returns the number of worker threads (and database connections) used to introspect
+	 * tables. A value of 1, the default, introspects all tables serially on a single
+	 * connection.
+	 * @return the configured number of introspection threads, or 0 if the configured
+	 * value is not a number
+	 */
+	public int getIntrospectionThreads() {
+		return parseThreads(introspectionThreads);
+	}
+
+	/**
+	 * Returns the number of worker threads used to format, merge and write the generated
+	 * files. A value of 1, the default, saves all files serially on the calling thread.
+	 * @return the configured number of save threads, or 0 if the configured value is not
+	 * a number
+	 */
+	public int getSaveThreads() {
+		return parseThreads(saveThreads);
+	}
+
+	/**
+	 * Returns the number of worker threads used to generate the files of the introspected
+	 * tables. A value of 1, the default, generates all tables serially on the calling
+	 * thread. Tables are only generated in parallel if all plugins are thread safe, see
+	 * {@link Plugin#isThreadSafe()}.
+	 * @return the configured number of generation threads, or 0 if the configured value
+	 * is not a number
+	 */
+	public int getGenerationThreads() {
+		return parseThreads(generationThreads);
+	}
+
+	private static int parseThreads(String threads) {
+		if (!stringHasValue(threads)) {
+			return 1;
+		}
+
+		try {
+			return Integer.parseInt(threads.trim());
+		}
+		catch (NumberFormatException e) {
+			return 0;
+		}
 	}
 
 	public CommentGenerator getCommentGenerator() {
@@ -338,6 +457,51 @@ public class Context extends PropertyHolder {
 		return pluginAggregator;
 	}
 
+	public ObjectFactory getObjectFactory() {
+		return objectFactory;
+	}
+
+	/**
+	 * Sets the object factory of the current generation run. The contexts of one run
+	 * share the object factory, so that they share its class loaders and cached objects.
+	 * @param objectFactory the object factory
+	 */
+	public void setObjectFactory(ObjectFactory objectFactory) {
+		this.objectFactory = objectFactory;
+	}
+
+	public GenerationMetrics getGenerationMetrics() {
+		return generationMetrics;
+	}
+
+	/**
+	 * Sets the metrics that introspection and generation record their work in.
+	 * @param generationMetrics the metrics of the current run, or
+	 * {@link GenerationMetrics#DISABLED}
+	 */
+	public void setGenerationMetrics(GenerationMetrics generationMetrics) {
+		this.generationMetrics = generationMetrics;
+	}
+
+	public boolean isRetainIntrospection() {
+		return retainIntrospection;
+	}
+
+	/**
+	 * Keeps the table metadata of the last introspection in memory, for contexts that are
+	 * reused by several generation runs in one process. The next introspection only fetches
+	 * the tables whose fingerprint changed, like the <code>cache</code> snapshot mode, also
+	 * when no introspection snapshot file is configured. The <code>refresh</code> and
+	 * <code>offline</code> snapshot modes ignore the retained metadata.
+	 * @param retainIntrospection true to keep the table metadata between runs
+	 */
+	public void setRetainIntrospection(boolean retainIntrospection) {
+		this.retainIntrospection = retainIntrospection;
+		if (!retainIntrospection) {
+			retainedIntrospection = null;
+		}
+	}
+
 	public String getTargetRuntime() {
 		return targetRuntime;
 	}
@@ -366,6 +530,10 @@ public class Context extends PropertyHolder {
 
 	private final List<IntrospectedTable> introspectedTables = new ArrayList<>();
 
+	private final Map<GeneratedFile, IntrospectedTable> generatedFileTables = new IdentityHashMap<>();
+
+	private volatile IntrospectedTableIndex introspectedTableIndex;
+
 	/**
 	 * This method could be useful for users that use the library for introspection only
 	 * and not for code generation.
@@ -377,6 +545,21 @@ public class Context extends PropertyHolder {
 		return introspectedTables;
 	}
 
+	/**
+	 * Returns the index of the introspected tables and their join relations. The index is
+	 * built on first use after table introspection, and again when generateFiles()
+	 * starts, so that it covers the tables that are generated.
+	 * @return the index of the introspected tables
+	 */
+	public IntrospectedTableIndex getIntrospectedTableIndex() {
+		IntrospectedTableIndex index = introspectedTableIndex;
+		if (index == null) {
+			index = new IntrospectedTableIndex(this);
+			introspectedTableIndex = index;
+		}
+		return index;
+	}
+
 	public int getIntrospectionSteps() {
 		int steps = 0;
 
@@ -411,36 +594,60 @@ public class Context extends PropertyHolder {
 			throws SQLException, InterruptedException {
 
 		introspectedTables.clear();
+		introspectedTableIndex = null;
+
+		List<TableConfiguration> tablesToIntrospect = new ArrayList<>();
+		for (TableConfiguration tc : ContextHelper.mergeTableConfiguration(tableConfigurations)) {
+			String tableName = composeFullyQualifiedTableName(tc.getCatalog(), tc.getSchema(), tc.getTableName(), '.');
+
+			if (fullyQualifiedTableNames != null && !fullyQualifiedTableNames.isEmpty()
+					&& !fullyQualifiedTableNames.contains(tableName)) {
+				continue;
+			}
+
+			if (!tc.areAnyStatementsEnabled()) {
+				warnings.add(getString("Warning.0", tableName)); //$NON-NLS-1$
+				continue;
+			}
+
+			tablesToIntrospect.add(tc);
+		}
+
+		SchemaMetadataIndex metadataIndex = createMetadataIndex(warnings);
+		boolean offline = metadataIndex != null && metadataIndex.isOffline();
+
+		int threads = getIntrospectionThreads();
+		if (!offline && threads > 1 && tablesToIntrospect.size() > 1) {
+			introspectTablesInParallel(callback, warnings, tablesToIntrospect, threads, metadataIndex);
+			saveIntrospectionSnapshot(metadataIndex, warnings);
+			return;
+		}
+
 		JavaTypeResolver javaTypeResolver = ObjectFactory.createJavaTypeResolver(this, warnings);
 
 		Connection connection = null;
 
 		try {
 			callback.startTask(getString("Progress.0")); //$NON-NLS-1$
-			connection = getConnection();
-
-			DatabaseIntrospector databaseIntrospector = new DatabaseIntrospector(this, connection.getMetaData(),
-					javaTypeResolver, warnings);
+			if (!offline) {
+				GenerationMetrics.Sample sample = generationMetrics.start();
+				connection = getConnection();
+				generationMetrics.stop(sample, GenerationMetrics.Phase.CONNECT, id);
+			}
 
-			//
-			List<TableConfiguration> sorted = ContextHelper.mergeTableConfiguration(tableConfigurations);
+			DatabaseIntrospector databaseIntrospector = new DatabaseIntrospector(this,
+					connection == null ? null : connection.getMetaData(), javaTypeResolver, warnings, metadataIndex);
+			String catalog = metadataIndex == null ? connection.getCatalog()
+					: metadataIndex.getConnectionCatalog(connection);
 
-			for (TableConfiguration tc : sorted) {
+			for (TableConfiguration tc : tablesToIntrospect) {
 				String tableName = composeFullyQualifiedTableName(tc.getCatalog(), tc.getSchema(), tc.getTableName(),
 						'.');
 
-				if (fullyQualifiedTableNames != null && !fullyQualifiedTableNames.isEmpty()
-						&& !fullyQualifiedTableNames.contains(tableName)) {
-					continue;
-				}
-
-				if (!tc.areAnyStatementsEnabled()) {
-					warnings.add(getString("Warning.0", tableName)); //$NON-NLS-1$
-					continue;
-				}
-
 				callback.startTask(getString("Progress.1", tableName)); //$NON-NLS-1$
-				List<IntrospectedTable> tables = databaseIntrospector.introspectTables(tc, connection.getCatalog());
+				GenerationMetrics.Sample sample = generationMetrics.start();
+				List<IntrospectedTable> tables = databaseIntrospector.introspectTables(tc, catalog);
+				generationMetrics.stop(sample, GenerationMetrics.Phase.INTROSPECT, tableName);
 
 				if (tables != null) {
 					introspectedTables.addAll(tables);
@@ -452,6 +659,100 @@ public class Context extends PropertyHolder {
 		finally {
 			closeConnection(connection);
 		}
+
+		saveIntrospectionSnapshot(metadataIndex, warnings);
+	}
+
+	/**
+	 * Creates the metadata index used by this introspection run, seeded from the
+	 * introspection snapshot if one is configured, or from the metadata retained by the
+	 * previous run.
+	 * @return the index, or <code>null</code> if tables are introspected one by one
+	 */
+	private SchemaMetadataIndex createMetadataIndex(List<String> warnings) throws SQLException {
+		String snapshotFile = getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_FILE);
+		if (!stringHasValue(snapshotFile)) {
+			if (retainIntrospection) {
+				return new SchemaMetadataIndex(retainedIntrospection, false);
+			}
+			return isTrue(getProperty(PropertyRegistry.CONTEXT_PREFETCH_METADATA)) ? new SchemaMetadataIndex() : null;
+		}
+
+		String mode = getIntrospectionSnapshotMode();
+		File file = new File(snapshotFile);
+		if (SNAPSHOT_MODE_REFRESH.equals(mode)) {
+			return new SchemaMetadataIndex();
+		}
+
+		if (SNAPSHOT_MODE_OFFLINE.equals(mode)) {
+			try {
+				return new SchemaMetadataIndex(IntrospectionSnapshot.read(file), true);
+			}
+			catch (IOException e) {
+				throw new SQLException(getString("RuntimeError.23", snapshotFile, e.getMessage()), e); //$NON-NLS-1$
+			}
+		}
+
+		IntrospectionSnapshot snapshot = retainedIntrospection;
+		if (snapshot == null && file.exists()) {
+			try {
+				snapshot = IntrospectionSnapshot.read(file);
+			}
+			catch (IOException e) {
+				warnings.add(getString("Warning.32", snapshotFile, e.getMessage())); //$NON-NLS-1$
+			}
+		}
+		return new SchemaMetadataIndex(snapshot, false);
+	}
+
+	private void saveIntrospectionSnapshot(SchemaMetadataIndex metadataIndex, List<String> warnings) {
+		if (metadataIndex == null || metadataIndex.isOffline()) {
+			return;
+		}
+
+		IntrospectionSnapshot snapshot = metadataIndex.toSnapshot();
+		if (retainIntrospection) {
+			retainedIntrospection = snapshot;
+		}
+
+		String snapshotFile = getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_FILE);
+		if (!stringHasValue(snapshotFile)) {
+			return;
+		}
+
+		try {
+			snapshot.write(new File(snapshotFile));
+		}
+		catch (IOException e) {
+			warnings.add(getString("Warning.33", snapshotFile, e.getMessage())); //$NON-NLS-1$
+		}
+	}
+
+	private String getIntrospectionSnapshotMode() {
+		String mode = getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_MODE);
+		return stringHasValue(mode) ? mode : SNAPSHOT_MODE_CACHE;
+	}
+
+	private void introspectTablesInParallel(ProgressCallback callback, List<String> warnings,
+			List<TableConfiguration> tablesToIntrospect, int threads, SchemaMetadataIndex metadataIndex)
+			throws SQLException, InterruptedException {
+		callback.startTask(getString("Progress.0")); //$NON-NLS-1$
+
+		ConnectionFactory connectionFactory = createConnectionFactory();
+		ConnectionPool.ConnectionSource dataSourceConnection = connectionFactory == null ? dataSource::getConnection
+				: connectionFactory::getConnection;
+		ConnectionPool.ConnectionSource connectionSource = () -> {
+			GenerationMetrics.Sample sample = generationMetrics.start();
+			Connection connection = dataSourceConnection.getConnection();
+			generationMetrics.stop(sample, GenerationMetrics.Phase.CONNECT, id);
+			return connection;
+		};
+
+		try (ConnectionPool connectionPool = new ConnectionPool(connectionSource, threads)) {
+			ParallelTableIntrospector introspector = new ParallelTableIntrospector(this, connectionPool, threads,
+					metadataIndex);
+			introspectedTables.addAll(introspector.introspectTables(tablesToIntrospect, callback, warnings));
+		}
 	}
 
 	public int getGenerationSteps() {
@@ -469,10 +770,14 @@ public class Context extends PropertyHolder {
 			List<GeneratedFile> otherGeneratedFiles, List<String> warnings) throws InterruptedException {
 
 		pluginAggregator = new PluginAggregator();
+		String threadUnsafePlugin = null;
 		for (PluginConfiguration pluginConfiguration : pluginConfigurations) {
 			Plugin plugin = ObjectFactory.createPlugin(this, pluginConfiguration);
 			if (plugin.validate(warnings)) {
-				pluginAggregator.addPlugin(plugin);
+				pluginAggregator.addPlugin(MeasuredPlugin.wrap(plugin, generationMetrics));
+				if (threadUnsafePlugin == null && !plugin.isThreadSafe()) {
+					threadUnsafePlugin = pluginConfiguration.getConfigurationType();
+				}
 			}
 			else {
 				warnings.add(getString("Warning.24", //$NON-NLS-1$
@@ -480,20 +785,26 @@ public class Context extends PropertyHolder {
 			}
 		}
 
+		generatedFileTables.clear();
+		introspectedTableIndex = new IntrospectedTableIndex(this);
+
+		ParallelTableGenerator parallelGenerator = createParallelGenerator(threadUnsafePlugin, warnings);
+
 		// initialize everything first before generating. This allows plugins to know
 		// about other
 		// items in the configuration.
 		for (IntrospectedTable introspectedTable : introspectedTables) {
 			callback.checkCancel();
+			GenerationMetrics.Sample sample = generationMetrics.start();
 			introspectedTable.initialize();
-			introspectedTable.calculateGenerators(warnings, callback);
+			introspectedTable.calculateGenerators(warnings,
+					parallelGenerator == null ? callback : parallelGenerator.getProgressCallback(introspectedTable));
+			generationMetrics.stop(sample, GenerationMetrics.Phase.CALCULATE_GENERATORS,
+					introspectedTable.getFullyQualifiedTable().toString());
 		}
 
-		for (IntrospectedTable introspectedTable : introspectedTables) {
-			callback.checkCancel();
-			generatedJavaFiles.addAll(introspectedTable.getGeneratedJavaFiles());
-			generatedXmlFiles.addAll(introspectedTable.getGeneratedXmlFiles());
-			generatedKotlinFiles.addAll(introspectedTable.getGeneratedKotlinFiles());
+		for (TableFiles tableFiles : generateTables(callback, parallelGenerator, this::generateTableFiles)) {
+			addTableFiles(tableFiles, generatedJavaFiles, generatedXmlFiles, generatedKotlinFiles, otherGeneratedFiles);
 		}
 
 		// 初始化 IntrospectedTable 中额外的关联关系信息
@@ -502,12 +813,8 @@ public class Context extends PropertyHolder {
 			pluginAggregator.modelBaseRecordClassGenerated(introspectedTable);
 		}
 
-		for (IntrospectedTable introspectedTable : introspectedTables) {
-			callback.checkCancel();
-			generatedJavaFiles.addAll(pluginAggregator.contextGenerateAdditionalJavaFiles(introspectedTable));
-			generatedXmlFiles.addAll(pluginAggregator.contextGenerateAdditionalXmlFiles(introspectedTable));
-			generatedKotlinFiles.addAll(pluginAggregator.contextGenerateAdditionalKotlinFiles(introspectedTable));
-			otherGeneratedFiles.addAll(pluginAggregator.contextGenerateAdditionalFiles(introspectedTable));
+		for (TableFiles tableFiles : generateTables(callback, parallelGenerator, this::generateAdditionalTableFiles)) {
+			addTableFiles(tableFiles, generatedJavaFiles, generatedXmlFiles, generatedKotlinFiles, otherGeneratedFiles);
 		}
 
 		generatedJavaFiles.addAll(pluginAggregator.contextGenerateAdditionalJavaFiles());
@@ -516,6 +823,89 @@ public class Context extends PropertyHolder {
 		otherGeneratedFiles.addAll(pluginAggregator.contextGenerateAdditionalFiles());
 	}
 
+	/**
+	 * Creates the generator that generates the tables in parallel, if the context is
+	 * configured to do so and all plugins are thread safe.
+	 * @return the generator, or <code>null</code> if the tables are generated serially
+	 */
+	private ParallelTableGenerator createParallelGenerator(String threadUnsafePlugin, List<String> warnings) {
+		int threads = getGenerationThreads();
+		if (threads <= 1 || introspectedTables.size() <= 1) {
+			return null;
+		}
+
+		if (threadUnsafePlugin != null) {
+			warnings.add(getString("Warning.37", id, threadUnsafePlugin)); //$NON-NLS-1$
+			return null;
+		}
+
+		// create the shared helpers before the workers ask for them
+		getCommentGenerator();
+		getJavaFormatter();
+		getKotlinFormatter();
+		getXmlFormatter();
+		return new ParallelTableGenerator(this, threads);
+	}
+
+	private List<TableFiles> generateTables(ProgressCallback callback, ParallelTableGenerator parallelGenerator,
+			Function<IntrospectedTable, TableFiles> generator) throws InterruptedException {
+		if (parallelGenerator != null) {
+			return parallelGenerator.generate(introspectedTables, generator, callback);
+		}
+
+		List<TableFiles> answer = new ArrayList<>();
+		for (IntrospectedTable introspectedTable : introspectedTables) {
+			callback.checkCancel();
+			answer.add(generator.apply(introspectedTable));
+		}
+		return answer;
+	}
+
+	private TableFiles generateTableFiles(IntrospectedTable introspectedTable) {
+		GenerationMetrics.Sample sample = generationMetrics.start();
+		TableFiles tableFiles = new TableFiles(introspectedTable, introspectedTable.getGeneratedJavaFiles(),
+				introspectedTable.getGeneratedXmlFiles(), introspectedTable.getGeneratedKotlinFiles(),
+				Collections.emptyList());
+		generationMetrics.stop(sample, GenerationMetrics.Phase.GENERATE,
+				introspectedTable.getFullyQualifiedTable().toString());
+		return tableFiles;
+	}
+
+	private TableFiles generateAdditionalTableFiles(IntrospectedTable introspectedTable) {
+		return new TableFiles(introspectedTable, pluginAggregator.contextGenerateAdditionalJavaFiles(introspectedTable),
+				pluginAggregator.contextGenerateAdditionalXmlFiles(introspectedTable),
+				pluginAggregator.contextGenerateAdditionalKotlinFiles(introspectedTable),
+				pluginAggregator.contextGenerateAdditionalFiles(introspectedTable));
+	}
+
+	private void addTableFiles(TableFiles tableFiles, List<GeneratedJavaFile> generatedJavaFiles,
+			List<GeneratedXmlFile> generatedXmlFiles, List<GeneratedKotlinFile> generatedKotlinFiles,
+			List<GeneratedFile> otherGeneratedFiles) {
+		generatedJavaFiles.addAll(recordTable(tableFiles.javaFiles, tableFiles.introspectedTable));
+		generatedXmlFiles.addAll(recordTable(tableFiles.xmlFiles, tableFiles.introspectedTable));
+		generatedKotlinFiles.addAll(recordTable(tableFiles.kotlinFiles, tableFiles.introspectedTable));
+		otherGeneratedFiles.addAll(recordTable(tableFiles.otherFiles, tableFiles.introspectedTable));
+	}
+
+	private <T extends GeneratedFile> List<T> recordTable(List<T> files, IntrospectedTable introspectedTable) {
+		for (T file : files) {
+			generatedFileTables.put(file, introspectedTable);
+		}
+		return files;
+	}
+
+	/**
+	 * Returns the table a file was generated for by the last call to generateFiles().
+	 * Files generated by the table generators and by the table level
+	 * contextGenerateAdditional plugin methods belong to a table, files generated by the
+	 * context level plugin methods do not.
+	 * @param generatedFile a generated file
+	 * @return the table, or null if the file does not belong to a single table
+	 */
+	public IntrospectedTable getGeneratedFileTable(GeneratedFile generatedFile) {
+		return generatedFileTables.get(generatedFile);
+	}
+
 	/**
 	 * This method creates a new JDBC connection from the values specified in the
 	 * configuration file. If you call this method, then you are responsible for closing
@@ -525,13 +915,7 @@ public class Context extends PropertyHolder {
 	 * @throws SQLException if any error occurs while creating the connection
 	 */
 	public Connection getConnection() throws SQLException {
-		ConnectionFactory connectionFactory = null;
-		if (jdbcConnectionConfiguration != null) {
-			connectionFactory = new JDBCConnectionFactory(jdbcConnectionConfiguration);
-		}
-		else if (connectionFactoryConfiguration != null) {
-			connectionFactory = ObjectFactory.createConnectionFactory(this);
-		}
+		ConnectionFactory connectionFactory = createConnectionFactory();
 
 		if (connectionFactory != null) {
 			return connectionFactory.getConnection();
@@ -541,6 +925,24 @@ public class Context extends PropertyHolder {
 		}
 	}
 
+	/**
+	 * Creates the connection factory configured for this context.
+	 * @return the connection factory, or <code>null</code> if the context is configured
+	 * with a {@link DataSource}
+	 */
+	private ConnectionFactory createConnectionFactory() {
+		if (jdbcConnectionConfiguration != null) {
+			JDBCConnectionFactory connectionFactory = new JDBCConnectionFactory(jdbcConnectionConfiguration);
+			connectionFactory.setObjectFactory(objectFactory);
+			return connectionFactory;
+		}
+		else if (connectionFactoryConfiguration != null) {
+			return ObjectFactory.createConnectionFactory(this);
+		}
+
+		return null;
+	}
+
 	/**
 	 * This method closes a JDBC connection and ignores any errors. If the passed
 	 * connection is null, then the method does nothing.
@@ -576,4 +978,31 @@ public class Context extends PropertyHolder {
 		return result > 0;
 	}
 
+	/**
+	 * The files generated for one table by one generation step.
+	 */
+	private static class TableFiles {
+
+		private final IntrospectedTable introspectedTable;
+
+		private final List<GeneratedJavaFile> javaFiles;
+
+		private final List<GeneratedXmlFile> xmlFiles;
+
+		private final List<GeneratedKotlinFile> kotlinFiles;
+
+		private final List<GeneratedFile> otherFiles;
+
+		TableFiles(IntrospectedTable introspectedTable, List<GeneratedJavaFile> javaFiles,
+				List<GeneratedXmlFile> xmlFiles, List<GeneratedKotlinFile> kotlinFiles,
+				List<GeneratedFile> otherFiles) {
+			this.introspectedTable = introspectedTable;
+			this.javaFiles = javaFiles;
+			this.xmlFiles = xmlFiles;
+			this.kotlinFiles = kotlinFiles;
+			this.otherFiles = otherFiles;
+		}
+
+	}
+
 }
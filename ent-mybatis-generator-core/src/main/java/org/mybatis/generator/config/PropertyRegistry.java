@@ -84,8 +84,28 @@ public class PropertyRegistry {
 
 	public static final String CONTEXT_KOTLIN_FILE_ENCODING = "kotlinFileEncoding"; //$NON-NLS-1$
 
+	public static final String CONTEXT_INTROSPECTION_THREADS = "introspectionThreads"; //$NON-NLS-1$
+
+	public static final String CONTEXT_PREFETCH_METADATA = "prefetchMetadata"; //$NON-NLS-1$
+
+	public static final String CONTEXT_SAVE_THREADS = "saveThreads"; //$NON-NLS-1$
+
+	public static final String CONTEXT_GENERATION_THREADS = "generationThreads"; //$NON-NLS-1$
+
+	public static final String CONTEXT_INTROSPECTION_SNAPSHOT_FILE = "introspectionSnapshotFile"; //$NON-NLS-1$
+
+	public static final String CONTEXT_INTROSPECTION_SNAPSHOT_MODE = "introspectionSnapshotMode"; //$NON-NLS-1$
+
+	public static final String CONTEXT_GENERATION_MANIFEST_FILE = "generationManifestFile"; //$NON-NLS-1$
+
+	public static final String CONTEXT_TEMPLATE_BASE_DIR = "templateBaseDir"; //$NON-NLS-1$
+
 	public static final String CLIENT_DYNAMIC_SQL_SUPPORT_PACKAGE = "dynamicSqlSupportPackage"; //$NON-NLS-1$
 
+	public static final String CLIENT_STREAMING_SELECTS = "streamingSelects"; //$NON-NLS-1$
+
+	public static final String CLIENT_STREAMING_FETCH_SIZE = "streamingFetchSize"; //$NON-NLS-1$
+
 	public static final String TYPE_RESOLVER_FORCE_BIG_DECIMALS = "forceBigDecimals"; //$NON-NLS-1$
 
 	public static final String TYPE_RESOLVER_USE_JSR310_TYPES = "useJSR310Types"; //$NON-NLS-1$
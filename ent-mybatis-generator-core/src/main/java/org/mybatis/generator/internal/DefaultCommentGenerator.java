@@ -135,7 +135,10 @@ public class DefaultCommentGenerator implements CommentGenerator {
 			return null;
 		}
 		else if (dateFormat != null) {
-			return dateFormat.format(new Date());
+			// tables may be generated in parallel and SimpleDateFormat is not thread safe
+			synchronized (dateFormat) {
+				return dateFormat.format(new Date());
+			}
 		}
 		else {
 			return new Date().toString();
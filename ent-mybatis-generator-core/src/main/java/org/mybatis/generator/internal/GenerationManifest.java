@@ -0,0 +1,579 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JoinEntry;
+import org.mybatis.generator.config.JoinTable;
+import org.mybatis.generator.config.JoinTarget;
+import org.mybatis.generator.config.PluginConfiguration;
+import org.mybatis.generator.config.PropertyRegistry;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
+
+/**
+ * Records, for every table of a context, a hash of the generator inputs and the files
+ * that were saved for the table. A later run with the same configuration leaves the
+ * files of tables whose inputs have not changed alone, instead of formatting, merging
+ * and comparing them again.
+ *
+ * <p>
+ * The inputs of a table are its introspected columns, primary key and remarks, together
+ * with those of the tables it is related to through joins or a parent table, because
+ * plugins copy properties of related tables into the generated code. Everything else -
+ * the table configurations, generator configurations, plugins and their properties - is
+ * covered by a single configuration hash: when it changes, all files are saved again.
+ * The configuration hash also covers the contents of the template directory and of the
+ * comment resources, which plugins read outside of the configuration.
+ */
+public class GenerationManifest {
+
+	private static final String VERSION = "1"; //$NON-NLS-1$
+
+	/**
+	 * Context properties that only tune the performance of a run and do not change the
+	 * generated files.
+	 */
+	private static final Set<String> IGNORED_PROPERTIES = new HashSet<>(
+			Arrays.asList(PropertyRegistry.CONTEXT_INTROSPECTION_THREADS, PropertyRegistry.CONTEXT_SAVE_THREADS,
+					PropertyRegistry.CONTEXT_GENERATION_THREADS,
+					PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_FILE,
+					PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_MODE,
+					PropertyRegistry.CONTEXT_GENERATION_MANIFEST_FILE));
+
+	/**
+	 * Class path resources that plugins read the comments of generated methods from.
+	 */
+	private static final List<String> COMMENT_RESOURCES = Collections
+		.singletonList("mybatis-generator-docs.xml"); //$NON-NLS-1$
+
+	private final String configurationHash;
+
+	private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+	public GenerationManifest(String configurationHash) {
+		this.configurationHash = configurationHash;
+	}
+
+	public String getConfigurationHash() {
+		return configurationHash;
+	}
+
+	public Entry getEntry(String tableKey) {
+		return entries.get(tableKey);
+	}
+
+	public Map<String, Entry> getEntries() {
+		return Collections.unmodifiableMap(entries);
+	}
+
+	public void addEntry(String tableKey, Entry entry) {
+		entries.put(tableKey, entry);
+	}
+
+	public void removeEntry(String tableKey) {
+		entries.remove(tableKey);
+	}
+
+	/**
+	 * Checks whether the files of a table can be left alone: the configuration and the
+	 * inputs of the table are the same as in the recorded run, and all files recorded
+	 * for the table still exist.
+	 * @param configurationHash the configuration hash of the current run
+	 * @param tableKey the table key
+	 * @param inputHash the input hash of the table in the current run
+	 * @return true if the files of the table are up to date
+	 */
+	public boolean isUpToDate(String configurationHash, String tableKey, String inputHash) {
+		Entry entry = entries.get(tableKey);
+		if (entry == null || !this.configurationHash.equals(configurationHash)
+				|| !entry.getInputHash().equals(inputHash)) {
+			return false;
+		}
+
+		for (String path : entry.getFiles()) {
+			if (!new File(path).isFile()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the key under which the files of a table are recorded. The same table can
+	 * be configured more than once with different domain object names.
+	 * @param introspectedTable the table
+	 * @return the key
+	 */
+	public static String getTableKey(IntrospectedTable introspectedTable) {
+		return introspectedTable.getFullyQualifiedTable() + "#" //$NON-NLS-1$
+				+ introspectedTable.getFullyQualifiedTable().getDomainObjectName();
+	}
+
+	/**
+	 * Calculates the configuration hash of a context. Connection settings and
+	 * performance settings are left out, they do not change the generated files.
+	 * @param context the context
+	 * @return the configuration hash
+	 * @throws IOException if a template or comment resource cannot be read
+	 */
+	public static String hashConfiguration(Context context) throws IOException {
+		Digest digest = new Digest();
+		digest.add(VERSION);
+		digest.add(MyBatisGenerator.class.getPackage().getImplementationVersion());
+		digest.add(context.getId());
+		digest.add(context.getTargetRuntime());
+		digest.add(context.getIntrospectedColumnImpl());
+		digest.add(context.getDefaultModelType());
+		digest.add(context.getBeginningDelimiter());
+		digest.add(context.getEndingDelimiter());
+
+		Map<String, String> properties = new TreeMap<>();
+		for (String name : context.getProperties().stringPropertyNames()) {
+			if (!IGNORED_PROPERTIES.contains(name)) {
+				properties.put(name, context.getProperty(name));
+			}
+		}
+		digest.add(properties);
+
+		digest.add(context.getJavaModelGeneratorConfiguration());
+		digest.add(context.getSqlMapGeneratorConfiguration());
+		digest.add(context.getJavaClientGeneratorConfiguration());
+		digest.add(context.getJavaTypeResolverConfiguration());
+		digest.add(context.getCommentGeneratorConfiguration());
+		for (PluginConfiguration pluginConfiguration : context.getPluginConfigurations()) {
+			digest.add(pluginConfiguration);
+			digest.add(getImplementationVersion(context, pluginConfiguration.getConfigurationType()));
+		}
+		digest.add(context.getColumnGlobals());
+		digest.add(context.getJoinConfig());
+		digest.add(context.getTableConfigurations());
+		addTemplates(digest, context.getProperty(PropertyRegistry.CONTEXT_TEMPLATE_BASE_DIR));
+		for (String resource : COMMENT_RESOURCES) {
+			URL url = ObjectFactory.getResource(resource);
+			if (url == null) {
+				digest.add(null);
+			}
+			else {
+				try (InputStream in = url.openStream()) {
+					digest.addContent(in);
+				}
+			}
+		}
+		return digest.toHexString();
+	}
+
+	private static void addTemplates(Digest digest, String templateBaseDir) throws IOException {
+		Path root = stringHasValue(templateBaseDir) ? Paths.get(templateBaseDir) : null;
+		if (root == null || !Files.isDirectory(root)) {
+			digest.add(null);
+			return;
+		}
+
+		List<Path> files;
+		try (Stream<Path> paths = Files.walk(root)) {
+			files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+		}
+		digest.add(files.size());
+		for (Path file : files) {
+			digest.add(root.relativize(file).toString().replace(File.separatorChar, '/'));
+			try (InputStream in = Files.newInputStream(file)) {
+				digest.addContent(in);
+			}
+		}
+	}
+
+	private static String getImplementationVersion(Context context, String type) {
+		try {
+			Package pkg = context.getObjectFactory().loadExternalClass(type).getPackage();
+			return pkg == null ? null : pkg.getImplementationVersion();
+		}
+		catch (ClassNotFoundException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Calculates the input hashes of the introspected tables of a context.
+	 * @param context the context
+	 * @return the input hash of every introspected table
+	 */
+	public static Map<IntrospectedTable, String> hashTables(Context context) {
+		Map<String, String> tableDigests = new HashMap<>();
+		Map<String, Set<String>> relatedTables = new HashMap<>();
+		for (IntrospectedTable introspectedTable : context.getIntrospectedTables()) {
+			String tableName = introspectedTable.getFullyQualifiedTable().getIntrospectedTableName();
+			tableDigests.merge(tableName, hashTable(introspectedTable), (a, b) -> a + b);
+			addRelation(relatedTables, tableName, introspectedTable.getTableConfiguration().getParentTable());
+		}
+
+		for (JoinEntry joinEntry : context.getJoinConfig().getJoinDetailMap().values()) {
+			for (Pair<String, JoinTarget> detail : joinEntry.getDetails()) {
+				addRelation(relatedTables, joinEntry.getLeftTable(), detail.getRight().getRightTable());
+			}
+			for (JoinTable joinTable : joinEntry.getJoinTables()) {
+				addRelation(relatedTables, joinEntry.getLeftTable(), joinTable.getMiddleTable());
+				addRelation(relatedTables, joinEntry.getLeftTable(), joinTable.getRightTable());
+			}
+		}
+
+		Map<IntrospectedTable, String> answer = new IdentityHashMap<>();
+		for (IntrospectedTable introspectedTable : context.getIntrospectedTables()) {
+			String tableName = introspectedTable.getFullyQualifiedTable().getIntrospectedTableName();
+			Digest digest = new Digest();
+			digest.add(tableDigests.get(tableName));
+			for (String relatedTable : relatedTables.getOrDefault(tableName, Collections.emptySet())) {
+				digest.add(relatedTable);
+				digest.add(tableDigests.get(relatedTable));
+			}
+			answer.put(introspectedTable, digest.toHexString());
+		}
+		return answer;
+	}
+
+	private static void addRelation(Map<String, Set<String>> relatedTables, String table, String otherTable) {
+		if (stringHasValue(table) && stringHasValue(otherTable) && !table.equals(otherTable)) {
+			relatedTables.computeIfAbsent(table, k -> new TreeSet<>()).add(otherTable);
+			relatedTables.computeIfAbsent(otherTable, k -> new TreeSet<>()).add(table);
+		}
+	}
+
+	private static String hashTable(IntrospectedTable introspectedTable) {
+		Digest digest = new Digest();
+		digest.add(getTableKey(introspectedTable));
+		digest.add(introspectedTable.getRemarks());
+		digest.add(introspectedTable.getTableType());
+		for (IntrospectedColumn column : introspectedTable.getAllColumns()) {
+			digest.add(column.getActualColumnName());
+			digest.add(column.getJdbcType());
+			digest.add(column.getActualTypeName());
+			digest.add(column.getJdbcTypeName());
+			digest.add(column.isNullable());
+			digest.add(column.getLength());
+			digest.add(column.getScale());
+			digest.add(column.isIdentity());
+			digest.add(column.isSequenceColumn());
+			digest.add(column.getJavaProperty());
+			digest.add(column.getFullyQualifiedJavaType().getFullyQualifiedName());
+			digest.add(column.getTableAlias());
+			digest.add(column.getTypeHandler());
+			digest.add(column.isColumnNameDelimited());
+			digest.add(column.getRemarks());
+			digest.add(column.getDefaultValue());
+			digest.add(column.isAutoIncrement());
+			digest.add(column.isGeneratedColumn());
+			digest.add(column.isGeneratedAlways());
+			digest.add(column.getInputType());
+			digest.add(column.getProperties());
+		}
+		for (IntrospectedColumn column : introspectedTable.getPrimaryKeyColumns()) {
+			digest.add(column.getActualColumnName());
+		}
+		return digest.toHexString();
+	}
+
+	/**
+	 * Reads a manifest written by {@link #write(File)}.
+	 * @param file the manifest file
+	 * @return the manifest
+	 * @throws IOException if the file cannot be read or was written by an incompatible
+	 * version
+	 */
+	public static GenerationManifest read(File file) throws IOException {
+		Document document;
+		try {
+			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+			factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, ""); //$NON-NLS-1$
+			factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, ""); //$NON-NLS-1$
+			factory.setExpandEntityReferences(false);
+			factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+			DocumentBuilder builder = factory.newDocumentBuilder();
+			document = builder.parse(file);
+		}
+		catch (ParserConfigurationException | SAXException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+
+		Element root = document.getDocumentElement();
+		if (!"generationManifest".equals(root.getNodeName()) //$NON-NLS-1$
+				|| !VERSION.equals(root.getAttribute("version"))) { //$NON-NLS-1$
+			throw new IOException("Unsupported generation manifest format"); //$NON-NLS-1$
+		}
+
+		GenerationManifest manifest = new GenerationManifest(root.getAttribute("configurationHash")); //$NON-NLS-1$
+		for (Element tableElement : children(root, "table")) { //$NON-NLS-1$
+			List<String> files = new ArrayList<>();
+			for (Element fileElement : children(tableElement, "file")) { //$NON-NLS-1$
+				files.add(fileElement.getAttribute("path")); //$NON-NLS-1$
+			}
+			manifest.addEntry(tableElement.getAttribute("key"), //$NON-NLS-1$
+					new Entry(tableElement.getAttribute("inputHash"), files)); //$NON-NLS-1$
+		}
+		return manifest;
+	}
+
+	/**
+	 * Writes this manifest. The file is replaced only once the new content has been
+	 * written completely.
+	 * @param file the manifest file
+	 * @throws IOException if the file cannot be written
+	 */
+	public void write(File file) throws IOException {
+		Document document;
+		try {
+			document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		}
+		catch (ParserConfigurationException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+
+		Element root = document.createElement("generationManifest"); //$NON-NLS-1$
+		root.setAttribute("version", VERSION); //$NON-NLS-1$
+		root.setAttribute("configurationHash", configurationHash); //$NON-NLS-1$
+		document.appendChild(root);
+
+		for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+			Element tableElement = document.createElement("table"); //$NON-NLS-1$
+			tableElement.setAttribute("key", entry.getKey()); //$NON-NLS-1$
+			tableElement.setAttribute("inputHash", entry.getValue().getInputHash()); //$NON-NLS-1$
+			for (String path : entry.getValue().getFiles()) {
+				Element fileElement = document.createElement("file"); //$NON-NLS-1$
+				fileElement.setAttribute("path", path); //$NON-NLS-1$
+				tableElement.appendChild(fileElement);
+			}
+			root.appendChild(tableElement);
+		}
+
+		File directory = file.getAbsoluteFile().getParentFile();
+		if (directory != null) {
+			Files.createDirectories(directory.toPath());
+		}
+		File tempFile = Files.createTempFile(directory.toPath(), file.getName(), ".tmp").toFile(); //$NON-NLS-1$
+		try {
+			try (OutputStream out = Files.newOutputStream(tempFile.toPath())) {
+				Transformer transformer = TransformerFactory.newInstance().newTransformer();
+				transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8"); //$NON-NLS-1$
+				transformer.setOutputProperty(OutputKeys.INDENT, "yes"); //$NON-NLS-1$
+				transformer.transform(new DOMSource(document), new StreamResult(out));
+			}
+			catch (TransformerException e) {
+				throw new IOException(e.getMessage(), e);
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally {
+			Files.deleteIfExists(tempFile.toPath());
+		}
+	}
+
+	private static List<Element> children(Element parent, String name) {
+		List<Element> answer = new ArrayList<>();
+		NodeList nodeList = parent.getChildNodes();
+		for (int i = 0; i < nodeList.getLength(); i++) {
+			Node node = nodeList.item(i);
+			if (node.getNodeType() == Node.ELEMENT_NODE && name.equals(node.getNodeName())) {
+				answer.add((Element) node);
+			}
+		}
+		return answer;
+	}
+
+	/**
+	 * The recorded inputs and files of one table.
+	 */
+	public static class Entry {
+
+		private final String inputHash;
+
+		private final List<String> files;
+
+		public Entry(String inputHash, List<String> files) {
+			this.inputHash = inputHash;
+			this.files = files;
+		}
+
+		public String getInputHash() {
+			return inputHash;
+		}
+
+		public List<String> getFiles() {
+			return files;
+		}
+
+	}
+
+	/**
+	 * A SHA-256 digest of configuration values. Configuration objects are digested field
+	 * by field, other values by their string representation.
+	 */
+	private static class Digest {
+
+		private static final String CONFIGURATION_PACKAGE = "org.mybatis.generator."; //$NON-NLS-1$
+
+		private final MessageDigest messageDigest;
+
+		private final Map<Object, Boolean> visited = new IdentityHashMap<>();
+
+		Digest() {
+			try {
+				messageDigest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			}
+			catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		void add(Object value) {
+			if (value == null) {
+				update("\u0000"); //$NON-NLS-1$
+			}
+			else if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+					|| value instanceof Character) {
+				update(value.toString());
+			}
+			else if (value instanceof Enum) {
+				update(((Enum<?>) value).name());
+			}
+			else if (value instanceof Pattern) {
+				update(((Pattern) value).pattern());
+			}
+			else if (value instanceof Optional) {
+				add(((Optional<?>) value).orElse(null));
+			}
+			else if (value instanceof Map.Entry) {
+				add(((Map.Entry<?, ?>) value).getKey());
+				add(((Map.Entry<?, ?>) value).getValue());
+			}
+			else if (value instanceof Map) {
+				// hash maps and properties have no stable iteration order
+				Map<String, Object> sorted = new TreeMap<>();
+				for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+					Digest keyDigest = new Digest();
+					keyDigest.add(entry.getKey());
+					sorted.put(keyDigest.toHexString(), entry);
+				}
+				update("{" + sorted.size()); //$NON-NLS-1$
+				sorted.values().forEach(this::add);
+			}
+			else if (value instanceof Collection) {
+				update("[" + ((Collection<?>) value).size()); //$NON-NLS-1$
+				((Collection<?>) value).forEach(this::add);
+			}
+			else if (value.getClass().getName().startsWith(CONFIGURATION_PACKAGE)) {
+				addFields(value);
+			}
+			else {
+				update(value.toString());
+			}
+		}
+
+		private void addFields(Object value) {
+			if (visited.put(value, Boolean.TRUE) != null) {
+				update("@"); //$NON-NLS-1$
+				return;
+			}
+
+			update(value.getClass().getName());
+			for (Class<?> type = value.getClass(); type != Object.class; type = type.getSuperclass()) {
+				// the order of declared fields is unspecified
+				Field[] fields = type.getDeclaredFields();
+				Arrays.sort(fields, Comparator.comparing(Field::getName));
+				for (Field field : fields) {
+					if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()
+							|| Context.class.isAssignableFrom(field.getType())) {
+						continue;
+					}
+					field.setAccessible(true);
+					update(field.getName());
+					try {
+						add(field.get(value));
+					}
+					catch (IllegalAccessException e) {
+						throw new IllegalStateException(e);
+					}
+				}
+			}
+		}
+
+		void addContent(InputStream in) throws IOException {
+			byte[] buffer = new byte[8192];
+			long length = 0;
+			for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+				messageDigest.update(buffer, 0, read);
+				length += read;
+			}
+			update(Long.toString(length));
+		}
+
+		private void update(String value) {
+			messageDigest.update(value.getBytes(StandardCharsets.UTF_8));
+			messageDigest.update((byte) 0);
+		}
+
+		String toHexString() {
+			StringBuilder sb = new StringBuilder();
+			for (byte b : messageDigest.digest()) {
+				sb.append(String.format("%02x", b)); //$NON-NLS-1$
+			}
+			return sb.toString();
+		}
+
+	}
+
+}
@@ -45,6 +45,8 @@ public class JDBCConnectionFactory implements ConnectionFactory {
 
 	private Properties otherProperties;
 
+	private ObjectFactory objectFactory;
+
 	/**
 	 * This constructor is called when there is a JDBCConnectionConfiguration specified in
 	 * the configuration.
@@ -67,6 +69,15 @@ public class JDBCConnectionFactory implements ConnectionFactory {
 		super();
 	}
 
+	/**
+	 * Sets the object factory of the generation run, which loads the JDBC driver from the
+	 * class path entries of the configuration.
+	 * @param objectFactory the object factory, or null to use the shared class loaders
+	 */
+	public void setObjectFactory(ObjectFactory objectFactory) {
+		this.objectFactory = objectFactory;
+	}
+
 	@Override
 	public Connection getConnection() throws SQLException {
 
@@ -96,7 +107,8 @@ public class JDBCConnectionFactory implements ConnectionFactory {
 		Driver driver;
 
 		try {
-			Class<?> clazz = ObjectFactory.externalClassForName(driverClass);
+			Class<?> clazz = objectFactory == null ? ObjectFactory.externalClassForName(driverClass)
+					: objectFactory.loadExternalClass(driverClass);
 			driver = (Driver) clazz.getConstructor().newInstance();
 		}
 		catch (Exception e) {
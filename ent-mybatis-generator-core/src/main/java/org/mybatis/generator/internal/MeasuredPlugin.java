@@ -0,0 +1,76 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.internal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.mybatis.generator.api.GenerationMetrics;
+import org.mybatis.generator.api.Plugin;
+
+/**
+ * Wraps a plugin in a proxy that records the time and memory spent in each of its hook
+ * methods as {@link GenerationMetrics.Phase#PLUGIN} metrics, named after the plugin class
+ * and the hook method.
+ */
+public final class MeasuredPlugin implements InvocationHandler {
+
+	private final Plugin plugin;
+
+	private final GenerationMetrics metrics;
+
+	private final Map<Method, String> metricNames = new ConcurrentHashMap<>();
+
+	private MeasuredPlugin(Plugin plugin, GenerationMetrics metrics) {
+		this.plugin = plugin;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Wraps a plugin if metrics are enabled.
+	 * @param plugin the plugin
+	 * @param metrics the metrics of the current run
+	 * @return the measuring proxy, or the plugin itself if metrics are disabled
+	 */
+	public static Plugin wrap(Plugin plugin, GenerationMetrics metrics) {
+		if (!metrics.isEnabled()) {
+			return plugin;
+		}
+		return (Plugin) Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class<?>[] { Plugin.class },
+				new MeasuredPlugin(plugin, metrics));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if (method.getDeclaringClass() == Object.class) {
+			return invokePlugin(method, args);
+		}
+
+		GenerationMetrics.Sample sample = metrics.start();
+		try {
+			return invokePlugin(method, args);
+		}
+		finally {
+			metrics.stop(sample, GenerationMetrics.Phase.PLUGIN, metricNames.computeIfAbsent(method,
+					m -> plugin.getClass().getName() + '.' + m.getName()));
+		}
+	}
+
+	private Object invokePlugin(Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(plugin, args);
+		}
+		catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+}
@@ -19,8 +19,11 @@ import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 
 import org.mybatis.generator.api.CommentGenerator;
 import org.mybatis.generator.api.ConnectionFactory;
@@ -51,29 +54,34 @@ import org.mybatis.generator.runtime.kotlin.IntrospectedTableKotlinImpl;
 /**
  * This class creates the different objects needed by the generator.
  *
+ * <p>
+ * The static methods search the class loaders shared by the whole JVM. An instance holds
+ * the state of a single generation run: the class loaders of the configuration's class
+ * path entries, and objects cached for the duration of the run. Every run creates its own
+ * instance, so that several generators can run concurrently in one JVM without seeing
+ * each other's class loaders or cached classes.
+ *
  * @author Jeff Butler
  */
 public class ObjectFactory {
 
-	private static final List<ClassLoader> externalClassLoaders;
+	private static final List<ClassLoader> externalClassLoaders = new CopyOnWriteArrayList<>();
 
-	static {
-		externalClassLoaders = new ArrayList<>();
-	}
+	private final List<ClassLoader> classLoaders = new CopyOnWriteArrayList<>();
+
+	private final Map<Class<?>, Map<String, Object>> cachedObjects = new ConcurrentHashMap<>();
 
 	/**
-	 * Utility class. No instances allowed.
+	 * Creates the object factory of a generation run.
 	 */
-	private ObjectFactory() {
+	public ObjectFactory() {
 		super();
 	}
 
 	/**
-	 * Clears the class loaders. This method should be called at the beginning of a
-	 * generation run so that and change to the classloading configuration will be
-	 * reflected. For example, if the eclipse launcher changes configuration it might not
-	 * be updated if eclipse hasn't been restarted.
-	 *
+	 * Clears the shared class loaders. Generation runs do not depend on the shared class
+	 * loaders being cleared, because class loaders configured for a run are kept in the
+	 * object factory of the run.
 	 */
 	public static void reset() {
 		externalClassLoaders.clear();
@@ -81,14 +89,70 @@ public class ObjectFactory {
 
 	/**
 	 * Adds a custom classloader to the collection of classloaders searched for "external"
-	 * classes. These are classes that do not depend on any of the generator's classes or
-	 * interfaces. Examples are JDBC drivers, root classes, root interfaces, etc.
+	 * classes by all generation runs. These are classes that do not depend on any of the
+	 * generator's classes or interfaces. Examples are JDBC drivers, root classes, root
+	 * interfaces, etc.
 	 * @param classLoader the class loader
 	 */
-	public static synchronized void addExternalClassLoader(ClassLoader classLoader) {
+	public static void addExternalClassLoader(ClassLoader classLoader) {
 		ObjectFactory.externalClassLoaders.add(classLoader);
 	}
 
+	/**
+	 * Adds a custom classloader that is searched for "external" classes by this run only,
+	 * before the shared class loaders.
+	 * @param classLoader the class loader
+	 */
+	public void addClassLoader(ClassLoader classLoader) {
+		classLoaders.add(classLoader);
+	}
+
+	/**
+	 * Returns a class loaded from the class loaders of this run, or from the shared class
+	 * loaders. This is appropriate for JDBC drivers, model root classes, etc.
+	 * @param type the type
+	 * @return the Class loaded from the external classloader
+	 * @throws ClassNotFoundException the class not found exception
+	 * @see #externalClassForName(String)
+	 */
+	public Class<?> loadExternalClass(String type) throws ClassNotFoundException {
+		for (ClassLoader classLoader : classLoaders) {
+			try {
+				return Class.forName(type, true, classLoader);
+			}
+			catch (Exception e) {
+				// ignore - fail safe below
+			}
+		}
+
+		return externalClassForName(type);
+	}
+
+	/**
+	 * Returns an object cached for the duration of this run, creating it on first use.
+	 * This is meant for information derived from external classes, such as the
+	 * properties of root classes, that must not outlive the run that loaded the classes.
+	 * @param <T> the type of the cached object
+	 * @param type the type of the cached object, which also separates the keys of
+	 * different callers
+	 * @param key the key of the object
+	 * @param factory creates the object if it is not cached yet
+	 * @return the cached object
+	 */
+	public <T> T getCachedObject(Class<T> type, String key, Function<String, ? extends T> factory) {
+		Map<String, Object> objects = cachedObjects.computeIfAbsent(type, k -> new ConcurrentHashMap<>());
+		Object answer = objects.get(key);
+		if (answer == null) {
+			// the factory may load classes, so it is not run inside computeIfAbsent
+			T created = factory.apply(key);
+			answer = objects.putIfAbsent(key, created);
+			if (answer == null) {
+				answer = created;
+			}
+		}
+		return type.cast(answer);
+	}
+
 	/**
 	 * Returns a class loaded from the context classloader, or the classloader supplied by
 	 * a client. This is appropriate for JDBC drivers, model root classes, etc. It is not
@@ -252,6 +316,10 @@ public class ObjectFactory {
 
 		answer = (ConnectionFactory) createInternalObject(type);
 
+		if (answer instanceof JDBCConnectionFactory) {
+			((JDBCConnectionFactory) answer).setObjectFactory(context.getObjectFactory());
+		}
+
 		if (config != null) {
 			answer.addConfigurationProperties(config.getProperties());
 		}
@@ -0,0 +1,152 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.internal;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.ProgressCallback;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.internal.util.WorkerThreadFactory;
+
+/**
+ * Generates the files of the introspected tables of a context on a bounded pool of worker
+ * threads, one table at a time per worker.
+ *
+ * <p>
+ * Results are collected on the calling thread in the order of the tables, so the outcome
+ * is identical to a serial run. The code generators of a table report their progress to
+ * the callback returned by {@link #getProgressCallback(IntrospectedTable)}, which records
+ * the tasks; the recorded tasks are passed on to the real progress callback from the
+ * calling thread, in table order, when the results of the table are collected.
+ */
+public class ParallelTableGenerator {
+
+	private static final long CANCEL_POLL_MILLIS = 100L;
+
+	private final Context context;
+
+	private final int threads;
+
+	private final Map<IntrospectedTable, TaskRecorder> taskRecorders = new IdentityHashMap<>();
+
+	/**
+	 * Creates a parallel generator.
+	 * @param context the context
+	 * @param threads the maximum number of worker threads
+	 */
+	public ParallelTableGenerator(Context context, int threads) {
+		this.context = context;
+		this.threads = threads;
+	}
+
+	/**
+	 * Returns the progress callback that the code generators of a table must use. Must be
+	 * called from the thread that runs the context, before the table is generated.
+	 * @param introspectedTable the table
+	 * @return a callback that records the tasks of the table
+	 */
+	public ProgressCallback getProgressCallback(IntrospectedTable introspectedTable) {
+		return taskRecorders.computeIfAbsent(introspectedTable, k -> new TaskRecorder());
+	}
+
+	/**
+	 * Runs a generation step for every table.
+	 * @param <T> the type of the result of a table
+	 * @param introspectedTables the tables
+	 * @param generator generates the result of a table, called on a worker thread
+	 * @param callback the progress callback of the run
+	 * @return the results, in the order of the tables
+	 * @throws InterruptedException if the progress callback reports a cancel
+	 */
+	public <T> List<T> generate(List<IntrospectedTable> introspectedTables, Function<IntrospectedTable, T> generator,
+			ProgressCallback callback) throws InterruptedException {
+		if (introspectedTables.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, introspectedTables.size()),
+				new WorkerThreadFactory("mbg-generate-" + context.getId())); //$NON-NLS-1$
+		try {
+			List<Future<T>> futures = new ArrayList<>();
+			for (IntrospectedTable introspectedTable : introspectedTables) {
+				futures.add(executor.submit(() -> generator.apply(introspectedTable)));
+			}
+
+			List<T> answer = new ArrayList<>();
+			for (int i = 0; i < introspectedTables.size(); i++) {
+				callback.checkCancel();
+				T result = await(futures.get(i), callback);
+				TaskRecorder taskRecorder = taskRecorders.get(introspectedTables.get(i));
+				if (taskRecorder != null) {
+					taskRecorder.replay(callback);
+				}
+				answer.add(result);
+			}
+
+			return answer;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private <T> T await(Future<T> future, ProgressCallback callback) throws InterruptedException {
+		while (true) {
+			try {
+				return future.get(CANCEL_POLL_MILLIS, TimeUnit.MILLISECONDS);
+			}
+			catch (TimeoutException e) {
+				callback.checkCancel();
+			}
+			catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new RuntimeException(cause);
+			}
+		}
+	}
+
+	/**
+	 * Records the tasks started by the code generators of one table. A table is generated
+	 * by one worker at a time, and the tasks are replayed after the worker is done, so the
+	 * recorder needs no locking.
+	 */
+	private static class TaskRecorder implements ProgressCallback {
+
+		private final List<String> taskNames = new ArrayList<>();
+
+		@Override
+		public void startTask(String taskName) {
+			taskNames.add(taskName);
+		}
+
+		void replay(ProgressCallback callback) {
+			for (String taskName : taskNames) {
+				callback.startTask(taskName);
+			}
+			taskNames.clear();
+		}
+
+	}
+
+}
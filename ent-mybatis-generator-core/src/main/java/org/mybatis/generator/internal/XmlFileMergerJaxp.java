@@ -21,16 +21,30 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.mybatis.generator.api.GeneratedXmlFile;
+import org.mybatis.generator.api.dom.DefaultXmlFormatter;
+import org.mybatis.generator.api.dom.xml.VisitableElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.api.dom.xml.render.ElementRenderer;
 import org.mybatis.generator.config.MergeConstants;
 import org.mybatis.generator.exception.ShellException;
 import org.w3c.dom.Comment;
@@ -52,6 +66,16 @@ import org.xml.sax.SAXException;
  */
 public class XmlFileMergerJaxp {
 
+	private static final Pattern DOCTYPE_PATTERN = Pattern.compile(
+			"<!DOCTYPE\\s+([^\\s>\\[]+)(?:\\s+PUBLIC\\s+(\"[^\"]*\"|'[^']*')\\s+(\"[^\"]*\"|'[^']*')" //$NON-NLS-1$
+					+ "|\\s+SYSTEM\\s+(\"[^\"]*\"|'[^']*'))?\\s*>"); //$NON-NLS-1$
+
+	/**
+	 * The JDK parser reports CDATA sections as characters unless this property is set.
+	 */
+	private static final String REPORT_CDATA_EVENT =
+			"http://java.sun.com/xml/stream/properties/report-cdata-event"; //$NON-NLS-1$
+
 	private XmlFileMergerJaxp() {
 	}
 
@@ -72,19 +96,383 @@ public class XmlFileMergerJaxp {
 
 	}
 
+	/**
+	 * Merges a generated XML file into an existing file.
+	 *
+	 * <p>
+	 * If the file is rendered by the {@link DefaultXmlFormatter}, the generated elements
+	 * are rendered straight from the generated document and read back together with the
+	 * existing file with a streaming parser, which escapes them like the DOM merge. The
+	 * result is the same as the result of
+	 * {@link #getMergedSource(InputSource, InputSource, String)}, which renders the
+	 * generated file and parses both files into DOM documents. That slower path is still
+	 * used for other formatters and for existing files the streaming merge does not
+	 * handle: XML 1.1 documents, internal DTD subsets, entity references and namespace
+	 * declarations.
+	 * @param generatedXmlFile the generated file
+	 * @param existingFile the existing file
+	 * @return the merged source
+	 * @throws ShellException if the files cannot be merged
+	 */
 	public static String getMergedSource(GeneratedXmlFile generatedXmlFile, File existingFile) throws ShellException {
 
 		try {
+			if (generatedXmlFile.getXmlFormatter() != null
+					&& generatedXmlFile.getXmlFormatter().getClass() == DefaultXmlFormatter.class) {
+				String mergedSource = getStreamMergedSource(generatedXmlFile.getDocument(), existingFile);
+				if (mergedSource != null) {
+					return mergedSource;
+				}
+			}
+
 			return getMergedSource(new InputSource(new StringReader(generatedXmlFile.getFormattedContent())),
 					new InputSource(new InputStreamReader(new FileInputStream(existingFile), StandardCharsets.UTF_8)),
 					existingFile.getName());
 		}
-		catch (IOException | SAXException | ParserConfigurationException e) {
+		catch (IOException | SAXException | ParserConfigurationException | XMLStreamException e) {
 			throw new ShellException(getString("Warning.13", //$NON-NLS-1$
 					existingFile.getName()), e);
 		}
 	}
 
+	/**
+	 * Merges the generated document into the existing file in a single streaming pass
+	 * over the existing file. The elements of the existing root element that were not
+	 * generated are written the way {@link DomWriter} writes them, and the generated
+	 * elements are rendered from the generated document in front of them.
+	 * @return the merged source, or null if the existing file must be merged with DOM
+	 */
+	private static String getStreamMergedSource(org.mybatis.generator.api.dom.xml.Document document,
+			File existingFile) throws IOException, XMLStreamException, ShellException {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+		if (factory.isPropertySupported(REPORT_CDATA_EVENT)) {
+			factory.setProperty(REPORT_CDATA_EVENT, true);
+		}
+
+		String lineSeparator = System.getProperty("line.separator"); //$NON-NLS-1$
+		XmlElement newRootElement = document.getRootElement();
+		String docType = null;
+		StringBuilder existingContent = new StringBuilder();
+
+		try (Reader reader = new InputStreamReader(new FileInputStream(existingFile), StandardCharsets.UTF_8)) {
+			XMLStreamReader xmlReader = factory.createXMLStreamReader(reader);
+			try {
+				if ("1.1".equals(xmlReader.getVersion())) { //$NON-NLS-1$
+					return null;
+				}
+
+				while (xmlReader.hasNext()) {
+					int event = xmlReader.next();
+					if (event == XMLStreamConstants.DTD) {
+						Matcher matcher = DOCTYPE_PATTERN.matcher(xmlReader.getText());
+						if (!matcher.matches()) {
+							return null;
+						}
+						if (!newRootElement.getName().equals(matcher.group(1))) {
+							throw new ShellException(getString("Warning.12", //$NON-NLS-1$
+									existingFile.getName()));
+						}
+						docType = renderDocType(matcher);
+					}
+					else if (event == XMLStreamConstants.START_ELEMENT) {
+						if (docType == null || !newRootElement.getName().equals(getName(xmlReader))
+								|| xmlReader.getNamespaceCount() > 0) {
+							return null;
+						}
+						if (!copyChildren(xmlReader, existingContent, lineSeparator, true)) {
+							return null;
+						}
+						break;
+					}
+					else if (event == XMLStreamConstants.ENTITY_REFERENCE) {
+						return null;
+					}
+				}
+			}
+			finally {
+				xmlReader.close();
+			}
+		}
+
+		if (docType == null) {
+			return null;
+		}
+
+		StringBuilder sb = new StringBuilder(existingContent.length() + 4096);
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>").append(lineSeparator); //$NON-NLS-1$
+		sb.append(docType).append(lineSeparator);
+		if (!appendGeneratedRootElement(factory, newRootElement, existingContent, sb, lineSeparator)) {
+			return null;
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Renders the generated root element with the generated elements, followed by the
+	 * copied content of the existing root element. The rendered elements are read back
+	 * with the streaming parser and written the way {@link DomWriter} writes them, so that
+	 * text, comments and attribute values are escaped as they are after a DOM merge.
+	 * @return false if the generated elements must be merged with DOM
+	 */
+	private static boolean appendGeneratedRootElement(XMLInputFactory factory, XmlElement rootElement,
+			StringBuilder existingContent, StringBuilder out, String lineSeparator)
+			throws IOException, XMLStreamException {
+		StringBuilder rendered = new StringBuilder(4096);
+		ElementRenderer renderer = new ElementRenderer();
+		rendered.append(renderer.renderStartTag(rootElement));
+		for (VisitableElement element : rootElement.getElements()) {
+			rendered.append(lineSeparator);
+			renderer.render(element, rendered, lineSeparator, 1);
+		}
+		rendered.append("</").append(rootElement.getName()).append('>'); //$NON-NLS-1$
+
+		XMLStreamReader xmlReader = factory.createXMLStreamReader(new StringReader(rendered.toString()));
+		try {
+			while (xmlReader.hasNext()) {
+				int event = xmlReader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					if (xmlReader.getNamespaceCount() > 0) {
+						return false;
+					}
+					writeStartTag(xmlReader, out, lineSeparator);
+					StringBuilder content = new StringBuilder(rendered.length() + existingContent.length());
+					if (!copyChildren(xmlReader, content, lineSeparator, false)) {
+						return false;
+					}
+					content.append(existingContent);
+					if (content.length() == 0) {
+						out.append(" />"); //$NON-NLS-1$
+					}
+					else {
+						out.append('>').append(content);
+						out.append("</").append(rootElement.getName()).append('>'); //$NON-NLS-1$
+					}
+					return true;
+				}
+				else if (event == XMLStreamConstants.ENTITY_REFERENCE) {
+					return false;
+				}
+			}
+		}
+		finally {
+			xmlReader.close();
+		}
+		return false;
+	}
+
+	/**
+	 * Copies the children of the root element the reader is positioned on, optionally
+	 * except the generated elements and the white space in front of them.
+	 * @param skipGenerated whether to leave out the generated elements
+	 * @return false if the content cannot be copied the way it would be merged with DOM
+	 */
+	private static boolean copyChildren(XMLStreamReader xmlReader, StringBuilder out, String lineSeparator,
+			boolean skipGenerated) throws XMLStreamException {
+		StringBuilder text = new StringBuilder();
+		StringBuilder element = new StringBuilder();
+		boolean startTagOpen = false;
+		boolean generated = false;
+		boolean commentFound = false;
+		int depth = 0;
+
+		while (xmlReader.hasNext()) {
+			int event = xmlReader.next();
+			if (startTagOpen) {
+				element.append(event == XMLStreamConstants.END_ELEMENT ? " />" : ">"); //$NON-NLS-1$ //$NON-NLS-2$
+				startTagOpen = false;
+			}
+			else if (event == XMLStreamConstants.END_ELEMENT && depth > 0) {
+				element.append("</").append(getName(xmlReader)).append('>'); //$NON-NLS-1$
+			}
+
+			if (depth == 0 && event != XMLStreamConstants.CHARACTERS && event != XMLStreamConstants.SPACE
+					&& text.length() > 0) {
+				// a white space text node is kept unless a generated element follows it
+				if (event != XMLStreamConstants.START_ELEMENT || !isWhiteSpace(text)) {
+					flushText(text, out);
+				}
+			}
+
+			switch (event) {
+				case XMLStreamConstants.START_ELEMENT:
+					if (xmlReader.getNamespaceCount() > 0) {
+						return false;
+					}
+					if (depth == 0) {
+						String id = xmlReader.getAttributeValue(null, "id"); //$NON-NLS-1$
+						generated = skipGenerated && id != null && MergeConstants.idStartsWithPrefix(id);
+						commentFound = false;
+					}
+					writeStartTag(xmlReader, element, lineSeparator);
+					startTagOpen = true;
+					depth++;
+					break;
+
+				case XMLStreamConstants.END_ELEMENT:
+					if (depth == 0) {
+						flushText(text, out);
+						return true;
+					}
+					depth--;
+					if (depth == 0) {
+						if (generated) {
+							text.setLength(0);
+						}
+						else {
+							flushText(text, out);
+							out.append(element);
+						}
+						element.setLength(0);
+					}
+					break;
+
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.SPACE:
+					normalize(xmlReader.getText(), false, depth == 0 ? text : element, lineSeparator);
+					break;
+
+				case XMLStreamConstants.CDATA:
+					appendCData(xmlReader.getText(), depth == 0 ? out : element, lineSeparator);
+					break;
+
+				case XMLStreamConstants.COMMENT:
+					if (depth == 1 && !commentFound) {
+						commentFound = true;
+						generated |= skipGenerated && MergeConstants.commentContainsTag(xmlReader.getText());
+					}
+					StringBuilder target = depth == 0 ? out : element;
+					target.append("<!--"); //$NON-NLS-1$
+					normalize(xmlReader.getText(), false, target, lineSeparator);
+					target.append("-->"); //$NON-NLS-1$
+					break;
+
+				case XMLStreamConstants.PROCESSING_INSTRUCTION:
+					StringBuilder piTarget = depth == 0 ? out : element;
+					piTarget.append("<?").append(xmlReader.getPITarget()); //$NON-NLS-1$
+					String data = xmlReader.getPIData();
+					if (data != null && data.length() > 0) {
+						piTarget.append(' ').append(data);
+					}
+					piTarget.append("?>"); //$NON-NLS-1$
+					break;
+
+				default:
+					// entity references and anything else DOM would keep as a node
+					return false;
+			}
+		}
+
+		return false;
+	}
+
+	private static void writeStartTag(XMLStreamReader xmlReader, StringBuilder out, String lineSeparator) {
+		out.append('<').append(getName(xmlReader));
+		int attributeCount = xmlReader.getAttributeCount();
+		String[][] attributes = new String[attributeCount][];
+		for (int i = 0; i < attributeCount; i++) {
+			QName name = xmlReader.getAttributeName(i);
+			String prefix = name.getPrefix();
+			attributes[i] = new String[] {
+					prefix == null || prefix.isEmpty() ? name.getLocalPart() : prefix + ':' + name.getLocalPart(),
+					xmlReader.getAttributeValue(i) };
+		}
+		Arrays.sort(attributes, Comparator.comparing(attribute -> attribute[0]));
+		for (String[] attribute : attributes) {
+			out.append(' ').append(attribute[0]).append("=\""); //$NON-NLS-1$
+			normalize(attribute[1], true, out, lineSeparator);
+			out.append('"');
+		}
+	}
+
+	private static String getName(XMLStreamReader xmlReader) {
+		String prefix = xmlReader.getPrefix();
+		return prefix == null || prefix.isEmpty() ? xmlReader.getLocalName() : prefix + ':' + xmlReader.getLocalName();
+	}
+
+	private static String renderDocType(Matcher matcher) {
+		StringBuilder sb = new StringBuilder("<!DOCTYPE ").append(matcher.group(1)); //$NON-NLS-1$
+		if (matcher.group(2) != null) {
+			sb.append(" PUBLIC \"").append(unquote(matcher.group(2))); //$NON-NLS-1$
+			sb.append("\" \"").append(unquote(matcher.group(3))).append('"'); //$NON-NLS-1$
+		}
+		else if (matcher.group(4) != null) {
+			sb.append(" SYSTEM \"").append(unquote(matcher.group(4))).append('"'); //$NON-NLS-1$
+		}
+		return sb.append('>').toString();
+	}
+
+	private static String unquote(String s) {
+		return s.substring(1, s.length() - 1);
+	}
+
+	private static boolean isWhiteSpace(CharSequence s) {
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void flushText(StringBuilder text, StringBuilder out) {
+		out.append(text);
+		text.setLength(0);
+	}
+
+	/**
+	 * Escapes text the way {@link DomWriter} escapes text, comments and attribute values
+	 * of XML 1.0 documents.
+	 */
+	private static void normalize(String s, boolean isAttValue, StringBuilder out, String lineSeparator) {
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			switch (c) {
+				case '<':
+					out.append("&lt;"); //$NON-NLS-1$
+					break;
+				case '>':
+					out.append("&gt;"); //$NON-NLS-1$
+					break;
+				case '&':
+					out.append("&amp;"); //$NON-NLS-1$
+					break;
+				case '"':
+					out.append(isAttValue ? "&quot;" : "\""); //$NON-NLS-1$ //$NON-NLS-2$
+					break;
+				case '\r':
+					out.append("&#xD;"); //$NON-NLS-1$
+					break;
+				case '\n':
+					out.append(lineSeparator);
+					break;
+				default:
+					if (isAttValue && c == '\t') {
+						out.append("&#x9;"); //$NON-NLS-1$
+					}
+					else {
+						out.append(c);
+					}
+			}
+		}
+	}
+
+	private static void appendCData(String data, StringBuilder out, String lineSeparator) {
+		out.append("<![CDATA["); //$NON-NLS-1$
+		for (int i = 0; i < data.length(); i++) {
+			char c = data.charAt(i);
+			if (c == '\n') {
+				out.append(lineSeparator);
+			}
+			else {
+				out.append(c);
+			}
+		}
+		out.append("]]>"); //$NON-NLS-1$
+	}
+
 	public static String getMergedSource(InputSource newFile, InputSource existingFile, String existingFileName)
 			throws IOException, SAXException, ParserConfigurationException, ShellException {
 
@@ -0,0 +1,143 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.internal.db;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * The raw values of one row returned by {@link DatabaseMetaData#getColumns}. Instances are
+ * immutable, so they can be shared between table configurations and threads and turned
+ * into fresh {@link org.mybatis.generator.api.IntrospectedColumn} objects on demand.
+ */
+public class ColumnMetadata {
+
+	private final String columnName;
+
+	private final int jdbcType;
+
+	private final String typeName;
+
+	private final int length;
+
+	private final int scale;
+
+	private final boolean nullable;
+
+	private final String remarks;
+
+	private final String defaultValue;
+
+	private final boolean autoIncrement;
+
+	private final boolean generatedColumn;
+
+	public ColumnMetadata(String columnName, int jdbcType, String typeName, int length, int scale, boolean nullable,
+			String remarks, String defaultValue, boolean autoIncrement, boolean generatedColumn) {
+		this.columnName = columnName;
+		this.jdbcType = jdbcType;
+		this.typeName = typeName;
+		this.length = length;
+		this.scale = scale;
+		this.nullable = nullable;
+		this.remarks = remarks;
+		this.defaultValue = defaultValue;
+		this.autoIncrement = autoIncrement;
+		this.generatedColumn = generatedColumn;
+	}
+
+	public String getColumnName() {
+		return columnName;
+	}
+
+	public int getJdbcType() {
+		return jdbcType;
+	}
+
+	public String getTypeName() {
+		return typeName;
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	public int getScale() {
+		return scale;
+	}
+
+	public boolean isNullable() {
+		return nullable;
+	}
+
+	public String getRemarks() {
+		return remarks;
+	}
+
+	public String getDefaultValue() {
+		return defaultValue;
+	}
+
+	public boolean isAutoIncrement() {
+		return autoIncrement;
+	}
+
+	public boolean isGeneratedColumn() {
+		return generatedColumn;
+	}
+
+	/**
+	 * Reads every row of a {@link DatabaseMetaData#getColumns} result set.
+	 * @param rs the result set, positioned before the first row. It is not closed by this
+	 * method.
+	 * @param consumer receives the actual table name and column values of each row
+	 * @throws SQLException if the result set cannot be read
+	 */
+	public static void readColumns(ResultSet rs, ColumnConsumer consumer) throws SQLException {
+		boolean supportsIsAutoIncrement = false;
+		boolean supportsIsGeneratedColumn = false;
+		ResultSetMetaData rsmd = rs.getMetaData();
+		int colCount = rsmd.getColumnCount();
+		for (int i = 1; i <= colCount; i++) {
+			if ("IS_AUTOINCREMENT".equals(rsmd.getColumnName(i))) { //$NON-NLS-1$
+				supportsIsAutoIncrement = true;
+			}
+			if ("IS_GENERATEDCOLUMN".equals(rsmd.getColumnName(i))) { //$NON-NLS-1$
+				supportsIsGeneratedColumn = true;
+			}
+		}
+
+		while (rs.next()) {
+			ColumnMetadata column = new ColumnMetadata(rs.getString("COLUMN_NAME"), //$NON-NLS-1$
+					rs.getInt("DATA_TYPE"), //$NON-NLS-1$
+					rs.getString("TYPE_NAME"), //$NON-NLS-1$
+					rs.getInt("COLUMN_SIZE"), //$NON-NLS-1$
+					rs.getInt("DECIMAL_DIGITS"), //$NON-NLS-1$
+					rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable, //$NON-NLS-1$
+					rs.getString("REMARKS"), //$NON-NLS-1$
+					rs.getString("COLUMN_DEF"), //$NON-NLS-1$
+					supportsIsAutoIncrement && "YES".equals(rs.getString("IS_AUTOINCREMENT")), //$NON-NLS-1$ //$NON-NLS-2$
+					supportsIsGeneratedColumn && "YES".equals(rs.getString("IS_GENERATEDCOLUMN"))); //$NON-NLS-1$ //$NON-NLS-2$
+
+			ActualTableName atn = new ActualTableName(rs.getString("TABLE_CAT"), //$NON-NLS-1$
+					rs.getString("TABLE_SCHEM"), //$NON-NLS-1$
+					rs.getString("TABLE_NAME")); //$NON-NLS-1$
+
+			consumer.accept(atn, column);
+		}
+	}
+
+	@FunctionalInterface
+	public interface ColumnConsumer {
+
+		void accept(ActualTableName actualTableName, ColumnMetadata column);
+
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.internal.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A tiny, bounded pool of JDBC connections used while introspecting tables in parallel.
+ * Connections are opened lazily from a single {@link ConnectionSource}, so at most
+ * <code>maxSize</code> connections will ever be opened during a run. All connections are
+ * closed by {@link #close()}.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+	/**
+	 * Opens new physical connections for the pool.
+	 */
+	@FunctionalInterface
+	public interface ConnectionSource {
+
+		Connection getConnection() throws SQLException;
+
+	}
+
+	private final ConnectionSource connectionSource;
+
+	private final int maxSize;
+
+	private final BlockingQueue<Connection> idleConnections = new LinkedBlockingQueue<>();
+
+	private final List<Connection> allConnections = new ArrayList<>();
+
+	public ConnectionPool(ConnectionSource connectionSource, int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize must be at least 1"); //$NON-NLS-1$
+		}
+		this.connectionSource = connectionSource;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns an idle connection, opening a new one if the pool has not reached its
+	 * maximum size yet. Otherwise waits until another caller releases a connection.
+	 * @return a connection that must be handed back with {@link #release(Connection)}
+	 * @throws SQLException if a new connection cannot be opened
+	 * @throws InterruptedException if interrupted while waiting for a connection
+	 */
+	public Connection borrow() throws SQLException, InterruptedException {
+		Connection connection = idleConnections.poll();
+		if (connection != null) {
+			return connection;
+		}
+
+		synchronized (allConnections) {
+			if (allConnections.size() < maxSize) {
+				connection = connectionSource.getConnection();
+				allConnections.add(connection);
+				return connection;
+			}
+		}
+
+		return idleConnections.take();
+	}
+
+	public void release(Connection connection) {
+		if (connection != null) {
+			idleConnections.offer(connection);
+		}
+	}
+
+	/**
+	 * Closes every connection opened by this pool and ignores any errors.
+	 */
+	@Override
+	public void close() {
+		synchronized (allConnections) {
+			for (Connection connection : allConnections) {
+				try {
+					connection.close();
+				}
+				catch (SQLException e) {
+					// ignore
+				}
+			}
+			allConnections.clear();
+			idleConnections.clear();
+		}
+	}
+
+}
@@ -21,7 +21,6 @@ import org.mybatis.generator.logging.LogFactory;
 
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.regex.Matcher;
@@ -42,17 +41,53 @@ public class DatabaseIntrospector {
 
 	private final Log logger;
 
+	private final SchemaMetadataIndex metadataIndex;
+
 	public DatabaseIntrospector(Context context, DatabaseMetaData databaseMetaData, JavaTypeResolver javaTypeResolver,
 			List<String> warnings) {
+		this(context, databaseMetaData, javaTypeResolver, warnings, null);
+	}
+
+	/**
+	 * Creates an introspector that answers metadata lookups from a prefetched index where
+	 * possible.
+	 * @param context the context
+	 * @param databaseMetaData the database metadata, or <code>null</code> if the metadata
+	 * index is offline
+	 * @param javaTypeResolver the java type resolver
+	 * @param warnings warnings are added to this list
+	 * @param metadataIndex a schema-wide metadata index, or <code>null</code> to query the
+	 * database for every table
+	 */
+	public DatabaseIntrospector(Context context, DatabaseMetaData databaseMetaData, JavaTypeResolver javaTypeResolver,
+			List<String> warnings, SchemaMetadataIndex metadataIndex) {
 		super();
 		this.context = context;
 		this.databaseMetaData = databaseMetaData;
 		this.javaTypeResolver = javaTypeResolver;
 		this.warnings = warnings;
+		this.metadataIndex = metadataIndex;
 		logger = LogFactory.getLog(getClass());
 	}
 
 	private void calculatePrimaryKey(FullyQualifiedTable table, IntrospectedTable introspectedTable) {
+		TableMetadata tableMetadata = null;
+		if (metadataIndex != null) {
+			tableMetadata = metadataIndex.findTable(table.getIntrospectedCatalog(), table.getIntrospectedSchema(),
+					table.getIntrospectedTableName());
+			if (tableMetadata != null && tableMetadata.getPrimaryKeyColumns() != null) {
+				for (String columnName : tableMetadata.getPrimaryKeyColumns()) {
+					introspectedTable.addPrimaryKeyColumn(columnName);
+				}
+				return;
+			}
+		}
+
+		if (databaseMetaData == null) {
+			// offline, and the snapshot does not know the primary key
+			return;
+		}
+
 		ResultSet rs;
 
 		try {
@@ -76,6 +111,11 @@ public class DatabaseIntrospector {
 			for (String columnName : keyColumns.values()) {
 				introspectedTable.addPrimaryKeyColumn(columnName);
 			}
+
+			if (tableMetadata != null) {
+				// remember it for the introspection snapshot
+				tableMetadata.setPrimaryKeyColumns(new ArrayList<>(keyColumns.values()));
+			}
 		}
 		catch (SQLException e) {
 			// ignore the primary key if there's any error
@@ -85,6 +125,21 @@ public class DatabaseIntrospector {
 		}
 	}
 
+	private boolean storesLowerCaseIdentifiers() throws SQLException {
+		return metadataIndex == null ? databaseMetaData.storesLowerCaseIdentifiers()
+				: metadataIndex.storesLowerCaseIdentifiers(databaseMetaData);
+	}
+
+	private boolean storesUpperCaseIdentifiers() throws SQLException {
+		return metadataIndex == null ? databaseMetaData.storesUpperCaseIdentifiers()
+				: metadataIndex.storesUpperCaseIdentifiers(databaseMetaData);
+	}
+
+	private String getSearchStringEscape() throws SQLException {
+		return metadataIndex == null ? databaseMetaData.getSearchStringEscape()
+				: metadataIndex.getSearchStringEscape(databaseMetaData);
+	}
+
 	private void closeResultSet(ResultSet rs) {
 		if (rs != null) {
 			try {
@@ -379,12 +434,12 @@ public class DatabaseIntrospector {
 			localSchema = tc.getSchema();
 			localTableName = tc.getTableName();
 		}
-		else if (databaseMetaData.storesLowerCaseIdentifiers()) {
+		else if (storesLowerCaseIdentifiers()) {
 			localCatalog = tc.getCatalog() == null ? catalog.toLowerCase() : tc.getCatalog().toLowerCase();
 			localSchema = tc.getSchema() == null ? null : tc.getSchema().toLowerCase();
 			localTableName = tc.getTableName().toLowerCase();
 		}
-		else if (databaseMetaData.storesUpperCaseIdentifiers()) {
+		else if (storesUpperCaseIdentifiers()) {
 			localCatalog = tc.getCatalog() == null ? catalog.toUpperCase() : tc.getCatalog().toUpperCase();
 			localSchema = tc.getSchema() == null ? null : tc.getSchema().toUpperCase();
 			localTableName = tc.getTableName().toUpperCase();
@@ -399,7 +454,7 @@ public class DatabaseIntrospector {
 		}
 
 		if (tc.isWildcardEscapingEnabled()) {
-			String escapeString = databaseMetaData.getSearchStringEscape();
+			String escapeString = getSearchStringEscape();
 
 			if (localSchema != null) {
 				localSchema = escapeName(localSchema, escapeString);
@@ -415,74 +470,20 @@ public class DatabaseIntrospector {
 			logger.debug(getString("Tracing.1", fullTableName)); //$NON-NLS-1$
 		}
 
-		ResultSet rs = databaseMetaData.getColumns(localCatalog, localSchema, localTableName, "%"); //$NON-NLS-1$
-
-		boolean supportsIsAutoIncrement = false;
-		boolean supportsIsGeneratedColumn = false;
-		ResultSetMetaData rsmd = rs.getMetaData();
-		int colCount = rsmd.getColumnCount();
-		for (int i = 1; i <= colCount; i++) {
-			if ("IS_AUTOINCREMENT".equals(rsmd.getColumnName(i))) { //$NON-NLS-1$
-				supportsIsAutoIncrement = true;
-			}
-			if ("IS_GENERATEDCOLUMN".equals(rsmd.getColumnName(i))) { //$NON-NLS-1$
-				supportsIsGeneratedColumn = true;
+		String currentCatalog = catalog;
+		if (metadataIndex != null) {
+			for (TableMetadata table : metadataIndex.getTables(databaseMetaData, localCatalog, localSchema,
+					localTableName)) {
+				for (ColumnMetadata column : table.getColumns()) {
+					addColumn(answer, tc, currentCatalog, table.getActualTableName(), column);
+				}
 			}
 		}
-
-		while (rs.next()) {
-			IntrospectedColumn introspectedColumn = ObjectFactory.createIntrospectedColumn(context);
-
-			introspectedColumn.setTableAlias(tc.getAlias());
-			introspectedColumn.setJdbcType(rs.getInt("DATA_TYPE")); //$NON-NLS-1$
-			introspectedColumn.setActualTypeName(rs.getString("TYPE_NAME")); //$NON-NLS-1$
-			introspectedColumn.setLength(rs.getInt("COLUMN_SIZE")); //$NON-NLS-1$
-			introspectedColumn.setActualColumnName(rs.getString("COLUMN_NAME")); //$NON-NLS-1$
-			introspectedColumn.setNullable(rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable); //$NON-NLS-1$
-			introspectedColumn.setScale(rs.getInt("DECIMAL_DIGITS")); //$NON-NLS-1$
-			introspectedColumn.setRemarks(rs.getString("REMARKS")); //$NON-NLS-1$
-			introspectedColumn.setDefaultValue(rs.getString("COLUMN_DEF")); //$NON-NLS-1$
-
-			if (supportsIsAutoIncrement) {
-				introspectedColumn.setAutoIncrement("YES".equals(rs.getString("IS_AUTOINCREMENT"))); //$NON-NLS-1$ //$NON-NLS-2$
-			}
-
-			if (supportsIsGeneratedColumn) {
-				introspectedColumn.setGeneratedColumn("YES".equals(rs.getString("IS_GENERATEDCOLUMN"))); //$NON-NLS-1$ //$NON-NLS-2$
-			}
-
-			ActualTableName atn = new ActualTableName(rs.getString("TABLE_CAT"), //$NON-NLS-1$
-					rs.getString("TABLE_SCHEM"), //$NON-NLS-1$
-					rs.getString("TABLE_NAME")); //$NON-NLS-1$
-
-			// fix bug
-			if (stringHasValue(atn.getCatalog()) && stringHasValue(catalog)
-					&& StringUtils.equals(atn.getCatalog(), catalog)) {
-				List<IntrospectedColumn> columns = answer.computeIfAbsent(atn, k -> new ArrayList<>());
-
-				columns.add(introspectedColumn);
-				if (logger.isDebugEnabled()) {
-					logger.debug(getString("Tracing.2", //$NON-NLS-1$
-							introspectedColumn.getActualColumnName(),
-							Integer.toString(introspectedColumn.getJdbcType()), atn.toString()));
-				}
+		else {
+			try (ResultSet rs = databaseMetaData.getColumns(localCatalog, localSchema, localTableName, "%")) { //$NON-NLS-1$
+				ColumnMetadata.readColumns(rs, (atn, column) -> addColumn(answer, tc, currentCatalog, atn, column));
 			}
-			// else {
-			// List<IntrospectedColumn> columns = answer.computeIfAbsent(atn, k -> new
-			// ArrayList<>());
-			//
-			// columns.add(introspectedColumn);
-			// if (logger.isDebugEnabled()) {
-			// logger.debug(getString(
-			// "Tracing.2", //$NON-NLS-1$
-			// introspectedColumn.getActualColumnName(), Integer
-			// .toString(introspectedColumn.getJdbcType()),
-			// atn.toString()));
-			// }
-			// }
-		}
-
-		closeResultSet(rs);
+		}
 
 		if (answer.size() > 1 && !stringContainsSQLWildcard(localSchema)
 				&& !stringContainsSQLWildcard(localTableName)) {
@@ -509,6 +510,38 @@ public class DatabaseIntrospector {
 		return answer;
 	}
 
+	private void addColumn(Map<ActualTableName, List<IntrospectedColumn>> answer, TableConfiguration tc,
+			String catalog, ActualTableName atn, ColumnMetadata column) {
+		// fix bug
+		if (!stringHasValue(atn.getCatalog()) || !stringHasValue(catalog)
+				|| !StringUtils.equals(atn.getCatalog(), catalog)) {
+			return;
+		}
+
+		IntrospectedColumn introspectedColumn = ObjectFactory.createIntrospectedColumn(context);
+
+		introspectedColumn.setTableAlias(tc.getAlias());
+		introspectedColumn.setJdbcType(column.getJdbcType());
+		introspectedColumn.setActualTypeName(column.getTypeName());
+		introspectedColumn.setLength(column.getLength());
+		introspectedColumn.setActualColumnName(column.getColumnName());
+		introspectedColumn.setNullable(column.isNullable());
+		introspectedColumn.setScale(column.getScale());
+		introspectedColumn.setRemarks(column.getRemarks());
+		introspectedColumn.setDefaultValue(column.getDefaultValue());
+		introspectedColumn.setAutoIncrement(column.isAutoIncrement());
+		introspectedColumn.setGeneratedColumn(column.isGeneratedColumn());
+
+		List<IntrospectedColumn> columns = answer.computeIfAbsent(atn, k -> new ArrayList<>());
+
+		columns.add(introspectedColumn);
+		if (logger.isDebugEnabled()) {
+			logger.debug(getString("Tracing.2", //$NON-NLS-1$
+					introspectedColumn.getActualColumnName(), Integer.toString(introspectedColumn.getJdbcType()),
+					atn.toString()));
+		}
+	}
+
 	private String escapeName(String localName, String escapeString) {
 		StringTokenizer st = new StringTokenizer(localName, "_%", true); //$NON-NLS-1$
 		StringBuilder sb = new StringBuilder();
@@ -589,8 +622,23 @@ public class DatabaseIntrospector {
 	 * @param introspectedTable the introspected table to enhance
 	 */
 	private void enhanceIntrospectedTable(IntrospectedTable introspectedTable) {
+		FullyQualifiedTable fqt = introspectedTable.getFullyQualifiedTable();
+		TableMetadata tableMetadata = null;
+		if (metadataIndex != null) {
+			tableMetadata = metadataIndex.findTable(fqt.getIntrospectedCatalog(), fqt.getIntrospectedSchema(),
+					fqt.getIntrospectedTableName());
+			if (tableMetadata != null && tableMetadata.isTableInformationLoaded()) {
+				introspectedTable.setRemarks(tableMetadata.getRemarks());
+				introspectedTable.setTableType(tableMetadata.getTableType());
+				return;
+			}
+		}
+
+		if (databaseMetaData == null) {
+			return;
+		}
+
 		try {
-			FullyQualifiedTable fqt = introspectedTable.getFullyQualifiedTable();
 
 			ResultSet rs = databaseMetaData.getTables(fqt.getIntrospectedCatalog(), fqt.getIntrospectedSchema(),
 					fqt.getIntrospectedTableName(), null);
@@ -599,6 +647,9 @@ public class DatabaseIntrospector {
 				String tableType = rs.getString("TABLE_TYPE"); //$NON-NLS-1$
 				introspectedTable.setRemarks(remarks);
 				introspectedTable.setTableType(tableType);
+				if (tableMetadata != null) {
+					tableMetadata.setTableInformation(remarks, tableType);
+				}
 			}
 			closeResultSet(rs);
 		}
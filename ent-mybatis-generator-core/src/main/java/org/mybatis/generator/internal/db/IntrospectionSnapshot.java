@@ -0,0 +1,335 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.internal.db;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * The table metadata of one or more catalogs and schemas, saved to disk so that a later
+ * run can skip the database for tables that have not changed, or work without a
+ * database at all.
+ *
+ * <p>
+ * Besides the tables, the snapshot records the few database properties the
+ * introspector needs to resolve table names: the catalog of the connection, the
+ * identifier case and the search string escape.
+ */
+public class IntrospectionSnapshot {
+
+	private static final String VERSION = "1"; //$NON-NLS-1$
+
+	private String connectionCatalog;
+
+	private Boolean storesLowerCaseIdentifiers;
+
+	private Boolean storesUpperCaseIdentifiers;
+
+	private String searchStringEscape;
+
+	private final List<Scope> scopes = new ArrayList<>();
+
+	public String getConnectionCatalog() {
+		return connectionCatalog;
+	}
+
+	public void setConnectionCatalog(String connectionCatalog) {
+		this.connectionCatalog = connectionCatalog;
+	}
+
+	public Boolean getStoresLowerCaseIdentifiers() {
+		return storesLowerCaseIdentifiers;
+	}
+
+	public void setStoresLowerCaseIdentifiers(Boolean storesLowerCaseIdentifiers) {
+		this.storesLowerCaseIdentifiers = storesLowerCaseIdentifiers;
+	}
+
+	public Boolean getStoresUpperCaseIdentifiers() {
+		return storesUpperCaseIdentifiers;
+	}
+
+	public void setStoresUpperCaseIdentifiers(Boolean storesUpperCaseIdentifiers) {
+		this.storesUpperCaseIdentifiers = storesUpperCaseIdentifiers;
+	}
+
+	public String getSearchStringEscape() {
+		return searchStringEscape;
+	}
+
+	public void setSearchStringEscape(String searchStringEscape) {
+		this.searchStringEscape = searchStringEscape;
+	}
+
+	public List<Scope> getScopes() {
+		return scopes;
+	}
+
+	public void addScope(Scope scope) {
+		scopes.add(scope);
+	}
+
+	/**
+	 * Reads a snapshot written by {@link #write(File)}.
+	 * @param file the snapshot file
+	 * @return the snapshot
+	 * @throws IOException if the file cannot be read or was written by an incompatible
+	 * version
+	 */
+	public static IntrospectionSnapshot read(File file) throws IOException {
+		Document document;
+		try {
+			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+			factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, ""); //$NON-NLS-1$
+			factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, ""); //$NON-NLS-1$
+			factory.setExpandEntityReferences(false);
+			factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+			DocumentBuilder builder = factory.newDocumentBuilder();
+			document = builder.parse(file);
+		}
+		catch (ParserConfigurationException | SAXException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+
+		Element root = document.getDocumentElement();
+		if (!"introspectionSnapshot".equals(root.getNodeName()) //$NON-NLS-1$
+				|| !VERSION.equals(root.getAttribute("version"))) { //$NON-NLS-1$
+			throw new IOException("Unsupported introspection snapshot format"); //$NON-NLS-1$
+		}
+
+		IntrospectionSnapshot snapshot = new IntrospectionSnapshot();
+		snapshot.setConnectionCatalog(attribute(root, "connectionCatalog")); //$NON-NLS-1$
+		snapshot.setStoresLowerCaseIdentifiers(booleanAttribute(root, "storesLowerCaseIdentifiers")); //$NON-NLS-1$
+		snapshot.setStoresUpperCaseIdentifiers(booleanAttribute(root, "storesUpperCaseIdentifiers")); //$NON-NLS-1$
+		snapshot.setSearchStringEscape(attribute(root, "searchStringEscape")); //$NON-NLS-1$
+
+		for (Element scopeElement : children(root, "scope")) { //$NON-NLS-1$
+			Scope scope = new Scope(attribute(scopeElement, "catalog"), //$NON-NLS-1$
+					attribute(scopeElement, "schemaPattern")); //$NON-NLS-1$
+			for (Element tableElement : children(scopeElement, "table")) { //$NON-NLS-1$
+				scope.addTable(readTable(tableElement));
+			}
+			snapshot.addScope(scope);
+		}
+
+		return snapshot;
+	}
+
+	private static TableMetadata readTable(Element tableElement) {
+		TableMetadata table = new TableMetadata(new ActualTableName(attribute(tableElement, "catalog"), //$NON-NLS-1$
+				attribute(tableElement, "schema"), //$NON-NLS-1$
+				attribute(tableElement, "name"))); //$NON-NLS-1$
+		table.setFingerprint(attribute(tableElement, "fingerprint")); //$NON-NLS-1$
+		if (Boolean.TRUE.equals(booleanAttribute(tableElement, "tableInformationLoaded"))) { //$NON-NLS-1$
+			table.setTableInformation(attribute(tableElement, "remarks"), //$NON-NLS-1$
+					attribute(tableElement, "tableType")); //$NON-NLS-1$
+		}
+
+		for (Element columnElement : children(tableElement, "column")) { //$NON-NLS-1$
+			table.addColumn(new ColumnMetadata(attribute(columnElement, "name"), //$NON-NLS-1$
+					Integer.parseInt(columnElement.getAttribute("jdbcType")), //$NON-NLS-1$
+					attribute(columnElement, "typeName"), //$NON-NLS-1$
+					Integer.parseInt(columnElement.getAttribute("length")), //$NON-NLS-1$
+					Integer.parseInt(columnElement.getAttribute("scale")), //$NON-NLS-1$
+					Boolean.TRUE.equals(booleanAttribute(columnElement, "nullable")), //$NON-NLS-1$
+					attribute(columnElement, "remarks"), //$NON-NLS-1$
+					attribute(columnElement, "defaultValue"), //$NON-NLS-1$
+					Boolean.TRUE.equals(booleanAttribute(columnElement, "autoIncrement")), //$NON-NLS-1$
+					Boolean.TRUE.equals(booleanAttribute(columnElement, "generatedColumn")))); //$NON-NLS-1$
+		}
+
+		List<Element> primaryKeys = children(tableElement, "primaryKey"); //$NON-NLS-1$
+		if (!primaryKeys.isEmpty()) {
+			List<String> keyColumns = new ArrayList<>();
+			for (Element keyColumn : children(primaryKeys.get(0), "keyColumn")) { //$NON-NLS-1$
+				keyColumns.add(attribute(keyColumn, "name")); //$NON-NLS-1$
+			}
+			table.setPrimaryKeyColumns(keyColumns);
+		}
+
+		return table;
+	}
+
+	/**
+	 * Writes this snapshot. The file is replaced only once the new content has been
+	 * written completely.
+	 * @param file the snapshot file
+	 * @throws IOException if the file cannot be written
+	 */
+	public void write(File file) throws IOException {
+		Document document;
+		try {
+			document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		}
+		catch (ParserConfigurationException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+
+		Element root = document.createElement("introspectionSnapshot"); //$NON-NLS-1$
+		root.setAttribute("version", VERSION); //$NON-NLS-1$
+		setAttribute(root, "connectionCatalog", connectionCatalog); //$NON-NLS-1$
+		setAttribute(root, "storesLowerCaseIdentifiers", storesLowerCaseIdentifiers); //$NON-NLS-1$
+		setAttribute(root, "storesUpperCaseIdentifiers", storesUpperCaseIdentifiers); //$NON-NLS-1$
+		setAttribute(root, "searchStringEscape", searchStringEscape); //$NON-NLS-1$
+		document.appendChild(root);
+
+		for (Scope scope : scopes) {
+			Element scopeElement = document.createElement("scope"); //$NON-NLS-1$
+			setAttribute(scopeElement, "catalog", scope.getCatalog()); //$NON-NLS-1$
+			setAttribute(scopeElement, "schemaPattern", scope.getSchemaPattern()); //$NON-NLS-1$
+			for (TableMetadata table : scope.getTables()) {
+				scopeElement.appendChild(writeTable(document, table));
+			}
+			root.appendChild(scopeElement);
+		}
+
+		File directory = file.getAbsoluteFile().getParentFile();
+		if (directory != null) {
+			Files.createDirectories(directory.toPath());
+		}
+		File tempFile = File.createTempFile(file.getName(), ".tmp", directory); //$NON-NLS-1$
+		try {
+			try (OutputStream out = Files.newOutputStream(tempFile.toPath())) {
+				Transformer transformer = TransformerFactory.newInstance().newTransformer();
+				transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8"); //$NON-NLS-1$
+				transformer.setOutputProperty(OutputKeys.INDENT, "yes"); //$NON-NLS-1$
+				transformer.transform(new DOMSource(document), new StreamResult(out));
+			}
+			catch (TransformerException e) {
+				throw new IOException(e.getMessage(), e);
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally {
+			Files.deleteIfExists(tempFile.toPath());
+		}
+	}
+
+	private static Element writeTable(Document document, TableMetadata table) {
+		ActualTableName atn = table.getActualTableName();
+		Element tableElement = document.createElement("table"); //$NON-NLS-1$
+		setAttribute(tableElement, "catalog", atn.getCatalog()); //$NON-NLS-1$
+		setAttribute(tableElement, "schema", atn.getSchema()); //$NON-NLS-1$
+		setAttribute(tableElement, "name", atn.getTableName()); //$NON-NLS-1$
+		setAttribute(tableElement, "fingerprint", table.getFingerprint()); //$NON-NLS-1$
+		if (table.isTableInformationLoaded()) {
+			setAttribute(tableElement, "tableInformationLoaded", Boolean.TRUE); //$NON-NLS-1$
+			setAttribute(tableElement, "remarks", table.getRemarks()); //$NON-NLS-1$
+			setAttribute(tableElement, "tableType", table.getTableType()); //$NON-NLS-1$
+		}
+
+		for (ColumnMetadata column : table.getColumns()) {
+			Element columnElement = document.createElement("column"); //$NON-NLS-1$
+			setAttribute(columnElement, "name", column.getColumnName()); //$NON-NLS-1$
+			setAttribute(columnElement, "jdbcType", Integer.toString(column.getJdbcType())); //$NON-NLS-1$
+			setAttribute(columnElement, "typeName", column.getTypeName()); //$NON-NLS-1$
+			setAttribute(columnElement, "length", Integer.toString(column.getLength())); //$NON-NLS-1$
+			setAttribute(columnElement, "scale", Integer.toString(column.getScale())); //$NON-NLS-1$
+			setAttribute(columnElement, "nullable", column.isNullable()); //$NON-NLS-1$
+			setAttribute(columnElement, "remarks", column.getRemarks()); //$NON-NLS-1$
+			setAttribute(columnElement, "defaultValue", column.getDefaultValue()); //$NON-NLS-1$
+			setAttribute(columnElement, "autoIncrement", column.isAutoIncrement()); //$NON-NLS-1$
+			setAttribute(columnElement, "generatedColumn", column.isGeneratedColumn()); //$NON-NLS-1$
+			tableElement.appendChild(columnElement);
+		}
+
+		if (table.getPrimaryKeyColumns() != null) {
+			Element primaryKey = document.createElement("primaryKey"); //$NON-NLS-1$
+			for (String columnName : table.getPrimaryKeyColumns()) {
+				Element keyColumn = document.createElement("keyColumn"); //$NON-NLS-1$
+				keyColumn.setAttribute("name", columnName); //$NON-NLS-1$
+				primaryKey.appendChild(keyColumn);
+			}
+			tableElement.appendChild(primaryKey);
+		}
+
+		return tableElement;
+	}
+
+	private static void setAttribute(Element element, String name, Object value) {
+		// a missing attribute stands for null
+		if (value != null) {
+			element.setAttribute(name, value.toString());
+		}
+	}
+
+	private static String attribute(Element element, String name) {
+		return element.hasAttribute(name) ? element.getAttribute(name) : null;
+	}
+
+	private static Boolean booleanAttribute(Element element, String name) {
+		return element.hasAttribute(name) ? Boolean.valueOf(element.getAttribute(name)) : null;
+	}
+
+	private static List<Element> children(Element parent, String name) {
+		List<Element> answer = new ArrayList<>();
+		NodeList nodeList = parent.getChildNodes();
+		for (int i = 0; i < nodeList.getLength(); i++) {
+			Node node = nodeList.item(i);
+			if (node.getNodeType() == Node.ELEMENT_NODE && name.equals(node.getNodeName())) {
+				answer.add((Element) node);
+			}
+		}
+		return answer;
+	}
+
+	/**
+	 * The tables found for one catalog and schema pattern.
+	 */
+	public static class Scope {
+
+		private final String catalog;
+
+		private final String schemaPattern;
+
+		private final List<TableMetadata> tables = new ArrayList<>();
+
+		public Scope(String catalog, String schemaPattern) {
+			this.catalog = catalog;
+			this.schemaPattern = schemaPattern;
+		}
+
+		public String getCatalog() {
+			return catalog;
+		}
+
+		public String getSchemaPattern() {
+			return schemaPattern;
+		}
+
+		public List<TableMetadata> getTables() {
+			return tables;
+		}
+
+		public void addTable(TableMetadata table) {
+			tables.add(table);
+		}
+
+	}
+
+}
@@ -0,0 +1,169 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.internal.db;
+
+import static org.mybatis.generator.internal.util.StringUtility.composeFullyQualifiedTableName;
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.mybatis.generator.api.GenerationMetrics;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.JavaTypeResolver;
+import org.mybatis.generator.api.ProgressCallback;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.TableConfiguration;
+import org.mybatis.generator.internal.ObjectFactory;
+import org.mybatis.generator.internal.util.WorkerThreadFactory;
+
+/**
+ * Introspects the tables of a context on a bounded pool of worker threads. Every worker
+ * borrows a connection from a shared {@link ConnectionPool} and runs a private
+ * {@link DatabaseIntrospector} for one table configuration at a time.
+ *
+ * <p>
+ * Results and warnings are collected on the calling thread in the order of the table
+ * configurations, so the outcome is identical to a serial run. The progress callback is
+ * only ever called from the calling thread, which also polls
+ * {@link ProgressCallback#checkCancel()} while it waits for the workers.
+ */
+public class ParallelTableIntrospector {
+
+	private static final long CANCEL_POLL_MILLIS = 100L;
+
+	private final Context context;
+
+	private final ConnectionPool connectionPool;
+
+	private final int threads;
+
+	private final SchemaMetadataIndex metadataIndex;
+
+	/**
+	 * Creates a parallel introspector.
+	 * @param context the context
+	 * @param connectionPool supplies one connection to each worker
+	 * @param threads the maximum number of worker threads
+	 * @param metadataIndex a prefetched metadata index shared by all workers, or
+	 * <code>null</code>
+	 */
+	public ParallelTableIntrospector(Context context, ConnectionPool connectionPool, int threads,
+			SchemaMetadataIndex metadataIndex) {
+		this.context = context;
+		this.connectionPool = connectionPool;
+		this.threads = threads;
+		this.metadataIndex = metadataIndex;
+	}
+
+	public List<IntrospectedTable> introspectTables(List<TableConfiguration> tableConfigurations,
+			ProgressCallback callback, List<String> warnings) throws SQLException, InterruptedException {
+		if (tableConfigurations.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, tableConfigurations.size()),
+				new WorkerThreadFactory("mbg-introspect-" + context.getId())); //$NON-NLS-1$
+		try {
+			List<Future<IntrospectionResult>> futures = new ArrayList<>();
+			for (TableConfiguration tc : tableConfigurations) {
+				futures.add(executor.submit(() -> introspectTable(tc)));
+			}
+
+			List<IntrospectedTable> answer = new ArrayList<>();
+			for (int i = 0; i < tableConfigurations.size(); i++) {
+				TableConfiguration tc = tableConfigurations.get(i);
+				callback.startTask(getString("Progress.1", //$NON-NLS-1$
+						composeFullyQualifiedTableName(tc.getCatalog(), tc.getSchema(), tc.getTableName(), '.')));
+
+				IntrospectionResult result = await(futures.get(i), callback);
+				warnings.addAll(result.warnings);
+				if (result.tables != null) {
+					answer.addAll(result.tables);
+				}
+
+				callback.checkCancel();
+			}
+
+			return answer;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private IntrospectionResult introspectTable(TableConfiguration tc) throws SQLException, InterruptedException {
+		Connection connection = connectionPool.borrow();
+		try {
+			List<String> tableWarnings = new ArrayList<>();
+			JavaTypeResolver javaTypeResolver = ObjectFactory.createJavaTypeResolver(context, tableWarnings);
+			DatabaseIntrospector databaseIntrospector = new DatabaseIntrospector(context, connection.getMetaData(),
+					javaTypeResolver, tableWarnings, metadataIndex);
+			String catalog = metadataIndex == null ? connection.getCatalog()
+					: metadataIndex.getConnectionCatalog(connection);
+			GenerationMetrics.Sample sample = context.getGenerationMetrics().start();
+			List<IntrospectedTable> tables = databaseIntrospector.introspectTables(tc, catalog);
+			context.getGenerationMetrics()
+				.stop(sample, GenerationMetrics.Phase.INTROSPECT,
+						composeFullyQualifiedTableName(tc.getCatalog(), tc.getSchema(), tc.getTableName(), '.'));
+			return new IntrospectionResult(tables, tableWarnings);
+		}
+		finally {
+			connectionPool.release(connection);
+		}
+	}
+
+	private IntrospectionResult await(Future<IntrospectionResult> future, ProgressCallback callback)
+			throws SQLException, InterruptedException {
+		while (true) {
+			try {
+				return future.get(CANCEL_POLL_MILLIS, TimeUnit.MILLISECONDS);
+			}
+			catch (TimeoutException e) {
+				callback.checkCancel();
+			}
+			catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof SQLException) {
+					throw (SQLException) cause;
+				}
+				else if (cause instanceof InterruptedException) {
+					throw (InterruptedException) cause;
+				}
+				else if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new RuntimeException(cause);
+			}
+		}
+	}
+
+	private static class IntrospectionResult {
+
+		private final List<IntrospectedTable> tables;
+
+		private final List<String> warnings;
+
+		IntrospectionResult(List<IntrospectedTable> tables, List<String> warnings) {
+			this.tables = tables;
+			this.warnings = warnings;
+		}
+
+	}
+
+}
@@ -0,0 +1,632 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.internal.db;
+
+import static org.mybatis.generator.internal.util.StringUtility.composeFullyQualifiedTableName;
+import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.TreeMap;
+
+import org.mybatis.generator.logging.Log;
+import org.mybatis.generator.logging.LogFactory;
+
+/**
+ * An in-memory index of table metadata that is loaded once per catalog and schema
+ * instead of once per table.
+ *
+ * <p>
+ * The first lookup for a catalog and schema pattern pulls all columns with a single
+ * <code>getColumns(catalog, schema, "%", "%")</code> call, all primary keys with a single
+ * <code>getPrimaryKeys(catalog, schema, null)</code> call (falling back to
+ * <code>INFORMATION_SCHEMA</code> on MySQL and MariaDB, which reject a null table name),
+ * and all remarks and table types with a single <code>getTables</code> call. Every later
+ * lookup is answered from memory. Whatever cannot be prefetched is reported as unknown so
+ * that the caller can fall back to the per-table metadata calls.
+ *
+ * <p>
+ * An index created from an {@link IntrospectionSnapshot} reuses the saved tables whose
+ * fingerprint still matches the database and only fetches new or changed tables. An
+ * offline index never touches the database and answers every lookup from the snapshot.
+ *
+ * <p>
+ * The index is thread safe and may be shared by several introspectors.
+ */
+public class SchemaMetadataIndex {
+
+	private static final String MYSQL_PRIMARY_KEYS_QUERY = "select TABLE_SCHEMA, TABLE_NAME, COLUMN_NAME," //$NON-NLS-1$
+			+ " ORDINAL_POSITION from INFORMATION_SCHEMA.KEY_COLUMN_USAGE" //$NON-NLS-1$
+			+ " where CONSTRAINT_NAME = 'PRIMARY' and TABLE_SCHEMA = ?"; //$NON-NLS-1$
+
+	private static final String MYSQL_FINGERPRINT_QUERY = "select t.TABLE_SCHEMA, t.TABLE_NAME, t.CREATE_TIME," //$NON-NLS-1$
+			+ " count(c.COLUMN_NAME) as COLUMN_COUNT from INFORMATION_SCHEMA.TABLES t" //$NON-NLS-1$
+			+ " left join INFORMATION_SCHEMA.COLUMNS c on c.TABLE_SCHEMA = t.TABLE_SCHEMA" //$NON-NLS-1$
+			+ " and c.TABLE_NAME = t.TABLE_NAME where t.TABLE_SCHEMA = ?" //$NON-NLS-1$
+			+ " group by t.TABLE_SCHEMA, t.TABLE_NAME, t.CREATE_TIME order by t.TABLE_NAME"; //$NON-NLS-1$
+
+	private static final String FINGERPRINT_QUERY = "select TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME," //$NON-NLS-1$
+			+ " count(*) as COLUMN_COUNT from INFORMATION_SCHEMA.COLUMNS"; //$NON-NLS-1$
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final boolean offline;
+
+	private final Map<String, IntrospectionSnapshot.Scope> snapshotScopes = new LinkedHashMap<>();
+
+	private final Map<String, IntrospectionSnapshot.Scope> scopes = new LinkedHashMap<>();
+
+	private final Map<ActualTableName, TableMetadata> tables = new LinkedHashMap<>();
+
+	private final Map<String, List<TableMetadata>> tablesByName = new HashMap<>();
+
+	private String connectionCatalog;
+
+	private boolean connectionCatalogLoaded;
+
+	private Boolean storesLowerCaseIdentifiers;
+
+	private Boolean storesUpperCaseIdentifiers;
+
+	private String searchStringEscape;
+
+	private boolean searchStringEscapeLoaded;
+
+	public SchemaMetadataIndex() {
+		this(null, false);
+	}
+
+	/**
+	 * Creates an index seeded from a snapshot written by an earlier run.
+	 * @param snapshot the snapshot, or <code>null</code>
+	 * @param offline if true, the database is never accessed and scopes missing from the
+	 * snapshot contain no tables
+	 */
+	public SchemaMetadataIndex(IntrospectionSnapshot snapshot, boolean offline) {
+		this.offline = offline;
+		if (snapshot == null) {
+			return;
+		}
+
+		for (IntrospectionSnapshot.Scope scope : snapshot.getScopes()) {
+			snapshotScopes.put(scopeKey(scope.getCatalog(), scope.getSchemaPattern()), scope);
+		}
+
+		if (offline) {
+			// a live database answers these itself
+			connectionCatalog = snapshot.getConnectionCatalog();
+			connectionCatalogLoaded = true;
+			storesLowerCaseIdentifiers = snapshot.getStoresLowerCaseIdentifiers();
+			storesUpperCaseIdentifiers = snapshot.getStoresUpperCaseIdentifiers();
+			searchStringEscape = snapshot.getSearchStringEscape();
+			searchStringEscapeLoaded = true;
+		}
+	}
+
+	public boolean isOffline() {
+		return offline;
+	}
+
+	/**
+	 * Returns the catalog of the connection, remembering it for the snapshot.
+	 * @param connection the connection, or <code>null</code> when offline
+	 * @return the catalog
+	 * @throws SQLException if the catalog cannot be read
+	 */
+	public synchronized String getConnectionCatalog(Connection connection) throws SQLException {
+		if (!connectionCatalogLoaded && connection != null) {
+			connectionCatalog = connection.getCatalog();
+			connectionCatalogLoaded = true;
+		}
+		return connectionCatalog;
+	}
+
+	public synchronized boolean storesLowerCaseIdentifiers(DatabaseMetaData databaseMetaData) throws SQLException {
+		if (storesLowerCaseIdentifiers == null && databaseMetaData != null) {
+			storesLowerCaseIdentifiers = databaseMetaData.storesLowerCaseIdentifiers();
+		}
+		return Boolean.TRUE.equals(storesLowerCaseIdentifiers);
+	}
+
+	public synchronized boolean storesUpperCaseIdentifiers(DatabaseMetaData databaseMetaData) throws SQLException {
+		if (storesUpperCaseIdentifiers == null && databaseMetaData != null) {
+			storesUpperCaseIdentifiers = databaseMetaData.storesUpperCaseIdentifiers();
+		}
+		return Boolean.TRUE.equals(storesUpperCaseIdentifiers);
+	}
+
+	public synchronized String getSearchStringEscape(DatabaseMetaData databaseMetaData) throws SQLException {
+		if (!searchStringEscapeLoaded && databaseMetaData != null) {
+			searchStringEscape = databaseMetaData.getSearchStringEscape();
+			searchStringEscapeLoaded = true;
+		}
+		return searchStringEscape;
+	}
+
+	/**
+	 * Returns the columns of all tables matching the specified catalog, schema and table
+	 * name pattern, loading the whole catalog and schema on first use. The patterns have
+	 * the same meaning as in {@link DatabaseMetaData#getColumns}.
+	 * @param databaseMetaData used to load the scope if it has not been loaded yet, may be
+	 * <code>null</code> when offline
+	 * @param catalog the catalog, or <code>null</code>
+	 * @param schemaPattern the schema pattern, or <code>null</code>
+	 * @param tableNamePattern the table name pattern
+	 * @return the matching tables in the order returned by the database
+	 * @throws SQLException if the columns cannot be loaded
+	 */
+	public synchronized List<TableMetadata> getTables(DatabaseMetaData databaseMetaData, String catalog,
+			String schemaPattern, String tableNamePattern) throws SQLException {
+		String key = scopeKey(catalog, schemaPattern);
+		IntrospectionSnapshot.Scope scope = scopes.get(key);
+		if (scope == null) {
+			scope = new IntrospectionSnapshot.Scope(catalog, schemaPattern);
+			IntrospectionSnapshot.Scope snapshotScope = snapshotScopes.get(key);
+			List<TableMetadata> loaded;
+			if (offline) {
+				loaded = snapshotScope == null ? new ArrayList<>() : register(snapshotScope.getTables());
+			}
+			else {
+				loaded = load(databaseMetaData, catalog, schemaPattern, snapshotScope);
+			}
+			loaded.forEach(scope::addTable);
+			scopes.put(key, scope);
+		}
+
+		// the catalog and schema were already applied by the database when the scope was
+		// loaded
+		String escape = getSearchStringEscape(databaseMetaData);
+		List<TableMetadata> answer = new ArrayList<>();
+		for (TableMetadata table : scope.getTables()) {
+			if (likeMatches(table.getActualTableName().getTableName(), tableNamePattern, escape)) {
+				answer.add(table);
+			}
+		}
+
+		return answer;
+	}
+
+	/**
+	 * Finds a previously loaded table by its exact name.
+	 * @param catalog the catalog, or <code>null</code> to match any catalog
+	 * @param schema the schema, or <code>null</code> to match any schema
+	 * @param tableName the table name
+	 * @return the table metadata, or <code>null</code> if the table has not been loaded
+	 */
+	public synchronized TableMetadata findTable(String catalog, String schema, String tableName) {
+		List<TableMetadata> candidates = tablesByName.get(tableName);
+		if (candidates == null) {
+			return null;
+		}
+
+		for (TableMetadata table : candidates) {
+			ActualTableName atn = table.getActualTableName();
+			if ((catalog == null || catalog.equals(atn.getCatalog()))
+					&& (schema == null || schema.equals(atn.getSchema()))) {
+				return table;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns a snapshot of every scope loaded so far. Scopes of the seeding snapshot that
+	 * were not needed by this run are carried over unchanged.
+	 * @return the snapshot
+	 */
+	public synchronized IntrospectionSnapshot toSnapshot() {
+		IntrospectionSnapshot snapshot = new IntrospectionSnapshot();
+		snapshot.setConnectionCatalog(connectionCatalog);
+		snapshot.setStoresLowerCaseIdentifiers(storesLowerCaseIdentifiers);
+		snapshot.setStoresUpperCaseIdentifiers(storesUpperCaseIdentifiers);
+		snapshot.setSearchStringEscape(searchStringEscape);
+
+		for (Map.Entry<String, IntrospectionSnapshot.Scope> entry : snapshotScopes.entrySet()) {
+			if (!scopes.containsKey(entry.getKey())) {
+				snapshot.addScope(entry.getValue());
+			}
+		}
+		scopes.values().forEach(snapshot::addScope);
+
+		return snapshot;
+	}
+
+	private List<TableMetadata> register(List<TableMetadata> candidates) {
+		List<TableMetadata> answer = new ArrayList<>();
+		for (TableMetadata candidate : candidates) {
+			TableMetadata table = tables.get(candidate.getActualTableName());
+			if (table == null) {
+				table = candidate;
+				register(table);
+			}
+			answer.add(table);
+		}
+		return answer;
+	}
+
+	private void register(TableMetadata table) {
+		ActualTableName atn = table.getActualTableName();
+		tables.put(atn, table);
+		tablesByName.computeIfAbsent(atn.getTableName(), k -> new ArrayList<>()).add(table);
+	}
+
+	private List<TableMetadata> load(DatabaseMetaData databaseMetaData, String catalog, String schemaPattern,
+			IntrospectionSnapshot.Scope snapshotScope) throws SQLException {
+		Map<ActualTableName, String> fingerprints = loadFingerprints(databaseMetaData, catalog, schemaPattern);
+
+		List<TableMetadata> answer = null;
+		if (snapshotScope != null && fingerprints != null) {
+			answer = loadChangedTables(databaseMetaData, snapshotScope, fingerprints);
+		}
+		if (answer == null) {
+			answer = loadScope(databaseMetaData, catalog, schemaPattern);
+		}
+
+		if (fingerprints != null) {
+			for (TableMetadata table : answer) {
+				if (table.getFingerprint() == null) {
+					table.setFingerprint(fingerprints.get(table.getActualTableName()));
+				}
+			}
+		}
+
+		return answer;
+	}
+
+	private List<TableMetadata> loadChangedTables(DatabaseMetaData databaseMetaData,
+			IntrospectionSnapshot.Scope snapshotScope, Map<ActualTableName, String> fingerprints) throws SQLException {
+		Map<ActualTableName, TableMetadata> saved = new HashMap<>();
+		for (TableMetadata table : snapshotScope.getTables()) {
+			saved.put(table.getActualTableName(), table);
+		}
+
+		int changed = 0;
+		for (Map.Entry<ActualTableName, String> entry : fingerprints.entrySet()) {
+			if (!tables.containsKey(entry.getKey()) && !isCurrent(saved.get(entry.getKey()), entry.getValue())) {
+				changed++;
+			}
+		}
+		if (changed * 2 > fingerprints.size()) {
+			// one bulk load is cheaper than many single table loads
+			return null;
+		}
+
+		List<TableMetadata> answer = new ArrayList<>();
+		for (Map.Entry<ActualTableName, String> entry : fingerprints.entrySet()) {
+			ActualTableName atn = entry.getKey();
+			TableMetadata table = tables.get(atn);
+			if (table == null) {
+				TableMetadata savedTable = saved.get(atn);
+				if (isCurrent(savedTable, entry.getValue())) {
+					table = savedTable;
+				}
+				else {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Table changed since the introspection snapshot was written: " //$NON-NLS-1$
+								+ atn);
+					}
+					table = loadTable(databaseMetaData, atn);
+					table.setFingerprint(entry.getValue());
+				}
+				register(table);
+			}
+			answer.add(table);
+		}
+
+		return answer;
+	}
+
+	private static boolean isCurrent(TableMetadata savedTable, String fingerprint) {
+		return savedTable != null && fingerprint.equals(savedTable.getFingerprint());
+	}
+
+	private TableMetadata loadTable(DatabaseMetaData databaseMetaData, ActualTableName atn) throws SQLException {
+		String escape = getSearchStringEscape(databaseMetaData);
+		String schemaPattern = atn.getSchema() == null ? null : escapeName(atn.getSchema(), escape);
+		String tableNamePattern = escapeName(atn.getTableName(), escape);
+
+		TableMetadata table = new TableMetadata(atn);
+		try (ResultSet rs = databaseMetaData.getColumns(atn.getCatalog(), schemaPattern, tableNamePattern, "%")) { //$NON-NLS-1$
+			ColumnMetadata.readColumns(rs, (columnTable, column) -> {
+				if (atn.equals(columnTable)) {
+					table.addColumn(column);
+				}
+			});
+		}
+
+		try (ResultSet rs = databaseMetaData.getPrimaryKeys(atn.getCatalog(), atn.getSchema(), atn.getTableName())) {
+			Map<Short, String> keyColumns = new TreeMap<>();
+			while (rs.next()) {
+				keyColumns.put(rs.getShort("KEY_SEQ"), rs.getString("COLUMN_NAME")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			table.setPrimaryKeyColumns(new ArrayList<>(keyColumns.values()));
+		}
+		catch (SQLException e) {
+			// unknown - the introspector will report it
+		}
+
+		try (ResultSet rs = databaseMetaData.getTables(atn.getCatalog(), schemaPattern, tableNamePattern, null)) {
+			while (rs.next()) {
+				if (atn.getTableName().equals(rs.getString("TABLE_NAME"))) { //$NON-NLS-1$
+					table.setTableInformation(rs.getString("REMARKS"), rs.getString("TABLE_TYPE")); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+		}
+		catch (SQLException e) {
+			// unknown - the introspector will ask again
+		}
+
+		return table;
+	}
+
+	/**
+	 * Fetches a fingerprint for every table of a scope with a single query: the column
+	 * count, plus the time of the last table rebuild on MySQL and MariaDB. The fingerprint
+	 * does not see a column whose type changed in place, which is what snapshot mode
+	 * <code>refresh</code> is for.
+	 */
+	private Map<ActualTableName, String> loadFingerprints(DatabaseMetaData databaseMetaData, String catalog,
+			String schemaPattern) {
+		try {
+			String productName = databaseMetaData.getDatabaseProductName();
+			String escape = getSearchStringEscape(databaseMetaData);
+			Map<ActualTableName, String> fingerprints = new LinkedHashMap<>();
+			if (productName != null && (productName.toLowerCase().contains("mysql") //$NON-NLS-1$
+					|| productName.toLowerCase().contains("mariadb"))) { //$NON-NLS-1$
+				if (!stringHasValue(catalog)) {
+					return null;
+				}
+				try (PreparedStatement ps = databaseMetaData.getConnection()
+					.prepareStatement(MYSQL_FINGERPRINT_QUERY)) {
+					ps.setString(1, catalog);
+					try (ResultSet rs = ps.executeQuery()) {
+						while (rs.next()) {
+							fingerprints.put(new ActualTableName(rs.getString("TABLE_SCHEMA"), null, //$NON-NLS-1$
+									rs.getString("TABLE_NAME")), //$NON-NLS-1$
+									"columns=" + rs.getInt("COLUMN_COUNT") //$NON-NLS-1$ //$NON-NLS-2$
+											+ ";created=" + rs.getString("CREATE_TIME")); //$NON-NLS-1$ //$NON-NLS-2$
+						}
+					}
+				}
+				return fingerprints;
+			}
+
+			if (schemaPattern != null && stringHasValue(escape) && schemaPattern.contains(escape)) {
+				// the escape syntax of LIKE differs between databases
+				return null;
+			}
+
+			StringBuilder sql = new StringBuilder(FINGERPRINT_QUERY);
+			List<String> parameters = new ArrayList<>();
+			if (catalog != null) {
+				sql.append(parameters.isEmpty() ? " where" : " and"); //$NON-NLS-1$ //$NON-NLS-2$
+				sql.append(" TABLE_CATALOG = ?"); //$NON-NLS-1$
+				parameters.add(catalog);
+			}
+			if (schemaPattern != null) {
+				sql.append(parameters.isEmpty() ? " where" : " and"); //$NON-NLS-1$ //$NON-NLS-2$
+				sql.append(" TABLE_SCHEMA like ?"); //$NON-NLS-1$
+				parameters.add(schemaPattern);
+			}
+			sql.append(" group by TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME order by TABLE_SCHEMA, TABLE_NAME"); //$NON-NLS-1$
+
+			try (PreparedStatement ps = databaseMetaData.getConnection().prepareStatement(sql.toString())) {
+				for (int i = 0; i < parameters.size(); i++) {
+					ps.setString(i + 1, parameters.get(i));
+				}
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						fingerprints.put(new ActualTableName(rs.getString("TABLE_CATALOG"), //$NON-NLS-1$
+								rs.getString("TABLE_SCHEMA"), //$NON-NLS-1$
+								rs.getString("TABLE_NAME")), //$NON-NLS-1$
+								"columns=" + rs.getInt("COLUMN_COUNT")); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+				}
+			}
+			return fingerprints;
+		}
+		catch (SQLException e) {
+			// no INFORMATION_SCHEMA - every run loads the whole scope
+			return null;
+		}
+	}
+
+	private List<TableMetadata> loadScope(DatabaseMetaData databaseMetaData, String catalog, String schemaPattern)
+			throws SQLException {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Prefetching table metadata for " //$NON-NLS-1$
+					+ composeFullyQualifiedTableName(catalog, schemaPattern, "%", '.')); //$NON-NLS-1$
+		}
+
+		Map<ActualTableName, TableMetadata> scopeTables = new LinkedHashMap<>();
+		Set<ActualTableName> created = new HashSet<>();
+		List<TableMetadata> loaded = new ArrayList<>();
+		try (ResultSet rs = databaseMetaData.getColumns(catalog, schemaPattern, "%", "%")) { //$NON-NLS-1$ //$NON-NLS-2$
+			ColumnMetadata.readColumns(rs, (atn, column) -> {
+				TableMetadata table = scopeTables.get(atn);
+				if (table == null) {
+					table = tables.get(atn);
+					if (table == null) {
+						// first time this table is seen in any scope
+						table = new TableMetadata(atn);
+						register(table);
+						created.add(atn);
+						loaded.add(table);
+					}
+					scopeTables.put(atn, table);
+				}
+				if (created.contains(atn)) {
+					table.addColumn(column);
+				}
+			});
+		}
+
+		loadPrimaryKeys(databaseMetaData, catalog, schemaPattern, loaded);
+		loadTableInformation(databaseMetaData, catalog, schemaPattern);
+
+		return new ArrayList<>(scopeTables.values());
+	}
+
+	private void loadPrimaryKeys(DatabaseMetaData databaseMetaData, String catalog, String schema,
+			List<TableMetadata> loaded) {
+		Map<ActualTableName, Map<Short, String>> keys = new HashMap<>();
+		try (ResultSet rs = databaseMetaData.getPrimaryKeys(catalog, schema, null)) {
+			while (rs.next()) {
+				ActualTableName atn = new ActualTableName(rs.getString("TABLE_CAT"), //$NON-NLS-1$
+						rs.getString("TABLE_SCHEM"), //$NON-NLS-1$
+						rs.getString("TABLE_NAME")); //$NON-NLS-1$
+				keys.computeIfAbsent(atn, k -> new TreeMap<>())
+					.put(rs.getShort("KEY_SEQ"), rs.getString("COLUMN_NAME")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		catch (SQLException e) {
+			keys = loadMySqlPrimaryKeys(databaseMetaData, catalog, loaded);
+		}
+
+		if (keys == null || keys.isEmpty()) {
+			// some drivers silently ignore a null table name, so an empty answer is not
+			// trusted either. The introspector will ask the database for each table.
+			return;
+		}
+
+		for (TableMetadata table : loaded) {
+			Map<Short, String> tableKeys = keys.get(table.getActualTableName());
+			table.setPrimaryKeyColumns(tableKeys == null ? new ArrayList<>() : new ArrayList<>(tableKeys.values()));
+		}
+	}
+
+	private Map<ActualTableName, Map<Short, String>> loadMySqlPrimaryKeys(DatabaseMetaData databaseMetaData,
+			String catalog, List<TableMetadata> loaded) {
+		try {
+			String productName = databaseMetaData.getDatabaseProductName();
+			if (!stringHasValue(catalog) || productName == null || !(productName.toLowerCase().contains("mysql") //$NON-NLS-1$
+					|| productName.toLowerCase().contains("mariadb"))) { //$NON-NLS-1$
+				return null;
+			}
+
+			Map<ActualTableName, Map<Short, String>> keys = new HashMap<>();
+			try (PreparedStatement ps = databaseMetaData.getConnection().prepareStatement(MYSQL_PRIMARY_KEYS_QUERY)) {
+				ps.setString(1, catalog);
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						String tableName = rs.getString("TABLE_NAME"); //$NON-NLS-1$
+						for (TableMetadata table : loaded) {
+							ActualTableName atn = table.getActualTableName();
+							if (atn.getTableName().equals(tableName)) {
+								keys.computeIfAbsent(atn, k -> new TreeMap<>())
+									.put(rs.getShort("ORDINAL_POSITION"), rs.getString("COLUMN_NAME")); //$NON-NLS-1$ //$NON-NLS-2$
+							}
+						}
+					}
+				}
+			}
+			return keys;
+		}
+		catch (SQLException e) {
+			return null;
+		}
+	}
+
+	private void loadTableInformation(DatabaseMetaData databaseMetaData, String catalog, String schemaPattern) {
+		try (ResultSet rs = databaseMetaData.getTables(catalog, schemaPattern, "%", null)) { //$NON-NLS-1$
+			while (rs.next()) {
+				ActualTableName atn = new ActualTableName(rs.getString("TABLE_CAT"), //$NON-NLS-1$
+						rs.getString("TABLE_SCHEM"), //$NON-NLS-1$
+						rs.getString("TABLE_NAME")); //$NON-NLS-1$
+				TableMetadata table = tables.get(atn);
+				if (table != null && !table.isTableInformationLoaded()) {
+					table.setTableInformation(rs.getString("REMARKS"), rs.getString("TABLE_TYPE")); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+		}
+		catch (SQLException e) {
+			// unknown - the introspector will ask the database for each table
+		}
+	}
+
+	private static String scopeKey(String catalog, String schemaPattern) {
+		return composeFullyQualifiedTableName(catalog, schemaPattern, "%", '.'); //$NON-NLS-1$
+	}
+
+	private static String escapeName(String name, String escape) {
+		if (!stringHasValue(escape)) {
+			return name;
+		}
+
+		StringTokenizer st = new StringTokenizer(name, "_%", true); //$NON-NLS-1$
+		StringBuilder sb = new StringBuilder();
+		while (st.hasMoreTokens()) {
+			String token = st.nextToken();
+			if (token.equals("_") || token.equals("%")) { //$NON-NLS-1$ //$NON-NLS-2$
+				sb.append(escape);
+			}
+			sb.append(token);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Evaluates a JDBC metadata search pattern, where <code>%</code> matches any sequence
+	 * of characters, <code>_</code> matches a single character and the driver's search
+	 * string escape turns the next character into a literal.
+	 * @param value the value to test
+	 * @param pattern the search pattern
+	 * @param escape the search string escape, may be null
+	 * @return true if the value matches the pattern
+	 */
+	static boolean likeMatches(String value, String pattern, String escape) {
+		if (value == null) {
+			return false;
+		}
+		return likeMatches(value, 0, pattern, 0, stringHasValue(escape) ? escape : null);
+	}
+
+	private static boolean likeMatches(String value, int v, String pattern, int p, String escape) {
+		while (p < pattern.length()) {
+			if (escape != null && pattern.startsWith(escape, p) && p + escape.length() < pattern.length()) {
+				p += escape.length();
+				if (v >= value.length() || value.charAt(v) != pattern.charAt(p)) {
+					return false;
+				}
+				v++;
+				p++;
+				continue;
+			}
+
+			char c = pattern.charAt(p);
+			if (c == '%') {
+				for (int i = v; i <= value.length(); i++) {
+					if (likeMatches(value, i, pattern, p + 1, escape)) {
+						return true;
+					}
+				}
+				return false;
+			}
+
+			if (v >= value.length() || (c != '_' && c != value.charAt(v))) {
+				return false;
+			}
+			v++;
+			p++;
+		}
+
+		return v == value.length();
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.internal.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything the introspector needs to know about one physical table: its columns in
+ * ordinal order, its primary key columns in key sequence order, its remarks and its
+ * type.
+ *
+ * <p>
+ * The primary key and table information may be filled in by the introspector after the
+ * table was loaded, so those accessors are synchronized.
+ */
+public class TableMetadata {
+
+	private final ActualTableName actualTableName;
+
+	private final List<ColumnMetadata> columns = new ArrayList<>();
+
+	private List<String> primaryKeyColumns;
+
+	private String remarks;
+
+	private String tableType;
+
+	private boolean tableInformationLoaded;
+
+	private String fingerprint;
+
+	public TableMetadata(ActualTableName actualTableName) {
+		this.actualTableName = actualTableName;
+	}
+
+	public ActualTableName getActualTableName() {
+		return actualTableName;
+	}
+
+	public List<ColumnMetadata> getColumns() {
+		return Collections.unmodifiableList(columns);
+	}
+
+	public void addColumn(ColumnMetadata column) {
+		columns.add(column);
+	}
+
+	/**
+	 * Returns the primary key columns of this table.
+	 * @return the primary key columns in key sequence order, or <code>null</code> if the
+	 * primary key is unknown and must be fetched from the database
+	 */
+	public synchronized List<String> getPrimaryKeyColumns() {
+		return primaryKeyColumns;
+	}
+
+	public synchronized void setPrimaryKeyColumns(List<String> primaryKeyColumns) {
+		this.primaryKeyColumns = primaryKeyColumns;
+	}
+
+	public synchronized String getRemarks() {
+		return remarks;
+	}
+
+	public synchronized String getTableType() {
+		return tableType;
+	}
+
+	public synchronized void setTableInformation(String remarks, String tableType) {
+		this.remarks = remarks;
+		this.tableType = tableType;
+		this.tableInformationLoaded = true;
+	}
+
+	/**
+	 * Returns whether remarks and table type are known for this table.
+	 * @return false if the table information must be fetched from the database
+	 */
+	public synchronized boolean isTableInformationLoaded() {
+		return tableInformationLoaded;
+	}
+
+	/**
+	 * Returns a cheap summary of the table definition, used to decide whether a table
+	 * saved in an introspection snapshot is still current.
+	 * @return the fingerprint, or <code>null</code> if the database cannot provide one
+	 */
+	public synchronized String getFingerprint() {
+		return fingerprint;
+	}
+
+	public synchronized void setFingerprint(String fingerprint) {
+		this.fingerprint = fingerprint;
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.internal.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates numbered daemon threads for the generator's worker pools. The threads inherit
+ * the context class loader of the creating thread, so that classes from configured class
+ * path entries can be loaded by the workers.
+ */
+public class WorkerThreadFactory implements ThreadFactory {
+
+	private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+	private final String prefix;
+
+	private final ClassLoader contextClassLoader;
+
+	/**
+	 * Creates a thread factory.
+	 * @param name the thread name prefix, a sequence number is appended to it
+	 */
+	public WorkerThreadFactory(String name) {
+		this.prefix = name + "-"; //$NON-NLS-1$
+		this.contextClassLoader = Thread.currentThread().getContextClassLoader();
+	}
+
+	@Override
+	public Thread newThread(Runnable r) {
+		Thread thread = new Thread(r, prefix + threadNumber.getAndIncrement());
+		thread.setDaemon(true);
+		thread.setContextClassLoader(contextClassLoader);
+		return thread;
+	}
+
+}
@@ -100,6 +100,11 @@ public class CacheNamespacePlugin extends PluginAdapter {
 		return true;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public boolean clientGenerated(Interface interfaze, IntrospectedTable introspectedTable) {
 		if (!skip(introspectedTable)) {
@@ -83,6 +83,11 @@ public class CachePlugin extends PluginAdapter {
 		return true;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public boolean sqlMapDocumentGenerated(Document document, IntrospectedTable introspectedTable) {
 
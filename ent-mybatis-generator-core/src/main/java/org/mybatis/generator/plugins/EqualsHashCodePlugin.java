@@ -68,6 +68,11 @@ public class EqualsHashCodePlugin extends PluginAdapter {
 		return true;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public boolean modelBaseRecordClassGenerated(TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
 		List<IntrospectedColumn> columns;
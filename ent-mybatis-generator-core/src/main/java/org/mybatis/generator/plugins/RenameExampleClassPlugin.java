@@ -85,6 +85,11 @@ public class RenameExampleClassPlugin extends PluginAdapter {
 		return valid;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public void initialized(IntrospectedTable introspectedTable) {
 		String oldType = introspectedTable.getExampleType();
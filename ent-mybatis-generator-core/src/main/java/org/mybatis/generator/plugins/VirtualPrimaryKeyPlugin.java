@@ -47,6 +47,11 @@ public class VirtualPrimaryKeyPlugin extends PluginAdapter {
 		return true;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
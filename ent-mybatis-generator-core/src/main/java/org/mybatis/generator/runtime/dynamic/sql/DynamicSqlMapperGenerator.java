@@ -67,6 +67,9 @@ public class DynamicSqlMapperGenerator extends AbstractJavaClientGenerator {
 
 		boolean reuseResultMap = addBasicSelectManyMethod(interfaze);
 		addBasicSelectOneMethod(interfaze, reuseResultMap);
+		Utils.checkStreamingFetchSize(introspectedTable, warnings);
+		addBasicSelectCursorMethod(interfaze, reuseResultMap);
+		addBasicSelectWithHandlerMethod(interfaze, reuseResultMap);
 
 		addGeneralCountMethod(interfaze);
 		addGeneralDeleteMethod(interfaze);
@@ -76,6 +79,7 @@ public class DynamicSqlMapperGenerator extends AbstractJavaClientGenerator {
 		addInsertSelectiveMethod(interfaze);
 		addSelectListField(interfaze);
 		addGeneralSelectMethod(interfaze);
+		addGeneralStreamingSelectMethods(interfaze);
 		addSelectDistinctMethod(interfaze);
 		addSelectByPrimaryKeyMethod(interfaze);
 		addGeneralUpdateMethod(interfaze);
@@ -236,6 +240,26 @@ public class DynamicSqlMapperGenerator extends AbstractJavaClientGenerator {
 		generate(interfaze, generator);
 	}
 
+	protected void addGeneralStreamingSelectMethods(Interface interfaze) {
+		GeneralSelectCursorMethodGenerator cursorGenerator = new GeneralSelectCursorMethodGenerator.Builder()
+			.withContext(context)
+			.withIntrospectedTable(introspectedTable)
+			.withTableFieldName(tableFieldName)
+			.withRecordType(recordType)
+			.build();
+
+		generate(interfaze, cursorGenerator);
+
+		GeneralSelectWithHandlerMethodGenerator handlerGenerator = new GeneralSelectWithHandlerMethodGenerator.Builder()
+			.withContext(context)
+			.withIntrospectedTable(introspectedTable)
+			.withTableFieldName(tableFieldName)
+			.withRecordType(recordType)
+			.build();
+
+		generate(interfaze, handlerGenerator);
+	}
+
 	protected void addSelectDistinctMethod(Interface interfaze) {
 		GeneralSelectDistinctMethodGenerator generator = new GeneralSelectDistinctMethodGenerator.Builder()
 			.withContext(context)
@@ -308,6 +332,34 @@ public class DynamicSqlMapperGenerator extends AbstractJavaClientGenerator {
 		generate(interfaze, generator);
 	}
 
+	protected void addBasicSelectCursorMethod(Interface interfaze, boolean reuseResultMap) {
+		BasicSelectCursorMethodGenerator generator = new BasicSelectCursorMethodGenerator.Builder()
+			.withContext(context)
+			.withFragmentGenerator(fragmentGenerator)
+			.withIntrospectedTable(introspectedTable)
+			.withTableFieldName(tableFieldName)
+			.withRecordType(recordType)
+			.withResultMapId(resultMapId)
+			.withReuseResultMap(reuseResultMap)
+			.build();
+
+		generate(interfaze, generator);
+	}
+
+	protected void addBasicSelectWithHandlerMethod(Interface interfaze, boolean reuseResultMap) {
+		BasicSelectWithHandlerMethodGenerator generator = new BasicSelectWithHandlerMethodGenerator.Builder()
+			.withContext(context)
+			.withFragmentGenerator(fragmentGenerator)
+			.withIntrospectedTable(introspectedTable)
+			.withTableFieldName(tableFieldName)
+			.withRecordType(recordType)
+			.withResultMapId(resultMapId)
+			.withReuseResultMap(reuseResultMap)
+			.build();
+
+		generate(interfaze, generator);
+	}
+
 	protected void addDeleteByPrimaryKeyMethod(Interface interfaze) {
 		DeleteByPrimaryKeyMethodGenerator generator = new DeleteByPrimaryKeyMethodGenerator.Builder()
 			.withContext(context)
@@ -56,7 +56,6 @@ public class DynamicSqlModelGenerator extends AbstractJavaGenerator {
 		Plugin plugins = context.getPlugins();
 		CommentGenerator commentGenerator = context.getCommentGenerator();
 
-		List<IntrospectedTable> tables = context.getIntrospectedTables();
 		FullyQualifiedJavaType type = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
 		TopLevelClass topLevelClass = new TopLevelClass(type);
 		// build connection between introspectedTable and base model Top Level class
@@ -67,8 +66,9 @@ public class DynamicSqlModelGenerator extends AbstractJavaGenerator {
 		boolean parentTableFound = false;
 		if (StringUtility.stringHasValue(introspectedTable.getTableConfiguration().getParentTable())) {
 			// Has parent table defined
-			IntrospectedTable parentTable = findParentTable(tables,
-					introspectedTable.getTableConfiguration().getParentTable());
+			IntrospectedTable parentTable = context.getIntrospectedTableIndex()
+				.getTable(introspectedTable.getTableConfiguration().getParentTable())
+				.orElse(null);
 			if (parentTable != null) {
 				parentTableFound = true;
 				superClass = new FullyQualifiedJavaType(parentTable.getBaseRecordType());
@@ -97,14 +97,14 @@ public class DynamicSqlModelGenerator extends AbstractJavaGenerator {
 		}
 
 		String rootClass = getRootClass();
-		RootClassInfo rootClassInfo = RootClassInfo.getInstance(rootClass, warnings);
+		RootClassInfo rootClassInfo = RootClassInfo.getInstance(context, rootClass, warnings);
 		// 永远不会为null
 		if (rootClassInfo == null) {
 			throw new RuntimeException("Can't get root class");
 		}
 		String modelInterface = getModelInterface();
 		if (StringUtils.isNotEmpty(modelInterface)) {
-			RootClassInfo modelInterfaceClassInfo = RootClassInfo.getInstance(modelInterface, warnings);
+			RootClassInfo modelInterfaceClassInfo = RootClassInfo.getInstance(context, modelInterface, warnings);
 			if (modelInterfaceClassInfo == null) {
 				throw new RuntimeException("Can't get model interface");
 			}
@@ -151,15 +151,6 @@ public class DynamicSqlModelGenerator extends AbstractJavaGenerator {
 		return answer;
 	}
 
-	private IntrospectedTable findParentTable(List<IntrospectedTable> tables, String parentTable) {
-		return tables.stream()
-			.filter(introspectedTable1 -> introspectedTable1.getFullyQualifiedTable()
-				.getIntrospectedTableName()
-				.equals(parentTable))
-			.findFirst()
-			.orElse(null);
-	}
-
 	private FullyQualifiedJavaType getSuperClass() {
 		FullyQualifiedJavaType superClass;
 		String rootClass = getRootClass();
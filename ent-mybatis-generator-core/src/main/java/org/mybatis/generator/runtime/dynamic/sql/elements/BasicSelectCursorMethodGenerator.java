@@ -0,0 +1,143 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.runtime.dynamic.sql.elements;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+
+/**
+ * Generates the mapper statement that returns a MyBatis Cursor. Rows are fetched from the
+ * open result set while the cursor is iterated, so the session (with Spring, the
+ * transaction) must stay open until the cursor is closed.
+ */
+public class BasicSelectCursorMethodGenerator extends AbstractMethodGenerator {
+
+	private final FullyQualifiedJavaType recordType;
+
+	private final String resultMapId;
+
+	private final FragmentGenerator fragmentGenerator;
+
+	private final boolean reuseResultMap;
+
+	private BasicSelectCursorMethodGenerator(Builder builder) {
+		super(builder);
+		recordType = builder.recordType;
+		resultMapId = builder.resultMapId;
+		fragmentGenerator = builder.fragmentGenerator;
+		reuseResultMap = builder.reuseResultMap;
+	}
+
+	@Override
+	public MethodAndImports generateMethodAndImports() {
+		if (!Utils.generateStreamingSelects(introspectedTable)) {
+			return null;
+		}
+
+		Set<FullyQualifiedJavaType> imports = new HashSet<>();
+
+		FullyQualifiedJavaType parameterType = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.select.render.SelectStatementProvider"); //$NON-NLS-1$
+		imports.add(parameterType);
+
+		FullyQualifiedJavaType adapter = new FullyQualifiedJavaType("org.mybatis.dynamic.sql.util.SqlProviderAdapter"); //$NON-NLS-1$
+		imports.add(adapter);
+
+		FullyQualifiedJavaType annotation = new FullyQualifiedJavaType("org.apache.ibatis.annotations.SelectProvider"); //$NON-NLS-1$
+		imports.add(annotation);
+
+		imports.add(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Options")); //$NON-NLS-1$
+		imports.add(recordType);
+
+		Method method = new Method("selectCursor"); //$NON-NLS-1$
+		method.setAbstract(true);
+
+		FullyQualifiedJavaType returnType = new FullyQualifiedJavaType("org.apache.ibatis.cursor.Cursor"); //$NON-NLS-1$
+		returnType.addTypeArgument(recordType);
+		imports.add(returnType);
+		method.setReturnType(returnType);
+		method.addParameter(new Parameter(parameterType, "selectStatement")); //$NON-NLS-1$
+
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, imports);
+		method.addAnnotation("@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")"); //$NON-NLS-1$
+		method.addAnnotation("@Options(fetchSize=" //$NON-NLS-1$
+				+ Utils.getStreamingFetchSize(introspectedTable) + ")"); //$NON-NLS-1$
+
+		MethodAndImports.Builder builder = MethodAndImports.withMethod(method).withImports(imports);
+
+		if (introspectedTable.isConstructorBased()) {
+			MethodParts methodParts = fragmentGenerator.getAnnotatedConstructorArgs();
+			acceptParts(builder, method, methodParts);
+		}
+		else {
+			if (reuseResultMap) {
+				FullyQualifiedJavaType rmAnnotation = new FullyQualifiedJavaType(
+						"org.apache.ibatis.annotations.ResultMap"); //$NON-NLS-1$
+				builder.withImport(rmAnnotation);
+				method.addAnnotation("@ResultMap(\"" + resultMapId + "\")"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			else {
+				MethodParts methodParts = fragmentGenerator.getAnnotatedResults();
+				acceptParts(builder, method, methodParts);
+			}
+		}
+
+		return builder.build();
+	}
+
+	@Override
+	public boolean callPlugins(Method method, Interface interfaze) {
+		return context.getPlugins().clientBasicSelectCursorMethodGenerated(method, interfaze, introspectedTable);
+	}
+
+	public static class Builder extends BaseBuilder<Builder> {
+
+		private FullyQualifiedJavaType recordType;
+
+		private String resultMapId;
+
+		private FragmentGenerator fragmentGenerator;
+
+		private boolean reuseResultMap;
+
+		public Builder withRecordType(FullyQualifiedJavaType recordType) {
+			this.recordType = recordType;
+			return this;
+		}
+
+		public Builder withResultMapId(String resultMapId) {
+			this.resultMapId = resultMapId;
+			return this;
+		}
+
+		public Builder withFragmentGenerator(FragmentGenerator fragmentGenerator) {
+			this.fragmentGenerator = fragmentGenerator;
+			return this;
+		}
+
+		public Builder withReuseResultMap(boolean reuseResultMap) {
+			this.reuseResultMap = reuseResultMap;
+			return this;
+		}
+
+		@Override
+		public Builder getThis() {
+			return this;
+		}
+
+		public BasicSelectCursorMethodGenerator build() {
+			return new BasicSelectCursorMethodGenerator(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.runtime.dynamic.sql.elements;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+
+/**
+ * Generates the mapper statement that passes each row to a ResultHandler instead of
+ * collecting the rows in a list. The rows are handled before the statement returns, so no
+ * open session is needed afterwards.
+ */
+public class BasicSelectWithHandlerMethodGenerator extends AbstractMethodGenerator {
+
+	private final FullyQualifiedJavaType recordType;
+
+	private final String resultMapId;
+
+	private final FragmentGenerator fragmentGenerator;
+
+	private final boolean reuseResultMap;
+
+	private BasicSelectWithHandlerMethodGenerator(Builder builder) {
+		super(builder);
+		recordType = builder.recordType;
+		resultMapId = builder.resultMapId;
+		fragmentGenerator = builder.fragmentGenerator;
+		reuseResultMap = builder.reuseResultMap;
+	}
+
+	@Override
+	public MethodAndImports generateMethodAndImports() {
+		if (!Utils.generateStreamingSelects(introspectedTable)) {
+			return null;
+		}
+
+		Set<FullyQualifiedJavaType> imports = new HashSet<>();
+
+		FullyQualifiedJavaType parameterType = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.select.render.SelectStatementProvider"); //$NON-NLS-1$
+		imports.add(parameterType);
+
+		FullyQualifiedJavaType adapter = new FullyQualifiedJavaType("org.mybatis.dynamic.sql.util.SqlProviderAdapter"); //$NON-NLS-1$
+		imports.add(adapter);
+
+		FullyQualifiedJavaType annotation = new FullyQualifiedJavaType("org.apache.ibatis.annotations.SelectProvider"); //$NON-NLS-1$
+		imports.add(annotation);
+
+		imports.add(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Options")); //$NON-NLS-1$
+		imports.add(recordType);
+
+		Method method = new Method("selectManyWithHandler"); //$NON-NLS-1$
+		method.setAbstract(true);
+
+		FullyQualifiedJavaType handlerType = new FullyQualifiedJavaType(
+				"org.apache.ibatis.session.ResultHandler"); //$NON-NLS-1$
+		handlerType.addTypeArgument(recordType);
+		imports.add(handlerType);
+		method.addParameter(new Parameter(parameterType, "selectStatement")); //$NON-NLS-1$
+		method.addParameter(new Parameter(handlerType, "handler")); //$NON-NLS-1$
+
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, imports);
+		method.addAnnotation("@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")"); //$NON-NLS-1$
+		method.addAnnotation("@Options(fetchSize=" //$NON-NLS-1$
+				+ Utils.getStreamingFetchSize(introspectedTable) + ")"); //$NON-NLS-1$
+
+		MethodAndImports.Builder builder = MethodAndImports.withMethod(method).withImports(imports);
+
+		if (introspectedTable.isConstructorBased()) {
+			MethodParts methodParts = fragmentGenerator.getAnnotatedConstructorArgs();
+			acceptParts(builder, method, methodParts);
+		}
+		else {
+			if (reuseResultMap) {
+				FullyQualifiedJavaType rmAnnotation = new FullyQualifiedJavaType(
+						"org.apache.ibatis.annotations.ResultMap"); //$NON-NLS-1$
+				builder.withImport(rmAnnotation);
+				method.addAnnotation("@ResultMap(\"" + resultMapId + "\")"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			else {
+				MethodParts methodParts = fragmentGenerator.getAnnotatedResults();
+				acceptParts(builder, method, methodParts);
+			}
+		}
+
+		return builder.build();
+	}
+
+	@Override
+	public boolean callPlugins(Method method, Interface interfaze) {
+		return context.getPlugins().clientBasicSelectWithHandlerMethodGenerated(method, interfaze, introspectedTable);
+	}
+
+	public static class Builder extends BaseBuilder<Builder> {
+
+		private FullyQualifiedJavaType recordType;
+
+		private String resultMapId;
+
+		private FragmentGenerator fragmentGenerator;
+
+		private boolean reuseResultMap;
+
+		public Builder withRecordType(FullyQualifiedJavaType recordType) {
+			this.recordType = recordType;
+			return this;
+		}
+
+		public Builder withResultMapId(String resultMapId) {
+			this.resultMapId = resultMapId;
+			return this;
+		}
+
+		public Builder withFragmentGenerator(FragmentGenerator fragmentGenerator) {
+			this.fragmentGenerator = fragmentGenerator;
+			return this;
+		}
+
+		public Builder withReuseResultMap(boolean reuseResultMap) {
+			this.reuseResultMap = reuseResultMap;
+			return this;
+		}
+
+		@Override
+		public Builder getThis() {
+			return this;
+		}
+
+		public BasicSelectWithHandlerMethodGenerator build() {
+			return new BasicSelectWithHandlerMethodGenerator(this);
+		}
+
+	}
+
+}
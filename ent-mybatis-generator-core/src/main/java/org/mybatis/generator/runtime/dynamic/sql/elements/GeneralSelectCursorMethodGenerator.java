@@ -0,0 +1,86 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.runtime.dynamic.sql.elements;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+
+/**
+ * Generates the cursor variant of the general select method.
+ */
+public class GeneralSelectCursorMethodGenerator extends AbstractMethodGenerator {
+
+	private final FullyQualifiedJavaType recordType;
+
+	private GeneralSelectCursorMethodGenerator(Builder builder) {
+		super(builder);
+		recordType = builder.recordType;
+	}
+
+	@Override
+	public MethodAndImports generateMethodAndImports() {
+		if (!Utils.generateStreamingSelects(introspectedTable)) {
+			return null;
+		}
+
+		Set<FullyQualifiedJavaType> imports = new HashSet<>();
+
+		FullyQualifiedJavaType parameterType = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.select.SelectDSLCompleter"); //$NON-NLS-1$
+
+		imports.add(parameterType);
+		imports.add(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.util.mybatis3.MyBatis3Utils")); //$NON-NLS-1$
+
+		FullyQualifiedJavaType returnType = new FullyQualifiedJavaType("org.apache.ibatis.cursor.Cursor"); //$NON-NLS-1$
+		returnType.addTypeArgument(recordType);
+
+		imports.add(returnType);
+
+		Method method = new Method("selectCursor"); //$NON-NLS-1$
+		method.setDefault(true);
+		method.addParameter(new Parameter(parameterType, "completer")); //$NON-NLS-1$
+
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, imports);
+
+		method.setReturnType(returnType);
+		method.addBodyLine("return selectCursor(MyBatis3Utils.select(selectList, " //$NON-NLS-1$
+				+ tableFieldName + ", completer));"); //$NON-NLS-1$
+
+		return MethodAndImports.withMethod(method).withImports(imports).build();
+	}
+
+	@Override
+	public boolean callPlugins(Method method, Interface interfaze) {
+		return context.getPlugins().clientGeneralSelectCursorMethodGenerated(method, interfaze, introspectedTable);
+	}
+
+	public static class Builder extends BaseBuilder<Builder> {
+
+		private FullyQualifiedJavaType recordType;
+
+		public Builder withRecordType(FullyQualifiedJavaType recordType) {
+			this.recordType = recordType;
+			return this;
+		}
+
+		@Override
+		public Builder getThis() {
+			return this;
+		}
+
+		public GeneralSelectCursorMethodGenerator build() {
+			return new GeneralSelectCursorMethodGenerator(this);
+		}
+
+	}
+
+}
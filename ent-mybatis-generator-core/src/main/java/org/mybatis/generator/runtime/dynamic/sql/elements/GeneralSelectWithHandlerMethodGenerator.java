@@ -0,0 +1,87 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.runtime.dynamic.sql.elements;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+
+/**
+ * Generates the result handler variant of the general select method.
+ */
+public class GeneralSelectWithHandlerMethodGenerator extends AbstractMethodGenerator {
+
+	private final FullyQualifiedJavaType recordType;
+
+	private GeneralSelectWithHandlerMethodGenerator(Builder builder) {
+		super(builder);
+		recordType = builder.recordType;
+	}
+
+	@Override
+	public MethodAndImports generateMethodAndImports() {
+		if (!Utils.generateStreamingSelects(introspectedTable)) {
+			return null;
+		}
+
+		Set<FullyQualifiedJavaType> imports = new HashSet<>();
+
+		FullyQualifiedJavaType parameterType = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.select.SelectDSLCompleter"); //$NON-NLS-1$
+
+		imports.add(parameterType);
+		imports.add(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.util.mybatis3.MyBatis3Utils")); //$NON-NLS-1$
+
+		FullyQualifiedJavaType handlerType = new FullyQualifiedJavaType(
+				"org.apache.ibatis.session.ResultHandler"); //$NON-NLS-1$
+		handlerType.addTypeArgument(recordType);
+
+		imports.add(handlerType);
+
+		Method method = new Method("select"); //$NON-NLS-1$
+		method.setDefault(true);
+		method.addParameter(new Parameter(parameterType, "completer")); //$NON-NLS-1$
+		method.addParameter(new Parameter(handlerType, "handler")); //$NON-NLS-1$
+
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, imports);
+
+		method.addBodyLine("selectManyWithHandler(MyBatis3Utils.select(selectList, " //$NON-NLS-1$
+				+ tableFieldName + ", completer), handler);"); //$NON-NLS-1$
+
+		return MethodAndImports.withMethod(method).withImports(imports).build();
+	}
+
+	@Override
+	public boolean callPlugins(Method method, Interface interfaze) {
+		return context.getPlugins().clientGeneralSelectWithHandlerMethodGenerated(method, interfaze, introspectedTable);
+	}
+
+	public static class Builder extends BaseBuilder<Builder> {
+
+		private FullyQualifiedJavaType recordType;
+
+		public Builder withRecordType(FullyQualifiedJavaType recordType) {
+			this.recordType = recordType;
+			return this;
+		}
+
+		@Override
+		public Builder getThis() {
+			return this;
+		}
+
+		public GeneralSelectWithHandlerMethodGenerator build() {
+			return new GeneralSelectWithHandlerMethodGenerator(this);
+		}
+
+	}
+
+}
@@ -20,12 +20,21 @@ import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.codegen.mybatis3.ListUtilities;
 import org.mybatis.generator.config.GeneratedKey;
+import org.mybatis.generator.config.JavaClientGeneratorConfiguration;
+import org.mybatis.generator.config.PropertyRegistry;
 import org.mybatis.generator.internal.util.JavaBeansUtil;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.mybatis.generator.internal.util.StringUtility.isTrue;
+import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
 public class Utils {
 
+	private static final int DEFAULT_STREAMING_FETCH_SIZE = 1000;
+
 	public static boolean generateDeleteByPrimaryKey(IntrospectedTable introspectedTable) {
 		return introspectedTable.hasPrimaryKeyColumns();
 	}
@@ -57,6 +66,72 @@ public class Utils {
 				&& (introspectedTable.hasBLOBColumns() || introspectedTable.hasBaseColumns());
 	}
 
+	/**
+	 * Streaming selects (cursor and result handler variants of the general select) are
+	 * generated when the streamingSelects property is true on the table, or on the java
+	 * client generator when the table does not set it.
+	 */
+	public static boolean generateStreamingSelects(IntrospectedTable introspectedTable) {
+		String property = introspectedTable.getTableConfigurationProperty(PropertyRegistry.CLIENT_STREAMING_SELECTS);
+		JavaClientGeneratorConfiguration config = introspectedTable.getContext()
+			.getJavaClientGeneratorConfiguration();
+		if (!stringHasValue(property) && config != null) {
+			property = config.getProperty(PropertyRegistry.CLIENT_STREAMING_SELECTS);
+		}
+		return isTrue(property);
+	}
+
+	/**
+	 * The fetch size hint for the streaming selects. Drivers differ here - MySQL only
+	 * streams rows with Integer.MIN_VALUE (or with useCursorFetch), PostgreSQL needs a
+	 * positive value inside a transaction.
+	 */
+	public static int getStreamingFetchSize(IntrospectedTable introspectedTable) {
+		String property = getStreamingFetchSizeProperty(introspectedTable);
+		if (stringHasValue(property)) {
+			try {
+				return Integer.parseInt(property.trim());
+			}
+			catch (NumberFormatException e) {
+				// reported by checkStreamingFetchSize - use the default
+			}
+		}
+		return DEFAULT_STREAMING_FETCH_SIZE;
+	}
+
+	/**
+	 * Adds a warning if the streaming selects are generated for the table and the
+	 * streamingFetchSize property is not an integer. The generated methods use the
+	 * default fetch size in that case.
+	 */
+	public static void checkStreamingFetchSize(IntrospectedTable introspectedTable, List<String> warnings) {
+		if (!generateStreamingSelects(introspectedTable)) {
+			return;
+		}
+		String property = getStreamingFetchSizeProperty(introspectedTable);
+		if (stringHasValue(property)) {
+			try {
+				Integer.parseInt(property.trim());
+			}
+			catch (NumberFormatException e) {
+				warnings.add(getString("Warning.40", PropertyRegistry.CLIENT_STREAMING_FETCH_SIZE, property, //$NON-NLS-1$
+						introspectedTable.getFullyQualifiedTable().toString(),
+						Integer.toString(DEFAULT_STREAMING_FETCH_SIZE)));
+			}
+		}
+	}
+
+	private static String getStreamingFetchSizeProperty(IntrospectedTable introspectedTable) {
+		String property = introspectedTable
+			.getTableConfigurationProperty(PropertyRegistry.CLIENT_STREAMING_FETCH_SIZE);
+		JavaClientGeneratorConfiguration config = introspectedTable.getContext()
+			.getJavaClientGeneratorConfiguration();
+		if (!stringHasValue(property) && config != null) {
+			property = config.getProperty(PropertyRegistry.CLIENT_STREAMING_FETCH_SIZE);
+		}
+		return property;
+	}
+
 	public static Optional<IntrospectedColumn> getVersionColumn(IntrospectedTable introspectedTable) {
 		String versionColumn = introspectedTable.getTableConfiguration().getVersionColumn();
 		if (StringUtils.isNotEmpty(versionColumn)) {
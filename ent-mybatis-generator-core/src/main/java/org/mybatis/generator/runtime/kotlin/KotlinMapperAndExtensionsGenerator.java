@@ -24,18 +24,23 @@ import org.mybatis.generator.api.dom.kotlin.FullyQualifiedKotlinType;
 import org.mybatis.generator.api.dom.kotlin.KotlinFile;
 import org.mybatis.generator.api.dom.kotlin.KotlinType;
 import org.mybatis.generator.codegen.AbstractKotlinGenerator;
+import org.mybatis.generator.runtime.dynamic.sql.elements.Utils;
 import org.mybatis.generator.runtime.kotlin.elements.AbstractKotlinFunctionGenerator;
 import org.mybatis.generator.runtime.kotlin.elements.BasicInsertMethodGenerator;
 import org.mybatis.generator.runtime.kotlin.elements.BasicMultipleInsertMethodGenerator;
+import org.mybatis.generator.runtime.kotlin.elements.BasicSelectCursorMethodGenerator;
 import org.mybatis.generator.runtime.kotlin.elements.BasicSelectManyMethodGenerator;
 import org.mybatis.generator.runtime.kotlin.elements.BasicSelectOneMethodGenerator;
+import org.mybatis.generator.runtime.kotlin.elements.BasicSelectWithHandlerMethodGenerator;
 import org.mybatis.generator.runtime.kotlin.elements.ColumnListGenerator;
 import org.mybatis.generator.runtime.kotlin.elements.DeleteByPrimaryKeyMethodGenerator;
 import org.mybatis.generator.runtime.kotlin.elements.GeneralCountMethodGenerator;
 import org.mybatis.generator.runtime.kotlin.elements.GeneralDeleteMethodGenerator;
+import org.mybatis.generator.runtime.kotlin.elements.GeneralSelectCursorMethodGenerator;
 import org.mybatis.generator.runtime.kotlin.elements.GeneralSelectDistinctMethodGenerator;
 import org.mybatis.generator.runtime.kotlin.elements.GeneralSelectMethodGenerator;
 import org.mybatis.generator.runtime.kotlin.elements.GeneralSelectOneMethodGenerator;
+import org.mybatis.generator.runtime.kotlin.elements.GeneralSelectWithHandlerMethodGenerator;
 import org.mybatis.generator.runtime.kotlin.elements.GeneralUpdateMethodGenerator;
 import org.mybatis.generator.runtime.kotlin.elements.InsertMethodGenerator;
 import org.mybatis.generator.runtime.kotlin.elements.InsertMultipleMethodGenerator;
@@ -165,6 +170,9 @@ public class KotlinMapperAndExtensionsGenerator extends AbstractKotlinGenerator
 
 		boolean reuseResultMap = addBasicSelectManyMethod(mapperFile, mapper);
 		addBasicSelectOneMethod(mapperFile, mapper, reuseResultMap);
+		Utils.checkStreamingFetchSize(introspectedTable, warnings);
+		addBasicSelectCursorMethod(mapperFile, mapper, reuseResultMap);
+		addBasicSelectWithHandlerMethod(mapperFile, mapper, reuseResultMap);
 
 		String mapperName = mapper.getName();
 
@@ -177,6 +185,7 @@ public class KotlinMapperAndExtensionsGenerator extends AbstractKotlinGenerator
 		addInsertSelectiveMethod(mapperFile, mapper, mapperName);
 		addColumnListProperty(mapperFile);
 		addGeneralSelectMethod(mapperFile, mapperName);
+		addGeneralStreamingSelectMethods(mapperFile, mapperName);
 		addSelectDistinctMethod(mapperFile, mapperName);
 		addSelectByPrimaryKeyMethod(mapperFile, mapperName);
 		addGeneralUpdateMethod(mapperFile, mapper, mapperName);
@@ -314,6 +323,28 @@ public class KotlinMapperAndExtensionsGenerator extends AbstractKotlinGenerator
 		generate(kotlinFile, generator);
 	}
 
+	protected void addGeneralStreamingSelectMethods(KotlinFile kotlinFile, String mapperName) {
+		GeneralSelectCursorMethodGenerator cursorGenerator = new GeneralSelectCursorMethodGenerator.Builder()
+			.withContext(context)
+			.withIntrospectedTable(introspectedTable)
+			.withTableFieldName(supportClassGenerator.getTablePropertyName())
+			.withRecordType(recordType)
+			.withMapperName(mapperName)
+			.build();
+
+		generate(kotlinFile, cursorGenerator);
+
+		GeneralSelectWithHandlerMethodGenerator handlerGenerator = new GeneralSelectWithHandlerMethodGenerator.Builder()
+			.withContext(context)
+			.withIntrospectedTable(introspectedTable)
+			.withTableFieldName(supportClassGenerator.getTablePropertyName())
+			.withRecordType(recordType)
+			.withMapperName(mapperName)
+			.build();
+
+		generate(kotlinFile, handlerGenerator);
+	}
+
 	protected void addSelectDistinctMethod(KotlinFile kotlinFile, String mapperName) {
 		GeneralSelectDistinctMethodGenerator generator = new GeneralSelectDistinctMethodGenerator.Builder()
 			.withContext(context)
@@ -385,6 +416,35 @@ public class KotlinMapperAndExtensionsGenerator extends AbstractKotlinGenerator
 		generate(kotlinFile, kotlinType, generator);
 	}
 
+	protected void addBasicSelectCursorMethod(KotlinFile kotlinFile, KotlinType kotlinType, boolean reuseResultMap) {
+		BasicSelectCursorMethodGenerator generator = new BasicSelectCursorMethodGenerator.Builder()
+			.withContext(context)
+			.withFragmentGenerator(fragmentGenerator)
+			.withIntrospectedTable(introspectedTable)
+			.withTableFieldName(supportClassGenerator.getTablePropertyName())
+			.withRecordType(recordType)
+			.withResultMapId(resultMapId)
+			.withReuseResultMap(reuseResultMap)
+			.build();
+
+		generate(kotlinFile, kotlinType, generator);
+	}
+
+	protected void addBasicSelectWithHandlerMethod(KotlinFile kotlinFile, KotlinType kotlinType,
+			boolean reuseResultMap) {
+		BasicSelectWithHandlerMethodGenerator generator = new BasicSelectWithHandlerMethodGenerator.Builder()
+			.withContext(context)
+			.withFragmentGenerator(fragmentGenerator)
+			.withIntrospectedTable(introspectedTable)
+			.withTableFieldName(supportClassGenerator.getTablePropertyName())
+			.withRecordType(recordType)
+			.withResultMapId(resultMapId)
+			.withReuseResultMap(reuseResultMap)
+			.build();
+
+		generate(kotlinFile, kotlinType, generator);
+	}
+
 	protected void addDeleteByPrimaryKeyMethod(KotlinFile kotlinFile, String mapperName) {
 		DeleteByPrimaryKeyMethodGenerator generator = new DeleteByPrimaryKeyMethodGenerator.Builder()
 			.withContext(context)
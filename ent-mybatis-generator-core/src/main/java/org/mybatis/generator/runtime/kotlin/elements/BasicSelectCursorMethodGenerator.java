@@ -0,0 +1,125 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.runtime.kotlin.elements;
+
+import org.mybatis.generator.api.dom.kotlin.FullyQualifiedKotlinType;
+import org.mybatis.generator.api.dom.kotlin.KotlinArg;
+import org.mybatis.generator.api.dom.kotlin.KotlinFile;
+import org.mybatis.generator.api.dom.kotlin.KotlinFunction;
+import org.mybatis.generator.runtime.dynamic.sql.elements.Utils;
+
+/**
+ * Generates the mapper function that returns a MyBatis Cursor. The session must stay open
+ * until the cursor is closed.
+ */
+public class BasicSelectCursorMethodGenerator extends AbstractKotlinFunctionGenerator {
+
+	private final FullyQualifiedKotlinType recordType;
+
+	private final String resultMapId;
+
+	private final KotlinFragmentGenerator fragmentGenerator;
+
+	private final boolean reuseResultMap;
+
+	private BasicSelectCursorMethodGenerator(Builder builder) {
+		super(builder);
+		recordType = builder.recordType;
+		resultMapId = builder.resultMapId;
+		fragmentGenerator = builder.fragmentGenerator;
+		reuseResultMap = builder.reuseResultMap;
+	}
+
+	@Override
+	public KotlinFunctionAndImports generateMethodAndImports() {
+		if (!Utils.generateStreamingSelects(introspectedTable)) {
+			return null;
+		}
+
+		KotlinFunctionAndImports functionAndImports = KotlinFunctionAndImports
+			.withFunction(KotlinFunction.newOneLineFunction("selectCursor") //$NON-NLS-1$
+				.withExplicitReturnType("Cursor<" //$NON-NLS-1$
+						+ recordType.getShortNameWithTypeArguments() + ">") //$NON-NLS-1$
+				.withArgument(KotlinArg.newArg("selectStatement") //$NON-NLS-1$
+					.withDataType("SelectStatementProvider") //$NON-NLS-1$
+					.build())
+				.withAnnotation("@SelectProvider(type=SqlProviderAdapter::class, method=\"select\")") //$NON-NLS-1$
+				.withAnnotation("@Options(fetchSize=" //$NON-NLS-1$
+						+ Utils.getStreamingFetchSize(introspectedTable) + ")") //$NON-NLS-1$
+				.build())
+			.withImport("org.apache.ibatis.cursor.Cursor") //$NON-NLS-1$
+			.withImport("org.mybatis.dynamic.sql.select.render.SelectStatementProvider") //$NON-NLS-1$
+			.withImport("org.mybatis.dynamic.sql.util.SqlProviderAdapter") //$NON-NLS-1$
+			.withImport("org.apache.ibatis.annotations.SelectProvider") //$NON-NLS-1$
+			.withImport("org.apache.ibatis.annotations.Options") //$NON-NLS-1$
+			.withImports(recordType.getImportList())
+			.build();
+
+		addFunctionComment(functionAndImports);
+
+		if (reuseResultMap) {
+			functionAndImports.getImports().add("org.apache.ibatis.annotations.ResultMap"); //$NON-NLS-1$
+			functionAndImports.getFunction()
+				.addAnnotation("@ResultMap(\"" //$NON-NLS-1$
+						+ resultMapId + "\")"); //$NON-NLS-1$
+		}
+		else {
+			KotlinFunctionParts functionParts = fragmentGenerator.getAnnotatedResults();
+			acceptParts(functionAndImports, functionParts);
+		}
+
+		return functionAndImports;
+	}
+
+	@Override
+	public boolean callPlugins(KotlinFunction kotlinFunction, KotlinFile kotlinFile) {
+		return context.getPlugins()
+			.clientBasicSelectCursorMethodGenerated(kotlinFunction, kotlinFile, introspectedTable);
+	}
+
+	public static class Builder extends BaseBuilder<Builder> {
+
+		private FullyQualifiedKotlinType recordType;
+
+		private String resultMapId;
+
+		private KotlinFragmentGenerator fragmentGenerator;
+
+		private boolean reuseResultMap;
+
+		public Builder withRecordType(FullyQualifiedKotlinType recordType) {
+			this.recordType = recordType;
+			return this;
+		}
+
+		public Builder withResultMapId(String resultMapId) {
+			this.resultMapId = resultMapId;
+			return this;
+		}
+
+		public Builder withFragmentGenerator(KotlinFragmentGenerator fragmentGenerator) {
+			this.fragmentGenerator = fragmentGenerator;
+			return this;
+		}
+
+		public Builder withReuseResultMap(boolean reuseResultMap) {
+			this.reuseResultMap = reuseResultMap;
+			return this;
+		}
+
+		@Override
+		public Builder getThis() {
+			return this;
+		}
+
+		public BasicSelectCursorMethodGenerator build() {
+			return new BasicSelectCursorMethodGenerator(this);
+		}
+
+	}
+
+}
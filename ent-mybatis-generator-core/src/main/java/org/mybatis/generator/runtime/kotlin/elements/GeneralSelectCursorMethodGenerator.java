@@ -0,0 +1,89 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.runtime.kotlin.elements;
+
+import org.mybatis.generator.api.dom.kotlin.FullyQualifiedKotlinType;
+import org.mybatis.generator.api.dom.kotlin.KotlinArg;
+import org.mybatis.generator.api.dom.kotlin.KotlinFile;
+import org.mybatis.generator.api.dom.kotlin.KotlinFunction;
+import org.mybatis.generator.runtime.dynamic.sql.elements.Utils;
+
+/**
+ * Generates the cursor variant of the general select extension function.
+ */
+public class GeneralSelectCursorMethodGenerator extends AbstractKotlinFunctionGenerator {
+
+	private final FullyQualifiedKotlinType recordType;
+
+	private final String mapperName;
+
+	private GeneralSelectCursorMethodGenerator(Builder builder) {
+		super(builder);
+		recordType = builder.recordType;
+		mapperName = builder.mapperName;
+	}
+
+	@Override
+	public KotlinFunctionAndImports generateMethodAndImports() {
+		if (!Utils.generateStreamingSelects(introspectedTable)) {
+			return null;
+		}
+
+		KotlinFunctionAndImports functionAndImports = KotlinFunctionAndImports
+			.withFunction(KotlinFunction.newOneLineFunction(mapperName + ".selectCursor") //$NON-NLS-1$
+				.withExplicitReturnType("Cursor<" //$NON-NLS-1$
+						+ recordType.getShortNameWithTypeArguments() + ">") //$NON-NLS-1$
+				.withArgument(KotlinArg.newArg("completer") //$NON-NLS-1$
+					.withDataType("SelectCompleter") //$NON-NLS-1$
+					.build())
+				.withCodeLine("selectCursor(select(columnList) { from(" + tableFieldName //$NON-NLS-1$
+						+ "); completer() })") //$NON-NLS-1$
+				.build())
+			.withImport("org.apache.ibatis.cursor.Cursor") //$NON-NLS-1$
+			.withImport("org.mybatis.dynamic.sql.util.kotlin.SelectCompleter") //$NON-NLS-1$
+			.withImport("org.mybatis.dynamic.sql.util.kotlin.mybatis3.select") //$NON-NLS-1$
+			.withImports(recordType.getImportList())
+			.build();
+
+		addFunctionComment(functionAndImports);
+		return functionAndImports;
+	}
+
+	@Override
+	public boolean callPlugins(KotlinFunction kotlinFunction, KotlinFile kotlinFile) {
+		return context.getPlugins()
+			.clientGeneralSelectCursorMethodGenerated(kotlinFunction, kotlinFile, introspectedTable);
+	}
+
+	public static class Builder extends BaseBuilder<Builder> {
+
+		private FullyQualifiedKotlinType recordType;
+
+		private String mapperName;
+
+		public Builder withRecordType(FullyQualifiedKotlinType recordType) {
+			this.recordType = recordType;
+			return this;
+		}
+
+		public Builder withMapperName(String mapperName) {
+			this.mapperName = mapperName;
+			return this;
+		}
+
+		@Override
+		public Builder getThis() {
+			return this;
+		}
+
+		public GeneralSelectCursorMethodGenerator build() {
+			return new GeneralSelectCursorMethodGenerator(this);
+		}
+
+	}
+
+}
@@ -16,18 +16,30 @@
 package org.mybatis.generator;
 
 import org.junit.jupiter.api.Test;
+import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.ProgressCallback;
 import org.mybatis.generator.api.VerboseProgressCallback;
 import org.mybatis.generator.config.Context;
 import org.mybatis.generator.config.JDBCConnectionConfiguration;
 import org.mybatis.generator.config.ModelType;
+import org.mybatis.generator.config.PropertyRegistry;
 import org.mybatis.generator.config.TableConfiguration;
 
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class IntrospectTablesTest {
@@ -59,6 +71,165 @@ class IntrospectTablesTest {
 		}
 	}
 
+	@Test
+	void testIntrospectTablesInParallel() throws Exception {
+		createDatabase();
+
+		Context serialContext = createContext();
+		serialContext.introspectTables(new VerboseProgressCallback(), new ArrayList<>(), null);
+
+		Context parallelContext = createContext();
+		parallelContext.addProperty(PropertyRegistry.CONTEXT_INTROSPECTION_THREADS, "4");
+		parallelContext.introspectTables(new VerboseProgressCallback(), new ArrayList<>(), null);
+
+		List<String> serialTables = tableNames(serialContext.getIntrospectedTables());
+		List<String> parallelTables = tableNames(parallelContext.getIntrospectedTables());
+		assertFalse(serialTables.isEmpty());
+		assertEquals(serialTables, parallelTables);
+	}
+
+	@Test
+	void testIntrospectTablesWithPrefetchedMetadata() throws Exception {
+		createDatabase();
+
+		Context context = createContext();
+		context.introspectTables(new VerboseProgressCallback(), new ArrayList<>(), null);
+
+		Context prefetchContext = createContext();
+		prefetchContext.addProperty(PropertyRegistry.CONTEXT_PREFETCH_METADATA, "true");
+		prefetchContext.introspectTables(new VerboseProgressCallback(), new ArrayList<>(), null);
+
+		List<IntrospectedTable> expected = context.getIntrospectedTables();
+		List<IntrospectedTable> actual = prefetchContext.getIntrospectedTables();
+		assertEquals(tableNames(expected), tableNames(actual));
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(columnNames(expected.get(i).getAllColumns()), columnNames(actual.get(i).getAllColumns()));
+			assertEquals(columnNames(expected.get(i).getPrimaryKeyColumns()),
+					columnNames(actual.get(i).getPrimaryKeyColumns()));
+			assertEquals(expected.get(i).getTableType(), actual.get(i).getTableType());
+		}
+	}
+
+	@Test
+	void testIntrospectTablesFromSnapshot() throws Exception {
+		createDatabase();
+		File snapshotFile = File.createTempFile("introspection", ".xml");
+		snapshotFile.deleteOnExit();
+		assertTrue(snapshotFile.delete());
+
+		Context context = createContext();
+		context.addProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_FILE, snapshotFile.getPath());
+		context.introspectTables(new VerboseProgressCallback(), new ArrayList<>(), null);
+		assertTrue(snapshotFile.exists());
+
+		// the second run reuses the unchanged tables of the snapshot
+		Context cachedContext = createContext();
+		cachedContext.addProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_FILE, snapshotFile.getPath());
+		List<String> warnings = new ArrayList<>();
+		cachedContext.introspectTables(new VerboseProgressCallback(), warnings, null);
+		assertFalse(warnings.stream().anyMatch(warning -> warning.contains(snapshotFile.getPath())));
+
+		// offline must not connect to the database at all
+		Context offlineContext = createContext();
+		offlineContext.getJdbcConnectionConfiguration().setConnectionURL("jdbc:hsqldb:mem:missing;ifexists=true");
+		offlineContext.addProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_FILE, snapshotFile.getPath());
+		offlineContext.addProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_MODE, "offline");
+		offlineContext.introspectTables(new VerboseProgressCallback(), new ArrayList<>(), null);
+
+		List<IntrospectedTable> expected = context.getIntrospectedTables();
+		for (Context actualContext : new Context[] { cachedContext, offlineContext }) {
+			List<IntrospectedTable> actual = actualContext.getIntrospectedTables();
+			assertEquals(tableNames(expected), tableNames(actual));
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(columnNames(expected.get(i).getAllColumns()),
+						columnNames(actual.get(i).getAllColumns()));
+				assertEquals(columnNames(expected.get(i).getPrimaryKeyColumns()),
+						columnNames(actual.get(i).getPrimaryKeyColumns()));
+				assertEquals(expected.get(i).getTableType(), actual.get(i).getTableType());
+			}
+		}
+	}
+
+	@Test
+	void testIntrospectTablesWithRetainedMetadata() throws Exception {
+		createDatabase();
+
+		Context context = createContext();
+		context.setRetainIntrospection(true);
+		context.introspectTables(new VerboseProgressCallback(), new ArrayList<>(), null);
+		List<String> tables = tableNames(context.getIntrospectedTables());
+
+		// the next run of the same context fetches the changed table again
+		try (Connection connection = DriverManager.getConnection("jdbc:hsqldb:mem:aname", "sa", "");
+				Statement statement = connection.createStatement()) {
+			statement.execute("alter table PKFields add column extra varchar(20)");
+		}
+		context.introspectTables(new VerboseProgressCallback(), new ArrayList<>(), null);
+
+		assertEquals(tables, tableNames(context.getIntrospectedTables()));
+		IntrospectedTable changedTable = context.getIntrospectedTables()
+			.stream()
+			.filter(introspectedTable -> "PKFIELDS"
+				.equalsIgnoreCase(introspectedTable.getFullyQualifiedTable().getIntrospectedTableName()))
+			.findFirst()
+			.orElseThrow();
+		assertTrue(columnNames(changedTable.getAllColumns()).stream().anyMatch("EXTRA"::equalsIgnoreCase));
+	}
+
+	@Test
+	void testIntrospectTablesOfflineWithoutSnapshot() {
+		Context context = createContext();
+		context.addProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_FILE, "missing-snapshot.xml");
+		context.addProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_MODE, "offline");
+
+		assertThrows(SQLException.class,
+				() -> context.introspectTables(new VerboseProgressCallback(), new ArrayList<>(), null));
+	}
+
+	@Test
+	void testIntrospectTablesInParallelIsCancelable() throws Exception {
+		createDatabase();
+
+		Context context = createContext();
+		context.addProperty(PropertyRegistry.CONTEXT_INTROSPECTION_THREADS, "2");
+		ProgressCallback callback = new ProgressCallback() {
+			@Override
+			public void checkCancel() throws InterruptedException {
+				throw new InterruptedException();
+			}
+		};
+
+		assertThrows(InterruptedException.class, () -> context.introspectTables(callback, new ArrayList<>(), null));
+	}
+
+	private static Context createContext() {
+		Context context = new Context(ModelType.FLAT);
+		context.setId("parallel");
+		JDBCConnectionConfiguration connectionConfiguration = new JDBCConnectionConfiguration();
+		connectionConfiguration.setConnectionURL("jdbc:hsqldb:mem:aname");
+		connectionConfiguration.setPassword("");
+		connectionConfiguration.setUserId("sa");
+		connectionConfiguration.setDriverClass("org.hsqldb.jdbcDriver");
+		context.setJdbcConnectionConfiguration(connectionConfiguration);
+		for (String tableName : new String[] { "FieldsOnly", "PKOnly", "PKFields", "PKBlobs", "PKFieldsBlobs",
+				"FieldsBlobs" }) {
+			TableConfiguration tableConfiguration = new TableConfiguration(context);
+			tableConfiguration.setTableName(tableName);
+			context.addTableConfiguration(tableConfiguration);
+		}
+		return context;
+	}
+
+	private static List<String> tableNames(List<IntrospectedTable> introspectedTables) {
+		return introspectedTables.stream()
+			.map(introspectedTable -> introspectedTable.getFullyQualifiedTable().getIntrospectedTableName())
+			.collect(Collectors.toList());
+	}
+
+	private static List<String> columnNames(List<IntrospectedColumn> introspectedColumns) {
+		return introspectedColumns.stream().map(IntrospectedColumn::getActualColumnName).collect(Collectors.toList());
+	}
+
 	static void createDatabase() throws Exception {
 		SqlScriptRunner scriptRunner = new SqlScriptRunner(
 				IntrospectTablesTest.class.getResourceAsStream("/scripts/CreateDB.sql"), "org.hsqldb.jdbcDriver",
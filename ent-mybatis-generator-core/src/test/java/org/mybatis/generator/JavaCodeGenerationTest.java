@@ -27,9 +27,11 @@ import org.mybatis.generator.config.xml.ConfigurationParser;
 import org.mybatis.generator.internal.DefaultShellCallback;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
 class JavaCodeGenerationTest {
@@ -49,6 +51,14 @@ class JavaCodeGenerationTest {
 		}
 	}
 
+	@ParameterizedTest
+	@MethodSource("generateJavaFiles")
+	void testWriteFormattedContent(GeneratedJavaFile generatedJavaFile) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		generatedJavaFile.writeFormattedContent(sb);
+		assertEquals(generatedJavaFile.getFormattedContent(), sb.toString());
+	}
+
 	static List<GeneratedJavaFile> generateJavaFiles() throws Exception {
 		List<GeneratedJavaFile> generatedFiles = new ArrayList<>();
 		generatedFiles.addAll(generateJavaFilesMybatis());
@@ -15,6 +15,7 @@
  */
 package org.mybatis.generator;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mybatis.generator.api.GeneratedKotlinFile;
@@ -26,6 +27,7 @@ import org.mybatis.generator.internal.DefaultShellCallback;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -49,6 +51,23 @@ class KotlinCodeGenerationTest {
 		assertTrue(true);
 	}
 
+	@Test
+	void testRepeatedRunsDoNotAccumulateFiles() throws Exception {
+		JavaCodeGenerationTest.createDatabase();
+		List<String> warnings = new ArrayList<>();
+		ConfigurationParser cp = new ConfigurationParser(warnings);
+		Configuration config = cp.parseConfiguration(
+				KotlinCodeGenerationTest.class.getResourceAsStream("/scripts/generatorConfig-kotlin.xml"));
+
+		MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config, new DefaultShellCallback(true), warnings);
+		myBatisGenerator.generate(null, null, null, false);
+		int kotlinFiles = myBatisGenerator.getGeneratedKotlinFiles().size();
+		myBatisGenerator.generate(null, null, null, false);
+
+		assertTrue(kotlinFiles > 0);
+		assertEquals(kotlinFiles, myBatisGenerator.getGeneratedKotlinFiles().size());
+	}
+
 	static List<GeneratedKotlinFile> generateKotlinFiles() throws Exception {
 		JavaCodeGenerationTest.createDatabase();
 		return generateInnerKotlinFiles("/scripts/generatorConfig-kotlin.xml");
@@ -17,16 +17,35 @@ package org.mybatis.generator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.StringTokenizer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
+import org.mybatis.generator.api.GeneratedFile;
+import org.mybatis.generator.api.GenerationMetrics;
+import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.ProgressCallback;
+import org.mybatis.generator.api.ShellCallback;
+import org.mybatis.generator.api.WriteMode;
+import org.mybatis.generator.config.CommentGeneratorConfiguration;
 import org.mybatis.generator.config.Configuration;
 import org.mybatis.generator.config.ConnectionFactoryConfiguration;
 import org.mybatis.generator.config.Context;
 import org.mybatis.generator.config.JDBCConnectionConfiguration;
 import org.mybatis.generator.config.ModelType;
+import org.mybatis.generator.config.PluginConfiguration;
+import org.mybatis.generator.config.PropertyRegistry;
 import org.mybatis.generator.config.xml.ConfigurationParser;
 import org.mybatis.generator.exception.InvalidConfigurationException;
 import org.mybatis.generator.internal.DefaultShellCallback;
@@ -86,4 +105,283 @@ class MyBatisGeneratorTest {
 		assertEquals(4, e.getErrors().size());
 	}
 
+	@Test
+	void testGenerateSkipsUnchangedFiles() throws Exception {
+		JavaCodeGenerationTest.createDatabase();
+		List<String> warnings = new ArrayList<>();
+		Configuration config = createFlatJava5Configuration(warnings);
+
+		File targetDirectory = Files.createTempDirectory("mbg").toFile();
+		ShellCallback shellCallback = new TempDirectoryShellCallback(targetDirectory);
+
+		int[] counts = new int[2];
+		ProgressCallback callback = new ProgressCallback() {
+			@Override
+			public void saveCompleted(int writtenFiles, int unchangedFiles) {
+				counts[0] = writtenFiles;
+				counts[1] = unchangedFiles;
+			}
+		};
+
+		MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config, shellCallback, warnings);
+		myBatisGenerator.generate(callback, Collections.singleton("FlatJava5"), null, true);
+		int generatedJavaFiles = myBatisGenerator.getGeneratedJavaFiles().size();
+		assertTrue(counts[0] >= generatedJavaFiles);
+		assertEquals(0, counts[1]);
+
+		myBatisGenerator.generate(callback, Collections.singleton("FlatJava5"), null, true);
+		assertTrue(counts[1] >= generatedJavaFiles);
+	}
+
+	@Test
+	void testGenerateWithManifestSkipsUpToDateTables() throws Exception {
+		JavaCodeGenerationTest.createDatabase();
+		List<String> warnings = new ArrayList<>();
+		Configuration config = createFlatJava5Configuration(warnings);
+		File manifestFile = Files.createTempFile("mbg", ".xml").toFile();
+		assertTrue(manifestFile.delete());
+		config.getContexts()
+			.get(0)
+			.addProperty(PropertyRegistry.CONTEXT_GENERATION_MANIFEST_FILE, manifestFile.getAbsolutePath());
+
+		File targetDirectory = Files.createTempDirectory("mbg").toFile();
+		ShellCallback shellCallback = new TempDirectoryShellCallback(targetDirectory);
+
+		int[] counts = new int[2];
+		ProgressCallback callback = new ProgressCallback() {
+			@Override
+			public void saveCompleted(int writtenFiles, int unchangedFiles) {
+				counts[0] = writtenFiles;
+				counts[1] = unchangedFiles;
+			}
+		};
+
+		MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config, shellCallback, warnings);
+		myBatisGenerator.generate(callback, Collections.singleton("FlatJava5"), null, true);
+		assertTrue(counts[0] > 0);
+		assertTrue(manifestFile.isFile());
+
+		// files of up to date tables are not saved again, even if they were edited
+		File editedFile = new File(targetDirectory, relativeFiles(targetDirectory).get(0));
+		Files.write(editedFile.toPath(), "edited".getBytes());
+		myBatisGenerator.generate(callback, Collections.singleton("FlatJava5"), null, true);
+		assertEquals(0, counts[0]);
+		assertEquals("edited", new String(Files.readAllBytes(editedFile.toPath())));
+
+		// a missing file makes its table out of date
+		assertTrue(editedFile.delete());
+		myBatisGenerator.generate(callback, Collections.singleton("FlatJava5"), null, true);
+		assertTrue(counts[0] > 0);
+		assertTrue(editedFile.isFile());
+	}
+
+	@Test
+	void testGenerateSavesFilesInParallel() throws Exception {
+		JavaCodeGenerationTest.createDatabase();
+		File serialDirectory = Files.createTempDirectory("mbg").toFile();
+		List<String> serialWarnings = new ArrayList<>();
+		generateFlatJava5(serialDirectory, serialWarnings, 1);
+
+		File parallelDirectory = Files.createTempDirectory("mbg").toFile();
+		List<String> parallelWarnings = new ArrayList<>();
+		generateFlatJava5(parallelDirectory, parallelWarnings, 4);
+
+		List<String> serialFiles = relativeFiles(serialDirectory);
+		assertFalse(serialFiles.isEmpty());
+		assertEquals(serialFiles, relativeFiles(parallelDirectory));
+		for (String file : serialFiles) {
+			assertArrayEquals(Files.readAllBytes(new File(serialDirectory, file).toPath()),
+					Files.readAllBytes(new File(parallelDirectory, file).toPath()), file);
+		}
+		assertEquals(serialWarnings.size(), parallelWarnings.size());
+	}
+
+	@Test
+	void testGenerateCollectsMetrics() throws Exception {
+		JavaCodeGenerationTest.createDatabase();
+		List<String> warnings = new ArrayList<>();
+		Configuration config = createFlatJava5Configuration(warnings);
+		File targetDirectory = Files.createTempDirectory("mbg").toFile();
+		File reportFile = new File(Files.createTempDirectory("mbg").toFile(), "metrics.json");
+
+		List<GenerationMetrics> collected = new ArrayList<>();
+		ProgressCallback callback = new ProgressCallback() {
+			@Override
+			public void metricsCollected(GenerationMetrics metrics) {
+				collected.add(metrics);
+			}
+		};
+
+		MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config, new TempDirectoryShellCallback(targetDirectory),
+				warnings);
+		myBatisGenerator.generate(callback, Collections.singleton("FlatJava5"), null, true);
+		assertTrue(collected.isEmpty());
+		assertFalse(myBatisGenerator.getMetrics().isEnabled());
+
+		myBatisGenerator.setMetricsReportFile(reportFile);
+		myBatisGenerator.generate(callback, Collections.singleton("FlatJava5"), null, true);
+		assertEquals(1, collected.size());
+		GenerationMetrics metrics = collected.get(0);
+		List<GenerationMetrics.Phase> phases = metrics.getPhaseTotals()
+			.stream()
+			.map(GenerationMetrics.Entry::getPhase)
+			.collect(Collectors.toList());
+		assertTrue(phases.containsAll(Arrays.asList(GenerationMetrics.Phase.CONNECT,
+				GenerationMetrics.Phase.INTROSPECT, GenerationMetrics.Phase.CALCULATE_GENERATORS,
+				GenerationMetrics.Phase.GENERATE, GenerationMetrics.Phase.PLUGIN, GenerationMetrics.Phase.FORMAT,
+				GenerationMetrics.Phase.WRITE)));
+		assertTrue(metrics.getEntries(GenerationMetrics.Phase.PLUGIN)
+			.stream()
+			.anyMatch(entry -> entry.getName().startsWith("org.mybatis.generator.plugins.ToStringPlugin.")));
+		assertFalse(metrics.getSummary(3).isEmpty());
+
+		String report = new String(Files.readAllBytes(reportFile.toPath()));
+		assertTrue(report.contains("\"phases\""));
+		assertTrue(report.contains("\"phase\": \"INTROSPECT\""));
+	}
+
+	@Test
+	void testGenerateSkipsFilesThatFailToRender() throws Exception {
+		JavaCodeGenerationTest.createDatabase();
+		List<String> warnings = new ArrayList<>();
+		Configuration config = createFlatJava5Configuration(warnings);
+		PluginConfiguration pluginConfiguration = new PluginConfiguration();
+		pluginConfiguration.setConfigurationType(FailingFilePlugin.class.getName());
+		config.getContexts().get(0).addPluginConfiguration(pluginConfiguration);
+		File targetDirectory = Files.createTempDirectory("mbg").toFile();
+		ShellCallback shellCallback = new TempDirectoryShellCallback(targetDirectory);
+
+		MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config, shellCallback, warnings);
+		myBatisGenerator.generate(null, Collections.singleton("FlatJava5"), null, true);
+
+		List<String> files = relativeFiles(targetDirectory);
+		assertFalse(files.isEmpty());
+		assertTrue(files.stream().noneMatch(file -> file.endsWith(".failing")));
+		assertTrue(warnings.stream().anyMatch(warning -> warning.contains("cannot render")));
+	}
+
+	private void generateFlatJava5(File targetDirectory, List<String> warnings, int saveThreads) throws Exception {
+		Configuration config = createFlatJava5Configuration(warnings);
+		config.getContexts().get(0).addProperty(PropertyRegistry.CONTEXT_SAVE_THREADS, Integer.toString(saveThreads));
+
+		MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config, new TempDirectoryShellCallback(targetDirectory),
+				warnings);
+		myBatisGenerator.generate(null, Collections.singleton("FlatJava5"), null, true);
+	}
+
+	/**
+	 * Returns the FlatJava5 context of the test configuration, without dates in the
+	 * generated comments so that the generated content is stable.
+	 */
+	private Configuration createFlatJava5Configuration(List<String> warnings) throws Exception {
+		ConfigurationParser cp = new ConfigurationParser(warnings);
+		Configuration config = cp
+			.parseConfiguration(this.getClass().getClassLoader().getResourceAsStream("scripts/generatorConfig.xml"));
+		config.getContexts().removeIf(context -> !"FlatJava5".equals(context.getId()));
+		CommentGeneratorConfiguration commentGeneratorConfiguration = new CommentGeneratorConfiguration();
+		commentGeneratorConfiguration.addProperty(PropertyRegistry.COMMENT_GENERATOR_SUPPRESS_DATE, "true");
+		config.getContexts().get(0).setCommentGeneratorConfiguration(commentGeneratorConfiguration);
+		return config;
+	}
+
+	private static List<String> relativeFiles(File directory) throws Exception {
+		try (Stream<Path> paths = Files.walk(directory.toPath())) {
+			return paths.filter(Files::isRegularFile)
+				.map(path -> directory.toPath().relativize(path).toString())
+				.sorted()
+				.collect(Collectors.toList());
+		}
+	}
+
+	public static class FailingFilePlugin extends PluginAdapter {
+
+		@Override
+		public boolean validate(List<String> warnings) {
+			return true;
+		}
+
+		@Override
+		public List<GeneratedFile> contextGenerateAdditionalFiles(IntrospectedTable introspectedTable) {
+			String name = introspectedTable.getFullyQualifiedTable().getDomainObjectName() + ".failing";
+			return Collections.singletonList(new FailingFile(name));
+		}
+
+	}
+
+	/**
+	 * A file whose rendering fails after part of its content was written.
+	 */
+	private static class FailingFile extends GeneratedFile {
+
+		private final String fileName;
+
+		FailingFile(String fileName) {
+			super("");
+			this.fileName = fileName;
+		}
+
+		@Override
+		public String getFormattedContent() {
+			throw new IllegalStateException("cannot render");
+		}
+
+		@Override
+		public void writeFormattedContent(Appendable out) throws IOException {
+			out.append("partial content");
+			throw new IOException("cannot render " + fileName);
+		}
+
+		@Override
+		public String getFileName() {
+			return fileName;
+		}
+
+		@Override
+		public String getTargetPackage() {
+			return "failing";
+		}
+
+		@Override
+		public boolean isMergeable() {
+			return false;
+		}
+
+		@Override
+		public String getFileEncoding() {
+			return null;
+		}
+
+		@Override
+		public WriteMode getWriteMode() {
+			return WriteMode.OVER_WRITE;
+		}
+
+	}
+
+	private static class TempDirectoryShellCallback implements ShellCallback {
+
+		private final File targetDirectory;
+
+		TempDirectoryShellCallback(File targetDirectory) {
+			this.targetDirectory = targetDirectory;
+		}
+
+		@Override
+		public File getDirectory(GeneratedFile file) {
+			File directory = targetDirectory;
+			StringTokenizer st = new StringTokenizer(file.getTargetPackage(), ".");
+			while (st.hasMoreTokens()) {
+				directory = new File(directory, st.nextToken());
+			}
+			directory.mkdirs();
+			return directory;
+		}
+
+		@Override
+		public boolean isOverwriteEnabled() {
+			return true;
+		}
+
+	}
+
 }
@@ -0,0 +1,74 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mybatis.generator.api.GeneratedKotlinFile;
+import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.xml.ConfigurationParser;
+import org.mybatis.generator.internal.DefaultShellCallback;
+
+class StreamingSelectsTest {
+
+	private static final List<String> warnings = new ArrayList<>();
+
+	private static MyBatisGenerator generator;
+
+	@BeforeAll
+	static void generate() throws Exception {
+		JavaCodeGenerationTest.createDatabase();
+		Configuration config = new ConfigurationParser(warnings)
+			.parseConfiguration(StreamingSelectsTest.class.getResourceAsStream("/scripts/generatorConfig_Streaming.xml"));
+
+		generator = new MyBatisGenerator(config, new DefaultShellCallback(true), warnings);
+		generator.generate(null, null, null, false);
+	}
+
+	@Test
+	void testMapperUsesConfiguredFetchSize() {
+		String mapper = mapper("PkfieldsMapper.kt");
+
+		assertTrue(mapper.contains("fun selectCursor(selectStatement: SelectStatementProvider): Cursor<Pkfields>"));
+		assertTrue(mapper.contains("fun selectManyWithHandler("));
+		assertEquals(2, count(mapper, "@Options(fetchSize=-2147483648)"));
+	}
+
+	@Test
+	void testMalformedFetchSizeIsReportedAndDefaulted() {
+		assertEquals(2, count(mapper("FieldsonlyMapper.kt"), "@Options(fetchSize=1000)"));
+		assertEquals(List.of("Property streamingFetchSize with value \"lots\" in table FIELDSONLY is not an integer, "
+				+ "the default fetch size 1000 is used"), warnings);
+	}
+
+	@Test
+	void testTableCanDisableStreamingSelects() {
+		// PKOnly does not generate the streaming selects, so its fetch size is not reported
+		assertFalse(mapper("PkonlyMapper.kt").contains("selectCursor"));
+	}
+
+	private static String mapper(String fileName) {
+		return generator.getGeneratedKotlinFiles()
+			.stream()
+			.filter(file -> file.getFileName().equals(fileName))
+			.map(GeneratedKotlinFile::getFormattedContent)
+			.findFirst()
+			.orElseThrow();
+	}
+
+	private static long count(String content, String text) {
+		return content.split(Pattern.quote(text), -1).length - 1;
+	}
+
+}
@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
 class XmlCodeGenerationTest {
@@ -52,6 +53,14 @@ class XmlCodeGenerationTest {
 		}
 	}
 
+	@ParameterizedTest
+	@MethodSource("generateXmlFiles")
+	void testWriteFormattedContent(GeneratedXmlFile generatedXmlFile) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		generatedXmlFile.writeFormattedContent(sb);
+		assertEquals(generatedXmlFile.getFormattedContent(), sb.toString());
+	}
+
 	static List<GeneratedXmlFile> generateXmlFiles() throws Exception {
 		List<GeneratedXmlFile> generatedFiles = new ArrayList<>();
 		generatedFiles.addAll(generateXmlFilesMybatis());
@@ -0,0 +1,91 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+import org.mybatis.generator.codegen.mybatis3.IntrospectedTableMyBatis3Impl;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JoinEntry;
+import org.mybatis.generator.config.JoinTable;
+import org.mybatis.generator.config.JoinTarget;
+import org.mybatis.generator.config.ModelType;
+import org.mybatis.generator.config.TableConfiguration;
+import org.mybatis.generator.internal.rules.FlatModelRules;
+
+class IntrospectedTableIndexTest {
+
+	@Test
+	void testTableLookups() {
+		Context context = new Context(ModelType.FLAT);
+		IntrospectedTable student = addTable(context, "student", "Student");
+		IntrospectedTable teacher = addTable(context, "teacher", "Teacher");
+
+		IntrospectedTableIndex index = context.getIntrospectedTableIndex();
+		assertSame(student, index.getTable("student").orElse(null));
+		assertSame(teacher, index.getTableByDomainObjectName("Teacher").orElse(null));
+		assertFalse(index.getTable("course").isPresent());
+		assertSame(index, context.getIntrospectedTableIndex());
+		assertThrows(RuntimeException.class, () -> index.getRequiredTable("course"));
+	}
+
+	@Test
+	void testRelations() {
+		Context context = new Context(ModelType.FLAT);
+		IntrospectedTable student = addTable(context, "student", "Student");
+		IntrospectedTable teacher = addTable(context, "teacher", "Teacher");
+		IntrospectedTable course = addTable(context, "course", "Course");
+		IntrospectedTable studentCourse = addTable(context, "student_course", "StudentCourse");
+
+		JoinEntry joinEntry = new JoinEntry("student");
+		JoinTarget joinTarget = new JoinTarget("teacher", "teacher", "id", JoinTarget.JoinType.MANY_TO_ONE);
+		joinEntry.getDetails().add(Pair.of("teacher_id", joinTarget));
+		JoinTable joinTable = new JoinTable().setRightTable("course")
+			.setMiddleTable("student_course")
+			.setProperty("courses");
+		joinEntry.getJoinTables().add(joinTable);
+		context.getJoinConfig().getJoinDetailMap().put("student", joinEntry);
+
+		IntrospectedTableIndex index = context.getIntrospectedTableIndex();
+		List<IntrospectedTableIndex.JoinRelation> relations = index.getRelations(student);
+		assertEquals(2, relations.size());
+		assertSame(relations, index.getRelations(student));
+		assertSame(joinEntry, index.getJoinEntry(student));
+
+		IntrospectedTableIndex.JoinRelation manyToOne = relations.get(0);
+		assertEquals(JoinTarget.JoinType.MANY_TO_ONE, manyToOne.getJoinType());
+		assertSame(student, manyToOne.getLeftTable());
+		assertEquals("teacher_id", manyToOne.getLeftColumnName());
+		assertSame(teacher, manyToOne.getRightTable());
+		assertSame(joinTarget, manyToOne.getJoinTarget());
+
+		IntrospectedTableIndex.JoinRelation manyToMany = relations.get(1);
+		assertEquals(JoinTarget.JoinType.MANY_TO_MANY, manyToMany.getJoinType());
+		assertSame(course, manyToMany.getRightTable());
+		assertSame(studentCourse, manyToMany.getMiddleTable());
+		assertSame(joinTable, manyToMany.getJoinTable());
+
+		assertTrue(index.getRelations(teacher).isEmpty());
+	}
+
+	private IntrospectedTable addTable(Context context, String tableName, String domainObjectName) {
+		IntrospectedTable introspectedTable = new IntrospectedTableMyBatis3Impl();
+		introspectedTable.setContext(context);
+		introspectedTable.setTableConfiguration(new TableConfiguration(context));
+		introspectedTable.setFullyQualifiedTable(new FullyQualifiedTable(null, null, tableName, domainObjectName,
+				null, false, null, null, null, false, null, context));
+		// mark the table as initialized, the index initializes tables that are not
+		introspectedTable.rules = new FlatModelRules(introspectedTable);
+		context.getIntrospectedTables().add(introspectedTable);
+		return introspectedTable;
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.generator.codegen.mybatis3.IntrospectedTableMyBatis3Impl;
+
+class IntrospectedTableTest {
+
+	@Test
+	void testColumnViews() {
+		IntrospectedTable introspectedTable = new IntrospectedTableMyBatis3Impl();
+		IntrospectedColumn id = addColumn(introspectedTable, "ID", "id", "INTEGER");
+		IntrospectedColumn name = addColumn(introspectedTable, "NAME", "name", "VARCHAR");
+		IntrospectedColumn data = addColumn(introspectedTable, "DATA", "data", "BLOB");
+		introspectedTable.addPrimaryKeyColumn("ID");
+
+		assertEquals(Arrays.asList(id, name, data), introspectedTable.getAllColumns());
+		assertEquals(Arrays.asList(id, name), introspectedTable.getNonBLOBColumns());
+		assertEquals(Arrays.asList(name, data), introspectedTable.getNonPrimaryKeyColumns());
+		assertSame(introspectedTable.getAllColumns(), introspectedTable.getAllColumns());
+		assertThrows(UnsupportedOperationException.class, () -> introspectedTable.getAllColumns().clear());
+
+		IntrospectedColumn description = addColumn(introspectedTable, "DESCRIPTION", "description", "VARCHAR");
+		assertEquals(Arrays.asList(id, name, description, data), introspectedTable.getAllColumns());
+
+		introspectedTable.getBaseColumns().remove(name);
+		assertEquals(Arrays.asList(id, description), introspectedTable.getNonBLOBColumns());
+		assertFalse(introspectedTable.getColumn("NAME").isPresent());
+	}
+
+	@Test
+	void testColumnLookups() {
+		IntrospectedTable introspectedTable = new IntrospectedTableMyBatis3Impl();
+		IntrospectedColumn id = addColumn(introspectedTable, "ID", "id", "INTEGER");
+		IntrospectedColumn delimited = addColumn(introspectedTable, "first name", "firstName", "VARCHAR");
+
+		assertSame(id, introspectedTable.getColumn("id").orElse(null));
+		assertSame(delimited, introspectedTable.getColumn("first name").orElse(null));
+		assertFalse(introspectedTable.getColumn("FIRST NAME").isPresent());
+		assertTrue(introspectedTable.findColumn("Id"));
+		assertSame(delimited, introspectedTable.getColumnByJavaProperty("firstName").orElse(null));
+		assertFalse(introspectedTable.getColumnByJavaProperty("lastName").isPresent());
+
+		delimited.setJavaProperty("lastName");
+		assertSame(delimited, introspectedTable.getColumnByJavaProperty("lastName").orElse(null));
+		assertFalse(introspectedTable.getColumnByJavaProperty("firstName").isPresent());
+
+		id.setActualColumnName("KEY");
+		assertSame(id, introspectedTable.getColumn("key").orElse(null));
+		assertFalse(introspectedTable.getColumn("id").isPresent());
+	}
+
+	private IntrospectedColumn addColumn(IntrospectedTable introspectedTable, String columnName, String javaProperty,
+			String jdbcTypeName) {
+		IntrospectedColumn introspectedColumn = new IntrospectedColumn();
+		introspectedColumn.setActualColumnName(columnName);
+		introspectedColumn.setJavaProperty(javaProperty);
+		introspectedColumn.setJdbcTypeName(jdbcTypeName);
+		introspectedTable.addColumn(introspectedColumn);
+		return introspectedColumn;
+	}
+
+}
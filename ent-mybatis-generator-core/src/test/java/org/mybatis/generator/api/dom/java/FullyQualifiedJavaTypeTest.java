@@ -17,6 +17,9 @@ package org.mybatis.generator.api.dom.java;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -263,4 +266,55 @@ class FullyQualifiedJavaTypeTest {
 		assertFalse(fqjt.getImportList().contains("java.util.List[]"));
 	}
 
+	@Test
+	void testCachedParseReturnsIndependentInstances() {
+		FullyQualifiedJavaType first = new FullyQualifiedJavaType("java.util.List"); //$NON-NLS-1$
+		FullyQualifiedJavaType second = new FullyQualifiedJavaType("java.util.List"); //$NON-NLS-1$
+		assertNotSame(first, second);
+		assertEquals("List", first.getShortName()); //$NON-NLS-1$
+
+		first.addTypeArgument(new FullyQualifiedJavaType("com.foo.Bar")); //$NON-NLS-1$
+		assertEquals("List<Bar>", first.getShortName()); //$NON-NLS-1$
+		assertEquals("java.util.List<com.foo.Bar>", first.getFullyQualifiedName()); //$NON-NLS-1$
+		assertEquals(2, first.getImportList().size());
+		assertEquals("java.util.List", second.getFullyQualifiedName()); //$NON-NLS-1$
+		assertTrue(second.getTypeArguments().isEmpty());
+	}
+
+	@Test
+	void testCachedParseOfPrimitiveAndWildcard() {
+		FullyQualifiedJavaType fqjt = new FullyQualifiedJavaType("int"); //$NON-NLS-1$
+		assertTrue(new FullyQualifiedJavaType("int").isPrimitive()); //$NON-NLS-1$
+		assertEquals("java.lang.Integer", fqjt.getPrimitiveTypeWrapper().getFullyQualifiedName()); //$NON-NLS-1$
+
+		fqjt = new FullyQualifiedJavaType("? extends com.foo.Bar"); //$NON-NLS-1$
+		assertEquals("? extends Bar", new FullyQualifiedJavaType("? extends com.foo.Bar").getShortName()); //$NON-NLS-1$
+		assertEquals("? extends com.foo.Bar", fqjt.getFullyQualifiedName()); //$NON-NLS-1$
+	}
+
+	@Test
+	void testInternedInstance() {
+		String spec = "java.util.Map<java.lang.String, com.foo.Bar>"; //$NON-NLS-1$
+		FullyQualifiedJavaType fqjt = FullyQualifiedJavaType.getInstance(spec);
+		assertSame(fqjt, FullyQualifiedJavaType.getInstance(spec));
+		assertTrue(fqjt.isImmutable());
+		assertEquals("Map<String, Bar>", fqjt.getShortName()); //$NON-NLS-1$
+		assertEquals(2, fqjt.getImportList().size());
+
+		assertThrows(UnsupportedOperationException.class,
+				() -> fqjt.addTypeArgument(FullyQualifiedJavaType.getStringInstance()));
+		assertThrows(UnsupportedOperationException.class,
+				() -> fqjt.getTypeArguments().get(1).addTypeArgument(FullyQualifiedJavaType.getStringInstance()));
+		assertThrows(UnsupportedOperationException.class, () -> fqjt.getTypeArguments().clear());
+		assertFalse(new FullyQualifiedJavaType("java.util.Map").isImmutable()); //$NON-NLS-1$
+	}
+
+	@Test
+	void testInternedInstanceEqualsNewInstance() {
+		FullyQualifiedJavaType fqjt = new FullyQualifiedJavaType("com.foo.Bar"); //$NON-NLS-1$
+		assertEquals(fqjt, FullyQualifiedJavaType.getInstance("com.foo.Bar")); //$NON-NLS-1$
+		assertEquals(0, fqjt.compareTo(FullyQualifiedJavaType.getInstance("com.foo.Bar"))); //$NON-NLS-1$
+		assertEquals(fqjt.hashCode(), FullyQualifiedJavaType.getInstance("com.foo.Bar").hashCode()); //$NON-NLS-1$
+	}
+
 }
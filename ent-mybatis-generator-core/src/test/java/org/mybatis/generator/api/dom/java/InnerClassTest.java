@@ -17,9 +17,11 @@ package org.mybatis.generator.api.dom.java;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
+import org.mybatis.generator.api.dom.LineAppender;
 import org.mybatis.generator.api.dom.java.render.InnerClassRenderer;
 
 class InnerClassTest {
@@ -184,4 +186,30 @@ class InnerClassTest {
 		assertEquals(excepted, rendered);
 	}
 
+	@Test
+	void testAppendFormattedContent() throws IOException {
+		InnerClass innerClass = new InnerClass("com.foo.UserClass");
+		innerClass.addField(new Field("test", FullyQualifiedJavaType.getStringInstance()));
+		InnerClass nested = new InnerClass("InnerUserClass");
+		Method getter = new Method("getTest");
+		getter.setReturnType(FullyQualifiedJavaType.getStringInstance());
+		getter.addBodyLine("return test;");
+		nested.addMethod(getter);
+		nested.addInnerClass(new InnerClass("DeepClass"));
+		innerClass.addInnerClass(nested);
+		InnerEnum innerEnum = new InnerEnum(new FullyQualifiedJavaType("TestEnum"));
+		innerEnum.addEnumConstant("FOO");
+		innerEnum.addEnumConstant("BAR");
+		innerClass.addInnerEnum(innerEnum);
+		innerClass.addInnerEnum(new InnerEnum(new FullyQualifiedJavaType("EmptyEnum")));
+
+		InnerClassRenderer renderer = new InnerClassRenderer();
+		String expected = renderer.render(innerClass, null).stream().collect(Collectors.joining(LF));
+
+		StringBuilder sb = new StringBuilder();
+		renderer.render(innerClass, null, new LineAppender(sb, LF, "    "));
+		assertEquals(expected, sb.toString());
+		assertTrue(sb.toString().contains(LF + "        class DeepClass {" + LF + "        }" + LF + "    }" + LF));
+	}
+
 }
@@ -0,0 +1,43 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.ModelType;
+import org.mybatis.generator.config.PropertyRegistry;
+
+class GenerationManifestTest {
+
+	@Test
+	void testConfigurationHashCoversTemplates() throws Exception {
+		Path templateBaseDir = Files.createTempDirectory("templates");
+		Path template = Files.createDirectories(templateBaseDir.resolve("web")).resolve("api.ftl");
+		Files.write(template, "${name}".getBytes(StandardCharsets.UTF_8));
+
+		Context context = new Context(ModelType.FLAT);
+		context.setId("test");
+		context.addProperty(PropertyRegistry.CONTEXT_TEMPLATE_BASE_DIR, templateBaseDir.toString());
+
+		String hash = GenerationManifest.hashConfiguration(context);
+		assertEquals(hash, GenerationManifest.hashConfiguration(context));
+
+		Files.write(template, "${name}!".getBytes(StandardCharsets.UTF_8));
+		String changedHash = GenerationManifest.hashConfiguration(context);
+		assertNotEquals(hash, changedHash);
+
+		Files.write(templateBaseDir.resolve("web").resolve("list.ftl"), new byte[0]);
+		assertNotEquals(changedHash, GenerationManifest.hashConfiguration(context));
+	}
+
+}
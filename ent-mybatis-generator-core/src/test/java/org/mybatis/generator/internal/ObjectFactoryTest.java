@@ -0,0 +1,62 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.generator.codegen.RootClassInfo;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.ModelType;
+
+class ObjectFactoryTest {
+
+	@Test
+	void testCachedObjectsAreScopedToTheFactory() {
+		AtomicInteger created = new AtomicInteger();
+		ObjectFactory first = new ObjectFactory();
+		ObjectFactory second = new ObjectFactory();
+
+		String a = first.getCachedObject(String.class, "key", k -> k + created.incrementAndGet());
+		String b = first.getCachedObject(String.class, "key", k -> k + created.incrementAndGet());
+		String c = second.getCachedObject(String.class, "key", k -> k + created.incrementAndGet());
+
+		assertSame(a, b);
+		assertEquals("key1", a);
+		assertEquals("key2", c);
+		assertEquals(2, created.get());
+	}
+
+	@Test
+	void testClassLoadersAreScopedToTheFactory() throws Exception {
+		URL classes = ObjectFactory.class.getProtectionDomain().getCodeSource().getLocation();
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { classes }, null)) {
+			ObjectFactory objectFactory = new ObjectFactory();
+			objectFactory.addClassLoader(classLoader);
+
+			String type = ObjectFactory.class.getName();
+			assertSame(classLoader, objectFactory.loadExternalClass(type).getClassLoader());
+			assertSame(ObjectFactory.class, new ObjectFactory().loadExternalClass(type));
+		}
+	}
+
+	@Test
+	void testRootClassInfoIsCachedPerRun() {
+		Context context = new Context(ModelType.FLAT);
+		RootClassInfo rootClassInfo = RootClassInfo.getInstance(context, "java.lang.Object", new ArrayList<>());
+		assertSame(rootClassInfo, RootClassInfo.getInstance(context, "java.lang.Object", new ArrayList<>()));
+
+		context.setObjectFactory(new ObjectFactory());
+		assertNotSame(rootClassInfo, RootClassInfo.getInstance(context, "java.lang.Object", new ArrayList<>()));
+	}
+
+}
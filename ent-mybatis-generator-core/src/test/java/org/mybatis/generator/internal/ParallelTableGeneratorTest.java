@@ -0,0 +1,75 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.ProgressCallback;
+import org.mybatis.generator.codegen.mybatis3.IntrospectedTableMyBatis3Impl;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.ModelType;
+
+class ParallelTableGeneratorTest {
+
+	@Test
+	void testResultsAndTasksKeepTableOrder() throws Exception {
+		List<IntrospectedTable> tables = Arrays.asList(new IntrospectedTableMyBatis3Impl(),
+				new IntrospectedTableMyBatis3Impl(), new IntrospectedTableMyBatis3Impl());
+		ParallelTableGenerator generator = new ParallelTableGenerator(new Context(ModelType.FLAT), 3);
+		Map<IntrospectedTable, ProgressCallback> callbacks = new ConcurrentHashMap<>();
+		for (IntrospectedTable table : tables) {
+			callbacks.put(table, generator.getProgressCallback(table));
+		}
+
+		List<String> tasks = new ArrayList<>();
+		ProgressCallback callback = new ProgressCallback() {
+			@Override
+			public void startTask(String taskName) {
+				tasks.add(taskName);
+			}
+		};
+
+		List<Integer> results = generator.generate(tables, table -> {
+			int index = tables.indexOf(table);
+			try {
+				// let the later tables finish first
+				Thread.sleep(30L * (tables.size() - index));
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			callbacks.get(table).startTask("table " + index);
+			return index;
+		}, callback);
+
+		assertEquals(Arrays.asList(0, 1, 2), results);
+		assertEquals(Arrays.asList("table 0", "table 1", "table 2"), tasks);
+	}
+
+	@Test
+	void testFailuresArePropagated() {
+		List<IntrospectedTable> tables = Arrays.asList(new IntrospectedTableMyBatis3Impl(),
+				new IntrospectedTableMyBatis3Impl());
+		ParallelTableGenerator generator = new ParallelTableGenerator(new Context(ModelType.FLAT), 2);
+
+		IllegalStateException e = assertThrows(IllegalStateException.class,
+				() -> generator.generate(tables, table -> {
+					throw new IllegalStateException("boom");
+				}, new ProgressCallback() {
+				}));
+		assertEquals("boom", e.getMessage());
+	}
+
+}
@@ -17,7 +17,10 @@ package org.mybatis.generator.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.File;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Properties;
 
 import org.junit.jupiter.api.Test;
@@ -151,6 +154,75 @@ class XmlFileMergerTest {
 		assertEquals(expectedGeneratedFile.getFormattedContent(), mergedSource);
 	}
 
+	@Test
+	void testThatStreamingMergeMatchesDomMerge() throws Exception {
+		DefaultXmlFormatter xmlFormatter = new DefaultXmlFormatter();
+		Properties p = new Properties();
+		p.setProperty(PropertyRegistry.COMMENT_GENERATOR_SUPPRESS_DATE, "true");
+		CommentGenerator commentGenerator = new DefaultCommentGenerator();
+		commentGenerator.addConfigurationProperties(p);
+
+		Document document = new Document(XmlConstants.MYBATIS3_MAPPER_PUBLIC_ID,
+				XmlConstants.MYBATIS3_MAPPER_SYSTEM_ID);
+		document.setRootElement(getSqlMapElement(commentGenerator));
+		GeneratedXmlFile generatedFile = new GeneratedXmlFile(document, "TestMapper.xml", "org.mybatis.test", "src",
+				true, xmlFormatter);
+
+		String existingContent = generatedFile.getFormattedContent()
+			.replace("namespace=\"org.mybatis.test.TestMapper\"", "namespace=\"org.mybatis.test.OldMapper\"")
+			.replace("</mapper>", "  <!-- custom statements -->\n"
+					+ "  <select id='customSelect' resultType=\"int\"><![CDATA[ select 1 < 2\n ]]> &amp; more\n"
+					+ "  </select>\n  <sql id=\"emptySql\"></sql>\n  <select id=\"abatorgenerated_select\" />\n"
+					+ "</mapper>");
+		File existingFile = Files.createTempFile("mbg", ".xml").toFile();
+		existingFile.deleteOnExit();
+		Files.write(existingFile.toPath(), existingContent.getBytes(StandardCharsets.UTF_8));
+
+		String domMergedSource = XmlFileMergerJaxp.getMergedSource(
+				new InputSource(new StringReader(generatedFile.getFormattedContent())),
+				new InputSource(new StringReader(existingContent)), "TestMapper.xml");
+		String mergedSource = XmlFileMergerJaxp.getMergedSource(generatedFile, existingFile);
+
+		assertEquals(domMergedSource, mergedSource);
+		assertTrue(mergedSource.contains("org.mybatis.test.TestMapper"));
+		assertTrue(mergedSource.contains("customSelect"));
+		assertFalse(mergedSource.contains("abatorgenerated_select"));
+	}
+
+	@Test
+	void testThatStreamingMergeEscapesLikeDomMerge() throws Exception {
+		XmlElement root = new XmlElement("mapper");
+		root.addAttribute(new Attribute("namespace", "org.mybatis.test.TestMapper"));
+		XmlElement select = new XmlElement("select");
+		select.addAttribute(new Attribute("id", "selectEscaped"));
+		select.addAttribute(new Attribute("resultType", "int"));
+		select.addElement(new TextElement("<!-- @mbg.generated: a & b > c -->"));
+		select.addElement(new TextElement("select count(*) from t where a > 1 and b = 'x &amp; y' and c &lt; 2"));
+		root.addElement(select);
+
+		Document document = new Document(XmlConstants.MYBATIS3_MAPPER_PUBLIC_ID,
+				XmlConstants.MYBATIS3_MAPPER_SYSTEM_ID);
+		document.setRootElement(root);
+		GeneratedXmlFile generatedFile = new GeneratedXmlFile(document, "TestMapper.xml", "org.mybatis.test", "src",
+				true, new DefaultXmlFormatter());
+
+		String existingContent = generatedFile.getFormattedContent()
+			.replace("</mapper>", "  <select id=\"customSelect\">select 2 &gt; 1</select>\n</mapper>");
+		File existingFile = Files.createTempFile("mbg", ".xml").toFile();
+		existingFile.deleteOnExit();
+		Files.write(existingFile.toPath(), existingContent.getBytes(StandardCharsets.UTF_8));
+
+		String domMergedSource = XmlFileMergerJaxp.getMergedSource(
+				new InputSource(new StringReader(generatedFile.getFormattedContent())),
+				new InputSource(new StringReader(existingContent)), "TestMapper.xml");
+		String mergedSource = XmlFileMergerJaxp.getMergedSource(generatedFile, existingFile);
+
+		assertEquals(domMergedSource, mergedSource);
+		assertTrue(mergedSource.contains("where a &gt; 1 and b = 'x &amp; y' and c &lt; 2"));
+		assertTrue(mergedSource.contains("a &amp; b &gt; c"));
+		assertTrue(mergedSource.contains("customSelect"));
+	}
+
 	private XmlElement getSqlMapElement(CommentGenerator commentGenerator) {
 
 		XmlElement answer = new XmlElement("mapper");
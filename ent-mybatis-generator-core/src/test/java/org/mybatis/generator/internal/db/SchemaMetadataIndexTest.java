@@ -0,0 +1,43 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package org.mybatis.generator.internal.db;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class SchemaMetadataIndexTest {
+
+	@Test
+	void testExactMatch() {
+		assertTrue(SchemaMetadataIndex.likeMatches("PKFIELDS", "PKFIELDS", "\\"));
+		assertFalse(SchemaMetadataIndex.likeMatches("PKFIELDSBLOBS", "PKFIELDS", "\\"));
+	}
+
+	@Test
+	void testUnderscoreMatchesAnySingleCharacter() {
+		assertTrue(SchemaMetadataIndex.likeMatches("sys_user", "sys_user", "\\"));
+		assertTrue(SchemaMetadataIndex.likeMatches("sysXuser", "sys_user", "\\"));
+		assertFalse(SchemaMetadataIndex.likeMatches("sysuser", "sys_user", "\\"));
+	}
+
+	@Test
+	void testEscapedUnderscore() {
+		assertTrue(SchemaMetadataIndex.likeMatches("sys_user", "sys\\_user", "\\"));
+		assertFalse(SchemaMetadataIndex.likeMatches("sysXuser", "sys\\_user", "\\"));
+	}
+
+	@Test
+	void testPercent() {
+		assertTrue(SchemaMetadataIndex.likeMatches("exam_class_grade", "exam%", "\\"));
+		assertTrue(SchemaMetadataIndex.likeMatches("exam_class_grade", "%class%", "\\"));
+		assertTrue(SchemaMetadataIndex.likeMatches("", "%", "\\"));
+		assertFalse(SchemaMetadataIndex.likeMatches("exa", "exam%", "\\"));
+		assertFalse(SchemaMetadataIndex.likeMatches(null, "%", "\\"));
+	}
+
+}
@@ -31,6 +31,14 @@ public class MybatisGeneratorExtension {
 
 	private Properties properties;
 
+	private Boolean metrics = false;
+
+	private String metricsReportFile;
+
+	private String schemaFingerprint;
+
+	private Boolean warm = false;
+
 	public MybatisGeneratorExtension(Project project) {
 		this.project = project;
 	}
@@ -99,11 +107,59 @@ public class MybatisGeneratorExtension {
 		this.properties = properties;
 	}
 
+	public Boolean getMetrics() {
+		return metrics;
+	}
+
+	public void setMetrics(Boolean metrics) {
+		this.metrics = metrics;
+	}
+
+	public String getMetricsReportFile() {
+		return metricsReportFile;
+	}
+
+	public void setMetricsReportFile(String metricsReportFile) {
+		this.metricsReportFile = metricsReportFile;
+	}
+
+	public String getSchemaFingerprint() {
+		return schemaFingerprint;
+	}
+
+	/**
+	 * Identifies the database schema the generated files depend on, for example the latest
+	 * migration version. The generator task is only up to date or restored from the build cache
+	 * when the schema is fingerprinted, by this value or by an offline introspection snapshot.
+	 * @param schemaFingerprint the fingerprint of the schema
+	 */
+	public void setSchemaFingerprint(String schemaFingerprint) {
+		this.schemaFingerprint = schemaFingerprint;
+	}
+
+	public Boolean getWarm() {
+		return warm;
+	}
+
+	/**
+	 * Keeps the generator warm between the runs of a continuous build, {@code gradle -t mybatisGenerator}.
+	 * The generator runs in a worker process that outlives a single run, which keeps the parsed config
+	 * file, the table metadata of the database and the compiled templates. A rerun parses the config
+	 * file again only when it or the properties changed, and fetches only the tables whose
+	 * fingerprint changed.
+	 * @param warm true to keep the generator state between runs
+	 */
+	public void setWarm(Boolean warm) {
+		this.warm = warm;
+	}
+
 	@Override
 	public String toString() {
 		return "MybatisGeneratorExtension{" + "enabled=" + enabled + ", verbose=" + verbose + ", overwrite=" + overwrite
 				+ ", configFile='" + configFile + '\'' + ", tableNames='" + tableNames + '\'' + ", contexts='"
-				+ contexts + '\'' + ", outputDirectory='" + outputDirectory + '\'' + '}';
+				+ contexts + '\'' + ", outputDirectory='" + outputDirectory + '\'' + ", metrics=" + metrics
+				+ ", metricsReportFile='" + metricsReportFile + '\'' + ", schemaFingerprint='" + schemaFingerprint
+				+ '\'' + ", warm=" + warm + '}';
 	}
 
 }
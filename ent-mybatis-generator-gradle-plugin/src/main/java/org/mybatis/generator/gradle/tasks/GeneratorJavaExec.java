@@ -10,41 +10,228 @@ package org.mybatis.generator.gradle.tasks;
 import org.apache.commons.lang3.StringUtils;
 import org.gradle.api.GradleException;
 import org.gradle.api.Project;
-import org.gradle.api.artifacts.DependencySet;
+import org.gradle.api.artifacts.ConfigurationContainer;
+import org.gradle.api.file.FileCollection;
 import org.gradle.api.internal.ConventionTask;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectories;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskAction;
-import org.gradle.work.DisableCachingByDefault;
-import org.mybatis.generator.api.MyBatisGenerator;
-import org.mybatis.generator.api.ShellCallback;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
 import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.PluginConfiguration;
+import org.mybatis.generator.config.PropertyRegistry;
 import org.mybatis.generator.config.xml.ConfigurationParser;
-import org.mybatis.generator.exception.InvalidConfigurationException;
 import org.mybatis.generator.exception.XMLParserException;
 import org.mybatis.generator.gradle.dsl.MybatisGeneratorExtension;
-import org.mybatis.generator.internal.ObjectFactory;
-import org.mybatis.generator.internal.util.ClassloaderUtility;
 import org.mybatis.generator.internal.util.StringUtility;
-import org.mybatis.generator.logging.LogFactory;
 
+import javax.inject.Inject;
 import java.io.File;
 import java.io.IOException;
-import java.sql.SQLException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the generator in a worker with an isolated class loader. The config file, the template
+ * directories, the generator classpath and the schema fingerprint are the inputs, the target
+ * directories of the contexts are the outputs, so the task is skipped or restored from the build
+ * cache when nothing changed. The database itself is not an input, therefore the task is only up
+ * to date when the schema is fingerprinted, see {@link MybatisGeneratorExtension#setSchemaFingerprint(String)}.
+ * <p>
+ * Only target directories that contain nothing but generated files are outputs. A target directory
+ * that overlaps a source directory of the project, like {@code src/main/java} of the {@code MAVEN}
+ * target project, also holds hand-written files and generated files that were edited afterwards, so
+ * restoring it from the build cache would overwrite them. The task is neither up to date nor cached
+ * when a target directory overlaps a source directory, or when Java files are merged.
+ * <p>
+ * To regenerate while editing, run the task in a continuous build, {@code gradle -t mybatisGenerator}. Gradle
+ * runs it again whenever the config file, a template directory or the generator classpath changes, the latter
+ * includes the processed resources of the project, like the comment resource mybatis-generator-docs.xml. Every
+ * run introspects the database again, unless the contexts introspect offline from their snapshot files.
+ * <p>
+ * With {@link MybatisGeneratorExtension#setWarm(Boolean) warm} set, the generator runs in a worker process that
+ * Gradle keeps for the following runs of the continuous build. A rerun reuses the parsed config file unless it
+ * or the properties changed, fetches only the tables whose fingerprint changed, recompiles only the templates of
+ * a changed template directory and reads the comment resource again only when it changed. A changed jar of the
+ * generator classpath is not loaded again by the worker process, restart the continuous build then.
+ */
+@CacheableTask
+public abstract class GeneratorJavaExec extends ConventionTask {
+
+	private static final String TEMPLATE_BASE_DIR = "templateBaseDir"; //$NON-NLS-1$
+
+	/**
+	 * Replaces a resolved token inside an enclosing token while the config file is scanned for
+	 * property keys, it can't occur in an XML file.
+	 */
+	private static final String NESTED_TOKEN = "\u0000"; //$NON-NLS-1$
+
+	private static final Pattern PROPERTY_TOKEN = Pattern.compile("\\$\\{([^${}]*)\\}"); //$NON-NLS-1$
 
-@DisableCachingByDefault(because = "Application should always run")
-public class GeneratorJavaExec extends ConventionTask {
+	private Configuration parsedConfiguration;
+
+	private List<Pattern> referencedPropertyKeys;
+
+	public GeneratorJavaExec() {
+		getOutputs().upToDateWhen(task -> isSchemaFingerprinted() && !hasSourceTargetDirectories());
+		getOutputs().cacheIf("the schema is fingerprinted", task -> isSchemaFingerprinted());
+		getOutputs().cacheIf("the target directories contain only generated files",
+				task -> !hasSourceTargetDirectories());
+		getOutputs().cacheIf("Java files are not merged", task -> !isJavaMergeSupported());
+	}
 
-	private final ThreadLocal<ClassLoader> savedClassloader = new ThreadLocal<>();
+	@Inject
+	protected abstract WorkerExecutor getWorkerExecutor();
+
+	@Optional
+	@InputFile
+	@PathSensitive(PathSensitivity.RELATIVE)
+	public File getConfigFile() {
+		String configFile = getExtension().getConfigFile();
+		return StringUtility.stringHasValue(configFile) ? getProject().file(configFile) : null;
+	}
+
+	/**
+	 * The properties available to the config file: the project properties with simple values, like
+	 * the ones set with {@code -P} or in {@code gradle.properties}, that the config file references as
+	 * {@code ${key}}, and all extension properties. Numbers, booleans and characters are converted to
+	 * strings, so is every value of the extension properties. The other project properties are left
+	 * out, so that an unrelated property, like the version of the project, doesn't make the task out of
+	 * date or miss the build cache.
+	 */
+	@Input
+	public Map<String, String> getGeneratorProperties() {
+		Map<String, String> properties = new TreeMap<>();
+		List<Pattern> referencedKeys = getReferencedPropertyKeys();
+		getProject().getProperties().forEach((key, value) -> {
+			if ((value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+					|| value instanceof Character) && isReferenced(referencedKeys, key)) {
+				properties.put(key, String.valueOf(value));
+			}
+		});
+		Properties extensionProperties = getExtension().getProperties();
+		if (extensionProperties != null) {
+			extensionProperties.forEach((key, value) -> {
+				if (key != null && value != null) {
+					properties.put(String.valueOf(key), String.valueOf(value));
+				}
+			});
+		}
+		return properties;
+	}
+
+	@Input
+	public Set<String> getContextsToRun() {
+		Object context = getProject().getProperties().get("mb.context");
+		if (context != null && StringUtils.isNotBlank(context.toString())) {
+			return Collections.singleton(context.toString());
+		}
+		return split(getExtension().getContexts());
+	}
+
+	@Input
+	public Set<String> getTableNames() {
+		return split(getExtension().getTableNames());
+	}
+
+	@Input
+	public boolean isOverwrite() {
+		return Boolean.TRUE.equals(getExtension().getOverwrite());
+	}
+
+	@Optional
+	@Input
+	public String getSchemaFingerprint() {
+		return getExtension().getSchemaFingerprint();
+	}
+
+	@InputFiles
+	@PathSensitive(PathSensitivity.RELATIVE)
+	public FileCollection getTemplateDirectories() {
+		List<File> directories = new ArrayList<>();
+		for (Context context : getContexts()) {
+			String templateBaseDir = context.getProperty(TEMPLATE_BASE_DIR);
+			if (StringUtility.stringHasValue(templateBaseDir)) {
+				directories.add(getProject().file(templateBaseDir));
+			}
+		}
+		return getProject().files(directories);
+	}
+
+	/**
+	 * The snapshot files of the contexts that introspect offline, they fingerprint the schema of
+	 * those contexts.
+	 */
+	@InputFiles
+	@PathSensitive(PathSensitivity.NONE)
+	public FileCollection getIntrospectionSnapshots() {
+		List<File> snapshots = new ArrayList<>();
+		for (Context context : getContexts()) {
+			String snapshotFile = context.getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_FILE);
+			if (isOfflineIntrospection(context)) {
+				snapshots.add(getProject().file(snapshotFile));
+			}
+		}
+		return getProject().files(snapshots);
+	}
+
+	/**
+	 * The generator plugins, JDBC drivers and root classes, and the processed resources of the main
+	 * source set, like the comment resource mybatis-generator-docs.xml. Also the classpath of the
+	 * worker. The compiled classes of the project are left out, so that generating never requires
+	 * compiling the project first.
+	 */
+	@Classpath
+	public FileCollection getGeneratorClasspath() {
+		ConfigurationContainer configurations = getProject().getConfigurations();
+		FileCollection classpath = configurations.getByName("runtimeClasspath")
+			.plus(configurations.getByName("generator"));
+		SourceSetContainer sourceSets = getProject().getExtensions().findByType(SourceSetContainer.class);
+		SourceSet main = sourceSets == null ? null : sourceSets.findByName(SourceSet.MAIN_SOURCE_SET_NAME);
+		if (main != null) {
+			classpath = classpath.plus(getProject().files(main.getOutput().getResourcesDir())
+				.builtBy(main.getProcessResourcesTaskName()));
+		}
+		return classpath;
+	}
+
+	/**
+	 * The target directories that contain nothing but generated files, the ones that overlap a
+	 * source directory of the project are left out.
+	 */
+	@OutputDirectories
+	public Set<File> getTargetDirectories() {
+		Set<File> directories = new LinkedHashSet<>();
+		for (File directory : getAllTargetDirectories()) {
+			if (!isSourceDirectory(directory)) {
+				directories.add(directory);
+			}
+		}
+		return directories;
+	}
 
 	@TaskAction
 	public void exec() {
 		Project project = getProject();
 		MybatisGeneratorExtension extension = project.getExtensions().getByType(MybatisGeneratorExtension.class);
-		if (!StringUtility.stringHasValue(extension.getConfigFile())) {
+		File configFile = getConfigFile();
+		if (configFile == null) {
 			throw new GradleException("mybatisGenerator config doesn't exist.");
 		}
-		String configFileLocation = extension.getConfigFile();
-		File configFile = new File(configFileLocation);
 		if (!configFile.exists() || !configFile.isFile()) {
 			throw new GradleException("Generator XML config file doesn't exist.");
 		}
@@ -53,167 +240,243 @@ public class GeneratorJavaExec extends ConventionTask {
 			project.getLogger().debug(extension.toString());
 		}
 
-		System.setProperty("javax.xml.accessExternalDTD", "all");
-
-		saveClassLoader();
-
-		LogFactory.setLogFactory(new GradleLogFactory(project));
+		generateInWorker(configFile, extension);
+	}
 
-		calculateClassPath(project);
+	private void generateInWorker(File configFile, MybatisGeneratorExtension extension) {
+		boolean warm = Boolean.TRUE.equals(extension.getWarm());
+		// only a worker process outlives the run, an isolated class loader is created for every build
+		WorkQueue workQueue = warm
+				? getWorkerExecutor().processIsolation(spec -> spec.getClasspath().from(getGeneratorClasspath()))
+				: getWorkerExecutor().classLoaderIsolation(spec -> spec.getClasspath().from(getGeneratorClasspath()));
+		String outputDirectory = getOutputDirectory();
+		workQueue.submit(GeneratorWorkAction.class, parameters -> {
+			parameters.getConfigFile().set(configFile);
+			parameters.getProperties().set(getGeneratorProperties());
+			parameters.getContexts().set(getContextsToRun());
+			parameters.getTableNames().set(getTableNames());
+			if (StringUtility.stringHasValue(outputDirectory)) {
+				parameters.getOutputDirectory().set(getProject().file(outputDirectory).getAbsolutePath());
+			}
+			parameters.getOverwrite().set(isOverwrite());
+			parameters.getVerbose().set(Boolean.TRUE.equals(extension.getVerbose()));
+			parameters.getMetrics().set(Boolean.TRUE.equals(extension.getMetrics()));
+			if (StringUtility.stringHasValue(extension.getMetricsReportFile())) {
+				parameters.getMetricsReportFile().set(getProject().file(extension.getMetricsReportFile()));
+			}
+			parameters.getWarm().set(warm);
+		});
+	}
 
-		// add resource directories to the classpath. This is required to support
-		// use of a properties file in the build. Typically, the properties file
-		// is in the project's source tree, but the plugin classpath does not
-		// include the project classpath.
-		// List<Resource> resources = project.getResources();
-		List<String> resourceDirectories = new ArrayList<>();
-		// for (Resource resource : resources) {
-		// resourceDirectories.add(resource.getDirectory());
-		// }
-		ClassLoader cl = ClassloaderUtility.getCustomClassloader(resourceDirectories);
-		ObjectFactory.addExternalClassLoader(cl);
+	private MybatisGeneratorExtension getExtension() {
+		return getProject().getExtensions().getByType(MybatisGeneratorExtension.class);
+	}
 
-		List<String> warnings = new ArrayList<>();
+	private String getOutputDirectory() {
+		Object outputDirectory = getProject().getProperties().get("mb.outputDirectory");
+		if (outputDirectory != null && StringUtils.isNotBlank(outputDirectory.toString())) {
+			return outputDirectory.toString();
+		}
+		return getExtension().getOutputDirectory();
+	}
 
-		Set<String> fullyqualifiedTables = new HashSet<>();
-		if (StringUtility.stringHasValue(extension.getTableNames())) {
-			StringTokenizer st = new StringTokenizer(extension.getTableNames(), ","); //$NON-NLS-1$
-			while (st.hasMoreTokens()) {
-				String s = st.nextToken().trim();
-				if (!s.isEmpty()) {
-					fullyqualifiedTables.add(s);
+	/**
+	 * The target projects of the Java model, SQL map and Java client generators of each context,
+	 * under the output directory and under the output directories of the plugins.
+	 */
+	private Set<File> getAllTargetDirectories() {
+		Set<File> directories = new LinkedHashSet<>();
+		String outputDirectory = getOutputDirectory();
+		if (!StringUtility.stringHasValue(outputDirectory)) {
+			return directories;
+		}
+		File baseDirectory = getProject().file(outputDirectory);
+		for (Context context : getContexts()) {
+			Set<File> baseDirectories = new LinkedHashSet<>();
+			baseDirectories.add(baseDirectory);
+			for (PluginConfiguration plugin : context.getPluginConfigurations()) {
+				String pluginDirectory = plugin.getProperty("outputDirectory"); //$NON-NLS-1$
+				if (StringUtility.stringHasValue(pluginDirectory)) {
+					File file = new File(pluginDirectory);
+					baseDirectories.add(file.isAbsolute() ? file : new File(baseDirectory, pluginDirectory));
 				}
 			}
-		}
 
-		Set<String> contextsToRun = new HashSet<>();
-		if (StringUtility.stringHasValue(extension.getContexts())) {
-			StringTokenizer st = new StringTokenizer(extension.getContexts(), ","); //$NON-NLS-1$
-			while (st.hasMoreTokens()) {
-				String s = st.nextToken().trim();
-				if (!s.isEmpty()) {
-					contextsToRun.add(s);
+			Set<String> targetProjects = new LinkedHashSet<>();
+			if (context.getJavaModelGeneratorConfiguration() != null) {
+				targetProjects.add(context.getJavaModelGeneratorConfiguration().getTargetProject());
+			}
+			if (context.getSqlMapGeneratorConfiguration() != null) {
+				targetProjects.add(context.getSqlMapGeneratorConfiguration().getTargetProject());
+			}
+			if (context.getJavaClientGeneratorConfiguration() != null) {
+				targetProjects.add(context.getJavaClientGeneratorConfiguration().getTargetProject());
+			}
+			for (File directory : baseDirectories) {
+				for (String targetProject : targetProjects) {
+					if (StringUtility.stringHasValue(targetProject)) {
+						// same layout as GradleShellCallback
+						String path = "MAVEN".equals(targetProject) ? "src/main/java" : targetProject; //$NON-NLS-1$
+						directories.add(new File(directory, path));
+					}
 				}
 			}
 		}
+		return directories;
+	}
 
-		if (project.getProperties().get("mb.context") != null
-				&& StringUtils.isNotBlank(project.getProperties().get("mb.context").toString())) {
-			contextsToRun.clear();
-			contextsToRun.add(project.getProperties().get("mb.context").toString());
+	/**
+	 * Whether the directory overlaps a source directory of the project. Without the java plugin the
+	 * project has no source sets, then everything under {@code src} counts as source. Directories
+	 * under the build directory only contain generated files, even when they are added to a source set.
+	 */
+	private boolean isSourceDirectory(File directory) {
+		Path path = directory.toPath().toAbsolutePath().normalize();
+		File buildDirectory = getProject().getLayout().getBuildDirectory().get().getAsFile();
+		if (path.startsWith(buildDirectory.toPath().toAbsolutePath().normalize())) {
+			return false;
 		}
-		if (project.getProperties().get("mb.outputDirectory") != null
-				&& StringUtils.isNotBlank(project.getProperties().get("mb.outputDirectory").toString())) {
-			extension.setOutputDirectory(project.getProperties().get("mb.outputDirectory").toString());
+		Set<File> sourceDirectories = new LinkedHashSet<>();
+		SourceSetContainer sourceSets = getProject().getExtensions().findByType(SourceSetContainer.class);
+		if (sourceSets != null) {
+			for (SourceSet sourceSet : sourceSets) {
+				sourceDirectories.addAll(sourceSet.getAllSource().getSrcDirs());
+			}
 		}
+		if (sourceDirectories.isEmpty()) {
+			sourceDirectories.add(getProject().file("src")); //$NON-NLS-1$
+		}
+		for (File sourceDirectory : sourceDirectories) {
+			Path sourcePath = sourceDirectory.toPath().toAbsolutePath().normalize();
+			if (path.startsWith(sourcePath) || sourcePath.startsWith(path)) {
+				return true;
+			}
+		}
+		return false;
+	}
 
-		try {
-			ConfigurationParser cp = new ConfigurationParser(convertMapToProperty(project.getProperties(), extension),
-					warnings);
-			Configuration config = cp.parseConfiguration(configFile);
-
-			ShellCallback callback = new GradleShellCallback(this, extension);
-
-			MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config, callback, warnings);
+	private boolean hasSourceTargetDirectories() {
+		return getAllTargetDirectories().stream().anyMatch(this::isSourceDirectory);
+	}
 
-			myBatisGenerator.generate(new GradleProgressCallback(project.getLogger(), extension.getVerbose()),
-					contextsToRun, fullyqualifiedTables);
+	private boolean isJavaMergeSupported() {
+		return new GradleShellCallback(isOverwrite(), getOutputDirectory()).isMergeSupported();
+	}
 
-		}
-		catch (XMLParserException | InvalidConfigurationException e) {
-			for (String error : e.getErrors()) {
-				project.getLogger().error(error);
+	/**
+	 * Returns the contexts to run, parsed from the config file once per task. The inputs and
+	 * outputs are calculated before the task runs, a config file that can't be parsed has none
+	 * and fails when the task runs.
+	 */
+	private List<Context> getContexts() {
+		if (parsedConfiguration == null) {
+			File configFile = getConfigFile();
+			if (configFile == null || !configFile.isFile()) {
+				return Collections.emptyList();
 			}
-			if (extension.getVerbose() != null && extension.getVerbose()) {
-				e.printStackTrace();
+			try {
+				parsedConfiguration = parseConfiguration(configFile, new ArrayList<>());
+			}
+			catch (IOException | XMLParserException e) {
+				return Collections.emptyList();
 			}
-			throw new GradleException(e.getMessage());
-		}
-		catch (SQLException | IOException e) {
-			throw new GradleException(e.getMessage());
-		}
-		catch (InterruptedException e) {
-			// ignore (will never happen with the DefaultShellCallback)
 		}
-		catch (Exception ex) {
-			if (extension.getVerbose() != null && extension.getVerbose()) {
-				ex.printStackTrace();
+		Set<String> contextsToRun = getContextsToRun();
+		List<Context> contexts = new ArrayList<>();
+		for (Context context : parsedConfiguration.getContexts()) {
+			if (contextsToRun.isEmpty() || contextsToRun.contains(context.getId())) {
+				contexts.add(context);
 			}
-			throw new GradleException(ex.getMessage());
 		}
+		return contexts;
+	}
 
-		for (String error : warnings) {
-			project.getLogger().warn(error);
+	private boolean isSchemaFingerprinted() {
+		if (StringUtility.stringHasValue(getSchemaFingerprint())) {
+			return true;
 		}
-
-		restoreClassLoader();
+		List<Context> contexts = getContexts();
+		return !contexts.isEmpty() && contexts.stream().allMatch(this::isOfflineIntrospection);
 	}
 
-	private void calculateClassPath(Project project) {
-		Set<String> entries = new HashSet<>();
-		try {
-
-			org.gradle.api.artifacts.Configuration defaultApiConfiguration = project.getConfigurations()
-				.getByName("runtimeClasspath");
-			DependencySet dependencies = defaultApiConfiguration.getAllDependencies();
-			dependencies.forEach(dependency -> {
-				Set<File> jarLocations = defaultApiConfiguration.files(dependency);
-				jarLocations.forEach(file -> {
-					entries.add(file.getAbsolutePath());
-				});
-			});
-
-			org.gradle.api.artifacts.Configuration configuration = project.getConfigurations().getByName("generator");
-			dependencies = configuration.getDependencies();
-			// add the project compile classpath to the plugin classpath,
-			// so that the project dependency classes can be found
-			// directly, without adding the classpath to configuration's classPathEntries
-			// repeatedly.Examples are JDBC drivers, root classes, root interfaces, etc.
-
-			dependencies.forEach(dependency -> {
-				Set<File> jarLocations = configuration.files(dependency);
-				jarLocations.forEach(file -> {
-					entries.add(file.getAbsolutePath());
-				});
-			});
-
-			// remove the output directories (target/classes and target/test-classes)
-			// because this mojo runs in the generate-sources phase and
-			// those directories have not been created yet (typically)
-			// entries.remove(project.getBuild().getOutputDirectory());
-			// entries.remove(project.getBuild().getTestOutputDirectory());
+	private boolean isOfflineIntrospection(Context context) {
+		String snapshotMode = context.getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_MODE);
+		return StringUtility.stringHasValue(context.getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_FILE))
+				&& "offline".equals(snapshotMode); //$NON-NLS-1$
+	}
 
-			ClassLoader contextClassLoader = ClassloaderUtility.getCustomClassloader(entries);
-			Thread.currentThread().setContextClassLoader(contextClassLoader);
-		}
-		catch (Exception e) {
-			throw new GradleException("Dependency Resolution Required", e);
+	/**
+	 * The keys of the {@code ${key}} tokens in the config file, read once per task. A nested token,
+	 * like {@code ${jdbc.${env}.url}}, is resolved by the parser, so its key matches every value of
+	 * the inner token.
+	 */
+	private List<Pattern> getReferencedPropertyKeys() {
+		if (referencedPropertyKeys == null) {
+			File configFile = getConfigFile();
+			String content = "";
+			if (configFile != null && configFile.isFile()) {
+				try {
+					content = Files.readString(configFile.toPath());
+				}
+				catch (IOException e) {
+					// the task fails when it runs
+				}
+			}
+			referencedPropertyKeys = parsePropertyKeys(content);
 		}
+		return referencedPropertyKeys;
 	}
 
-	private Properties convertMapToProperty(Map<String, ?> properties, MybatisGeneratorExtension extension) {
-		if (properties == null) {
-			return new Properties();
-		}
-		Properties props = new Properties();
-		properties.forEach((key, value) -> {
-			if (key != null && value != null) {
-				props.put(key, value);
+	private static List<Pattern> parsePropertyKeys(String content) {
+		List<Pattern> keys = new ArrayList<>();
+		String remaining = content;
+		Matcher matcher = PROPERTY_TOKEN.matcher(remaining);
+		while (matcher.find()) {
+			// replace the innermost tokens, the enclosing ones are found in the next pass
+			StringBuilder sb = new StringBuilder();
+			do {
+				StringBuilder key = new StringBuilder();
+				for (String part : matcher.group(1).split(NESTED_TOKEN, -1)) {
+					if (key.length() > 0) {
+						key.append(".*");
+					}
+					key.append(Pattern.quote(part));
+				}
+				keys.add(Pattern.compile(key.toString()));
+				matcher.appendReplacement(sb, NESTED_TOKEN);
 			}
-		});
-		if (extension.getProperties() != null) {
-			props.putAll(extension.getProperties());
+			while (matcher.find());
+			matcher.appendTail(sb);
+			remaining = sb.toString();
+			matcher = PROPERTY_TOKEN.matcher(remaining);
 		}
-		return props;
+		return keys;
+	}
+
+	private static boolean isReferenced(List<Pattern> referencedKeys, String key) {
+		return referencedKeys.stream().anyMatch(pattern -> pattern.matcher(key).matches());
 	}
 
-	private void saveClassLoader() {
-		savedClassloader.set(Thread.currentThread().getContextClassLoader());
+	private static Set<String> split(String values) {
+		Set<String> result = new TreeSet<>();
+		if (StringUtility.stringHasValue(values)) {
+			StringTokenizer st = new StringTokenizer(values, ","); //$NON-NLS-1$
+			while (st.hasMoreTokens()) {
+				String s = st.nextToken().trim();
+				if (!s.isEmpty()) {
+					result.add(s);
+				}
+			}
+		}
+		return result;
 	}
 
-	private void restoreClassLoader() {
-		Thread.currentThread().setContextClassLoader(savedClassloader.get());
-		savedClassloader.remove();
+	private Configuration parseConfiguration(File configFile, List<String> warnings)
+			throws IOException, XMLParserException {
+		Properties properties = new Properties();
+		properties.putAll(getGeneratorProperties());
+		ConfigurationParser cp = new ConfigurationParser(properties, warnings);
+		return cp.parseConfiguration(configFile);
 	}
 
 }
@@ -0,0 +1,166 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+
+package org.mybatis.generator.gradle.tasks;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.workers.WorkAction;
+import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.xml.ConfigurationParser;
+import org.mybatis.generator.exception.InvalidConfigurationException;
+import org.mybatis.generator.exception.XMLParserException;
+import org.mybatis.generator.logging.LogFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs the generator in a class loader isolated from the build, which contains the generator
+ * classpath of the project: the generator plugins, JDBC drivers and root classes. The classes
+ * and static state, like compiled templates, are not shared with other builds.
+ * <p>
+ * A warm run executes in a worker process instead, which Gradle keeps for the following runs of a
+ * continuous build. The parsed configuration stays in the process until the config file or the
+ * properties change, and its contexts retain the table metadata of the database, so that a rerun
+ * only fetches the tables whose fingerprint changed. The compiled templates stay in the class loader
+ * of the process.
+ */
+public abstract class GeneratorWorkAction implements WorkAction<GeneratorWorkParameters> {
+
+	private static final Logger LOGGER = Logging.getLogger(GeneratorWorkAction.class);
+
+	/**
+	 * The configurations of the warm runs by config file, there may be several projects using the same
+	 * worker process.
+	 */
+	private static final Map<File, WarmConfiguration> WARM_CONFIGURATIONS = new ConcurrentHashMap<>();
+
+	@Override
+	public void execute() {
+		GeneratorWorkParameters parameters = getParameters();
+
+		System.setProperty("javax.xml.accessExternalDTD", "all");
+		LogFactory.setLogFactory(new GradleLogFactory(LOGGER));
+
+		ClassLoader savedClassLoader = Thread.currentThread().getContextClassLoader();
+		// plugins and JDBC drivers are loaded through the context class loader
+		Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
+
+		List<String> warnings = new ArrayList<>();
+		try {
+			File configFile = parameters.getConfigFile().get().getAsFile();
+			Map<String, String> properties = parameters.getProperties().get();
+			if (parameters.getWarm().getOrElse(false)) {
+				WarmConfiguration warmConfiguration = WARM_CONFIGURATIONS
+					.computeIfAbsent(configFile.getAbsoluteFile(), key -> new WarmConfiguration());
+				// the contexts of a configuration are not shared by concurrent runs
+				synchronized (warmConfiguration) {
+					generate(warmConfiguration.get(configFile, properties, warnings), warnings);
+				}
+			}
+			else {
+				generate(parseConfiguration(configFile, properties, warnings), warnings);
+			}
+		}
+		catch (XMLParserException | InvalidConfigurationException e) {
+			for (String error : e.getErrors()) {
+				LOGGER.error(error);
+			}
+			throw new GradleException(e.getMessage(), e);
+		}
+		catch (SQLException | IOException e) {
+			throw new GradleException(e.getMessage(), e);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GradleException("Mybatis generator was interrupted.", e);
+		}
+		finally {
+			Thread.currentThread().setContextClassLoader(savedClassLoader);
+		}
+
+		for (String warning : warnings) {
+			LOGGER.warn(warning);
+		}
+	}
+
+	private void generate(Configuration config, List<String> warnings)
+			throws InvalidConfigurationException, SQLException, IOException, InterruptedException {
+		GeneratorWorkParameters parameters = getParameters();
+		GradleShellCallback callback = new GradleShellCallback(parameters.getOverwrite().getOrElse(false),
+				parameters.getOutputDirectory().getOrNull());
+
+		MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config, callback, warnings);
+		myBatisGenerator.setMetricsEnabled(parameters.getMetrics().getOrElse(false));
+		if (parameters.getMetricsReportFile().isPresent()) {
+			myBatisGenerator.setMetricsReportFile(parameters.getMetricsReportFile().get().getAsFile());
+		}
+
+		myBatisGenerator.generate(new GradleProgressCallback(LOGGER, parameters.getVerbose().getOrElse(false)),
+				parameters.getContexts().get(), parameters.getTableNames().get());
+	}
+
+	private static Configuration parseConfiguration(File configFile, Map<String, String> properties,
+			List<String> warnings) throws IOException, XMLParserException {
+		Properties configProperties = new Properties();
+		configProperties.putAll(properties);
+		ConfigurationParser cp = new ConfigurationParser(configProperties, warnings);
+		return cp.parseConfiguration(configFile);
+	}
+
+	/**
+	 * The configuration parsed by the last warm run of a config file.
+	 */
+	private static final class WarmConfiguration {
+
+		private Configuration configuration;
+
+		private Map<String, String> properties;
+
+		private long lastModified;
+
+		private long length;
+
+		/**
+		 * Returns the configuration of the previous run, or parses the config file again when it or
+		 * the properties changed. The contexts of a parsed configuration retain their introspection.
+		 */
+		Configuration get(File configFile, Map<String, String> properties, List<String> warnings)
+				throws IOException, XMLParserException {
+			long modified = configFile.lastModified();
+			long size = configFile.length();
+			if (configuration != null && modified == lastModified && size == length
+					&& properties.equals(this.properties)) {
+				LOGGER.info("Reusing the configuration parsed from {}", configFile);
+				return configuration;
+			}
+
+			Configuration parsed = parseConfiguration(configFile, properties, warnings);
+			for (Context context : parsed.getContexts()) {
+				context.setRetainIntrospection(true);
+			}
+			configuration = parsed;
+			this.properties = new HashMap<>(properties);
+			lastModified = modified;
+			length = size;
+			return parsed;
+		}
+
+	}
+
+}
@@ -0,0 +1,41 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+
+package org.mybatis.generator.gradle.tasks;
+
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.workers.WorkParameters;
+
+/**
+ * Parameters of a {@link GeneratorWorkAction}, taken from the {@link GeneratorJavaExec} task.
+ */
+public interface GeneratorWorkParameters extends WorkParameters {
+
+	RegularFileProperty getConfigFile();
+
+	MapProperty<String, String> getProperties();
+
+	SetProperty<String> getContexts();
+
+	SetProperty<String> getTableNames();
+
+	Property<String> getOutputDirectory();
+
+	Property<Boolean> getOverwrite();
+
+	Property<Boolean> getVerbose();
+
+	Property<Boolean> getMetrics();
+
+	RegularFileProperty getMetricsReportFile();
+
+	Property<Boolean> getWarm();
+
+}
@@ -8,6 +8,7 @@
 package org.mybatis.generator.gradle.tasks;
 
 import org.gradle.api.Project;
+import org.gradle.api.logging.Logger;
 import org.mybatis.generator.logging.AbstractLogFactory;
 import org.mybatis.generator.logging.Log;
 
@@ -16,7 +17,11 @@ public class GradleLogFactory implements AbstractLogFactory {
 	private GradleLogImpl log;
 
 	public GradleLogFactory(Project project) {
-		log = new GradleLogImpl(project.getLogger());
+		this(project.getLogger());
+	}
+
+	public GradleLogFactory(Logger logger) {
+		log = new GradleLogImpl(logger);
 	}
 
 	@Override
@@ -6,7 +6,9 @@
  */
 package org.mybatis.generator.gradle.tasks;
 
+import org.mybatis.generator.api.GenerationMetrics;
 import org.mybatis.generator.api.ProgressCallback;
+import org.mybatis.generator.internal.util.messages.Messages;
 
 /**
  * This callback logs progress messages with the Maven logger.
@@ -15,6 +17,8 @@ import org.mybatis.generator.api.ProgressCallback;
  */
 public class GradleProgressCallback implements ProgressCallback {
 
+	private static final int SUMMARY_ENTRIES = 5;
+
 	private final org.gradle.api.logging.Logger log;
 
 	private final boolean verbose;
@@ -32,4 +36,17 @@ public class GradleProgressCallback implements ProgressCallback {
 		}
 	}
 
+	@Override
+	public void saveCompleted(int writtenFiles, int unchangedFiles) {
+		log.info(Messages.getString("Progress.19", Integer.toString(writtenFiles), //$NON-NLS-1$
+				Integer.toString(unchangedFiles)));
+	}
+
+	@Override
+	public void metricsCollected(GenerationMetrics metrics) {
+		for (String line : metrics.getSummary(verbose ? Integer.MAX_VALUE : SUMMARY_ENTRIES)) {
+			log.info(line);
+		}
+	}
+
 }
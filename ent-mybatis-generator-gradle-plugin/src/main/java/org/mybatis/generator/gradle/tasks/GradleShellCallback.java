@@ -27,12 +27,19 @@ public class GradleShellCallback extends DefaultShellCallback {
 
 	private ConventionTask conventionTask;
 
-	private MybatisGeneratorExtension extension;
+	private final String outputDirectory;
 
 	public GradleShellCallback(ConventionTask conventionTask, MybatisGeneratorExtension extension) {
-		super(extension.getOverwrite());
+		this(extension.getOverwrite(), extension.getOutputDirectory());
 		this.conventionTask = conventionTask;
-		this.extension = extension;
+	}
+
+	/**
+	 * Used by the generator worker, which has no access to the task or the extension.
+	 */
+	public GradleShellCallback(boolean overwrite, String outputDirectory) {
+		super(overwrite);
+		this.outputDirectory = outputDirectory;
 	}
 
 	public File getDirectory(GeneratedFile file) throws ShellException {
@@ -42,11 +49,11 @@ public class GradleShellCallback extends DefaultShellCallback {
 				return getDirectory(path.toAbsolutePath().toString(), file.getTargetProject(), file.getTargetPackage());
 			}
 			else {
-				path = Path.of(extension.getOutputDirectory(), file.getOutputDirectory());
+				path = Path.of(outputDirectory, file.getOutputDirectory());
 				return getDirectory(path.toAbsolutePath().toString(), file.getTargetProject(), file.getTargetPackage());
 			}
 		}
-		return getDirectory(extension.getOutputDirectory(), file.getTargetProject(), file.getTargetPackage());
+		return getDirectory(outputDirectory, file.getTargetProject(), file.getTargetPackage());
 	}
 
 	private File getDirectory(String outputDirectory, String targetProject, String targetPackage)
@@ -16,7 +16,9 @@
 package org.mybatis.generator.maven;
 
 import org.apache.maven.plugin.logging.Log;
+import org.mybatis.generator.api.GenerationMetrics;
 import org.mybatis.generator.api.ProgressCallback;
+import org.mybatis.generator.internal.util.messages.Messages;
 
 /**
  * This callback logs progress messages with the Maven logger.
@@ -26,6 +28,8 @@ import org.mybatis.generator.api.ProgressCallback;
  */
 public class MavenProgressCallback implements ProgressCallback {
 
+	private static final int SUMMARY_ENTRIES = 5;
+
 	private final Log log;
 
 	private final boolean verbose;
@@ -43,4 +47,17 @@ public class MavenProgressCallback implements ProgressCallback {
 		}
 	}
 
+	@Override
+	public void saveCompleted(int writtenFiles, int unchangedFiles) {
+		log.info(Messages.getString("Progress.19", Integer.toString(writtenFiles), //$NON-NLS-1$
+				Integer.toString(unchangedFiles)));
+	}
+
+	@Override
+	public void metricsCollected(GenerationMetrics metrics) {
+		for (String line : metrics.getSummary(verbose ? Integer.MAX_VALUE : SUMMARY_ENTRIES)) {
+			log.info(line);
+		}
+	}
+
 }
@@ -30,7 +30,6 @@ import org.mybatis.generator.config.Configuration;
 import org.mybatis.generator.config.xml.ConfigurationParser;
 import org.mybatis.generator.exception.InvalidConfigurationException;
 import org.mybatis.generator.exception.XMLParserException;
-import org.mybatis.generator.internal.ObjectFactory;
 import org.mybatis.generator.internal.util.ClassloaderUtility;
 import org.mybatis.generator.internal.util.StringUtility;
 import org.mybatis.generator.internal.util.messages.Messages;
@@ -145,6 +144,20 @@ public class MyBatisGeneratorMojo extends AbstractMojo {
 	@Parameter(property = "mybatis.generator.includeAllDependencies", defaultValue = "false")
 	private boolean includeAllDependencies;
 
+	/**
+	 * If true, then the time and memory spent in each generation phase, table and plugin
+	 * are measured and summarized in the build log.
+	 */
+	@Parameter(property = "mybatis.generator.metrics", defaultValue = "false")
+	private boolean metrics;
+
+	/**
+	 * A file that the generation metrics are written to as JSON. Specifying a report file
+	 * enables metrics.
+	 */
+	@Parameter(property = "mybatis.generator.metricsReportFile")
+	private File metricsReportFile;
+
 	@Override
 	public void execute() throws MojoExecutionException {
 		System.setProperty("javax.xml.accessExternalDTD", "all");
@@ -169,7 +182,7 @@ public class MyBatisGeneratorMojo extends AbstractMojo {
 			resourceDirectories.add(resource.getDirectory());
 		}
 		ClassLoader cl = ClassloaderUtility.getCustomClassloader(resourceDirectories);
-		ObjectFactory.addExternalClassLoader(cl);
+		Thread.currentThread().setContextClassLoader(cl);
 
 		if (configurationFile == null) {
 			throw new MojoExecutionException(Messages.getString("RuntimeError.0")); //$NON-NLS-1$
@@ -212,6 +225,8 @@ public class MyBatisGeneratorMojo extends AbstractMojo {
 			ShellCallback callback = new MavenShellCallback(this, overwrite);
 
 			MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config, callback, warnings);
+			myBatisGenerator.setMetricsEnabled(metrics);
+			myBatisGenerator.setMetricsReportFile(metricsReportFile);
 
 			myBatisGenerator.generate(new MavenProgressCallback(getLog(), verbose), contextsToRun,
 					fullyqualifiedTables);
@@ -20,6 +20,23 @@ public final class Constants {
 
 	public final static String DEFAULT_BASE_CONTROLLER_PREFIX = "Base";
 
+	// Repository 批量写入时每批提交的行数
+	public final static int DEFAULT_BATCH_SIZE = 500;
+
+	// 批量upsert的数据库方言，只读取context的配置，保证Repository和Service使用同一个值
+	public final static String UPSERT_DIALECT = "upsertDialect";
+
+	public final static String UPSERT_DIALECT_MYSQL = "mysql";
+
+	public final static String UPSERT_DIALECT_POSTGRESQL = "postgresql";
+
+	// keyset(游标)分页
+	public final static String KEYSET_PAGE_ENABLE = "enableKeysetPage";
+
+	public final static String KEYSET_SORT_COLUMN = "keysetSortColumn";
+
+	public final static String KEYSET_PAGE_CLASS = "KeysetPage";
+
 	public final static String RESPONSE_BODY_SUCCESS_STATIC_METHOD = "ok";
 
 	public final static String GENERATED_CODE_STYLE = "ENT";
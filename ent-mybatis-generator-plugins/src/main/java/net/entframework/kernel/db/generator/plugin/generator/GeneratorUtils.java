@@ -19,6 +19,7 @@ import org.mybatis.generator.config.UIConfig;
 import org.mybatis.generator.internal.util.JavaBeansUtil;
 import org.mybatis.generator.internal.util.StringUtility;
 
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -27,15 +28,7 @@ import java.util.Optional;
 public class GeneratorUtils {
 
 	public static IntrospectedTable getIntrospectedTable(Context context, String tableName) {
-		IntrospectedTable table = context.getIntrospectedTables()
-			.stream()
-			.filter(introspectedTable -> introspectedTable.getFullyQualifiedTable()
-				.getIntrospectedTableName()
-				.equals(tableName))
-			.findFirst()
-			.orElseThrow(() -> new RuntimeException("can not find target table: " + tableName));
-		table.initialize();
-		return table;
+		return context.getIntrospectedTableIndex().getRequiredTable(tableName);
 	}
 
 	public static String generateAliasedColumn(String tableName, String columnName) {
@@ -44,39 +37,28 @@ public class GeneratorUtils {
 
 	public static IntrospectedColumn getIntrospectedColumnByColumn(IntrospectedTable introspectedTable,
 			String columnName) {
-		return introspectedTable.getAllColumns()
-			.stream()
+		return introspectedTable.getColumn(columnName)
 			.filter(column -> column.getActualColumnName().equals(columnName))
-			.findFirst()
 			.orElseThrow(() -> new RuntimeException("can not find target column by column : " + columnName + " in "
 					+ introspectedTable.getFullyQualifiedTableNameAtRuntime()));
 	}
 
 	public static IntrospectedColumn safeGetIntrospectedColumnByColumn(IntrospectedTable introspectedTable,
 			String columnName) {
-		return introspectedTable.getAllColumns()
-			.stream()
+		return introspectedTable.getColumn(columnName)
 			.filter(column -> column.getActualColumnName().equals(columnName))
-			.findFirst()
 			.orElse(null);
 	}
 
 	public static IntrospectedColumn getIntrospectedColumnByJavaProperty(IntrospectedTable introspectedTable,
 			String property) {
-		return introspectedTable.getAllColumns()
-			.stream()
-			.filter(column -> column.getJavaProperty().equals(property))
-			.findFirst()
+		return introspectedTable.getColumnByJavaProperty(property)
 			.orElseThrow(() -> new RuntimeException("can not find target column by property : " + property));
 	}
 
 	public static IntrospectedColumn safeGetIntrospectedColumnByJavaProperty(IntrospectedTable introspectedTable,
 			String property) {
-		return introspectedTable.getAllColumns()
-			.stream()
-			.filter(column -> column.getJavaProperty().equals(property))
-			.findFirst()
-			.orElse(null);
+		return introspectedTable.getColumnByJavaProperty(property).orElse(null);
 	}
 
 	public static Field getFieldByName(TopLevelClass topLevelClass, String name) {
@@ -163,6 +145,62 @@ public class GeneratorUtils {
 		return introspectedTable.getPrimaryKeyColumns().get(0);
 	}
 
+	/**
+	 * keyset分页使用的排序列。context配置enableKeysetPage=true时启用，默认按主键排序，可以通过表配置keysetSortColumn指定
+	 * 其它非空的列，该列不要求唯一，排序及游标条件中会追加主键作为第二排序列(见{@link #getKeysetTiebreaker})。
+	 * 可为空的列不支持：NULL不参与比较，这些行永远不会被查询到。游标由列值编码而来，因此只支持整数和字符串列
+	 * @param context context
+	 * @param introspectedTable 表
+	 * @return 排序列，未启用、列可为空或列类型不支持时为空
+	 */
+	public static Optional<IntrospectedColumn> getKeysetColumn(Context context, IntrospectedTable introspectedTable) {
+		if (!StringUtility.isTrue(context.getProperty(Constants.KEYSET_PAGE_ENABLE))) {
+			return Optional.empty();
+		}
+		String sortColumn = introspectedTable.getTableConfiguration().getProperty(Constants.KEYSET_SORT_COLUMN);
+		IntrospectedColumn column = StringUtils.isEmpty(sortColumn) ? getPrimaryKey(introspectedTable)
+				: safeGetIntrospectedColumnByColumn(introspectedTable, sortColumn);
+		if (column == null || column.isNullable() || !isKeysetType(column)) {
+			return Optional.empty();
+		}
+		Optional<IntrospectedColumn> tiebreaker = getKeysetTiebreaker(introspectedTable, column);
+		if (tiebreaker.isPresent() && !isKeysetType(tiebreaker.get())) {
+			return Optional.empty();
+		}
+		return Optional.of(column);
+	}
+
+	/**
+	 * keyset分页的第二排序列。排序列不是主键时可能有重复值，只按排序列比较会在页边界跳过或重复行，
+	 * 因此按(排序列, 主键)排序，游标同时记录两列的值
+	 * @param introspectedTable 表
+	 * @param keysetColumn {@link #getKeysetColumn}返回的排序列
+	 * @return 排序列不是主键时为主键，否则为空
+	 */
+	public static Optional<IntrospectedColumn> getKeysetTiebreaker(IntrospectedTable introspectedTable,
+			IntrospectedColumn keysetColumn) {
+		if (isPrimaryKey(introspectedTable, keysetColumn)) {
+			return Optional.empty();
+		}
+		return Optional.of(getPrimaryKey(introspectedTable));
+	}
+
+	private static boolean isKeysetType(IntrospectedColumn column) {
+		switch (column.getJdbcType()) {
+			case Types.BIGINT:
+			case Types.INTEGER:
+			case Types.SMALLINT:
+			case Types.TINYINT:
+			case Types.CHAR:
+			case Types.VARCHAR:
+			case Types.NCHAR:
+			case Types.NVARCHAR:
+				return true;
+			default:
+				return false;
+		}
+	}
+
 	public static boolean isPrimaryKey(IntrospectedTable introspectedTable, IntrospectedColumn column) {
 		return introspectedTable.getPrimaryKeyColumns()
 			.stream()
@@ -8,7 +8,7 @@
 package net.entframework.kernel.db.generator.plugin.generator;
 
 import net.entframework.kernel.db.generator.Constants;
-import net.entframework.kernel.db.generator.utils.Inflection;
+import net.entframework.kernel.db.generator.utils.Inflector;
 import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.dom.java.*;
@@ -117,7 +117,7 @@ public class PojoFieldsGenerator {
 		}
 		// 追加支持batch delete的复数字段
 		IntrospectedColumn pk = GeneratorUtils.getPrimaryKey(introspectedTable);
-		String pluralizeIds = Inflection.pluralize(pk.getJavaProperty());
+		String pluralizeIds = Inflector.getInstance(context).pluralize(pk.getJavaProperty());
 		FullyQualifiedJavaType fqjt = FullyQualifiedJavaType.getNewListInstance();
 		fqjt.addTypeArgument(pk.getFullyQualifiedJavaType());
 		Field pluralizeField = new Field(pluralizeIds, fqjt);
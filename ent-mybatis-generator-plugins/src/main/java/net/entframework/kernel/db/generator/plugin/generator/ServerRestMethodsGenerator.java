@@ -7,11 +7,17 @@
 
 package net.entframework.kernel.db.generator.plugin.generator;
 
+import net.entframework.kernel.db.generator.Constants;
 import org.apache.commons.lang3.StringUtils;
 import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
 import org.mybatis.generator.api.dom.java.JavaVisibility;
 import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.internal.util.JavaBeansUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 
 public class ServerRestMethodsGenerator {
 
@@ -29,6 +35,8 @@ public class ServerRestMethodsGenerator {
 
 	private final boolean addAnnotation;
 
+	private IntrospectedColumn keysetColumn;
+
 	public ServerRestMethodsGenerator(FullyQualifiedJavaType recordType, FullyQualifiedJavaType voJavaType,
 			String serviceFieldName, IntrospectedColumn pkColumn, boolean addAnnotation) {
 		this.recordType = recordType;
@@ -57,6 +65,10 @@ public class ServerRestMethodsGenerator {
 		addBatchDeleteMethod();
 		// 获取单条记录
 		addSelectByPrimaryKeyMethod();
+		// keyset(游标)分页查询
+		if (this.keysetColumn != null) {
+			addKeysetPageMethod();
+		}
 
 		builder.withImport(recordType);
 
@@ -71,6 +83,10 @@ public class ServerRestMethodsGenerator {
 		this.baseVoType = baseRequestType;
 	}
 
+	public void setKeysetColumn(IntrospectedColumn keysetColumn) {
+		this.keysetColumn = keysetColumn;
+	}
+
 	public RestMethodAndImports build() {
 		return builder.build();
 	}
@@ -300,4 +316,64 @@ public class ServerRestMethodsGenerator {
 		builder.withMethod(method);
 	}
 
+	public void addKeysetPageMethod() {
+		RestMethod method = new RestMethod("seek", "GET", recordType);
+		method.setOperation("游标分页查询");
+		method.setDataAction("READ");
+		method.setVisibility(JavaVisibility.PUBLIC);
+		FullyQualifiedJavaType keysetPageType = new FullyQualifiedJavaType(
+				voJavaType.getPackageName() + "." + Constants.KEYSET_PAGE_CLASS);
+		builder.withImport(keysetPageType);
+		keysetPageType.addTypeArgument(voJavaType);
+		method.setReturnType(keysetPageType);
+		method.addParameter(new Parameter(keysetPageType, "page"));
+
+		// 多查一行用于判断是否还有下一页，游标取本页最后一行的排序列(及作为第二排序列的主键)
+		List<IntrospectedColumn> cursorColumns = new ArrayList<>();
+		cursorColumns.add(keysetColumn);
+		if (!keysetColumn.getJavaProperty().equals(pkColumn.getJavaProperty())) {
+			cursorColumns.add(pkColumn);
+		}
+		List<String> afterNames = List.of("after", "afterId");
+		for (int i = 0; i < cursorColumns.size(); i++) {
+			method.addBodyLine(String.format("%s %s;", cursorColumns.get(i).getFullyQualifiedJavaType().getShortName(),
+					afterNames.get(i)));
+		}
+		// 无效的游标是请求参数错误
+		method.addBodyLine("try {");
+		for (int i = 0; i < cursorColumns.size(); i++) {
+			String keyType = cursorColumns.get(i).getFullyQualifiedJavaType().getShortName();
+			method.addBodyLine(String.format("%s = KeysetPage.decode(page.getCursor(), %d, %s);", afterNames.get(i), i,
+					"String".equals(keyType) ? "value -> value" : keyType + "::valueOf"));
+		}
+		method.addBodyLine("}");
+		method.addBodyLine("catch (IllegalArgumentException ex) {");
+		method.addBodyLine("throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);");
+		method.addBodyLine("}");
+		builder.withImport(new FullyQualifiedJavaType("org.springframework.http.HttpStatus"));
+		builder.withImport(new FullyQualifiedJavaType("org.springframework.web.server.ResponseStatusException"));
+		method.addBodyLine(String.format("List<%s> rows = %s.selectAfter(%s, page.getLimit() + 1);",
+				recordType.getShortName(), serviceFieldName,
+				String.join(", ", afterNames.subList(0, cursorColumns.size()))));
+		method.addBodyLine("boolean hasMore = rows.size() > page.getLimit();");
+		method.addBodyLine("if (hasMore) {");
+		method.addBodyLine("rows = rows.subList(0, page.getLimit());");
+		method.addBodyLine("}");
+		method.addBodyLine(String.format("KeysetPage<%s> result = new KeysetPage<>();", voJavaType.getShortName()));
+		method.addBodyLine("result.setPageSize(page.getLimit());");
+		method.addBodyLine(String.format("result.setItems(converterService.convert(rows, %s.class));",
+				voJavaType.getShortName()));
+		method.addBodyLine("result.setHasMore(hasMore);");
+		method.addBodyLine("if (hasMore) {");
+		method.addBodyLine(String.format("%s last = rows.get(rows.size() - 1);", recordType.getShortName()));
+		method.addBodyLine(String.format("result.setNextCursor(KeysetPage.encode(%s));", cursorColumns.stream()
+			.map(column -> "last." + JavaBeansUtil.getGetterMethodName(column.getJavaProperty(),
+					column.getFullyQualifiedJavaType()) + "()")
+			.collect(Collectors.joining(", "))));
+		method.addBodyLine("}");
+		builder.withImport(FullyQualifiedJavaType.getNewListInstance());
+
+		builder.withMethod(method);
+	}
+
 }
@@ -7,6 +7,7 @@
 
 package net.entframework.kernel.db.generator.plugin.generator;
 
+import net.entframework.kernel.db.generator.Constants;
 import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
 import org.mybatis.generator.api.dom.java.JavaVisibility;
@@ -28,6 +29,8 @@ public class WebRestMethodsGenerator {
 
 	private final boolean addAnnotation;
 
+	private IntrospectedColumn keysetColumn;
+
 	public WebRestMethodsGenerator(FullyQualifiedJavaType recordType, FullyQualifiedJavaType voJavaType,
 			String serviceFieldName, IntrospectedColumn pkColumn, boolean addAnnotation) {
 		this.recordType = recordType;
@@ -56,6 +59,10 @@ public class WebRestMethodsGenerator {
 		addBatchDeleteMethod();
 		// 获取单条记录
 		addSelectByPrimaryKeyMethod();
+		// keyset(游标)分页查询
+		if (this.keysetColumn != null) {
+			addKeysetPageMethod();
+		}
 
 		// builder.withImport(recordType);
 
@@ -70,6 +77,10 @@ public class WebRestMethodsGenerator {
 		this.baseVoType = baseRequestType;
 	}
 
+	public void setKeysetColumn(IntrospectedColumn keysetColumn) {
+		this.keysetColumn = keysetColumn;
+	}
+
 	public RestMethodAndImports build() {
 		return builder.build();
 	}
@@ -212,4 +223,18 @@ public class WebRestMethodsGenerator {
 		builder.withMethod(method);
 	}
 
+	public void addKeysetPageMethod() {
+		RestMethod method = new RestMethod("seek", "GET", recordType);
+		method.setOperation("游标分页查询");
+		method.setVisibility(JavaVisibility.PUBLIC);
+		FullyQualifiedJavaType keysetPageType = new FullyQualifiedJavaType(Constants.KEYSET_PAGE_CLASS);
+		keysetPageType.addTypeArgument(voJavaType);
+		method.setReturnType(keysetPageType);
+
+		Parameter parameter = new Parameter(voJavaType, "page");
+		method.addParameter(parameter);
+
+		builder.withMethod(method);
+	}
+
 }
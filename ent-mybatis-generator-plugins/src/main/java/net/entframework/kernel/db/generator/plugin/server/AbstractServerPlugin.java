@@ -9,6 +9,8 @@ package net.entframework.kernel.db.generator.plugin.server;
 
 import net.entframework.kernel.db.generator.Constants;
 import net.entframework.kernel.db.generator.plugin.AbstractDynamicSQLPlugin;
+import net.entframework.kernel.db.generator.plugin.server.methods.repository.MapperUpsertMethodGenerator;
+import net.entframework.kernel.db.generator.utils.CommentHelper;
 import net.entframework.kernel.db.generator.utils.PropertyUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.mybatis.generator.api.GeneratedJavaFile;
@@ -20,6 +22,8 @@ import org.mybatis.generator.internal.util.StringUtility;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /***
  * 增删改查，读取context配置参数
@@ -28,6 +32,14 @@ public abstract class AbstractServerPlugin extends AbstractDynamicSQLPlugin {
 
 	protected String pluginName = getClass().getName();
 
+	/**
+	 * 按表收集生成的文件，并行生成时clientGenerated在工作线程中调用，合并时按配置的表顺序输出
+	 */
+	private final Map<IntrospectedTable, List<GeneratedJavaFile>> tableGeneratedJavaFiles = new ConcurrentHashMap<>();
+
+	/**
+	 * 不属于某张表的文件，只在context线程中添加
+	 */
 	protected List<GeneratedJavaFile> generatedJavaFiles = new ArrayList<>();
 
 	protected String voTargetPackage;
@@ -60,6 +72,28 @@ public abstract class AbstractServerPlugin extends AbstractDynamicSQLPlugin {
 
 	protected String codingStyle;
 
+	protected void addGeneratedJavaFile(IntrospectedTable introspectedTable, GeneratedJavaFile generatedJavaFile) {
+		this.tableGeneratedJavaFiles.computeIfAbsent(introspectedTable, key -> new ArrayList<>())
+			.add(generatedJavaFile);
+	}
+
+	/**
+	 * 按配置的表顺序合并每张表生成的文件，最后是不属于某张表的文件，串行与并行生成的结果一致
+	 * @return 生成的文件
+	 */
+	protected List<GeneratedJavaFile> getGeneratedJavaFiles() {
+		List<GeneratedJavaFile> answer = new ArrayList<>();
+		for (IntrospectedTable introspectedTable : context.getIntrospectedTables()) {
+			answer.addAll(this.tableGeneratedJavaFiles.getOrDefault(introspectedTable, List.of()));
+		}
+		answer.addAll(this.generatedJavaFiles);
+		return answer;
+	}
+
+	protected IntrospectedTable findParentTable(String parentTable) {
+		return context.getIntrospectedTableIndex().getTable(parentTable).orElse(null);
+	}
+
 	protected IntrospectedTable findParentTable(List<IntrospectedTable> tables, String parentTable) {
 		return tables.stream()
 			.filter(introspectedTable1 -> introspectedTable1.getFullyQualifiedTable()
@@ -76,6 +110,9 @@ public abstract class AbstractServerPlugin extends AbstractDynamicSQLPlugin {
 			return false;
 		}
 
+		// 同一个进程中再次生成时重新读取修改过的注释资源
+		CommentHelper.INSTANCE.refresh();
+
 		codingStyle = this.getProperty("generatedCodeStyle");
 		if (StringUtils.isEmpty(codingStyle)) {
 			codingStyle = Constants.GENERATED_CODE_STYLE;
@@ -99,6 +136,10 @@ public abstract class AbstractServerPlugin extends AbstractDynamicSQLPlugin {
 		this.controllerTargetPackage = this.context.getProperty("controllerTargetPackage");
 		this.controllerPrefix = this.getProperty("controllerPrefix", Constants.DEFAULT_BASE_CONTROLLER_PREFIX);
 
+		if (this.properties.containsKey(Constants.UPSERT_DIALECT)) {
+			warnings.add(this.getClass().getName() + "中的upsertDialect配置无效, 需要配置在context中");
+		}
+
 		String mode = this.properties.getProperty("writeMode");
 		if (StringUtils.isNotEmpty(mode)) {
 			WriteMode writeMode = convert(mode);
@@ -128,6 +169,35 @@ public abstract class AbstractServerPlugin extends AbstractDynamicSQLPlugin {
 		return getProperty(key, null);
 	}
 
+	/**
+	 * 批量upsert使用的数据库方言，先读取context的upsertDialect配置(mysql/postgresql/none)，未配置时根据JDBC驱动推断。
+	 * 不读取插件自身的配置，RepositoryPlugin生成upsertBatch与ServicePlugin调用upsertBatch的判断始终一致
+	 * @return mysql、postgresql，不支持时返回null
+	 */
+	protected String getUpsertDialect() {
+		String dialect = context.getProperty(Constants.UPSERT_DIALECT);
+		if (StringUtils.isEmpty(dialect) && context.getJdbcConnectionConfiguration() != null) {
+			dialect = context.getJdbcConnectionConfiguration().getDriverClass();
+		}
+		if (StringUtils.containsAnyIgnoreCase(dialect, "mysql", "mariadb")) {
+			return Constants.UPSERT_DIALECT_MYSQL;
+		}
+		if (StringUtils.containsIgnoreCase(dialect, "postgresql")) {
+			return Constants.UPSERT_DIALECT_POSTGRESQL;
+		}
+		return null;
+	}
+
+	/**
+	 * 表是否生成批量upsert：需要支持的方言、主键和可写入的列。全部是主键列的表也生成，冲突时保留已有的行
+	 * @param introspectedTable 表
+	 * @return true/false
+	 */
+	protected boolean isUpsertSupported(IntrospectedTable introspectedTable) {
+		return getUpsertDialect() != null && introspectedTable.hasPrimaryKeyColumns()
+				&& !MapperUpsertMethodGenerator.getInsertColumns(introspectedTable).isEmpty();
+	}
+
 	public FullyQualifiedJavaType getMapperJavaType(String modelObjectName) {
 		return new FullyQualifiedJavaType(this.context.getJavaClientGeneratorConfiguration().getTargetPackage() + "."
 				+ modelObjectName + "Mapper");
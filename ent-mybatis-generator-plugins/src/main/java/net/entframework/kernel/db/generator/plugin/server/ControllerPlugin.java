@@ -22,6 +22,7 @@ import org.mybatis.generator.config.PropertyRegistry;
 import org.mybatis.generator.internal.util.StringUtility;
 
 import java.util.List;
+import java.util.Optional;
 
 /***
  * Controller 生成
@@ -36,6 +37,11 @@ public class ControllerPlugin extends AbstractServerPlugin {
 
 	private boolean generatePermCode = true;
 
+	/**
+	 * 有表使用keyset分页时，在context级别生成一次KeysetPage，与哪张表先生成无关
+	 */
+	private volatile boolean keysetPageRequired = false;
+
 	@Override
 	public boolean validate(List<String> warnings) {
 		boolean validate = super.validate(warnings);
@@ -59,6 +65,11 @@ public class ControllerPlugin extends AbstractServerPlugin {
 		return validate;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	/**
 	 * Mapper 文件生成时，同步Controller
 	 * @param interfaze the generated interface if any, may be null
@@ -127,6 +138,11 @@ public class ControllerPlugin extends AbstractServerPlugin {
 		if (StringUtils.isNotEmpty(this.voRootClass)) {
 			restMethodsGenerator.setBaseVoType(new FullyQualifiedJavaType(this.voRootClass));
 		}
+		Optional<IntrospectedColumn> keysetColumn = GeneratorUtils.getKeysetColumn(context, introspectedTable);
+		if (keysetColumn.isPresent()) {
+			restMethodsGenerator.setKeysetColumn(keysetColumn.get());
+			this.keysetPageRequired = true;
+		}
 		restMethodsGenerator.generate();
 		RestMethodAndImports methodAndImports = restMethodsGenerator.build();
 
@@ -171,8 +187,8 @@ public class ControllerPlugin extends AbstractServerPlugin {
 			TopLevelClass controllerJavaClass = new TopLevelClass(controllerJavaType);
 			controllerJavaClass.setVisibility(JavaVisibility.PUBLIC);
 			controllerJavaClass.addAnnotation("@RestController");
-			controllerJavaClass
-				.addImportedType(new FullyQualifiedJavaType("org.springframework.web.bind.annotation.RestController"));
+			controllerJavaClass.addImportedType(
+					FullyQualifiedJavaType.getInstance("org.springframework.web.bind.annotation.RestController"));
 			controllerJavaClass.setSuperClass(baseControllerJavaType);
 			controllerJavaClass.addImportedType(baseControllerJavaType);
 
@@ -192,7 +208,7 @@ public class ControllerPlugin extends AbstractServerPlugin {
 					context.getJavaModelGeneratorConfiguration().getTargetProject(),
 					context.getProperty(PropertyRegistry.CONTEXT_JAVA_FILE_ENCODING), context.getJavaFormatter());
 			controllerJavaFile.setOutputDirectory(getOutputDirectory());
-			this.generatedJavaFiles.add(controllerJavaFile);
+			addGeneratedJavaFile(introspectedTable, controllerJavaFile);
 		}
 		else {
 			if (this.codingStyle.equals(Constants.GENERATED_CODE_STYLE)) {
@@ -204,11 +220,119 @@ public class ControllerPlugin extends AbstractServerPlugin {
 			baseControllerJavaClass.addImportedType("io.swagger.v3.oas.annotations.tags.Tag");
 		}
 
-		this.generatedJavaFiles.add(baseControllerJavaFile);
+		addGeneratedJavaFile(introspectedTable, baseControllerJavaFile);
 
 		return true;
 	}
 
+	/**
+	 * keyset分页的请求及响应对象，所有表共用，生成在VO包下
+	 */
+	private GeneratedJavaFile generateKeysetPage() {
+		TopLevelClass keysetPageClass = new TopLevelClass(
+				new FullyQualifiedJavaType(this.voTargetPackage + "." + Constants.KEYSET_PAGE_CLASS));
+		keysetPageClass.setVisibility(JavaVisibility.PUBLIC);
+		keysetPageClass.setWriteMode(WriteMode.OVER_WRITE);
+		keysetPageClass.addTypeParameter(new TypeParameter("T"));
+		keysetPageClass.addAnnotation(LombokAnnotation.DATA.getName());
+		keysetPageClass.addImportedType(LombokAnnotation.DATA.getJavaType());
+		GeneratorUtils.addComment(keysetPageClass, "Keyset(游标)分页，请求时传入上一页返回的nextCursor，第一页不传");
+
+		keysetPageClass.addField(createConstant("DEFAULT_PAGE_SIZE", "20"));
+		keysetPageClass.addField(createConstant("MAX_PAGE_SIZE", "1000"));
+
+		FullyQualifiedJavaType itemsType = FullyQualifiedJavaType.getNewListInstance();
+		itemsType.addTypeArgument(new FullyQualifiedJavaType("T"));
+		keysetPageClass.addImportedType(FullyQualifiedJavaType.getNewListInstance());
+		keysetPageClass.addField(createField("cursor", FullyQualifiedJavaType.getStringInstance(), null));
+		keysetPageClass.addField(createField("pageSize", new FullyQualifiedJavaType("Integer"), "DEFAULT_PAGE_SIZE"));
+		keysetPageClass.addField(createField("items", itemsType, null));
+		keysetPageClass.addField(createField("nextCursor", FullyQualifiedJavaType.getStringInstance(), null));
+		keysetPageClass.addField(createField("hasMore", FullyQualifiedJavaType.getBooleanPrimitiveInstance(), null));
+
+		Method getLimit = new Method("getLimit");
+		getLimit.setVisibility(JavaVisibility.PUBLIC);
+		getLimit.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		getLimit.addAnnotation("@JsonIgnore");
+		keysetPageClass.addImportedType("com.fasterxml.jackson.annotation.JsonIgnore");
+		getLimit.addBodyLine("if (pageSize == null || pageSize <= 0) {");
+		getLimit.addBodyLine("return DEFAULT_PAGE_SIZE;");
+		getLimit.addBodyLine("}");
+		getLimit.addBodyLine("return Math.min(pageSize, MAX_PAGE_SIZE);");
+		keysetPageClass.addMethod(getLimit);
+
+		// 游标对调用方不透明，每个排序列值分别做URL安全编码，以.连接(Base64url字符集中没有.)
+		Method encode = new Method("encode");
+		encode.setVisibility(JavaVisibility.PUBLIC);
+		encode.setStatic(true);
+		encode.setReturnType(FullyQualifiedJavaType.getStringInstance());
+		encode.addParameter(new Parameter(FullyQualifiedJavaType.getObjectInstance(), "keys", true));
+		encode.addBodyLine("StringJoiner cursor = new StringJoiner(\".\");");
+		encode.addBodyLine("for (Object key : keys) {");
+		encode.addBodyLine("cursor.add(Base64.getUrlEncoder()");
+		encode.addBodyLine(".withoutPadding()");
+		encode.addBodyLine(".encodeToString(String.valueOf(key).getBytes(StandardCharsets.UTF_8)));");
+		encode.addBodyLine("}");
+		encode.addBodyLine("return cursor.toString();");
+		keysetPageClass.addMethod(encode);
+
+		// 游标来自请求参数，无法解码或转换为排序列类型时抛出IllegalArgumentException，由Controller按请求参数错误(400)处理
+		FullyQualifiedJavaType parserType = new FullyQualifiedJavaType("java.util.function.Function");
+		parserType.addTypeArgument(FullyQualifiedJavaType.getStringInstance());
+		parserType.addTypeArgument(new FullyQualifiedJavaType("K"));
+		Method decode = new Method("decode");
+		decode.setVisibility(JavaVisibility.PUBLIC);
+		decode.setStatic(true);
+		decode.addTypeParameter(new TypeParameter("K"));
+		decode.setReturnType(new FullyQualifiedJavaType("K"));
+		decode.addParameter(new Parameter(FullyQualifiedJavaType.getStringInstance(), "cursor"));
+		decode.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "index"));
+		decode.addParameter(new Parameter(parserType, "parser"));
+		decode.addBodyLine("if (cursor == null || cursor.isEmpty()) {");
+		decode.addBodyLine("return null;");
+		decode.addBodyLine("}");
+		decode.addBodyLine("String[] keys = cursor.split(\"\\\\.\", -1);");
+		decode.addBodyLine("if (index >= keys.length) {");
+		decode.addBodyLine("throw new IllegalArgumentException(\"无效的cursor: \" + cursor);");
+		decode.addBodyLine("}");
+		decode.addBodyLine("try {");
+		decode.addBodyLine(
+				"return parser.apply(new String(Base64.getUrlDecoder().decode(keys[index]), StandardCharsets.UTF_8));");
+		decode.addBodyLine("}");
+		// Base64解码失败及NumberFormatException都是IllegalArgumentException
+		decode.addBodyLine("catch (IllegalArgumentException ex) {");
+		decode.addBodyLine("throw new IllegalArgumentException(\"无效的cursor: \" + cursor, ex);");
+		decode.addBodyLine("}");
+		keysetPageClass.addMethod(decode);
+		keysetPageClass.addImportedType("java.util.Base64");
+		keysetPageClass.addImportedType("java.util.StringJoiner");
+		keysetPageClass.addImportedType("java.nio.charset.StandardCharsets");
+		keysetPageClass.addImportedType("java.util.function.Function");
+
+		GeneratedJavaFile gjf = new GeneratedJavaFile(keysetPageClass,
+				context.getJavaModelGeneratorConfiguration().getTargetProject(),
+				context.getProperty(PropertyRegistry.CONTEXT_JAVA_FILE_ENCODING), context.getJavaFormatter());
+		gjf.setOutputDirectory(getOutputDirectory());
+		return gjf;
+	}
+
+	private Field createConstant(String name, String value) {
+		Field field = createField(name, FullyQualifiedJavaType.getIntInstance(), value);
+		field.setVisibility(JavaVisibility.PUBLIC);
+		field.setStatic(true);
+		field.setFinal(true);
+		return field;
+	}
+
+	private Field createField(String name, FullyQualifiedJavaType type, String initializationString) {
+		Field field = new Field(name, type);
+		field.setVisibility(JavaVisibility.PRIVATE);
+		if (initializationString != null) {
+			field.setInitializationString(initializationString);
+		}
+		return field;
+	}
+
 	private void addPostMapping(TopLevelClass controllerJavaClass, RestMethod method, String modelDescription,
 			FullyQualifiedJavaType baseRecordType) {
 		if (this.codingStyle.equals(Constants.GENERATED_CODE_STYLE)) {
@@ -273,7 +397,10 @@ public class ControllerPlugin extends AbstractServerPlugin {
 	 */
 	@Override
 	public List<GeneratedJavaFile> contextGenerateAdditionalJavaFiles() {
-		return generatedJavaFiles;
+		if (this.keysetPageRequired) {
+			this.generatedJavaFiles.add(generateKeysetPage());
+		}
+		return getGeneratedJavaFiles();
 	}
 
 }
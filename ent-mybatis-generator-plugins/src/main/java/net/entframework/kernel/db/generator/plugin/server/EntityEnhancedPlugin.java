@@ -35,6 +35,11 @@ public class EntityEnhancedPlugin extends PluginAdapter {
 		return true;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	/**
 	 * Intercepts base record class generation
 	 */
@@ -34,6 +34,11 @@ public class MapstructPlugin extends AbstractServerPlugin {
 		return validate;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	/***
 	 * 在model产生后新增pojo request 和 pojo response 插件注册时要注意顺序，因为需要从TopLevelClass读取所有Field
 	 * @param introspectedTable The class containing information about the table as
@@ -43,7 +48,7 @@ public class MapstructPlugin extends AbstractServerPlugin {
 	@Override
 	public boolean modelBaseRecordClassGenerated(IntrospectedTable introspectedTable) {
 		TopLevelClass topLevelClass = introspectedTable.getBaseModelClass();
-		generatedJavaFiles.add(generateMapstruct(topLevelClass, introspectedTable));
+		addGeneratedJavaFile(introspectedTable, generateMapstruct(topLevelClass, introspectedTable));
 		return true;
 	}
 
@@ -124,10 +129,10 @@ public class MapstructPlugin extends AbstractServerPlugin {
 	private InnerInterface createInnerMapper(Interface mapstructInterface, String interfaceName,
 			FullyQualifiedJavaType sourceType, FullyQualifiedJavaType targetType) {
 		InnerInterface innerInterface = new InnerInterface(new FullyQualifiedJavaType(interfaceName));
-		mapstructInterface.addImportedType(new FullyQualifiedJavaType("org.mapstruct.Mapper"));
-		mapstructInterface.addImportedType(new FullyQualifiedJavaType("org.mapstruct.NullValueCheckStrategy"));
+		mapstructInterface.addImportedType(FullyQualifiedJavaType.getInstance("org.mapstruct.Mapper"));
+		mapstructInterface.addImportedType(FullyQualifiedJavaType.getInstance("org.mapstruct.NullValueCheckStrategy"));
 		mapstructInterface
-			.addImportedType(new FullyQualifiedJavaType("org.mapstruct.NullValuePropertyMappingStrategy"));
+			.addImportedType(FullyQualifiedJavaType.getInstance("org.mapstruct.NullValuePropertyMappingStrategy"));
 		innerInterface.addAnnotation(
 				"@Mapper(componentModel = \"spring\", nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS, nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)");
 		innerInterface.addSuperInterface(generatorConverter(mapstructInterface, sourceType, targetType));
@@ -151,7 +156,7 @@ public class MapstructPlugin extends AbstractServerPlugin {
 	 */
 	@Override
 	public List<GeneratedJavaFile> contextGenerateAdditionalJavaFiles() {
-		return generatedJavaFiles;
+		return getGeneratedJavaFiles();
 	}
 
 }
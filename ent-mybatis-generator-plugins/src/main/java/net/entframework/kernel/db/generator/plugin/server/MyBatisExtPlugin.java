@@ -12,9 +12,9 @@ import net.entframework.kernel.db.generator.config.Relation;
 import net.entframework.kernel.db.generator.plugin.AbstractDynamicSQLPlugin;
 import net.entframework.kernel.db.generator.plugin.generator.GeneratorUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.Pair;
 import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTableIndex.JoinRelation;
 import org.mybatis.generator.api.Plugin;
 import org.mybatis.generator.api.dom.java.*;
 import org.mybatis.generator.config.JoinEntry;
@@ -32,6 +32,11 @@ public class MyBatisExtPlugin extends AbstractDynamicSQLPlugin {
 		return true;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public boolean modelFieldGenerated(Field field, TopLevelClass topLevelClass, IntrospectedColumn introspectedColumn,
 			IntrospectedTable introspectedTable, ModelClassType modelClassType) {
@@ -73,7 +78,7 @@ public class MyBatisExtPlugin extends AbstractDynamicSQLPlugin {
 
 			if (!StringUtils.equals("OTHER", introspectedColumn.getJdbcTypeName())) {
 				columnSql.append("jdbcType = JDBCType.").append(introspectedColumn.getJdbcTypeName());
-				topLevelClass.addImportedType(new FullyQualifiedJavaType("java.sql.JDBCType"));
+				topLevelClass.addImportedType(FullyQualifiedJavaType.getInstance("java.sql.JDBCType"));
 			}
 			else {
 				throw new RuntimeException(
@@ -175,7 +180,7 @@ public class MyBatisExtPlugin extends AbstractDynamicSQLPlugin {
 		String tableName = introspectedTable.getFullyQualifiedTable().getIntrospectedTableName();
 		JoinEntry joinEntry = context.getJoinConfig().getJoinEntry(tableName);
 		if (joinEntry != null) {
-			addJoinField(topLevelClass, joinEntry);
+			addJoinField(topLevelClass, introspectedTable);
 		}
 
 		return true;
@@ -201,12 +206,16 @@ public class MyBatisExtPlugin extends AbstractDynamicSQLPlugin {
 		return true;
 	}
 
-	private void addJoinField(TopLevelClass topLevelClass, JoinEntry joinEntry) {
+	private void addJoinField(TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
+		List<JoinRelation> relations = context.getIntrospectedTableIndex().getRelations(introspectedTable);
 		// Many-to-one / one-to-many 关联
-		for (Pair<String, JoinTarget> detail : joinEntry.getDetails()) {
-			JoinTarget target = detail.getRight();
-			IntrospectedTable rightTable = GeneratorUtils.getIntrospectedTable(context, target.getRightTable());
-			IntrospectedTable leftTable = GeneratorUtils.getIntrospectedTable(context, joinEntry.getLeftTable());
+		for (JoinRelation relation : relations) {
+			if (relation.getJoinType() == JoinTarget.JoinType.MANY_TO_MANY) {
+				continue;
+			}
+			JoinTarget target = relation.getJoinTarget();
+			IntrospectedTable rightTable = relation.getRightTable();
+			IntrospectedTable leftTable = relation.getLeftTable();
 
 			FullyQualifiedJavaType recordType = new FullyQualifiedJavaType(rightTable.getBaseRecordType());
 			FullyQualifiedJavaType listReturnType = FullyQualifiedJavaType.getNewListInstance();
@@ -233,9 +242,9 @@ public class MyBatisExtPlugin extends AbstractDynamicSQLPlugin {
 				if (target.getType() == JoinTarget.JoinType.ONE_TO_MANY) {
 					topLevelClass.addImportedType(FullyQualifiedJavaType.getNewListInstance());
 					IntrospectedColumn leftTableColumn = GeneratorUtils.getIntrospectedColumnByColumn(leftTable,
-							detail.getLeft());
+							relation.getLeftColumnName());
 					IntrospectedColumn leftKeyColumn = GeneratorUtils.getIntrospectedColumnByColumn(leftTable,
-							detail.getKey());
+							relation.getLeftColumnName());
 					field.setDescription(GeneratorUtils.getFileDescription(rightTable));
 					builder.joinType(JoinTarget.JoinType.ONE_TO_MANY)
 						.bindField(field)
@@ -251,7 +260,7 @@ public class MyBatisExtPlugin extends AbstractDynamicSQLPlugin {
 				}
 
 				if (target.getType() == JoinTarget.JoinType.MANY_TO_ONE) {
-					String columnName = detail.getKey();
+					String columnName = relation.getLeftColumnName();
 					IntrospectedColumn leftColumn = GeneratorUtils.getIntrospectedColumnByColumn(leftTable, columnName);
 					Field relatedField = GeneratorUtils.getFieldByName(topLevelClass, leftColumn.getJavaProperty());
 					field.setDescription(relatedField.getDescription());
@@ -295,10 +304,13 @@ public class MyBatisExtPlugin extends AbstractDynamicSQLPlugin {
 
 		}
 		// many-to-many
-		List<JoinTable> joinTables = joinEntry.getJoinTables();
-		for (JoinTable joinTable : joinTables) {
-			IntrospectedTable rightTable = GeneratorUtils.getIntrospectedTable(context, joinTable.getRightTable());
-			IntrospectedTable middleTable = GeneratorUtils.getIntrospectedTable(context, joinTable.getMiddleTable());
+		for (JoinRelation relation : relations) {
+			if (relation.getJoinType() != JoinTarget.JoinType.MANY_TO_MANY) {
+				continue;
+			}
+			JoinTable joinTable = relation.getJoinTable();
+			IntrospectedTable rightTable = relation.getRightTable();
+			IntrospectedTable middleTable = relation.getMiddleTable();
 
 			FullyQualifiedJavaType targetBindType = new FullyQualifiedJavaType(rightTable.getBaseRecordType());
 
@@ -7,11 +7,16 @@
 
 package net.entframework.kernel.db.generator.plugin.server;
 
+import net.entframework.kernel.db.generator.Constants;
 import net.entframework.kernel.db.generator.plugin.generator.GeneratorUtils;
 import net.entframework.kernel.db.generator.plugin.server.methods.AbstractMethodGenerator;
 import net.entframework.kernel.db.generator.plugin.server.methods.MethodAndImports;
+import net.entframework.kernel.db.generator.plugin.server.methods.repository.MapperUpsertMethodGenerator;
+import net.entframework.kernel.db.generator.plugin.server.methods.repository.RepBatchMethodGenerator;
 import net.entframework.kernel.db.generator.plugin.server.methods.repository.RepConstructorGenerator;
 import net.entframework.kernel.db.generator.plugin.server.methods.repository.RepEnhancedCreateAndUpdateMethodGenerator;
+import net.entframework.kernel.db.generator.plugin.server.methods.repository.RepKeysetMethodGenerator;
+import net.entframework.kernel.db.generator.plugin.server.methods.repository.RepStreamingMethodGenerator;
 import org.apache.commons.lang3.StringUtils;
 import org.mybatis.generator.api.GeneratedJavaFile;
 import org.mybatis.generator.api.IntrospectedColumn;
@@ -19,6 +24,7 @@ import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.WriteMode;
 import org.mybatis.generator.api.dom.java.*;
 import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.runtime.dynamic.sql.elements.Utils;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,6 +34,8 @@ import java.util.stream.Collectors;
  */
 public class RepositoryPlugin extends AbstractServerPlugin {
 
+	private int batchSize = Constants.DEFAULT_BATCH_SIZE;
+
 	@Override
 	public boolean validate(List<String> warnings) {
 
@@ -38,9 +46,23 @@ public class RepositoryPlugin extends AbstractServerPlugin {
 			return false;
 		}
 
+		String size = this.getProperty("batchSize");
+		if (StringUtils.isNotEmpty(size)) {
+			if (!StringUtils.isNumeric(size) || Integer.parseInt(size) <= 0) {
+				warnings.add("RepositoryPlugin配置了错误的batchSize: " + size);
+				return false;
+			}
+			this.batchSize = Integer.parseInt(size);
+		}
+
 		return validate;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	/**
 	 * Mapper 文件生成时，同步生成service接口及实现
 	 * @param interfaze the generated interface if any, may be null
@@ -51,8 +73,14 @@ public class RepositoryPlugin extends AbstractServerPlugin {
 	public boolean clientGenerated(Interface interfaze, IntrospectedTable introspectedTable) {
 
 		boolean hasGeneratedKeys = introspectedTable.getGeneratedKey().isPresent();
-		generatedJavaFiles.add(generateRepositoryInterface(interfaze, introspectedTable, hasGeneratedKeys));
-		generatedJavaFiles.add(generateRepositoryImpl(interfaze, introspectedTable, hasGeneratedKeys));
+		if (isUpsertSupported(introspectedTable)) {
+			FullyQualifiedJavaType recordType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
+			generate(interfaze, new MapperUpsertMethodGenerator(
+					getConfig(interfaze, interfaze, introspectedTable, recordType, true), getUpsertDialect()));
+		}
+		addGeneratedJavaFile(introspectedTable,
+				generateRepositoryInterface(interfaze, introspectedTable, hasGeneratedKeys));
+		addGeneratedJavaFile(introspectedTable, generateRepositoryImpl(interfaze, introspectedTable, hasGeneratedKeys));
 
 		return true;
 	}
@@ -74,6 +102,18 @@ public class RepositoryPlugin extends AbstractServerPlugin {
 		repositoryInterface.addSuperInterface(fqjt);
 		repositoryInterface.addImportedType(fqjt);
 
+		generate(repositoryInterface,
+				new RepBatchMethodGenerator(
+						getConfig(clientInterface, repositoryInterface, introspectedTable, recordType, true), batchSize,
+						isUpsertSupported(introspectedTable)));
+		GeneratorUtils.getKeysetColumn(context, introspectedTable)
+			.ifPresent(column -> generate(repositoryInterface, new RepKeysetMethodGenerator(
+					getConfig(clientInterface, repositoryInterface, introspectedTable, recordType, true), column)));
+		if (Utils.generateStreamingSelects(introspectedTable)) {
+			generate(repositoryInterface, new RepStreamingMethodGenerator(
+					getConfig(clientInterface, repositoryInterface, introspectedTable, recordType, true)));
+		}
+
 		GeneratedJavaFile gjf = new GeneratedJavaFile(repositoryInterface,
 				context.getJavaModelGeneratorConfiguration().getTargetProject(),
 				context.getProperty(PropertyRegistry.CONTEXT_JAVA_FILE_ENCODING), context.getJavaFormatter());
@@ -108,6 +148,14 @@ public class RepositoryPlugin extends AbstractServerPlugin {
 
 		generate(repositoryInterfaceImplClass, new RepConstructorGenerator(buildConfig));
 		generate(repositoryInterfaceImplClass, new RepEnhancedCreateAndUpdateMethodGenerator(buildConfig));
+		generate(repositoryInterfaceImplClass,
+				new RepBatchMethodGenerator(buildConfig, batchSize, isUpsertSupported(introspectedTable)));
+		GeneratorUtils.getKeysetColumn(context, introspectedTable)
+			.ifPresent(column -> generate(repositoryInterfaceImplClass,
+					new RepKeysetMethodGenerator(buildConfig, column)));
+		if (Utils.generateStreamingSelects(introspectedTable)) {
+			generate(repositoryInterfaceImplClass, new RepStreamingMethodGenerator(buildConfig));
+		}
 		// generate(repositoryInterfaceImplClass, new
 		// RepDeleteByPrimaryKeyMethodGenerator(buildConfig));
 		// generate(repositoryInterfaceImplClass, new
@@ -203,7 +251,7 @@ public class RepositoryPlugin extends AbstractServerPlugin {
 	 */
 	@Override
 	public List<GeneratedJavaFile> contextGenerateAdditionalJavaFiles() {
-		return generatedJavaFiles;
+		return getGeneratedJavaFiles();
 	}
 
 }
\ No newline at end of file
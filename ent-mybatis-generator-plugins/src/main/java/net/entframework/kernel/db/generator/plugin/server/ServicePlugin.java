@@ -15,8 +15,11 @@ import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.WriteMode;
 import org.mybatis.generator.api.dom.java.*;
 import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.runtime.dynamic.sql.elements.Utils;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /***
  * Service生成
@@ -36,6 +39,11 @@ public class ServicePlugin extends AbstractServerPlugin {
 		return validate;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	/**
 	 * Mapper 文件生成时，同步生成service接口及实现
 	 * @param interfaze the generated interface if any, may be null
@@ -46,8 +54,10 @@ public class ServicePlugin extends AbstractServerPlugin {
 	public boolean clientGenerated(Interface interfaze, IntrospectedTable introspectedTable) {
 
 		boolean hasGeneratedKeys = introspectedTable.getGeneratedKey().isPresent();
-		generatedJavaFiles.add(generateBaseServiceInterface(interfaze, introspectedTable, hasGeneratedKeys));
-		generatedJavaFiles.add(generateBaseServiceInterfaceImpl(interfaze, introspectedTable, hasGeneratedKeys));
+		addGeneratedJavaFile(introspectedTable,
+				generateBaseServiceInterface(interfaze, introspectedTable, hasGeneratedKeys));
+		addGeneratedJavaFile(introspectedTable,
+				generateBaseServiceInterfaceImpl(interfaze, introspectedTable, hasGeneratedKeys));
 
 		return true;
 	}
@@ -71,6 +81,14 @@ public class ServicePlugin extends AbstractServerPlugin {
 
 		serviceInterface.addImportedType(baseServiceType);
 
+		for (Method delegateMethod : createDelegateMethods(introspectedTable, recordType)) {
+			delegateMethod.setAbstract(true);
+			serviceInterface.addMethod(delegateMethod);
+			delegateMethod.getParameters().forEach(p -> serviceInterface.addImportedType(p.getType()));
+			delegateMethod.getReturnType().ifPresent(serviceInterface::addImportedType);
+		}
+		serviceInterface.addImportedType(FullyQualifiedJavaType.getNewListInstance());
+
 		GeneratedJavaFile gjf = new GeneratedJavaFile(serviceInterface,
 				context.getJavaModelGeneratorConfiguration().getTargetProject(),
 				context.getProperty(PropertyRegistry.CONTEXT_JAVA_FILE_ENCODING), context.getJavaFormatter());
@@ -105,12 +123,18 @@ public class ServicePlugin extends AbstractServerPlugin {
 		serviceInterfaceImplClass.addImportedType(baseServiceType);
 		Parameter p1 = new Parameter(baseRepositoryJavaType,
 				StringUtils.uncapitalize(baseRepositoryJavaType.getShortName()));
+		// 批量及keyset分页方法直接委托给Repository
+		Field repositoryField = new Field(p1.getName(), baseRepositoryJavaType);
+		repositoryField.setVisibility(JavaVisibility.PRIVATE);
+		repositoryField.setFinal(true);
+		serviceInterfaceImplClass.addField(repositoryField);
 		// 构造器
 		Method defaultConstructor = new Method(serviceImplJavaType.getShortName());
 		defaultConstructor.setConstructor(true);
 		defaultConstructor.setVisibility(JavaVisibility.PUBLIC);
 		defaultConstructor.addParameter(p1);
 		defaultConstructor.addBodyLine(String.format("super(%s, %s.class);", p1.getName(), recordType.getShortName()));
+		defaultConstructor.addBodyLine(String.format("this.%s = %s;", p1.getName(), p1.getName()));
 
 		Method method = new Method(serviceImplJavaType.getShortName());
 		FullyQualifiedJavaType entityClsJavaType = new FullyQualifiedJavaType(
@@ -124,10 +148,27 @@ public class ServicePlugin extends AbstractServerPlugin {
 		method.setConstructor(true);
 		method.setVisibility(JavaVisibility.PUBLIC);
 		method.addBodyLine(String.format("super(%s, entityClass);", p1.getName()));
+		method.addBodyLine(String.format("this.%s = %s;", p1.getName(), p1.getName()));
 
 		serviceInterfaceImplClass.addMethod(defaultConstructor);
 		serviceInterfaceImplClass.addMethod(method);
 
+		for (Method delegateMethod : createDelegateMethods(introspectedTable, recordType)) {
+			delegateMethod.addAnnotation("@Override");
+			delegateMethod.setVisibility(JavaVisibility.PUBLIC);
+			String arguments = delegateMethod.getParameters()
+				.stream()
+				.map(Parameter::getName)
+				.collect(Collectors.joining(", "));
+			String returnKeyword = delegateMethod.getReturnType().isPresent() ? "return " : "";
+			delegateMethod.addBodyLine(String.format("%s%s.%s(%s);", returnKeyword, p1.getName(),
+					delegateMethod.getName(), arguments));
+			delegateMethod.getParameters().forEach(p -> serviceInterfaceImplClass.addImportedType(p.getType()));
+			delegateMethod.getReturnType().ifPresent(serviceInterfaceImplClass::addImportedType);
+			serviceInterfaceImplClass.addMethod(delegateMethod);
+		}
+		serviceInterfaceImplClass.addImportedType(FullyQualifiedJavaType.getNewListInstance());
+
 		GeneratedJavaFile gjf = new GeneratedJavaFile(serviceInterfaceImplClass,
 				context.getJavaModelGeneratorConfiguration().getTargetProject(),
 				context.getProperty(PropertyRegistry.CONTEXT_JAVA_FILE_ENCODING), context.getJavaFormatter());
@@ -135,12 +176,71 @@ public class ServicePlugin extends AbstractServerPlugin {
 		return gjf;
 	}
 
+	/**
+	 * 与RepositoryPlugin生成的批量方法、keyset分页方法及流式查询方法一一对应
+	 */
+	private List<Method> createDelegateMethods(IntrospectedTable introspectedTable, FullyQualifiedJavaType recordType) {
+		List<String> names = new ArrayList<>();
+		names.add("insertBatch");
+		if (Utils.generateUpdateByPrimaryKey(introspectedTable)) {
+			names.add("updateBatchByPrimaryKey");
+		}
+		if (isUpsertSupported(introspectedTable)) {
+			names.add("upsertBatch");
+		}
+
+		List<Method> methods = new ArrayList<>();
+		for (String name : names) {
+			FullyQualifiedJavaType listType = FullyQualifiedJavaType.getNewListInstance();
+			listType.addTypeArgument(recordType);
+			Method method = new Method(name);
+			method.setReturnType(listType);
+			method.addParameter(new Parameter(listType, "records"));
+			methods.add(method);
+		}
+
+		GeneratorUtils.getKeysetColumn(context, introspectedTable).ifPresent(column -> {
+			FullyQualifiedJavaType listType = FullyQualifiedJavaType.getNewListInstance();
+			listType.addTypeArgument(recordType);
+			Method method = new Method("selectAfter");
+			method.setReturnType(listType);
+			method.addParameter(new Parameter(column.getFullyQualifiedJavaType(), "after"));
+			GeneratorUtils.getKeysetTiebreaker(introspectedTable, column)
+				.ifPresent(pk -> method.addParameter(new Parameter(pk.getFullyQualifiedJavaType(), "afterId")));
+			method.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "limit"));
+			methods.add(method);
+		});
+
+		if (Utils.generateStreamingSelects(introspectedTable)) {
+			FullyQualifiedJavaType completerType = new FullyQualifiedJavaType(
+					"org.mybatis.dynamic.sql.select.SelectDSLCompleter");
+			FullyQualifiedJavaType streamType = new FullyQualifiedJavaType("java.util.stream.Stream");
+			streamType.addTypeArgument(recordType);
+			Method streamMethod = new Method("selectStream");
+			streamMethod.setReturnType(streamType);
+			streamMethod.addParameter(new Parameter(completerType, "completer"));
+			// 返回的Stream基于数据库游标，必须在事务内消费并在结束后关闭
+			streamMethod.addJavaDocLine("/**");
+			streamMethod.addJavaDocLine(" * 流式查询，须在事务内调用，并使用try-with-resources关闭返回的Stream");
+			streamMethod.addJavaDocLine(" */");
+			methods.add(streamMethod);
+
+			FullyQualifiedJavaType consumerType = new FullyQualifiedJavaType("java.util.function.Consumer");
+			consumerType.addTypeArgument(recordType);
+			Method eachMethod = new Method("selectEach");
+			eachMethod.addParameter(new Parameter(completerType, "completer"));
+			eachMethod.addParameter(new Parameter(consumerType, "consumer"));
+			methods.add(eachMethod);
+		}
+		return methods;
+	}
+
 	/**
 	 * @return
 	 */
 	@Override
 	public List<GeneratedJavaFile> contextGenerateAdditionalJavaFiles() {
-		return generatedJavaFiles;
+		return getGeneratedJavaFiles();
 	}
 
 }
@@ -34,6 +34,11 @@ public class SpringAutoConfigurationPlugin extends AbstractServerPlugin {
 		return validate;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	private GeneratedJavaFile generateServiceConfig() {
 
 		TopLevelClass configBaseClass = new TopLevelClass(this.springConfigJavaFile);
@@ -124,7 +129,7 @@ public class SpringAutoConfigurationPlugin extends AbstractServerPlugin {
 
 		generatedJavaFiles.add(generateServiceConfig());
 
-		return generatedJavaFiles;
+		return getGeneratedJavaFiles();
 	}
 
 	@Override
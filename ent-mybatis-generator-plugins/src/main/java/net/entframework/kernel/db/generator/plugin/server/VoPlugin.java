@@ -54,6 +54,11 @@ public class VoPlugin extends AbstractServerPlugin {
 		return validate;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	/***
 	 * 在model产生后新增pojo request 和 pojo response 插件注册时要注意顺序，因为需要从TopLevelClass读取所有Field
 	 * @param introspectedTable The class containing information about the table as
@@ -70,13 +75,13 @@ public class VoPlugin extends AbstractServerPlugin {
 		// 判断是否包含Entity父类
 		String rootClass = this.context.getJavaModelGeneratorConfiguration().getProperty("rootClass");
 		if (StringUtils.isNotEmpty(rootClass)) {
-			ClassInfo classInfo = ClassInfo.getInstance(rootClass);
+			ClassInfo classInfo = ClassInfo.getInstance(this.context, rootClass);
 			TopLevelClass parentEntityClass = classInfo.toTopLevelClass();
 			if (parentEntityClass != null) {
 				topLevelClass.setAttribute(Constants.PARENT_ENTITY_CLASS, parentEntityClass);
 			}
 		}
-		generatedJavaFiles.add(generateVO(topLevelClass, introspectedTable, pojoFieldsGenerator));
+		addGeneratedJavaFile(introspectedTable, generateVO(topLevelClass, introspectedTable, pojoFieldsGenerator));
 
 		return true;
 	}
@@ -91,8 +96,7 @@ public class VoPlugin extends AbstractServerPlugin {
 
 		boolean voParentTableFound = false;
 		if (StringUtils.isNotEmpty(introspectedTable.getTableConfiguration().getParentTable())) {
-			IntrospectedTable parentTable = findParentTable(this.context.getIntrospectedTables(),
-					introspectedTable.getTableConfiguration().getParentTable());
+			IntrospectedTable parentTable = findParentTable(introspectedTable.getTableConfiguration().getParentTable());
 			if (parentTable != null) {
 				voParentTableFound = true;
 				FullyQualifiedJavaType parent = getVoJavaType(
@@ -106,7 +110,7 @@ public class VoPlugin extends AbstractServerPlugin {
 				voClass.setSuperClass(this.voRootClass);
 				voClass.addImportedType(this.voRootClass);
 			}
-			ClassInfo classInfo = ClassInfo.getInstance(this.voRootClass);
+			ClassInfo classInfo = ClassInfo.getInstance(this.context, this.voRootClass);
 			TopLevelClass parentRequestClass = classInfo.toTopLevelClass();
 			if (parentRequestClass != null) {
 				voClass.setAttribute(Constants.PARENT_REQUEST_CLASS, parentRequestClass);
@@ -161,7 +165,7 @@ public class VoPlugin extends AbstractServerPlugin {
 	 */
 	@Override
 	public List<GeneratedJavaFile> contextGenerateAdditionalJavaFiles() {
-		return generatedJavaFiles;
+		return getGeneratedJavaFiles();
 	}
 
 }
@@ -0,0 +1,156 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.plugin.server.methods.repository;
+
+import net.entframework.kernel.db.generator.Constants;
+import net.entframework.kernel.db.generator.plugin.server.methods.AbstractMethodGenerator;
+import net.entframework.kernel.db.generator.plugin.server.methods.MethodAndImports;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.java.*;
+import org.mybatis.generator.codegen.mybatis3.ListUtilities;
+import org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getEscapedColumnName;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getParameterClause;
+import static org.mybatis.generator.internal.util.StringUtility.escapeStringForJava;
+
+/**
+ * 在Mapper中生成单行upsert语句，供Repository批量upsert使用。SQL为静态语句，每行相同，便于JDBC批量改写。
+ * 有由数据库生成的主键时使用script，只在主键有值时写入主键，有值和无值的行分别对应两条固定的语句
+ */
+public class MapperUpsertMethodGenerator extends AbstractMethodGenerator {
+
+	private final String dialect;
+
+	public MapperUpsertMethodGenerator(BuildConfig builder, String dialect) {
+		super(builder);
+		this.dialect = dialect;
+	}
+
+	@Override
+	public MethodAndImports generateMethodAndImports() {
+		List<IntrospectedColumn> pkColumns = introspectedTable.getPrimaryKeyColumns();
+		List<IntrospectedColumn> updateColumns = ListUtilities
+			.removeGeneratedAlwaysColumns(introspectedTable.getNonPrimaryKeyColumns());
+		List<IntrospectedColumn> insertColumns = getInsertColumns(introspectedTable);
+
+		Set<FullyQualifiedJavaType> imports = new HashSet<>();
+		imports.add(recordType);
+		imports.add(FullyQualifiedJavaType.getInstance("org.apache.ibatis.annotations.Insert"));
+		imports.add(FullyQualifiedJavaType.getInstance("org.apache.ibatis.annotations.Param"));
+
+		Method method = new Method("upsert"); //$NON-NLS-1$
+		method.setAbstract(true);
+		method.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		method.addParameter(new Parameter(recordType, "row", "@Param(\"row\")")); //$NON-NLS-1$
+
+		// 由数据库生成的主键只在有值时写入：没有值时由数据库生成，有值时写入主键，冲突时更新已有的行
+		Optional<IntrospectedColumn> generatedKeyColumn = getGeneratedKeyColumn(introspectedTable);
+		String generatedKeyTest = generatedKeyColumn
+			.map(column -> String.format("<if test=\\\"row.%s != null\\\">", column.getJavaProperty())) //$NON-NLS-1$
+			.orElse(null);
+
+		method.addAnnotation("@Insert({"); //$NON-NLS-1$
+		if (generatedKeyTest != null) {
+			method.addAnnotation("    \"<script>\","); //$NON-NLS-1$
+			method.addAnnotation(String.format("    \"insert into %s (\",", //$NON-NLS-1$
+					escapeStringForJava(introspectedTable.getFullyQualifiedTableNameAtRuntime())));
+			method.addAnnotation(String.format("    \"%s%s, </if>\",", generatedKeyTest, //$NON-NLS-1$
+					escapeStringForJava(getEscapedColumnName(generatedKeyColumn.get()))));
+			method.addAnnotation(String.format("    \"%s)\",", join(insertColumns))); //$NON-NLS-1$
+			method.addAnnotation("    \"values (\","); //$NON-NLS-1$
+			method.addAnnotation(String.format("    \"%s%s, </if>\",", generatedKeyTest, //$NON-NLS-1$
+					getParameterClause(generatedKeyColumn.get(), "row."))); //$NON-NLS-1$
+		}
+		else {
+			method.addAnnotation(String.format("    \"insert into %s (%s)\",", //$NON-NLS-1$
+					escapeStringForJava(introspectedTable.getFullyQualifiedTableNameAtRuntime()),
+					join(insertColumns)));
+			method.addAnnotation("    \"values (\","); //$NON-NLS-1$
+		}
+		for (int i = 0; i < insertColumns.size(); i++) {
+			String parameterClause = getParameterClause(insertColumns.get(i), "row."); //$NON-NLS-1$
+			method.addAnnotation(String.format("    \"%s%s\",", parameterClause, //$NON-NLS-1$
+					i < insertColumns.size() - 1 ? "," : ")"));
+		}
+
+		if (updateColumns.isEmpty()) {
+			// 没有可更新的列(如全部是主键列)时，冲突时保留已有的行
+			if (Constants.UPSERT_DIALECT_POSTGRESQL.equals(dialect)) {
+				method.addAnnotation(String.format("    \"on conflict (%s) do nothing\"%s", //$NON-NLS-1$
+						join(pkColumns), generatedKeyTest == null ? "" : ","));
+			}
+			else {
+				String columnName = escapeStringForJava(getEscapedColumnName(pkColumns.get(0)));
+				method.addAnnotation(String.format("    \"on duplicate key update %s = %s\"%s", //$NON-NLS-1$
+						columnName, columnName, generatedKeyTest == null ? "" : ","));
+			}
+		}
+		else if (Constants.UPSERT_DIALECT_POSTGRESQL.equals(dialect)) {
+			method.addAnnotation(String.format("    \"on conflict (%s) do update set\",", //$NON-NLS-1$
+					join(pkColumns)));
+		}
+		else {
+			method.addAnnotation("    \"on duplicate key update\","); //$NON-NLS-1$
+		}
+		for (int i = 0; i < updateColumns.size(); i++) {
+			String columnName = escapeStringForJava(getEscapedColumnName(updateColumns.get(i)));
+			String value = Constants.UPSERT_DIALECT_POSTGRESQL.equals(dialect) ? "excluded." + columnName
+					: "values(" + columnName + ")";
+			boolean last = i == updateColumns.size() - 1;
+			method.addAnnotation(String.format("    \"%s = %s%s\"%s", columnName, value, last ? "" : ",", //$NON-NLS-1$
+					last && generatedKeyTest == null ? "" : ","));
+		}
+		if (generatedKeyTest != null) {
+			method.addAnnotation("    \"</script>\""); //$NON-NLS-1$
+		}
+		method.addAnnotation("})"); //$NON-NLS-1$
+
+		introspectedTable.getGeneratedKey().ifPresent(gk -> {
+			if (gk.isJdbcStandard()) {
+				introspectedTable.getColumn(gk.getColumn()).ifPresent(column -> {
+					imports.add(FullyQualifiedJavaType.getInstance("org.apache.ibatis.annotations.Options"));
+					method.addAnnotation("@Options(useGeneratedKeys=true,keyProperty=\"row." //$NON-NLS-1$
+							+ column.getJavaProperty() + "\")"); //$NON-NLS-1$
+				});
+			}
+		});
+
+		return MethodAndImports.withMethod(method).withImports(imports).build();
+	}
+
+	/**
+	 * upsert固定写入的列。排除数据库始终生成的列和由数据库生成的主键，后者在有值时才写入(写入null会违反非空约束)
+	 * @param introspectedTable 表
+	 * @return 写入的列，为空时不能生成upsert
+	 */
+	public static List<IntrospectedColumn> getInsertColumns(IntrospectedTable introspectedTable) {
+		Optional<IntrospectedColumn> generatedKeyColumn = getGeneratedKeyColumn(introspectedTable);
+		return ListUtilities.removeGeneratedAlwaysColumns(introspectedTable.getAllColumns())
+			.stream()
+			.filter(column -> generatedKeyColumn.map(gk -> gk != column).orElse(true))
+			.collect(Collectors.toList());
+	}
+
+	private static Optional<IntrospectedColumn> getGeneratedKeyColumn(IntrospectedTable introspectedTable) {
+		return introspectedTable.getGeneratedKey().flatMap(gk -> introspectedTable.getColumn(gk.getColumn()));
+	}
+
+	private String join(List<IntrospectedColumn> columns) {
+		return escapeStringForJava(columns.stream()
+			.map(MyBatis3FormattingUtilities::getEscapedColumnName)
+			.collect(Collectors.joining(", ")));
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.plugin.server.methods.repository;
+
+import net.entframework.kernel.db.generator.plugin.generator.GeneratorUtils;
+import net.entframework.kernel.db.generator.plugin.server.methods.AbstractMethodGenerator;
+import net.entframework.kernel.db.generator.plugin.server.methods.MethodAndImports;
+import net.entframework.kernel.db.generator.utils.CommentHelper;
+import org.apache.commons.lang3.StringUtils;
+import org.mybatis.generator.api.dom.java.*;
+import org.mybatis.generator.runtime.dynamic.sql.elements.Utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repository 批量写入方法：按批次大小分块，使用 ExecutorType.BATCH 的 SqlSession 执行 Mapper 的单行语句，每块结束时
+ * flushStatements。单行 insert/updateByPrimaryKey/upsert 的 SQL 每行相同(upsert 中由数据库生成的主键有值和无值时各一条)，
+ * JDBC 驱动可以将其改写为多值语句(如 MySQL 的 rewriteBatchedStatements)，自增主键在每块 flush 时回填到实体中。
+ * <p>
+ * 批量方法不经过 Repository 的 insert/updateByPrimaryKey，父类中对单行写入的处理不会执行，只补充 setDefaultValue
+ * 中的默认值。生成的方法注释中也写明了这一区别。
+ */
+public class RepBatchMethodGenerator extends AbstractMethodGenerator {
+
+	private final int batchSize;
+
+	private final boolean generateUpsert;
+
+	public RepBatchMethodGenerator(BuildConfig builder, int batchSize, boolean generateUpsert) {
+		super(builder);
+		this.batchSize = batchSize;
+		this.generateUpsert = generateUpsert;
+	}
+
+	@Override
+	public MethodAndImports generateMethodAndImports() {
+		Set<FullyQualifiedJavaType> imports = new HashSet<>();
+		imports.add(recordType);
+
+		FullyQualifiedJavaType listType = FullyQualifiedJavaType.getNewListInstance();
+		listType.addTypeArgument(recordType);
+		imports.add(listType);
+
+		FullyQualifiedJavaType mapperType = getMapperJavaType();
+
+		Map<String, Object> variables = new HashMap<>();
+		variables.put("RepositoryName", getRepositoryJavaType().getShortName());
+		variables.put("EntityName", recordType.getShortName());
+
+		MethodAndImports.Builder builder = new MethodAndImports.Builder();
+		builder.withMethod(createBatchMethod("insertBatch", "insert", "batchInsert", listType, variables));
+		if (Utils.generateUpdateByPrimaryKey(introspectedTable)) {
+			builder.withMethod(createBatchMethod("updateBatchByPrimaryKey", "updateByPrimaryKey", "batchUpdate",
+					listType, variables));
+		}
+		if (generateUpsert) {
+			builder.withMethod(createBatchMethod("upsertBatch", "upsert", "batchUpsert", listType, variables));
+		}
+
+		if (!isAbstract) {
+			TopLevelClass topLevelClass = (TopLevelClass) hostJavaClass;
+
+			Field batchSizeField = new Field("BATCH_SIZE", FullyQualifiedJavaType.getIntInstance()); //$NON-NLS-1$
+			batchSizeField.setVisibility(JavaVisibility.PRIVATE);
+			batchSizeField.setStatic(true);
+			batchSizeField.setFinal(true);
+			batchSizeField.setInitializationString(String.valueOf(batchSize));
+			topLevelClass.addField(batchSizeField);
+
+			findMapperField(topLevelClass, "sqlSessionFactory",
+					new FullyQualifiedJavaType("org.apache.ibatis.session.SqlSessionFactory"));
+
+			FullyQualifiedJavaType statementType = new FullyQualifiedJavaType("java.util.function.BiConsumer");
+			statementType.addTypeArgument(mapperType);
+			statementType.addTypeArgument(recordType);
+
+			Method executeBatchMethod = new Method("executeBatch"); //$NON-NLS-1$
+			executeBatchMethod.setVisibility(JavaVisibility.PROTECTED);
+			executeBatchMethod.setReturnType(listType);
+			executeBatchMethod.addParameter(new Parameter(listType, "records")); //$NON-NLS-1$
+			executeBatchMethod.addParameter(new Parameter(statementType, "statement")); //$NON-NLS-1$
+			executeBatchMethod.addBodyLine("if (records == null || records.isEmpty()) {");
+			executeBatchMethod.addBodyLine("return Collections.emptyList();");
+			executeBatchMethod.addBodyLine("}");
+			// 在Spring事务中，SqlSession通过SpringManagedTransaction使用当前事务的连接，commit由事务管理器接管
+			executeBatchMethod
+				.addBodyLine("try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {");
+			executeBatchMethod.addBodyLine(String.format("%s mapper = sqlSession.getMapper(%s.class);",
+					mapperType.getShortName(), mapperType.getShortName()));
+			executeBatchMethod.addBodyLine("for (int i = 0; i < records.size(); i++) {");
+			executeBatchMethod.addBodyLine("statement.accept(mapper, records.get(i));");
+			executeBatchMethod.addBodyLine("if ((i + 1) % BATCH_SIZE == 0 || i == records.size() - 1) {");
+			executeBatchMethod.addBodyLine("sqlSession.flushStatements();");
+			executeBatchMethod.addBodyLine("}");
+			executeBatchMethod.addBodyLine("}");
+			executeBatchMethod.addBodyLine("sqlSession.commit();");
+			executeBatchMethod.addBodyLine("}");
+			executeBatchMethod.addBodyLine("return records;");
+			builder.withMethod(executeBatchMethod);
+
+			imports.add(mapperType);
+			imports.add(statementType);
+			imports.add(FullyQualifiedJavaType.getInstance("java.util.Collections"));
+			imports.add(FullyQualifiedJavaType.getInstance("org.apache.ibatis.session.ExecutorType"));
+			imports.add(FullyQualifiedJavaType.getInstance("org.apache.ibatis.session.SqlSession"));
+		}
+
+		return builder.withImports(imports).build();
+	}
+
+	private Method createBatchMethod(String name, String mapperMethod, String commentKey,
+			FullyQualifiedJavaType listType, Map<String, Object> variables) {
+		Method method = new Method(name);
+		method.setAbstract(isAbstract);
+		method.setReturnType(listType);
+		method.addParameter(new Parameter(listType, "records")); //$NON-NLS-1$
+
+		if (isAbstract) {
+			List<String> comments = new ArrayList<>(
+					CommentHelper.INSTANCE.getComments(commentKey, "Repository", variables));
+			comments.addAll(getBatchComments(mapperMethod));
+			GeneratorUtils.addComment(method, comments);
+		}
+		else {
+			List<String> comments = new ArrayList<>();
+			comments.add("{@inheritDoc}");
+			comments.addAll(getBatchComments(mapperMethod));
+			GeneratorUtils.addComment(method, comments);
+			method.addAnnotation("@Override");
+			method.setVisibility(JavaVisibility.PUBLIC);
+			// 与单行方法一致，写入前补充默认值
+			String row = hasSetDefaultValue() ? "setDefaultValue(row)" : "row";
+			method.addBodyLine(
+					String.format("return executeBatch(records, (mapper, row) -> mapper.%s(%s));", mapperMethod, row));
+		}
+		return method;
+	}
+
+	/**
+	 * 说明批量方法与单行方法的区别：批量方法直接调用Mapper，不经过Repository(及其父类)的单行写入方法
+	 */
+	private List<String> getBatchComments(String mapperMethod) {
+		List<String> comments = new ArrayList<>();
+		comments.add("<p>");
+		if ("upsert".equals(mapperMethod)) {
+			comments.add("使用BATCH执行器逐行调用Mapper的upsert，写入前补充setDefaultValue中的默认值(如有)");
+		}
+		else {
+			comments.add(String.format("使用BATCH执行器逐行调用Mapper的%s，不经过Repository的%s方法，", mapperMethod,
+					mapperMethod));
+			comments.add("父类中对单行写入的处理不会执行，写入前只补充setDefaultValue中的默认值(如有)");
+		}
+		return comments;
+	}
+
+	private boolean hasSetDefaultValue() {
+		return ((TopLevelClass) hostJavaClass).getMethods()
+			.stream()
+			.anyMatch(method -> StringUtils.equals(method.getName(), "setDefaultValue"));
+	}
+
+}
@@ -92,11 +92,11 @@ public class RepEnhancedCreateAndUpdateMethodGenerator extends AbstractMethodGen
 							switch (field.getType().getFullyQualifiedName()) {
 								case "java.time.LocalDateTime":
 									defaultValue = "LocalDateTime.now()";
-									imports.add(new FullyQualifiedJavaType("java.time.LocalDateTime"));
+									imports.add(FullyQualifiedJavaType.getInstance("java.time.LocalDateTime"));
 									break;
 								case "java.util.Date":
 									defaultValue = "new Date()";
-									imports.add(new FullyQualifiedJavaType("java.util.Date"));
+									imports.add(FullyQualifiedJavaType.getInstance("java.util.Date"));
 									break;
 								default:
 							}
@@ -131,7 +131,7 @@ public class RepEnhancedCreateAndUpdateMethodGenerator extends AbstractMethodGen
 						setDefaultValueMethod.addBodyLine(
 								String.format("row.set%s(%s);", StringUtils.capitalize(field.getName()), defaultValue));
 						setDefaultValueMethod.addBodyLine("}");
-						imports.add(new FullyQualifiedJavaType("java.util.Objects"));
+						imports.add(FullyQualifiedJavaType.getInstance("java.util.Objects"));
 						if (field.getType().isExplicitlyImported()) {
 							imports.add(field.getType());
 						}
@@ -150,8 +150,8 @@ public class RepEnhancedCreateAndUpdateMethodGenerator extends AbstractMethodGen
 				batchCreateMethod.addBodyLine(
 						"return super.insertMultiple(records.stream().map(this::setDefaultValue).collect(Collectors.toList()));");
 
-				imports.add(new FullyQualifiedJavaType("java.util.stream.Collectors"));
-				imports.add(new FullyQualifiedJavaType("java.util.Collections"));
+				imports.add(FullyQualifiedJavaType.getInstance("java.util.stream.Collectors"));
+				imports.add(FullyQualifiedJavaType.getInstance("java.util.Collections"));
 
 				return MethodAndImports.withMethod(setDefaultValueMethod)
 					.withMethod(createMethod)
@@ -0,0 +1,117 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.plugin.server.methods.repository;
+
+import net.entframework.kernel.db.generator.plugin.generator.GeneratorUtils;
+import net.entframework.kernel.db.generator.plugin.server.methods.AbstractMethodGenerator;
+import net.entframework.kernel.db.generator.plugin.server.methods.MethodAndImports;
+import net.entframework.kernel.db.generator.utils.CommentHelper;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.JavaVisibility;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+
+import java.util.*;
+
+/**
+ * Repository keyset(游标)分页方法：按排序列升序，查询排序列大于游标值的前limit行。
+ * 与offset分页不同，查询代价不随页码增长，只依赖排序列上的索引。排序列不是主键时按(排序列, 主键)排序，
+ * 条件为 排序列 &gt; 游标值 or (排序列 = 游标值 and 主键 &gt; 游标主键)，排序列有重复值时也不会跳过或重复行
+ */
+public class RepKeysetMethodGenerator extends AbstractMethodGenerator {
+
+	private final IntrospectedColumn keysetColumn;
+
+	private final IntrospectedColumn tiebreakerColumn;
+
+	public RepKeysetMethodGenerator(BuildConfig builder, IntrospectedColumn keysetColumn) {
+		super(builder);
+		this.keysetColumn = keysetColumn;
+		this.tiebreakerColumn = GeneratorUtils.getKeysetTiebreaker(introspectedTable, keysetColumn).orElse(null);
+	}
+
+	@Override
+	public MethodAndImports generateMethodAndImports() {
+		Set<FullyQualifiedJavaType> imports = new HashSet<>();
+		imports.add(recordType);
+
+		FullyQualifiedJavaType listType = FullyQualifiedJavaType.getNewListInstance();
+		listType.addTypeArgument(recordType);
+		imports.add(listType);
+
+		FullyQualifiedJavaType keyType = keysetColumn.getFullyQualifiedJavaType();
+		imports.add(keyType);
+
+		Method method = new Method("selectAfter"); //$NON-NLS-1$
+		method.setAbstract(isAbstract);
+		method.setReturnType(listType);
+		method.addParameter(new Parameter(keyType, "after")); //$NON-NLS-1$
+		if (tiebreakerColumn != null) {
+			imports.add(tiebreakerColumn.getFullyQualifiedJavaType());
+			method.addParameter(new Parameter(tiebreakerColumn.getFullyQualifiedJavaType(), "afterId")); //$NON-NLS-1$
+		}
+		method.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "limit")); //$NON-NLS-1$
+
+		if (isAbstract) {
+			Map<String, Object> variables = new HashMap<>();
+			variables.put("RepositoryName", getRepositoryJavaType().getShortName());
+			variables.put("EntityName", recordType.getShortName());
+			variables.put("SortColumn", keysetColumn.getJavaProperty());
+			GeneratorUtils.addComment(method,
+					CommentHelper.INSTANCE.getComments("selectAfter", "Repository", variables));
+		}
+		else {
+			GeneratorUtils.addComment(method, "{@inheritDoc}");
+		}
+
+		MethodAndImports.Builder builder = MethodAndImports.withMethod(method).withImports(imports);
+
+		if (!isAbstract) {
+			method.addAnnotation("@Override");
+			method.setVisibility(JavaVisibility.PUBLIC);
+
+			FullyQualifiedJavaType mapperSupportJavaType = getMapperSupportJavaType();
+			String sortColumn = mapperSupportJavaType.getShortName() + "." + keysetColumn.getJavaProperty();
+			builder.withImport(mapperSupportJavaType);
+			builder.withImport("java.util.Objects");
+			builder.withStaticImport("org.mybatis.dynamic.sql.SqlBuilder.isGreaterThan");
+
+			// 第一页游标为空，过滤掉条件即从头开始
+			method.addBodyLine(String.format("return baseMapper.select(%s.class, c -> c", recordType.getShortName()));
+			String orderBy = sortColumn;
+			if (tiebreakerColumn == null) {
+				method.addBodyLine(
+						String.format(".where(%s, isGreaterThan(after).filter(Objects::nonNull))", sortColumn));
+			}
+			else {
+				String idColumn = mapperSupportJavaType.getShortName() + "." + tiebreakerColumn.getJavaProperty();
+				builder.withStaticImport("org.mybatis.dynamic.sql.SqlBuilder.isEqualTo");
+				builder.withStaticImport("org.mybatis.dynamic.sql.SqlBuilder.or");
+				builder.withStaticImport("org.mybatis.dynamic.sql.SqlBuilder.and");
+				method.addBodyLine(
+						String.format(".where(%s, isGreaterThan(after).filter(Objects::nonNull),", sortColumn));
+				method.addBodyLine(String.format("or(%s, isEqualTo(after).filter(Objects::nonNull),", sortColumn));
+				method.addBodyLine(
+						String.format("and(%s, isGreaterThan(afterId).filter(Objects::nonNull))))", idColumn));
+				orderBy = sortColumn + ", " + idColumn;
+			}
+			Optional<IntrospectedColumn> logicDelete = GeneratorUtils.getLogicDeleteColumn(introspectedTable);
+			if (logicDelete.isPresent()) {
+				builder.withImport("net.entframework.kernel.core.enums.YesOrNotEnum");
+				builder.withStaticImport("org.mybatis.dynamic.sql.SqlBuilder.isEqualTo");
+				method.addBodyLine(String.format(".and(%s.%s, isEqualTo(YesOrNotEnum.N))",
+						mapperSupportJavaType.getShortName(), logicDelete.get().getJavaProperty()));
+			}
+			method.addBodyLine(String.format(".orderBy(%s)", orderBy));
+			method.addBodyLine(".limit(limit));");
+		}
+
+		return builder.build();
+	}
+
+}
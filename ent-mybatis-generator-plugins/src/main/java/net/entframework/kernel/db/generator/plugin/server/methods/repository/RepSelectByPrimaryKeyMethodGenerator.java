@@ -42,7 +42,7 @@ public class RepSelectByPrimaryKeyMethodGenerator extends AbstractMethodGenerato
 
 		IntrospectedColumn pk = GeneratorUtils.getPrimaryKey(introspectedTable);
 		Parameter parameter = new Parameter(new FullyQualifiedJavaType("Serializable"), pk.getJavaProperty());
-		imports.add(new FullyQualifiedJavaType("java.io.Serializable"));
+		imports.add(FullyQualifiedJavaType.getInstance("java.io.Serializable"));
 		getByPrimaryKey.addParameter(parameter);
 
 		if (this.isAbstract) {
@@ -0,0 +1,105 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.plugin.server.methods.repository;
+
+import net.entframework.kernel.db.generator.plugin.generator.GeneratorUtils;
+import net.entframework.kernel.db.generator.plugin.server.methods.AbstractMethodGenerator;
+import net.entframework.kernel.db.generator.plugin.server.methods.MethodAndImports;
+import net.entframework.kernel.db.generator.utils.CommentHelper;
+import org.apache.commons.lang3.StringUtils;
+import org.mybatis.generator.api.dom.java.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repository 流式查询方法：委托Mapper的selectCursor/select(completer, handler)，逐行读取结果，不在内存中构建完整的List。
+ * Cursor在SqlSession关闭后不可再读取，调用方需要在事务内消费，并在结束后关闭Stream
+ */
+public class RepStreamingMethodGenerator extends AbstractMethodGenerator {
+
+	public RepStreamingMethodGenerator(BuildConfig builder) {
+		super(builder);
+	}
+
+	@Override
+	public MethodAndImports generateMethodAndImports() {
+		Set<FullyQualifiedJavaType> imports = new HashSet<>();
+		imports.add(recordType);
+
+		FullyQualifiedJavaType completerType = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.select.SelectDSLCompleter");
+		imports.add(completerType);
+
+		FullyQualifiedJavaType streamType = new FullyQualifiedJavaType("java.util.stream.Stream");
+		streamType.addTypeArgument(recordType);
+		imports.add(streamType);
+
+		FullyQualifiedJavaType consumerType = new FullyQualifiedJavaType("java.util.function.Consumer");
+		consumerType.addTypeArgument(recordType);
+		imports.add(consumerType);
+
+		Map<String, Object> variables = new HashMap<>();
+		variables.put("RepositoryName", getRepositoryJavaType().getShortName());
+		variables.put("EntityName", recordType.getShortName());
+
+		Method streamMethod = createMethod("selectStream", variables);
+		streamMethod.setReturnType(streamType);
+		streamMethod.addParameter(new Parameter(completerType, "completer")); //$NON-NLS-1$
+
+		Method eachMethod = createMethod("selectEach", variables);
+		eachMethod.addParameter(new Parameter(completerType, "completer")); //$NON-NLS-1$
+		eachMethod.addParameter(new Parameter(consumerType, "consumer")); //$NON-NLS-1$
+
+		if (!isAbstract) {
+			FullyQualifiedJavaType mapperType = getMapperJavaType();
+			Field mapperField = findMapperField((TopLevelClass) hostJavaClass,
+					StringUtils.uncapitalize(mapperType.getShortName()), mapperType);
+
+			FullyQualifiedJavaType cursorType = new FullyQualifiedJavaType("org.apache.ibatis.cursor.Cursor");
+			cursorType.addTypeArgument(recordType);
+			imports.add(cursorType);
+			imports.add(FullyQualifiedJavaType.getInstance("java.io.IOException"));
+			imports.add(FullyQualifiedJavaType.getInstance("java.io.UncheckedIOException"));
+			imports.add(FullyQualifiedJavaType.getInstance("java.util.stream.StreamSupport"));
+
+			// Cursor本身是Iterable，Stream关闭时一并关闭Cursor，释放数据库游标
+			streamMethod.addBodyLine(String.format("Cursor<%s> cursor = %s.selectCursor(completer);",
+					recordType.getShortName(), mapperField.getName()));
+			streamMethod.addBodyLine("return StreamSupport.stream(cursor.spliterator(), false).onClose(() -> {");
+			streamMethod.addBodyLine("try {");
+			streamMethod.addBodyLine("cursor.close();");
+			streamMethod.addBodyLine("}");
+			streamMethod.addBodyLine("catch (IOException e) {");
+			streamMethod.addBodyLine("throw new UncheckedIOException(e);");
+			streamMethod.addBodyLine("}");
+			streamMethod.addBodyLine("});");
+
+			eachMethod.addBodyLine(String.format("%s.select(completer, context -> %s);", mapperField.getName(),
+					"consumer.accept(context.getResultObject())"));
+		}
+
+		return MethodAndImports.withMethod(streamMethod).withMethod(eachMethod).withImports(imports).build();
+	}
+
+	private Method createMethod(String name, Map<String, Object> variables) {
+		Method method = new Method(name);
+		method.setAbstract(isAbstract);
+		if (isAbstract) {
+			GeneratorUtils.addComment(method, CommentHelper.INSTANCE.getComments(name, "Repository", variables));
+		}
+		else {
+			GeneratorUtils.addComment(method, "{@inheritDoc}");
+			method.addAnnotation("@Override");
+			method.setVisibility(JavaVisibility.PUBLIC);
+		}
+		return method;
+	}
+
+}
@@ -2,6 +2,7 @@ package net.entframework.kernel.db.generator.plugin.web;
 
 import net.entframework.kernel.db.generator.plugin.web.freemarker.FreemarkerTemplateEngine;
 import org.apache.commons.lang3.StringUtils;
+import org.mybatis.generator.config.PropertyRegistry;
 
 import java.io.File;
 import java.io.IOException;
@@ -11,6 +12,8 @@ public abstract class AbstractTemplatePlugin extends AbstractWebPlugin {
 
 	private static final String VAR_START = "var_";
 
+	protected String templateBaseDir;
+
 	protected String templatePath;
 
 	protected String fileName;
@@ -29,17 +32,17 @@ public abstract class AbstractTemplatePlugin extends AbstractWebPlugin {
 
 		List<String> errors = new ArrayList<>();
 
-		String templateBaseDir = this.context.getProperty("templateBaseDir");
+		this.templateBaseDir = this.context.getProperty(PropertyRegistry.CONTEXT_TEMPLATE_BASE_DIR);
 
-		if (StringUtils.isNotEmpty(templateBaseDir)) {
-			File file = new File(templateBaseDir);
+		if (StringUtils.isNotEmpty(this.templateBaseDir)) {
+			File file = new File(this.templateBaseDir);
 			if (!file.isDirectory()) {
-				errors.add(String.format("全局变量templateBaseDir: %s不可访问", templateBaseDir));
+				errors.add(String.format("全局变量templateBaseDir: %s不可访问", this.templateBaseDir));
 			}
 		}
 
 		try {
-			FreemarkerTemplateEngine.init(templateBaseDir);
+			FreemarkerTemplateEngine.init(this.templateBaseDir);
 		}
 		catch (IOException e) {
 			errors.add("Freemarker初始化失败");
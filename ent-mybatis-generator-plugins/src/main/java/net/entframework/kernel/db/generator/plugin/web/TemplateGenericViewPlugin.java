@@ -58,8 +58,13 @@ public class TemplateGenericViewPlugin extends AbstractTemplatePlugin {
 		data.put("models", modelObjects);
 
 		return new TemplateGeneratedFile(tsGenericClass,
-				context.getJavaModelGeneratorConfiguration().getTargetProject(), data, this.templatePath, this.fileName,
-				this.fileExt);
+				context.getJavaModelGeneratorConfiguration().getTargetProject(), data, this.templateBaseDir,
+				this.templatePath, this.fileName, this.fileExt, context.getGenerationMetrics());
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return true;
 	}
 
 	@Override
@@ -22,6 +22,11 @@ import java.util.stream.Collectors;
  */
 public class TemplateModelViewPlugin extends AbstractTemplatePlugin {
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public List<GeneratedFile> contextGenerateAdditionalFiles(IntrospectedTable introspectedTable) {
 		TopLevelClass topLevelClass = introspectedTable.getBaseModelClass();
@@ -43,6 +48,15 @@ public class TemplateModelViewPlugin extends AbstractTemplatePlugin {
 		}
 		TypescriptTopLevelClass tsApiClass = new TypescriptTopLevelClass(tsBaseModelJavaType);
 
+		tsApiClass.setWriteMode(this.writeMode == null ? WriteMode.SKIP_ON_EXIST : this.writeMode);
+		// 数据模型在文件写出时才构建，写出后即释放
+		return new TemplateGeneratedFile(tsApiClass, context.getJavaModelGeneratorConfiguration().getTargetProject(),
+				() -> createData(topLevelClass, introspectedTable), this.templateBaseDir, this.templatePath, this.fileName,
+				this.fileExt, context.getGenerationMetrics());
+	}
+
+	private Map<String, Object> createData(TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
+		String modelObjectName = topLevelClass.getType().getShortNameWithoutTypeArguments();
 		ModelObject.Builder builder = ModelObject.builder();
 		builder.name(modelObjectName)
 			.camelName(JavaBeansUtil.convertCamelCase(modelObjectName, "-"))
@@ -51,8 +65,6 @@ public class TemplateModelViewPlugin extends AbstractTemplatePlugin {
 			.type(modelObjectName);
 		ModelObject modelObject = builder.build();
 
-		tsApiClass.setWriteMode(this.writeMode == null ? WriteMode.SKIP_ON_EXIST : this.writeMode);
-
 		Map<String, Object> data = new HashMap<>();
 		data.put("projectRootAlias", this.projectRootAlias);
 
@@ -145,8 +157,7 @@ public class TemplateModelViewPlugin extends AbstractTemplatePlugin {
 		data.put("apiPath", apiPath);
 		data.put("viewPath", StringUtils.replace(this.viewPackage, ".", "/"));
 		data.put("model", modelObject);
-		return new TemplateGeneratedFile(tsApiClass, context.getJavaModelGeneratorConfiguration().getTargetProject(),
-				data, this.templatePath, this.fileName, this.fileExt);
+		return data;
 	}
 
 	/**
@@ -5,8 +5,8 @@ import net.entframework.kernel.db.generator.config.Relation;
 import net.entframework.kernel.db.generator.plugin.generator.GeneratorUtils;
 import net.entframework.kernel.db.generator.utils.WebUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.Pair;
 import org.mybatis.generator.api.*;
+import org.mybatis.generator.api.IntrospectedTableIndex.JoinRelation;
 import org.mybatis.generator.api.dom.java.*;
 import org.mybatis.generator.config.JoinEntry;
 import org.mybatis.generator.config.JoinTable;
@@ -26,6 +26,11 @@ public class TypescriptModelPlugin extends AbstractWebPlugin {
 		return true;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public boolean modelBaseRecordClassGenerated(IntrospectedTable introspectedTable) {
 		TopLevelClass topLevelClass = introspectedTable.getBaseModelClass();
@@ -33,19 +38,23 @@ public class TypescriptModelPlugin extends AbstractWebPlugin {
 		JoinEntry joinEntry = context.getJoinConfig().getJoinEntry(tableName);
 		if (joinEntry != null) {
 			joinEntry.validate();
-			addJoinField(topLevelClass, joinEntry);
+			addJoinField(topLevelClass, introspectedTable);
 		}
 		return true;
 	}
 
-	private void addJoinField(TopLevelClass topLevelClass, JoinEntry joinEntry) {
+	private void addJoinField(TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
+		List<JoinRelation> relations = context.getIntrospectedTableIndex().getRelations(introspectedTable);
 		// Many-to-one / one-to-many 关联
-		for (Pair<String, JoinTarget> detail : joinEntry.getDetails()) {
-			JoinTarget target = detail.getRight();
-			IntrospectedTable rightTable = GeneratorUtils.getIntrospectedTable(context, target.getRightTable());
-			IntrospectedTable leftTable = GeneratorUtils.getIntrospectedTable(context, joinEntry.getLeftTable());
+		for (JoinRelation relation : relations) {
+			if (relation.getJoinType() == JoinTarget.JoinType.MANY_TO_MANY) {
+				continue;
+			}
+			JoinTarget target = relation.getJoinTarget();
+			IntrospectedTable rightTable = relation.getRightTable();
+			IntrospectedTable leftTable = relation.getLeftTable();
 			IntrospectedColumn leftTableColumn = GeneratorUtils.getIntrospectedColumnByColumn(leftTable,
-					detail.getLeft());
+					relation.getLeftColumnName());
 			IntrospectedColumn rightTableColumn = GeneratorUtils.getIntrospectedColumnByColumn(rightTable,
 					target.getJoinColumn());
 			Field leftField = GeneratorUtils.getFieldByName(topLevelClass, leftTableColumn.getJavaProperty());
@@ -110,9 +119,12 @@ public class TypescriptModelPlugin extends AbstractWebPlugin {
 			}
 		}
 		// many-to-many
-		List<JoinTable> joinTables = joinEntry.getJoinTables();
-		for (JoinTable joinTable : joinTables) {
-			IntrospectedTable rightTable = GeneratorUtils.getIntrospectedTable(context, joinTable.getRightTable());
+		for (JoinRelation relation : relations) {
+			if (relation.getJoinType() != JoinTarget.JoinType.MANY_TO_MANY) {
+				continue;
+			}
+			JoinTable joinTable = relation.getJoinTable();
+			IntrospectedTable rightTable = relation.getRightTable();
 
 			FullyQualifiedJavaType targetBindType = new FullyQualifiedJavaType(rightTable.getBaseRecordType());
 
@@ -3,55 +3,162 @@ package net.entframework.kernel.db.generator.plugin.web.freemarker;
 import freemarker.cache.ClassTemplateLoader;
 import freemarker.cache.FileTemplateLoader;
 import freemarker.cache.TemplateLoader;
-import freemarker.ext.beans.BeansWrapper;
 import freemarker.template.Configuration;
+import freemarker.template.DefaultObjectWrapper;
+import freemarker.template.DefaultObjectWrapperBuilder;
 import freemarker.template.Template;
-import freemarker.template.TemplateModel;
-import freemarker.template.Version;
 import org.apache.commons.lang3.StringUtils;
+import org.mybatis.generator.api.GenerationMetrics;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
+/**
+ * 模板引擎按templateBaseDir分别初始化，每个目录有自己的Configuration和模板缓存，编译后的模板、ObjectWrapper及statics模型
+ * 在使用该目录的所有表之间共享。
+ * 初始化完成后Configuration和Template都是线程安全的，可以并发渲染多个文件。
+ * 多个context使用不同的templateBaseDir时互不影响，文件延迟写出时仍使用其所属context的模板。
+ * 同一个类加载器中再次生成时(如在同一进程中多次运行MyBatisGenerator)，只有templateBaseDir下有文件变化才丢弃该目录已编译的模板
+ */
 public class FreemarkerTemplateEngine {
 
-	private static Configuration configuration;
+	/**
+	 * 未配置templateBaseDir时只从classpath加载模板，其他目录都以绝对路径为key，不会与之冲突
+	 */
+	private static final File CLASSPATH_ONLY = new File("");
+
+	private static final Map<File, TemplateSet> TEMPLATE_SETS = new ConcurrentHashMap<>();
 
 	public static synchronized void init(String baseDir) throws IOException {
-		if (configuration == null) {
-			configuration = new Configuration(Configuration.VERSION_2_3_31);
-			configuration.setDefaultEncoding("UTF-8");
-			if (StringUtils.isNotEmpty(baseDir)) {
+		File key = getKey(baseDir);
+		TemplateSet templateSet = TEMPLATE_SETS.get(key);
+		if (templateSet != null) {
+			templateSet.refresh();
+		}
+		else {
+			TEMPLATE_SETS.put(key, new TemplateSet(key == CLASSPATH_ONLY ? null : key));
+		}
+	}
+
+	private static File getKey(String baseDir) {
+		return StringUtils.isNotEmpty(baseDir) ? new File(baseDir).getAbsoluteFile() : CLASSPATH_ONLY;
+	}
+
+	private static TemplateSet getTemplateSet(String baseDir) throws IOException {
+		TemplateSet templateSet = TEMPLATE_SETS.get(getKey(baseDir));
+		if (templateSet == null) {
+			init(baseDir);
+			templateSet = TEMPLATE_SETS.get(getKey(baseDir));
+		}
+		return templateSet;
+	}
+
+	/**
+	 * 只从classpath中查找模板
+	 */
+	public static String process(Map<String, Object> objectMap, String templatePath) throws Exception {
+		return process(objectMap, null, templatePath, GenerationMetrics.DISABLED);
+	}
+
+	public static String process(Map<String, Object> objectMap, String baseDir, String templatePath,
+			GenerationMetrics metrics) throws Exception {
+		try (StringWriter stringWriter = new StringWriter()) {
+			process(objectMap, baseDir, templatePath, stringWriter, metrics);
+			return stringWriter.getBuffer().toString();
+		}
+	}
+
+	/**
+	 * 使用baseDir及classpath中的模板直接渲染到out中，渲染耗时按模板路径记录在metrics的TEMPLATE阶段
+	 */
+	public static void process(Map<String, Object> objectMap, String baseDir, String templatePath, Writer out,
+			GenerationMetrics metrics) throws Exception {
+		GenerationMetrics.Sample sample = metrics.start();
+		getTemplateSet(baseDir).getTemplate(templatePath).process(objectMap, out);
+		metrics.stop(sample, GenerationMetrics.Phase.TEMPLATE, templatePath);
+	}
+
+	/**
+	 * 一个templateBaseDir对应的Configuration及已编译模板
+	 */
+	private static class TemplateSet {
+
+		private final File baseDir;
+
+		private final Configuration configuration;
+
+		private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+		private long loadedAt;
+
+		TemplateSet(File baseDir) throws IOException {
+			this.baseDir = baseDir;
+			Configuration cfg = new Configuration(Configuration.VERSION_2_3_31);
+			cfg.setDefaultEncoding("UTF-8");
+			if (baseDir != null) {
 				TemplateLoader classTemplateLoader = new ClassTemplateLoader(FreemarkerTemplateEngine.class, "/");
-				TemplateLoader fileTemplateLoader = new FileTemplateLoader(new File(baseDir));
+				TemplateLoader fileTemplateLoader = new FileTemplateLoader(baseDir);
 				ProxyTemplateLoader multiTemplateLoader = new ProxyTemplateLoader(
 						new TemplateLoader[] { classTemplateLoader, fileTemplateLoader });
 
-				configuration.setTemplateLoader(multiTemplateLoader);
+				cfg.setTemplateLoader(multiTemplateLoader);
 			}
 			else {
 				TemplateLoader classTemplateLoader = new ClassTemplateLoader(FreemarkerTemplateEngine.class, "/");
-				configuration.setTemplateLoader(classTemplateLoader);
+				cfg.setTemplateLoader(classTemplateLoader);
 			}
-			configuration.setClassicCompatible(true);
-			configuration.getCacheStorage().clear();
+			cfg.setClassicCompatible(true);
+			// 模板在生成过程中不会变化，不需要检查更新，也不按Locale查找本地化版本
+			cfg.setTemplateUpdateDelayMilliseconds(Long.MAX_VALUE);
+			cfg.setLocalizedLookup(false);
+
+			DefaultObjectWrapper wrapper = new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_31).build();
+			cfg.setObjectWrapper(wrapper);
+			// 作为共享变量提供给所有模板，不再写入每次调用的数据模型
+			cfg.setSharedVariable("statics", wrapper.getStaticModels());
+			this.configuration = cfg;
+			this.loadedAt = System.currentTimeMillis();
 		}
-	}
 
-	public static String process(Map<String, Object> objectMap, String templatePath) throws Exception {
-		Template template = configuration.getTemplate(templatePath);
+		/**
+		 * 模板目录中有文件新增、修改或删除时清空模板缓存，下次渲染时重新编译。classpath中的模板在同一个类加载器中不会变化
+		 */
+		void refresh() throws IOException {
+			if (this.baseDir == null || !this.baseDir.isDirectory()) {
+				return;
+			}
+			long checkedAt = System.currentTimeMillis();
+			boolean modified;
+			// 新增或删除文件会更新所在目录的修改时间，因此目录也参与比较
+			try (Stream<Path> paths = Files.walk(this.baseDir.toPath())) {
+				modified = paths.anyMatch(path -> path.toFile().lastModified() >= this.loadedAt);
+			}
+			if (modified) {
+				this.templates.clear();
+				this.configuration.clearTemplateCache();
+				this.loadedAt = checkedAt;
+			}
+		}
 
-		BeansWrapper wrapper = new BeansWrapper(new Version(2, 3, 31));
-		TemplateModel statics = wrapper.getStaticModels();
-		objectMap.put("statics", statics);
-		String output = null;
-		try (StringWriter stringWriter = new StringWriter()) {
-			template.process(objectMap, stringWriter);
-			output = stringWriter.getBuffer().toString();
+		Template getTemplate(String templatePath) throws IOException {
+			Template template = this.templates.get(templatePath);
+			if (template == null) {
+				template = this.configuration.getTemplate(templatePath);
+				Template existing = this.templates.putIfAbsent(templatePath, template);
+				if (existing != null) {
+					template = existing;
+				}
+			}
+			return template;
 		}
-		return output;
+
 	}
 
 }
@@ -7,6 +7,7 @@ import freemarker.template.utility.NullArgumentException;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -19,6 +20,10 @@ import java.util.concurrent.ConcurrentHashMap;
  * appearance in the array.
  *
  * <p>
+ * Names that none of the loaders could find are remembered until {@link #resetState()},
+ * so repeated lookups of missing templates do not query every loader again.
+ *
+ * <p>
  * This class is thread-safe.
  */
 public class ProxyTemplateLoader implements StatefulTemplateLoader {
@@ -27,6 +32,8 @@ public class ProxyTemplateLoader implements StatefulTemplateLoader {
 
 	private final Map<String, TemplateLoader> lastTemplateLoaderForName = new ConcurrentHashMap<>();
 
+	private final Set<String> missingTemplateNames = ConcurrentHashMap.newKeySet();
+
 	private boolean sticky = true;
 
 	/**
@@ -42,6 +49,10 @@ public class ProxyTemplateLoader implements StatefulTemplateLoader {
 
 	@Override
 	public Object findTemplateSource(String name) throws IOException {
+		if (missingTemplateNames.contains(name)) {
+			return null;
+		}
+
 		TemplateLoader lastTemplateLoader = null;
 		if (sticky) {
 			// Use soft affinity - give the loader that last found this
@@ -81,6 +92,7 @@ public class ProxyTemplateLoader implements StatefulTemplateLoader {
 		if (sticky) {
 			lastTemplateLoaderForName.remove(name);
 		}
+		missingTemplateNames.add(name);
 		// Resource not found
 		return null;
 	}
@@ -101,12 +113,13 @@ public class ProxyTemplateLoader implements StatefulTemplateLoader {
 	}
 
 	/**
-	 * Clears the sickiness memory, also resets the state of all enclosed
+	 * Clears the sickiness memory and the missing names, also resets the state of all enclosed
 	 * {@link StatefulTemplateLoader}-s.
 	 */
 	@Override
 	public void resetState() {
 		lastTemplateLoaderForName.clear();
+		missingTemplateNames.clear();
 		for (TemplateLoader loader : templateLoaders) {
 			if (loader instanceof StatefulTemplateLoader) {
 				((StatefulTemplateLoader) loader).resetState();
@@ -99,6 +99,7 @@ public class TypescriptClientGenerator extends AbstractJavaClientGenerator {
 		IntrospectedColumn pkColumn = GeneratorUtils.getPrimaryKey(introspectedTable);
 		WebRestMethodsGenerator restMethodsGenerator = new WebRestMethodsGenerator(recordType, requestJavaType, "",
 				pkColumn, false);
+		GeneratorUtils.getKeysetColumn(context, introspectedTable).ifPresent(restMethodsGenerator::setKeysetColumn);
 		restMethodsGenerator.generate();
 		RestMethodAndImports methodAndImports = restMethodsGenerator.build();
 
@@ -129,6 +130,22 @@ public class TypescriptClientGenerator extends AbstractJavaClientGenerator {
 					methodAndImports.getImports().removeIf(javaType -> javaType.equals(returnType));
 					methodAndImports.getImports().add(newType);
 				}
+				else if (Constants.KEYSET_PAGE_CLASS.equals(returnType.getFullyQualifiedNameWithoutTypeParameters())) {
+					// 游标分页的请求参数和响应结构在model文件中定义
+					FullyQualifiedJavaType arg = returnType.getTypeArguments().get(0);
+					String modelPackage = typescriptModelPackage + "."
+							+ JavaBeansUtil.convertCamelCase(arg.getShortName(), "-") + ".";
+					String newTypeName = arg.getShortName() + "KeysetModel";
+					FullyQualifiedJavaType newType = new FullyQualifiedTypescriptType(this.projectRootAlias,
+							modelPackage + newTypeName, true);
+					FullyQualifiedJavaType paramsType = new FullyQualifiedTypescriptType(this.projectRootAlias,
+							modelPackage + arg.getShortName() + "KeysetParams", true);
+					returnTypeName = newTypeName;
+					method.setReturnType(newType);
+					method.getParameters().set(0, new Parameter(paramsType, method.getParameters().get(0).getName()));
+					methodAndImports.getImports().add(newType);
+					methodAndImports.getImports().add(paramsType);
+				}
 				else {
 					returnTypeName = RenderingUtilities.calculateTypescriptTypeName(null, returnType);
 				}
@@ -86,8 +86,8 @@ public class TypescriptModelGenerator extends AbstractJavaGenerator {
 			GeneratorUtils.addComment(field, remarks);
 
 			// 检查类型是否枚举类型
-			ClassInfo classInfo = ClassInfo
-				.getInstance(introspectedColumn.getFullyQualifiedJavaType().getFullyQualifiedName());
+			ClassInfo classInfo = ClassInfo.getInstance(context,
+					introspectedColumn.getFullyQualifiedJavaType().getFullyQualifiedName());
 			if (classInfo != null && classInfo.isEnum()) {
 				if ("net.entframework.kernel.core.enums.StatusEnum"
 					.equals(classInfo.getJavaType().getFullyQualifiedName())) {
@@ -146,6 +146,15 @@ public class TypescriptModelGenerator extends AbstractJavaGenerator {
 					table.getDomainObjectName(), table.getDomainObjectName()));
 			topLevelClass
 				.addImportedType(new FullyQualifiedTypescriptType("", "fe-ent-core.es.logics.BasicFetchResult", true));
+			if (GeneratorUtils.getKeysetColumn(context, introspectedTable).isPresent()) {
+				// 与服务端KeysetPage对应
+				initializationBlock.addBodyLine(String.format(
+						"export type %sKeysetParams = { cursor?: string; pageSize?: number };",
+						table.getDomainObjectName()));
+				initializationBlock.addBodyLine(String.format("export type %sKeysetModel = { items: %s[]; "
+						+ "nextCursor?: string; hasMore: boolean; pageSize: number };", table.getDomainObjectName(),
+						table.getDomainObjectName()));
+			}
 			topLevelClass.addInitializationBlock(initializationBlock);
 
 			answer.add(topLevelClass);
@@ -3,20 +3,30 @@ package net.entframework.kernel.db.generator.typescript.runtime;
 import net.entframework.kernel.db.generator.plugin.web.freemarker.FreemarkerTemplateEngine;
 import org.apache.commons.lang3.StringUtils;
 import org.mybatis.generator.api.GeneratedFile;
+import org.mybatis.generator.api.GenerationMetrics;
 import org.mybatis.generator.api.WriteMode;
 import org.mybatis.generator.api.dom.java.CompilationUnit;
 import org.mybatis.generator.api.dom.java.TopLevelClass;
 import org.mybatis.generator.internal.util.JavaBeansUtil;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Map;
+import java.util.function.Supplier;
 
+/**
+ * 基于模板生成的文件。数据模型在写出时才通过dataSupplier构建，渲染结果直接写入目标Writer，写出后释放数据模型，
+ * 因此所有表的数据模型不会同时驻留在内存中
+ */
 public class TemplateGeneratedFile extends GeneratedFile {
 
 	private final TopLevelClass topLevelClass;
 
 	private final String fileEncoding = "utf-8";
 
-	private final Map<String, Object> data;
+	private volatile Supplier<Map<String, Object>> dataSupplier;
+
+	private final String templateBaseDir;
 
 	private final String templatePath;
 
@@ -24,27 +34,81 @@ public class TemplateGeneratedFile extends GeneratedFile {
 
 	private final String fileExt;
 
+	private final GenerationMetrics metrics;
+
 	public TemplateGeneratedFile(TopLevelClass topLevelClass, String targetProject, Map<String, Object> data,
 			String templatePath, String fileName, String fileExt) {
+		this(topLevelClass, targetProject, data, null, templatePath, fileName, fileExt, GenerationMetrics.DISABLED);
+	}
+
+	public TemplateGeneratedFile(TopLevelClass topLevelClass, String targetProject, Map<String, Object> data,
+			String templateBaseDir, String templatePath, String fileName, String fileExt, GenerationMetrics metrics) {
+		this(topLevelClass, targetProject, () -> data, templateBaseDir, templatePath, fileName, fileExt, metrics);
+	}
+
+	/**
+	 * templateBaseDir为所属context的模板目录，文件延迟写出时仍从该目录查找模板，为空时只从classpath中查找
+	 */
+	public TemplateGeneratedFile(TopLevelClass topLevelClass, String targetProject,
+			Supplier<Map<String, Object>> dataSupplier, String templateBaseDir, String templatePath, String fileName,
+			String fileExt, GenerationMetrics metrics) {
 		super(targetProject);
 		this.topLevelClass = topLevelClass;
-		this.data = data;
+		this.dataSupplier = dataSupplier;
+		this.templateBaseDir = templateBaseDir;
 		this.templatePath = templatePath;
 		this.fileName = fileName;
 		this.fileExt = fileExt;
+		this.metrics = metrics;
 	}
 
 	@Override
 	public String getFormattedContent() {
+		Map<String, Object> data = getData();
+		try {
+			return FreemarkerTemplateEngine.process(data, this.templateBaseDir, this.templatePath, this.metrics);
+		}
+		catch (Exception e) {
+			throw new RuntimeException(getErrorMessage(e), e);
+		}
+	}
+
+	/**
+	 * 直接渲染到out中，不构建完整的字符串。文件只会被写出一次，写出后即释放数据模型。
+	 * 渲染失败时抛出IOException，由调用方跳过该文件并记录警告，已写入out的部分内容不会保存
+	 */
+	@Override
+	public void writeFormattedContent(Appendable out) throws IOException {
+		Map<String, Object> data = getData();
+		this.dataSupplier = null;
 		try {
-			return FreemarkerTemplateEngine.process(data, this.templatePath);
+			if (out instanceof Writer) {
+				FreemarkerTemplateEngine.process(data, this.templateBaseDir, this.templatePath, (Writer) out,
+						this.metrics);
+			}
+			else {
+				out.append(
+						FreemarkerTemplateEngine.process(data, this.templateBaseDir, this.templatePath, this.metrics));
+			}
+		}
+		catch (IOException e) {
+			throw e;
 		}
 		catch (Exception e) {
-			System.out.println("error when process : " + templatePath);
-			e.printStackTrace();
-			// throw new RuntimeException(e);
+			throw new IOException(getErrorMessage(e), e);
+		}
+	}
+
+	private String getErrorMessage(Exception e) {
+		return "模板" + this.templatePath + "渲染失败: " + e.getMessage();
+	}
+
+	private Map<String, Object> getData() {
+		Supplier<Map<String, Object>> supplier = this.dataSupplier;
+		if (supplier == null) {
+			throw new IllegalStateException("模板文件已写出，数据模型已释放: " + getFileName());
 		}
-		return "error generate content";
+		return supplier.get();
 	}
 
 	@Override
@@ -13,6 +13,8 @@ import org.apache.commons.lang3.reflect.FieldUtils;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
 import org.mybatis.generator.api.dom.java.TopLevelClass;
 import org.mybatis.generator.api.dom.java.TopLevelEnumeration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.ModelType;
 import org.mybatis.generator.internal.ObjectFactory;
 import org.mybatis.generator.internal.util.JavaBeansUtil;
 
@@ -23,37 +25,22 @@ import java.util.*;
 
 public class ClassInfo {
 
-	private static final Map<String, ClassInfo> ROOT_CLASS_INFO_MAP;
-
-	private static Class<?> supperEnum = null;
-
-	static {
-		ROOT_CLASS_INFO_MAP = Collections.synchronizedMap(new HashMap<>());
-		try {
-			supperEnum = ObjectFactory.externalClassForName("net.entframework.kernel.core.enums.SupperEnum");
-		}
-		catch (Exception e) {
-			// ignore
-		}
-	}
-
-	public static ClassInfo getInstance(String className) {
-		return ROOT_CLASS_INFO_MAP.computeIfAbsent(className, ClassInfo::parse);
-	}
+	private static final String SUPPER_ENUM = "net.entframework.kernel.core.enums.SupperEnum";
 
 	/**
-	 * Clears the internal map containing root class info. This method should be called at
-	 * the beginning of a generation run to clear the cached root class info in case there
-	 * has been a change. For example, when using the eclipse launcher, the cache would be
-	 * kept until eclipse was restarted.
-	 *
+	 * Returns the class info of a class. The info is cached in the object factory of the
+	 * current generation run, so that it never outlives the class loaders it was read
+	 * from.
 	 */
-	public static void reset() {
-		ROOT_CLASS_INFO_MAP.clear();
+	public static ClassInfo getInstance(Context context, String className) {
+		ObjectFactory objectFactory = context.getObjectFactory();
+		return objectFactory.getCachedObject(ClassInfo.class, className, k -> parse(k, objectFactory));
 	}
 
 	private FullyQualifiedJavaType javaType;
 
+	private Class<?> supperEnum;
+
 	private boolean genericMode = false;
 
 	private boolean isEnum = false;
@@ -68,7 +55,7 @@ public class ClassInfo {
 		return isEnum;
 	}
 
-	private static ClassInfo parse(String className) {
+	private static ClassInfo parse(String className, ObjectFactory objectFactory) {
 
 		ClassInfo classInfo = new ClassInfo(className);
 
@@ -80,11 +67,17 @@ public class ClassInfo {
 		classInfo.javaType = fqjt;
 		Class<?> clazz = null;
 		try {
-			clazz = ObjectFactory.externalClassForName(nameWithoutGenerics);
+			clazz = objectFactory.loadExternalClass(nameWithoutGenerics);
 		}
 		catch (Exception ex) {
 			// ignore
 		}
+		try {
+			classInfo.supperEnum = objectFactory.loadExternalClass(SUPPER_ENUM);
+		}
+		catch (Exception e) {
+			// ignore
+		}
 		if (clazz != null) {
 			classInfo.clz = clazz;
 			if (clazz.isEnum()) {
@@ -210,9 +203,10 @@ public class ClassInfo {
 	}
 
 	public static void main(String[] args) {
-		ClassInfo classInfo = ClassInfo.getInstance("net.entframework.kernel.core.enums.StatusEnum");
+		Context context = new Context(ModelType.FLAT);
+		ClassInfo classInfo = ClassInfo.getInstance(context, "net.entframework.kernel.core.enums.StatusEnum");
 		TopLevelEnumeration topLevelEnumeration = classInfo.toTopLevelEnumeration("", "", "");
-		ClassInfo classInfo2 = ClassInfo.getInstance("net.entframework.kernel.core.pojo.request.BaseQuery");
+		ClassInfo classInfo2 = ClassInfo.getInstance(context, "net.entframework.kernel.core.pojo.request.BaseQuery");
 		classInfo2.toTopLevelClass();
 	}
 
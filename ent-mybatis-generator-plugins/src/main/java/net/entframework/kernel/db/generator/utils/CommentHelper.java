@@ -15,7 +15,10 @@ import org.w3c.dom.*;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -23,25 +26,58 @@ public class CommentHelper {
 
 	public final static CommentHelper INSTANCE = new CommentHelper();
 
-	private static Map<String, CommentInner> comments;
+	private static final String RESOURCE = "mybatis-generator-docs.xml";
+
+	private static volatile Map<String, CommentInner> comments;
+
+	private long resourceModified;
 
 	private CommentHelper() {
-		comments = new HashMap<>();
+		load();
+	}
+
+	/**
+	 * 注释资源在项目目录中并且上次读取后被修改时重新读取，同一个进程中多次生成时(如gradle插件的warm模式)修改的注释也能生效。
+	 * jar中的注释资源在同一个类加载器中不会变化
+	 */
+	public synchronized void refresh() {
+		if (getResourceModified() != resourceModified) {
+			load();
+		}
+	}
+
+	private void load() {
+		resourceModified = getResourceModified();
+		Map<String, CommentInner> parsed = new HashMap<>();
 		try {
-			parse();
+			parse(parsed);
 		}
 		catch (Exception ex) {
 			System.out.println(ex.getMessage());
 		}
+		comments = parsed;
+	}
+
+	private long getResourceModified() {
+		URL url = getClass().getClassLoader().getResource(RESOURCE);
+		if (url == null || !"file".equals(url.getProtocol())) {
+			return 0L;
+		}
+		try {
+			return new File(url.toURI()).lastModified();
+		}
+		catch (URISyntaxException | IllegalArgumentException e) {
+			return 0L;
+		}
 	}
 
-	private void parse() throws Exception {
+	private void parse(Map<String, CommentInner> parsed) throws Exception {
 		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
 		factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
 		factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
 		factory.setValidating(false);
 		// $NON-NLS-1$
-		try (InputStream is = getClass().getClassLoader().getResourceAsStream("mybatis-generator-docs.xml")) {
+		try (InputStream is = getClass().getClassLoader().getResourceAsStream(RESOURCE)) {
 
 			factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
 			DocumentBuilder builder = factory.newDocumentBuilder();
@@ -58,11 +94,11 @@ public class CommentHelper {
 			}
 
 			Element rootNode = document.getDocumentElement();
-			parseRootNode(rootNode);
+			parseRootNode(rootNode, parsed);
 		}
 	}
 
-	private void parseRootNode(Element rootNode) {
+	private void parseRootNode(Element rootNode, Map<String, CommentInner> parsed) {
 		NodeList nodeList = rootNode.getChildNodes();
 		for (int i = 0; i < nodeList.getLength(); i++) {
 			Node childNode = nodeList.item(i);
@@ -72,12 +108,12 @@ public class CommentHelper {
 			}
 
 			if ("doc".equals(childNode.getNodeName())) { //$NON-NLS-1$
-				parseNode(childNode);
+				parseNode(childNode, parsed);
 			}
 		}
 	}
 
-	private void parseNode(Node childNode) {
+	private void parseNode(Node childNode, Map<String, CommentInner> parsed) {
 		Properties properties = parseAttributes(childNode);
 		String key = properties.getProperty("key");
 		String category = properties.getProperty("category", "");
@@ -92,7 +128,7 @@ public class CommentHelper {
 			}
 		});
 		String computedKey = key.concat(category).concat(tag);
-		comments.putIfAbsent(computedKey,
+		parsed.putIfAbsent(computedKey,
 				CommentInner.builder().category(category).tag(tag).lines(commentLines).build());
 	}
 
@@ -129,8 +165,8 @@ public class CommentHelper {
 			.concat(StringUtils.defaultString(category, ""))
 			.concat(StringUtils.defaultString(tag, ""));
 
-		if (comments.containsKey(computedKey)) {
-			CommentInner inner = comments.get(computedKey);
+		CommentInner inner = comments.get(computedKey);
+		if (inner != null) {
 			List<String> result = new ArrayList<>();
 			inner.lines.forEach(line -> result.add(replace(line, variables)));
 			return result;
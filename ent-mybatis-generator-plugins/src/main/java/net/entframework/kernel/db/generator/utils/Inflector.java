@@ -0,0 +1,304 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.utils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.mybatis.generator.config.Context;
+
+/**
+ * Pluralizes and singularizes words with a list of {@link Inflection} rules. The rules are
+ * fixed when the inflector is created and the results are memoized in a bounded cache, so
+ * the rules are only evaluated once per word.
+ *
+ * <p>
+ * Rules added later take precedence over the rules added before them. The default rules
+ * can be extended with these context properties:
+ * <ul>
+ * <li>inflectionPluralRules - plural rules as {@code pattern=>replacement}, separated by
+ * semicolons, for example {@code (dat)um$=>$1a}</li>
+ * <li>inflectionSingularRules - singular rules in the same format</li>
+ * <li>inflectionIrregulars - irregular words as {@code singular:plural}, separated by
+ * commas, for example {@code goose:geese,foot:feet}</li>
+ * <li>inflectionUncountables - uncountable words, separated by commas</li>
+ * </ul>
+ */
+public class Inflector {
+
+	public static final String PROPERTY_PLURAL_RULES = "inflectionPluralRules";
+
+	public static final String PROPERTY_SINGULAR_RULES = "inflectionSingularRules";
+
+	public static final String PROPERTY_IRREGULARS = "inflectionIrregulars";
+
+	public static final String PROPERTY_UNCOUNTABLES = "inflectionUncountables";
+
+	private static final int CACHE_SIZE = 4096;
+
+	private static final Inflector DEFAULT = new Inflector();
+
+	private final List<Inflection> plural = new ArrayList<>();
+
+	private final List<Inflection> singular = new ArrayList<>();
+
+	private final Set<String> uncountable = new HashSet<>();
+
+	private final Map<String, String> pluralCache = new WordCache();
+
+	private final Map<String, String> singularCache = new WordCache();
+
+	/**
+	 * Creates an inflector with the default English rules.
+	 */
+	public Inflector() {
+		// plural is "singular to plural form"
+		// singular is "plural to singular form"
+		plural("$", "s");
+		plural("s$", "s");
+		plural("(ax|test)is$", "$1es");
+		plural("(octop|vir)us$", "$1i");
+		plural("(alias|status)$", "$1es");
+		plural("(bu)s$", "$1ses");
+		plural("(buffal|tomat)o$", "$1oes");
+		plural("([ti])um$", "$1a");
+		plural("sis$", "ses");
+		plural("(?:([^f])fe|([lr])f)$", "$1$2ves");
+		plural("(hive)$", "$1s");
+		plural("([^aeiouy]|qu)y$", "$1ies");
+		plural("(x|ch|ss|sh)$", "$1es");
+		plural("(matr|vert|ind)ix|ex$", "$1ices");
+		plural("([m|l])ouse$", "$1ice");
+		plural("^(ox)$", "$1en");
+		plural("(quiz)$", "$1zes");
+
+		singular("s$", "");
+		singular("(n)ews$", "$1ews");
+		singular("([ti])a$", "$1um");
+		singular("((a)naly|(b)a|(d)iagno|(p)arenthe|(p)rogno|(s)ynop|(t)he)ses$", "$1$2sis");
+		singular("(^analy)ses$", "$1sis");
+		singular("([^f])ves$", "$1fe");
+		singular("(hive)s$", "$1");
+		singular("(tive)s$", "$1");
+		singular("([lr])ves$", "$1f");
+		singular("([^aeiouy]|qu)ies$", "$1y");
+		singular("(s)eries$", "$1eries");
+		singular("(m)ovies$", "$1ovie");
+		singular("(x|ch|ss|sh)es$", "$1");
+		singular("([m|l])ice$", "$1ouse");
+		singular("(bus)es$", "$1");
+		singular("(o)es$", "$1");
+		singular("(shoe)s$", "$1");
+		singular("(cris|ax|test)es$", "$1is");
+		singular("(octop|vir)i$", "$1us");
+		singular("(alias|status)es$", "$1");
+		singular("^(ox)en", "$1");
+		singular("(vert|ind)ices$", "$1ex");
+		singular("(matr)ices$", "$1ix");
+		singular("(quiz)zes$", "$1");
+
+		irregular("person", "people");
+		irregular("man", "men");
+		irregular("child", "children");
+		irregular("sex", "sexes");
+		irregular("move", "moves");
+
+		uncountable("equipment");
+		uncountable("information");
+		uncountable("rice");
+		uncountable("money");
+		uncountable("species");
+		uncountable("series");
+		uncountable("fish");
+		uncountable("sheep");
+	}
+
+	/**
+	 * Returns the inflector with the default rules only.
+	 * @return the shared default inflector
+	 */
+	public static Inflector getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Returns the inflector for a context: the default rules plus the rules configured in
+	 * the context properties. The inflector is shared by all the tables of a run.
+	 * @param context the context
+	 * @return the inflector
+	 */
+	public static Inflector getInstance(Context context) {
+		String pluralRules = context.getProperty(PROPERTY_PLURAL_RULES);
+		String singularRules = context.getProperty(PROPERTY_SINGULAR_RULES);
+		String irregulars = context.getProperty(PROPERTY_IRREGULARS);
+		String uncountables = context.getProperty(PROPERTY_UNCOUNTABLES);
+		if (StringUtils.isAllBlank(pluralRules, singularRules, irregulars, uncountables)) {
+			return DEFAULT;
+		}
+
+		String key = pluralRules + '\n' + singularRules + '\n' + irregulars + '\n' + uncountables;
+		return context.getObjectFactory().getCachedObject(Inflector.class, key, k -> {
+			Inflector inflector = new Inflector();
+			inflector.addRules(pluralRules, singularRules, irregulars, uncountables);
+			return inflector;
+		});
+	}
+
+	private void addRules(String pluralRules, String singularRules, String irregulars, String uncountables) {
+		for (String[] rule : split(pluralRules, ";", "=>")) {
+			plural(rule[0], rule[1]);
+		}
+		for (String[] rule : split(singularRules, ";", "=>")) {
+			singular(rule[0], rule[1]);
+		}
+		for (String[] rule : split(irregulars, ",", ":")) {
+			irregular(rule[0], rule[1]);
+		}
+		for (String word : StringUtils.split(StringUtils.defaultString(uncountables), ',')) {
+			if (StringUtils.isNotBlank(word)) {
+				uncountable(word.trim());
+			}
+		}
+	}
+
+	private static List<String[]> split(String rules, String separator, String delimiter) {
+		List<String[]> answer = new ArrayList<>();
+		for (String rule : StringUtils.splitByWholeSeparator(StringUtils.defaultString(rules), separator)) {
+			if (StringUtils.isBlank(rule)) {
+				continue;
+			}
+			int index = rule.indexOf(delimiter);
+			if (index < 1) {
+				throw new RuntimeException("invalid inflection rule: " + rule);
+			}
+			answer.add(new String[] { rule.substring(0, index).trim(),
+					rule.substring(index + delimiter.length()).trim() });
+		}
+		return answer;
+	}
+
+	/**
+	 * Adds a rule that turns a singular word into its plural form.
+	 * @param pattern the pattern of the singular word
+	 * @param replacement the replacement
+	 */
+	private void plural(String pattern, String replacement) {
+		plural.add(0, new Inflection(pattern, replacement));
+	}
+
+	/**
+	 * Adds a rule that turns a plural word into its singular form.
+	 * @param pattern the pattern of the plural word
+	 * @param replacement the replacement
+	 */
+	private void singular(String pattern, String replacement) {
+		singular.add(0, new Inflection(pattern, replacement));
+	}
+
+	/**
+	 * Adds an irregular word.
+	 * @param s the singular form
+	 * @param p the plural form
+	 */
+	private void irregular(String s, String p) {
+		plural("(" + s.substring(0, 1) + ")" + s.substring(1) + "$", "$1" + p.substring(1));
+		singular("(" + p.substring(0, 1) + ")" + p.substring(1) + "$", "$1" + s.substring(1));
+	}
+
+	/**
+	 * Adds an uncountable word.
+	 * @param word the word
+	 */
+	private void uncountable(String word) {
+		uncountable.add(word.toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * Return the pluralized version of a word.
+	 * @param word The word
+	 * @return The pluralized word
+	 */
+	public String pluralize(String word) {
+		String answer = pluralCache.get(word);
+		if (answer == null) {
+			answer = inflect(word, plural);
+			pluralCache.put(word, answer);
+		}
+		return answer;
+	}
+
+	/**
+	 * Return the singularized version of a word.
+	 * @param word The word
+	 * @return The singularized word
+	 */
+	public String singularize(String word) {
+		String answer = singularCache.get(word);
+		if (answer == null) {
+			answer = inflect(word, singular);
+			singularCache.put(word, answer);
+		}
+		return answer;
+	}
+
+	/**
+	 * Return true if the word is uncountable.
+	 * @param word The word
+	 * @return True if it is uncountable
+	 */
+	public boolean isUncountable(String word) {
+		return uncountable.contains(word.toLowerCase(Locale.ROOT));
+	}
+
+	private String inflect(String word, List<Inflection> rules) {
+		if (isUncountable(word)) {
+			return word;
+		}
+
+		for (Inflection inflection : rules) {
+			if (inflection.match(word)) {
+				return inflection.replace(word);
+			}
+		}
+		return word;
+	}
+
+	/**
+	 * A synchronized LRU map of words to their inflected form.
+	 */
+	private static class WordCache extends LinkedHashMap<String, String> {
+
+		private static final long serialVersionUID = 1L;
+
+		WordCache() {
+			super(64, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > CACHE_SIZE;
+		}
+
+		@Override
+		public synchronized String get(Object key) {
+			return super.get(key);
+		}
+
+		@Override
+		public synchronized String put(String key, String value) {
+			return super.put(key, value);
+		}
+
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.plugin.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mybatis.generator.api.GeneratedJavaFile;
+import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.api.dom.java.CompilationUnit;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.config.xml.ConfigurationParser;
+import org.mybatis.generator.internal.DefaultShellCallback;
+
+class KeysetPageTest {
+
+	private static Map<String, CompilationUnit> compilationUnits;
+
+	@BeforeAll
+	static void generate() throws Exception {
+		List<String> warnings = new ArrayList<>();
+		Configuration config;
+		try (InputStream is = KeysetPageTest.class.getResourceAsStream("/generatorConfig-server.xml")) {
+			config = new ConfigurationParser(warnings).parseConfiguration(is);
+		}
+		File snapshotFile = new File(KeysetPageTest.class.getResource("/introspection-snapshot.xml").toURI());
+		for (Context context : config.getContexts()) {
+			context.addProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_FILE, snapshotFile.getPath());
+		}
+
+		MyBatisGenerator generator = new MyBatisGenerator(config, new DefaultShellCallback(true), warnings);
+		generator.generate(null, null, null, false);
+
+		compilationUnits = new HashMap<>();
+		for (GeneratedJavaFile file : generator.getGeneratedJavaFiles()) {
+			CompilationUnit unit = file.getCompilationUnit();
+			compilationUnits.put(unit.getType().getFullyQualifiedName(), unit);
+		}
+	}
+
+	@Test
+	void testPrimaryKeySortUsesSingleColumn() {
+		String selectAfter = body("com.example.repository.impl.SysUserRepositoryImpl", "selectAfter");
+
+		assertTrue(selectAfter.contains(".where(SysUser_.id, isGreaterThan(after).filter(Objects::nonNull))"));
+		assertTrue(selectAfter.contains(".orderBy(SysUser_.id)"));
+		assertEquals(List.of("after", "limit"), parameters("com.example.service.SysUserService", "selectAfter"));
+	}
+
+	@Test
+	void testNonUniqueSortColumnUsesPrimaryKeyAsTiebreaker() {
+		String selectAfter = body("com.example.repository.impl.SysDeptRepositoryImpl", "selectAfter");
+
+		// dept_name可能重复：排序列相同时按主键继续
+		assertTrue(selectAfter
+			.contains(".where(SysDept_.deptName, isGreaterThan(after).filter(Objects::nonNull),"));
+		assertTrue(selectAfter.contains("or(SysDept_.deptName, isEqualTo(after).filter(Objects::nonNull),"));
+		assertTrue(selectAfter.contains("and(SysDept_.id, isGreaterThan(afterId).filter(Objects::nonNull))))"));
+		assertTrue(selectAfter.contains(".orderBy(SysDept_.deptName, SysDept_.id)"));
+		assertEquals(List.of("after", "afterId", "limit"),
+				parameters("com.example.repository.SysDeptRepository", "selectAfter"));
+		assertEquals(List.of("after", "afterId", "limit"),
+				parameters("com.example.service.SysDeptService", "selectAfter"));
+
+		String seek = body("com.example.controller.SysDeptController", "seek");
+		assertTrue(seek.contains("after = KeysetPage.decode(page.getCursor(), 0, value -> value);"));
+		assertTrue(seek.contains("afterId = KeysetPage.decode(page.getCursor(), 1, Long::valueOf);"));
+		assertTrue(seek.contains("sysDeptService.selectAfter(after, afterId, page.getLimit() + 1);"));
+		assertTrue(seek.contains("result.setNextCursor(KeysetPage.encode(last.getDeptName(), last.getId()));"));
+	}
+
+	@Test
+	void testInvalidCursorIsBadRequestInController() {
+		TopLevelClass keysetPage = (TopLevelClass) compilationUnits.get("com.example.vo.KeysetPage");
+		assertTrue(keysetPage.getImportedTypes()
+			.stream()
+			.map(FullyQualifiedJavaType::getFullyQualifiedName)
+			.noneMatch(type -> type.startsWith("org.springframework")));
+		assertTrue(body("com.example.vo.KeysetPage", "decode")
+			.contains("throw new IllegalArgumentException(\"无效的cursor: \" + cursor, ex);"));
+
+		String seek = body("com.example.controller.SysUserController", "seek");
+		assertTrue(seek.contains("catch (IllegalArgumentException ex) {\n"
+				+ "throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);"));
+	}
+
+	private Method method(String type, String name) {
+		CompilationUnit unit = compilationUnits.get(type);
+		assertNotNull(unit, type);
+		List<Method> methods = unit instanceof TopLevelClass ? ((TopLevelClass) unit).getMethods()
+				: ((Interface) unit).getMethods();
+		return methods.stream().filter(method -> method.getName().equals(name)).findFirst().orElseThrow();
+	}
+
+	private String body(String type, String name) {
+		return String.join("\n", method(type, name).getBodyLines());
+	}
+
+	private List<String> parameters(String type, String name) {
+		return method(type, name).getParameters().stream().map(Parameter::getName).toList();
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.plugin.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.generator.api.GeneratedJavaFile;
+import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.config.xml.ConfigurationParser;
+import org.mybatis.generator.internal.DefaultShellCallback;
+
+class ParallelGenerationTest {
+
+	@Test
+	void testParallelGenerationMatchesSerialGeneration() throws Exception {
+		List<String> serial = generate(1);
+		List<String> parallel = generate(4);
+
+		assertFalse(serial.isEmpty());
+		assertEquals(1, serial.stream().filter(file -> file.startsWith("com.example.vo.KeysetPage.java")).count());
+		assertEquals(serial, parallel);
+
+		// the worker threads finish in a different order on every run
+		for (int i = 0; i < 5; i++) {
+			assertEquals(serial, generate(4));
+		}
+	}
+
+	private List<String> generate(int threads) throws Exception {
+		List<String> warnings = new ArrayList<>();
+		Configuration config;
+		try (InputStream is = getClass().getResourceAsStream("/generatorConfig-server.xml")) {
+			config = new ConfigurationParser(warnings).parseConfiguration(is);
+		}
+		File snapshotFile = new File(getClass().getResource("/introspection-snapshot.xml").toURI());
+		for (Context context : config.getContexts()) {
+			context.addProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_FILE, snapshotFile.getPath());
+			context.addProperty(PropertyRegistry.CONTEXT_GENERATION_THREADS, Integer.toString(threads));
+		}
+
+		MyBatisGenerator generator = new MyBatisGenerator(config, new DefaultShellCallback(true), warnings);
+		generator.generate(null, null, null, false);
+
+		List<String> answer = new ArrayList<>();
+		for (GeneratedJavaFile file : generator.getGeneratedJavaFiles()) {
+			answer.add(file.getTargetPackage() + "." + file.getFileName() + "\n" + file.getFormattedContent());
+		}
+		return answer;
+	}
+
+}
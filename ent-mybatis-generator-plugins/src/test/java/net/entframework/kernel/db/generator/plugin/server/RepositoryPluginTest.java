@@ -0,0 +1,96 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.plugin.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.entframework.kernel.db.generator.Constants;
+import org.junit.jupiter.api.Test;
+import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.config.xml.ConfigurationParser;
+import org.mybatis.generator.internal.DefaultShellCallback;
+
+class RepositoryPluginTest {
+
+	@Test
+	void testUpsertWritesGeneratedKeyWhenPresent() throws Exception {
+		String upsert = generateUpsert("SysUserMapper.java", Constants.UPSERT_DIALECT_POSTGRESQL);
+
+		// 主键没有值时由数据库生成，有值时写入主键，按主键冲突更新已有的行
+		assertTrue(upsert.contains("\"<script>\","));
+		assertTrue(upsert.contains("\"insert into sys_user (\","));
+		assertTrue(upsert.contains("\"<if test=\\\"row.id != null\\\">id, </if>\","));
+		assertTrue(upsert.contains("\"user_name, age, create_time)\","));
+		assertTrue(upsert.contains("\"<if test=\\\"row.id != null\\\">#{row.id,jdbcType=BIGINT}, </if>\","));
+		assertTrue(upsert.contains("\"on conflict (id) do update set\","));
+		assertTrue(upsert.contains("\"create_time = excluded.create_time\","));
+		assertTrue(upsert.endsWith("\"</script>\"\n})\n@Options(useGeneratedKeys=true,keyProperty=\"row.id\")"));
+	}
+
+	@Test
+	void testUpsertWithoutGeneratedKeyIsStatic() throws Exception {
+		String upsert = generateUpsert("SysRoleMapper.java", Constants.UPSERT_DIALECT_POSTGRESQL);
+
+		assertFalse(upsert.contains("<script>"));
+		assertTrue(upsert.contains("\"insert into sys_role (id, role_name, sort)\","));
+		assertTrue(upsert.contains("\"sort = excluded.sort\"\n})"));
+	}
+
+	@Test
+	void testPostgresqlUpsertWithoutUpdatableColumns() throws Exception {
+		String upsert = generateUpsert("SysTagMapper.java", Constants.UPSERT_DIALECT_POSTGRESQL);
+
+		assertTrue(upsert.contains("\"on conflict (tag_name) do nothing\""));
+		assertFalse(upsert.contains("do update set"));
+	}
+
+	@Test
+	void testMysqlUpsertWithoutUpdatableColumns() throws Exception {
+		String upsert = generateUpsert("SysTagMapper.java", Constants.UPSERT_DIALECT_MYSQL);
+
+		assertTrue(upsert.contains("\"on duplicate key update tag_name = tag_name\""));
+	}
+
+	/**
+	 * 生成Mapper中upsert方法的注解，每行一个，与格式化无关
+	 */
+	private String generateUpsert(String fileName, String dialect) throws Exception {
+		List<String> warnings = new ArrayList<>();
+		Configuration config;
+		try (InputStream is = getClass().getResourceAsStream("/generatorConfig-server.xml")) {
+			config = new ConfigurationParser(warnings).parseConfiguration(is);
+		}
+		File snapshotFile = new File(getClass().getResource("/introspection-snapshot.xml").toURI());
+		for (Context context : config.getContexts()) {
+			context.addProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_FILE, snapshotFile.getPath());
+			context.addProperty(Constants.UPSERT_DIALECT, dialect);
+		}
+
+		MyBatisGenerator generator = new MyBatisGenerator(config, new DefaultShellCallback(true), warnings);
+		generator.generate(null, null, null, false);
+
+		return generator.getGeneratedJavaFiles()
+			.stream()
+			.filter(file -> file.getFileName().equals(fileName))
+			.map(file -> (Interface) file.getCompilationUnit())
+			.flatMap(mapper -> mapper.getMethods().stream())
+			.filter(method -> method.getName().equals("upsert"))
+			.map(method -> String.join("\n", method.getAnnotations()).replace("    \"", "\""))
+			.findFirst()
+			.orElseThrow();
+	}
+
+}
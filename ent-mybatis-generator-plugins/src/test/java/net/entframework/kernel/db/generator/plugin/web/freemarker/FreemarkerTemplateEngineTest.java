@@ -0,0 +1,72 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.plugin.web.freemarker;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import net.entframework.kernel.db.generator.typescript.runtime.TemplateGeneratedFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mybatis.generator.api.GenerationMetrics;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+
+class FreemarkerTemplateEngineTest {
+
+	@Test
+	void testEachBaseDirRendersItsOwnTemplates(@TempDir Path first, @TempDir Path second) throws Exception {
+		Files.writeString(first.resolve("view.ftl"), "first ${name}");
+		Files.writeString(second.resolve("view.ftl"), "second ${name}");
+		FreemarkerTemplateEngine.init(first.toString());
+		TemplateGeneratedFile firstFile = generatedFile(first);
+		FreemarkerTemplateEngine.init(second.toString());
+		TemplateGeneratedFile secondFile = generatedFile(second);
+
+		// 文件在所有context初始化后才写出，仍使用各自目录中的模板
+		assertEquals("first user", write(firstFile));
+		assertEquals("second user", write(secondFile));
+	}
+
+	@Test
+	void testInitReloadsModifiedTemplatesOfThatDirOnly(@TempDir Path first, @TempDir Path second) throws Exception {
+		Path firstTemplate = first.resolve("view.ftl");
+		Files.writeString(firstTemplate, "v1");
+		Files.writeString(second.resolve("view.ftl"), "other");
+		FreemarkerTemplateEngine.init(first.toString());
+		FreemarkerTemplateEngine.init(second.toString());
+		assertEquals("v1", FreemarkerTemplateEngine.process(Map.of(), first.toString(), "view.ftl",
+				GenerationMetrics.DISABLED));
+
+		Files.writeString(firstTemplate, "v2");
+		firstTemplate.toFile().setLastModified(System.currentTimeMillis() + 1000);
+		FreemarkerTemplateEngine.init(first.toString());
+
+		assertEquals("v2", FreemarkerTemplateEngine.process(Map.of(), first.toString(), "view.ftl",
+				GenerationMetrics.DISABLED));
+		assertEquals("other", FreemarkerTemplateEngine.process(Map.of(), second.toString(), "view.ftl",
+				GenerationMetrics.DISABLED));
+	}
+
+	private static TemplateGeneratedFile generatedFile(Path baseDir) {
+		TopLevelClass topLevelClass = new TopLevelClass(new FullyQualifiedJavaType("com.example.User"));
+		return new TemplateGeneratedFile(topLevelClass, "target", () -> Map.of("name", "user"), baseDir.toString(),
+				"view.ftl", "%s", ".ts", GenerationMetrics.DISABLED);
+	}
+
+	private static String write(TemplateGeneratedFile file) throws IOException {
+		StringWriter out = new StringWriter();
+		file.writeFormattedContent(out);
+		return out.toString();
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * ******************************************************************************
+ *  * Copyright (c) 2023. Licensed under the Apache License, Version 2.0.
+ *  *****************************************************************************
+ *
+ */
+package net.entframework.kernel.db.generator.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.ModelType;
+
+class InflectorTest {
+
+	@ParameterizedTest
+	@CsvSource({ "user,users", "User,Users", "category,categories", "box,boxes", "status,statuses",
+			"analysis,analyses", "mouse,mice", "matrix,matrices", "quiz,quizzes", "ox,oxen", "wife,wives",
+			"half,halves", "tomato,tomatoes", "octopus,octopi", "person,people", "child,children", "man,men",
+			"equipment,equipment", "sheep,sheep" })
+	void testDefaultPlural(String word, String expected) {
+		assertEquals(expected, Inflector.getDefault().pluralize(word));
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "users,user", "categories,category", "boxes,box", "statuses,status", "analyses,analysis",
+			"mice,mouse", "matrices,matrix", "quizzes,quiz", "oxen,ox", "wives,wife", "halves,half",
+			"movies,movie", "shoes,shoe", "buses,bus", "octopi,octopus", "people,person", "children,child",
+			"news,news", "series,series" })
+	void testDefaultSingular(String word, String expected) {
+		assertEquals(expected, Inflector.getDefault().singularize(word));
+	}
+
+	@Test
+	void testDefaultUncountable() {
+		Inflector inflector = Inflector.getDefault();
+		assertTrue(inflector.isUncountable("information"));
+		assertTrue(inflector.isUncountable("Money"));
+		assertFalse(inflector.isUncountable("user"));
+	}
+
+	@Test
+	void testContextWithoutRules() {
+		Context context = new Context(ModelType.FLAT);
+		assertSame(Inflector.getDefault(), Inflector.getInstance(context));
+	}
+
+	@Test
+	void testPluralRules() {
+		Context context = new Context(ModelType.FLAT);
+		context.addProperty(Inflector.PROPERTY_PLURAL_RULES, "(cact)us$=>$1i; (foc)us$ => $1i;");
+
+		Inflector inflector = Inflector.getInstance(context);
+		assertEquals("cacti", inflector.pluralize("cactus"));
+		assertEquals("foci", inflector.pluralize("focus"));
+		assertEquals("users", inflector.pluralize("user"));
+		assertEquals("cactus", Inflector.getDefault().pluralize("cactus"));
+	}
+
+	@Test
+	void testSingularRules() {
+		Context context = new Context(ModelType.FLAT);
+		context.addProperty(Inflector.PROPERTY_SINGULAR_RULES, "(cact)i$=>$1us");
+
+		Inflector inflector = Inflector.getInstance(context);
+		assertEquals("cactus", inflector.singularize("cacti"));
+		assertEquals("user", inflector.singularize("users"));
+	}
+
+	@Test
+	void testIrregulars() {
+		Context context = new Context(ModelType.FLAT);
+		context.addProperty(Inflector.PROPERTY_IRREGULARS, "goose:geese, foot:feet");
+
+		Inflector inflector = Inflector.getInstance(context);
+		assertEquals("geese", inflector.pluralize("goose"));
+		assertEquals("Geese", inflector.pluralize("Goose"));
+		assertEquals("goose", inflector.singularize("geese"));
+		assertEquals("feet", inflector.pluralize("foot"));
+		assertEquals("foot", inflector.singularize("feet"));
+	}
+
+	@Test
+	void testUncountables() {
+		Context context = new Context(ModelType.FLAT);
+		context.addProperty(Inflector.PROPERTY_UNCOUNTABLES, "metadata, Feedback,");
+
+		Inflector inflector = Inflector.getInstance(context);
+		assertEquals("metadata", inflector.pluralize("metadata"));
+		assertEquals("feedback", inflector.pluralize("feedback"));
+		assertTrue(inflector.isUncountable("FEEDBACK"));
+		assertTrue(inflector.isUncountable("sheep"));
+	}
+
+	@Test
+	void testInstanceIsSharedWithinRun() {
+		Context context = new Context(ModelType.FLAT);
+		context.addProperty(Inflector.PROPERTY_UNCOUNTABLES, "metadata");
+
+		assertSame(Inflector.getInstance(context), Inflector.getInstance(context));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "(cact)us$", "=>$1i", "(cact)us$=>$1i;foc" })
+	void testInvalidPluralRule(String rules) {
+		Context context = new Context(ModelType.FLAT);
+		context.addProperty(Inflector.PROPERTY_PLURAL_RULES, rules);
+
+		assertThrows(RuntimeException.class, () -> Inflector.getInstance(context));
+	}
+
+	@Test
+	void testInvalidIrregular() {
+		Context context = new Context(ModelType.FLAT);
+		context.addProperty(Inflector.PROPERTY_IRREGULARS, "goose-geese");
+
+		assertThrows(RuntimeException.class, () -> Inflector.getInstance(context));
+	}
+
+	@Test
+	void testEvictedWordsAreInflectedAgain() {
+		Inflector inflector = new Inflector();
+		assertEquals("categories", inflector.pluralize("category"));
+		for (int i = 0; i < 10000; i++) {
+			inflector.pluralize("word" + i);
+		}
+		assertEquals("categories", inflector.pluralize("category"));
+		assertEquals("word9999s", inflector.pluralize("word9999"));
+	}
+
+}